@@ -13,6 +13,7 @@ import com.microsoft.azure.maven.model.DeploymentResource;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
+import com.microsoft.azure.toolkit.lib.appservice.config.AppServiceConfig;
 import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
@@ -22,14 +23,17 @@ import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
 import com.microsoft.azure.toolkit.lib.legacy.appservice.DeploymentSlotSetting;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugins.annotations.Parameter;
 
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Base abstract class for all Azure App Service Mojos.
@@ -173,4 +177,22 @@ public abstract class AbstractAppServiceMojo extends AbstractAzureMojo {
             log.info(String.format(AbstractAzureMojo.SUBSCRIPTION_TEMPLATE, TextUtils.cyan(subscription.getName()), TextUtils.cyan(subscription.getId())));
         }
     }
+
+    /**
+     * @return ids of the resources an app shares with other apps deployed in the same build, see
+     * {@link com.microsoft.azure.maven.deploy.DeployTarget#getSharedResources()}. Slots share their app.
+     */
+    protected static Set<String> getSharedResources(AppServiceConfig config) {
+        final Set<String> resources = new HashSet<>();
+        final String groupId = String.format("/subscriptions/%s/resourceGroups/%s", config.subscriptionId(), config.resourceGroup());
+        resources.add(groupId.toLowerCase());
+        resources.add(String.format("%s/providers/Microsoft.Web/sites/%s", groupId, config.appName()).toLowerCase());
+        if (StringUtils.isNotBlank(config.servicePlanName())) {
+            final String planGroupId = String.format("/subscriptions/%s/resourceGroups/%s", config.subscriptionId(),
+                StringUtils.firstNonBlank(config.servicePlanResourceGroup(), config.resourceGroup()));
+            resources.add(planGroupId.toLowerCase());
+            resources.add(String.format("%s/providers/Microsoft.Web/serverfarms/%s", planGroupId, config.servicePlanName()).toLowerCase());
+        }
+        return resources;
+    }
 }
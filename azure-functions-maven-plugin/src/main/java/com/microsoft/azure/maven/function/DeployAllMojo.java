@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.function;
+
+import com.microsoft.azure.maven.AbstractReactorDeployMojo;
+import com.microsoft.azure.maven.deploy.DeployTarget;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Deploy the function apps of all modules in the reactor concurrently, each with the configuration of its {@code deploy} goal.
+ * Resource groups and service plans shared by several apps are created once. Run it after the modules are packaged, e.g.
+ * {@code mvn package azure-functions:deploy-all}.
+ */
+@Mojo(name = "deploy-all", aggregator = true, threadSafe = true)
+public class DeployAllMojo extends AbstractReactorDeployMojo<DeployMojo> {
+    public DeployAllMojo() {
+        super(DeployMojo.class);
+    }
+
+    @Nonnull
+    @Override
+    protected DeployTarget toDeployTarget(@Nonnull DeployMojo mojo) {
+        return mojo.toDeployTarget();
+    }
+}
@@ -8,6 +8,8 @@ package com.microsoft.azure.maven.function;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.javaprop.JavaPropsMapper;
 import com.fasterxml.jackson.dataformat.javaprop.JavaPropsSchema;
+import com.microsoft.azure.maven.appservice.AbstractAppServiceMojo;
+import com.microsoft.azure.maven.deploy.DeployTarget;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
 import com.microsoft.azure.toolkit.lib.appservice.config.AppServiceConfig;
@@ -37,6 +39,7 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
@@ -45,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
@@ -243,6 +247,46 @@ public class DeployMojo extends AbstractFunctionMojo {
         updateTelemetryProperties();
     }
 
+    /**
+     * validates the configuration and returns the deployment of this module without running it, used by {@link DeployAllMojo}
+     * to deploy the apps of all modules concurrently.
+     */
+    DeployTarget toDeployTarget() {
+        this.mergeCommandLineConfig();
+        initAzureAppServiceClient();
+        FunctionAppRuntime.tryLoadingAllRuntimes();
+        doValidate();
+        final FunctionAppConfig config = getParser().parseConfig();
+        final FunctionApp app = Azure.az(AzureFunctions.class).functionApps(config.subscriptionId()).updateOrCreate(config.appName(), config.resourceGroup());
+        return new DeployTarget() {
+            private FunctionAppBase<?, ?, ?> target;
+
+            @Nonnull
+            @Override
+            public String getName() {
+                return StringUtils.isBlank(config.deploymentSlotName()) ? config.appName() : config.appName() + "/" + config.deploymentSlotName();
+            }
+
+            @Nonnull
+            @Override
+            public Set<String> getSharedResources() {
+                return AbstractAppServiceMojo.getSharedResources(config);
+            }
+
+            @Override
+            public void prepare() throws Throwable {
+                this.target = createOrUpdateResource(app);
+            }
+
+            @Override
+            public String deploy() {
+                deployArtifact(this.target);
+                updateTelemetryProperties();
+                return "https://" + this.target.getHostName();
+            }
+        };
+    }
+
     private void mergeCommandLineConfig() {
         try {
             final JavaPropsMapper mapper = new JavaPropsMapper();
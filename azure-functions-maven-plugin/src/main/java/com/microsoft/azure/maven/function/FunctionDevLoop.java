@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
+import com.microsoft.azure.toolkit.lib.legacy.function.configurations.FunctionConfiguration;
+import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandler;
+import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandlerImpl;
+import com.microsoft.azure.toolkit.lib.legacy.function.utils.CommandUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Dev loop of {@code azure-functions:run} with {@code functions.watch}: keeps the functions host running and reloads the
+ * functions when files in the output directory change, e.g. when they are recompiled by the IDE or {@code mvn compile}.
+ * Only changed files are copied into the staged artifact (in place), {@code function.json} is regenerated only if a
+ * changed class may declare functions and written only for functions whose configuration changed. The host is then
+ * signaled to restart its script host, which restarts the Java worker within the running {@code func} process; the
+ * process itself is restarted only if the staged artifact can't be updated while it runs (e.g. locked on Windows).
+ * Time from a change to the host serving requests again is reported for each reload.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class FunctionDevLoop {
+    private static final byte[] FUNCTION_NAME_DESCRIPTOR = "Lcom/microsoft/azure/functions/annotation/FunctionName;".getBytes();
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String RUNNING = "Running";
+    private static final long QUIET_PERIOD_MILLIS = 300;
+    private static final Duration RESTART_SIGNAL_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Nonnull
+    private final Path classesDir;
+    @Nonnull
+    private final Path stagingDir;
+    @Nonnull
+    private final Path stagedArtifact;
+    @Nonnull
+    private final String startCommand;
+    private final int port;
+    /**
+     * class path to find functions in, including the output directory.
+     */
+    @Nonnull
+    private final Supplier<List<URL>> classpath;
+    @Nonnull
+    private final String scriptFile;
+
+    private final ObjectWriter writer = PackageMojo.createObjectWriter();
+    private Set<String> functionClasses = new HashSet<>();
+    private Process host;
+
+    void run() throws AzureExecutionException {
+        try (WatchService watcher = this.classesDir.getFileSystem().newWatchService()) {
+            Map<String, String> snapshot = snapshot(this.classesDir);
+            this.functionClasses = readFunctionClasses(this.stagingDir);
+            registerAll(watcher, this.classesDir);
+            this.startHost();
+            log.info(String.format("Watching %s for changes, recompile to reload the functions.", this.classesDir));
+            while (this.host.isAlive()) {
+                final WatchKey key = watcher.poll(1, TimeUnit.SECONDS);
+                if (Objects.isNull(key)) {
+                    continue;
+                }
+                final long start = System.currentTimeMillis();
+                this.awaitQuiet(watcher, key);
+                final Map<String, String> current = snapshot(this.classesDir);
+                final Changes changes = diff(snapshot, current);
+                snapshot = current;
+                if (!changes.isEmpty()) {
+                    this.reload(changes, start);
+                }
+            }
+            if (!CommandUtils.getValidReturnCodes().contains(Integer.toUnsignedLong(this.host.exitValue()))) {
+                throw new AzureExecutionException(RunMojo.RUN_FUNCTIONS_FAILURE);
+            }
+        } catch (final IOException e) {
+            throw new AzureExecutionException("Failed to watch changes of " + this.classesDir, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.stopHost();
+        }
+    }
+
+    private void reload(@Nonnull Changes changes, long start) throws IOException, InterruptedException {
+        final long restageStart = System.currentTimeMillis();
+        boolean restartProcess = false;
+        try {
+            updateArtifact(this.stagedArtifact, this.classesDir, changes);
+        } catch (final IOException e) {
+            log.debug("failed to update the staged artifact while the host is running, restarting the host", e);
+            this.stopHost();
+            updateArtifact(this.stagedArtifact, this.classesDir, changes);
+            restartProcess = true;
+        }
+        final long restageMillis = System.currentTimeMillis() - restageStart;
+        final int regenerated = mayChangeFunctions(this.classesDir, changes, this.functionClasses) ? this.regenerateFunctionJsons() : 0;
+        if (restartProcess) {
+            this.startHost();
+        } else {
+            if (regenerated == 0) {
+                // the host restarts itself (and the worker) when host.json or a function.json changes
+                Files.setLastModifiedTime(this.stagingDir.resolve(AbstractFunctionMojo.HOST_JSON), FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            this.awaitReady(true);
+        }
+        log.info(String.format("Reloaded %d changed file(s), regenerated %d function.json, restaged in %d ms, ready to serve requests %.1fs after the change.",
+            changes.getChanged().size() + changes.getDeleted().size(), regenerated, restageMillis, (System.currentTimeMillis() - start) / 1000.0));
+    }
+
+    /**
+     * @return number of function.json files written or removed.
+     */
+    private int regenerateFunctionJsons() throws IOException {
+        final Map<String, FunctionConfiguration> configs;
+        try {
+            final AnnotationHandler handler = new AnnotationHandlerImpl();
+            configs = handler.generateConfigurations(handler.findFunctions(this.classpath.get()));
+            configs.values().forEach(config -> config.setScriptFile(this.scriptFile));
+            configs.values().forEach(FunctionConfiguration::validate);
+        } catch (final AzureExecutionException | RuntimeException | LinkageError e) {
+            // e.g. classes are only partly recompiled yet, the next change reloads them again
+            log.warn(String.format("Failed to regenerate function configurations, keeping the current ones: %s", e.getMessage()));
+            return 0;
+        }
+        int count = 0;
+        for (final Map.Entry<String, FunctionConfiguration> entry : configs.entrySet()) {
+            final Path file = this.stagingDir.resolve(entry.getKey()).resolve(PackageMojo.FUNCTION_JSON);
+            final byte[] content = this.writer.writeValueAsBytes(entry.getValue());
+            if (!Files.isRegularFile(file) || !Arrays.equals(content, Files.readAllBytes(file))) {
+                Files.createDirectories(file.getParent());
+                Files.write(file, content);
+                log.info(String.format("Regenerated %s of function %s.", PackageMojo.FUNCTION_JSON, entry.getKey()));
+                count++;
+            }
+        }
+        for (final String removed : listFunctions(this.stagingDir)) {
+            if (!configs.containsKey(removed)) {
+                FileUtils.deleteDirectory(this.stagingDir.resolve(removed).toFile());
+                log.info(String.format("Removed function %s.", removed));
+                count++;
+            }
+        }
+        this.functionClasses = configs.values().stream().map(c -> StringUtils.substringBeforeLast(c.getEntryPoint(), ".")).collect(Collectors.toSet());
+        return count;
+    }
+
+    private void startHost() throws IOException, InterruptedException {
+        final long start = System.currentTimeMillis();
+        final String[] command = CommandUtils.isWindows() ? new String[]{"cmd.exe", "/c", this.startCommand} : new String[]{"sh", "-c", this.startCommand};
+        this.host = new ProcessBuilder(command).directory(this.stagingDir.toFile()).inheritIO().start();
+        if (this.awaitReady(false)) {
+            log.info(String.format("Functions host started in %.1fs.", (System.currentTimeMillis() - start) / 1000.0));
+        }
+    }
+
+    private void stopHost() {
+        if (Objects.nonNull(this.host) && this.host.isAlive()) {
+            this.host.destroy();
+            try {
+                if (!this.host.waitFor(10, TimeUnit.SECONDS)) {
+                    this.host.destroyForcibly().waitFor();
+                }
+            } catch (final InterruptedException e) {
+                this.host.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * waits until the host reports it's running, after it left the running state first if {@code restarting}.
+     */
+    private boolean awaitReady(boolean restarting) throws InterruptedException {
+        if (restarting) {
+            final long deadline = System.currentTimeMillis() + RESTART_SIGNAL_TIMEOUT.toMillis();
+            while (StringUtils.equals(this.getHostState(), RUNNING) && System.currentTimeMillis() < deadline && this.host.isAlive()) {
+                Thread.sleep(50);
+            }
+        }
+        final long deadline = System.currentTimeMillis() + READY_TIMEOUT.toMillis();
+        while (System.currentTimeMillis() < deadline && this.host.isAlive()) {
+            if (StringUtils.equals(this.getHostState(), RUNNING)) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    @Nullable
+    private String getHostState() {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) URI.create(String.format("http://localhost:%d/admin/host/status", this.port)).toURL().openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(1000);
+            if (connection.getResponseCode() != 200) {
+                return null;
+            }
+            return MAPPER.readTree(connection.getInputStream()).path("state").asText(null);
+        } catch (final IOException e) {
+            return null;
+        } finally {
+            if (Objects.nonNull(connection)) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * drains events until no file changed for {@link #QUIET_PERIOD_MILLIS}, so that a recompilation is reloaded once.
+     */
+    private void awaitQuiet(@Nonnull WatchService watcher, @Nonnull WatchKey first) throws IOException, InterruptedException {
+        WatchKey key = first;
+        while (Objects.nonNull(key)) {
+            final Path dir = (Path) key.watchable();
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                final Path child = event.kind() == StandardWatchEventKinds.OVERFLOW ? null : dir.resolve((Path) event.context());
+                if (Objects.nonNull(child) && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                    registerAll(watcher, child);
+                }
+            }
+            key.reset();
+            key = watcher.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void registerAll(@Nonnull WatchService watcher, @Nonnull Path root) throws IOException {
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (final Path dir : dirs.filter(Files::isDirectory).collect(Collectors.toList())) {
+                dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * @return modification time and size of the files under {@code root}, keyed by their path relative to {@code root}.
+     */
+    @Nonnull
+    static Map<String, String> snapshot(@Nonnull Path root) throws IOException {
+        final Map<String, String> result = new TreeMap<>();
+        if (!Files.isDirectory(root)) {
+            return result;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (final Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                result.put(toEntryName(root, file), Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file));
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    static Changes diff(@Nonnull Map<String, String> previous, @Nonnull Map<String, String> current) {
+        final Set<String> changed = current.entrySet().stream()
+            .filter(e -> !Objects.equals(e.getValue(), previous.get(e.getKey())))
+            .map(Map.Entry::getKey).collect(Collectors.toCollection(TreeSet::new));
+        final Set<String> deleted = previous.keySet().stream().filter(k -> !current.containsKey(k)).collect(Collectors.toCollection(TreeSet::new));
+        return new Changes(changed, deleted);
+    }
+
+    /**
+     * replaces the changed entries of the staged artifact with the files in {@code classesDir} and removes deleted ones,
+     * other entries are kept as is.
+     */
+    static void updateArtifact(@Nonnull Path artifact, @Nonnull Path classesDir, @Nonnull Changes changes) throws IOException {
+        try (FileSystem jar = FileSystems.newFileSystem(URI.create("jar:" + artifact.toUri()), Collections.emptyMap())) {
+            for (final String name : changes.getChanged()) {
+                final Path entry = jar.getPath(name);
+                Files.createDirectories(Objects.requireNonNull(entry.toAbsolutePath().getParent()));
+                Files.copy(classesDir.resolve(name), entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            for (final String name : changes.getDeleted()) {
+                Files.deleteIfExists(jar.getPath(name));
+            }
+        }
+    }
+
+    /**
+     * @return whether the changes may add, remove or change functions: a changed class refers to {@code @FunctionName} or
+     * a class which declared functions changed or was deleted.
+     */
+    static boolean mayChangeFunctions(@Nonnull Path classesDir, @Nonnull Changes changes, @Nonnull Set<String> functionClasses) throws IOException {
+        final Collection<String> classes = Stream.concat(changes.getChanged().stream(), changes.getDeleted().stream())
+            .filter(name -> name.endsWith(CLASS_SUFFIX)).collect(Collectors.toList());
+        if (classes.stream().map(FunctionDevLoop::toClassName).anyMatch(functionClasses::contains)) {
+            return true;
+        }
+        for (final String name : changes.getChanged()) {
+            if (name.endsWith(CLASS_SUFFIX) && contains(Files.readAllBytes(classesDir.resolve(name)), FUNCTION_NAME_DESCRIPTOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return classes declaring the functions staged in {@code stagingDir}, read from the entry points in their function.json.
+     */
+    @Nonnull
+    static Set<String> readFunctionClasses(@Nonnull Path stagingDir) {
+        final Set<String> result = new HashSet<>();
+        for (final String function : listFunctions(stagingDir)) {
+            try {
+                final JsonNode config = MAPPER.readTree(stagingDir.resolve(function).resolve(PackageMojo.FUNCTION_JSON).toFile());
+                final String entryPoint = config.path("entryPoint").asText(StringUtils.EMPTY);
+                if (StringUtils.isNotBlank(entryPoint)) {
+                    result.add(StringUtils.substringBeforeLast(entryPoint, "."));
+                }
+            } catch (final IOException e) {
+                log.debug("failed to read configuration of function {}", function, e);
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static List<String> listFunctions(@Nonnull Path stagingDir) {
+        final File[] dirs = stagingDir.toFile().listFiles(f -> new File(f, PackageMojo.FUNCTION_JSON).isFile());
+        return Objects.isNull(dirs) ? Collections.emptyList() : Arrays.stream(dirs).map(File::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * @return canonical name (as in entry points) of the class in {@code entryName}, e.g. {@code a.b.Outer.Inner} for
+     * {@code a/b/Outer$Inner.class}.
+     */
+    @Nonnull
+    static String toClassName(@Nonnull String entryName) {
+        return StringUtils.removeEnd(entryName, CLASS_SUFFIX).replace('/', '.').replace('$', '.');
+    }
+
+    @Nonnull
+    private static String toEntryName(@Nonnull Path root, @Nonnull Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    private static boolean contains(@Nonnull byte[] data, @Nonnull byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Changes {
+        private final Set<String> changed;
+        private final Set<String> deleted;
+
+        boolean isEmpty() {
+            return this.changed.isEmpty() && this.deleted.isEmpty();
+        }
+    }
+}
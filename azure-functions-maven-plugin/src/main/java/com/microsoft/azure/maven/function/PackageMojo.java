@@ -186,11 +186,27 @@ public class PackageMojo extends AbstractFunctionMojo {
 
     public static void buildArtifactWithDependencies(@Nonnull final File artifactFile, @Nullable final Set<File> dependencies, final File target) {
         AzureMessager.getMessager().info("Building artifact with dependencies...");
-        final Shader shader = new DefaultShader();
-        final ShadeRequest shadeRequest = new ShadeRequest();
         final Set<File> jars = new HashSet<>();
         jars.add(artifactFile);
         Optional.ofNullable(dependencies).ifPresent(jars::addAll);
+        if (jars.stream().allMatch(File::isFile)) {
+            try {
+                // copies entries of unchanged dependencies as is, output is the same as shading with `DefaultShader` below
+                new UberJarBuilder(UberJarBuilder.DEFAULT_INDEX_DIR, Collections.singletonList(getExcludeSignFilesFilter(jars)), getDefaultResourceTransformers())
+                    .build(artifactFile, jars, target);
+                AzureMessager.getMessager().info(AzureString.format("Successfully build artifact to %s", target.getAbsolutePath()));
+                return;
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Failed to build artifact incrementally, falling back to shading all dependencies.", e);
+            }
+        }
+        shadeArtifactWithDependencies(jars, target);
+        AzureMessager.getMessager().info(AzureString.format("Successfully build artifact to %s", target.getAbsolutePath()));
+    }
+
+    static void shadeArtifactWithDependencies(@Nonnull final Set<File> jars, @Nonnull final File target) {
+        final Shader shader = new DefaultShader();
+        final ShadeRequest shadeRequest = new ShadeRequest();
         shadeRequest.setJars(jars);
         shadeRequest.setRelocators(Collections.emptyList());
         shadeRequest.setFilters(Collections.singletonList(getExcludeSignFilesFilter(jars)));
@@ -202,14 +218,13 @@ public class PackageMojo extends AbstractFunctionMojo {
         } catch (IOException | MojoExecutionException e) {
             throw new AzureToolkitRuntimeException(BUILD_UBER_ARTIFACT_EXCEPTION, e);
         }
-        AzureMessager.getMessager().info(AzureString.format("Successfully build artifact to %s", target.getAbsolutePath()));
     }
 
-    private static List<ResourceTransformer> getDefaultResourceTransformers() {
+    static List<ResourceTransformer> getDefaultResourceTransformers() {
         return Arrays.asList(new ServicesResourceTransformer(), new ApacheLicenseResourceTransformer(), new ApacheNoticeResourceTransformer());
     }
 
-    private static Filter getExcludeSignFilesFilter(final Set<File> jars) {
+    static Filter getExcludeSignFilesFilter(final Set<File> jars) {
         return new SimpleFilter(jars, Collections.emptySet(), SetUtils.unmodifiableSet("META-INF/*.SF", "META-INF/*.DSA", "META-INF/*.RSA"));
     }
 
@@ -369,6 +384,10 @@ public class PackageMojo extends AbstractFunctionMojo {
     }
 
     protected ObjectWriter getObjectWriter() {
+        return createObjectWriter();
+    }
+
+    static ObjectWriter createObjectWriter() {
         final DefaultPrettyPrinter.Indenter indenter = DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.withLinefeed(StringUtils.LF);
         final PrettyPrinter prettyPrinter = new DefaultPrettyPrinter().withObjectIndenter(indenter);
         return new ObjectMapper()
@@ -12,17 +12,24 @@ import com.microsoft.azure.toolkit.lib.legacy.function.handlers.CommandHandlerIm
 import com.microsoft.azure.toolkit.lib.legacy.function.utils.CommandUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Run Azure Java Functions locally. Azure Functions Core Tools is required to be installed first.
  */
 @Slf4j
-@Mojo(name = "run")
+@Mojo(name = "run", requiresDependencyResolution = ResolutionScope.RUNTIME)
 public class RunMojo extends AbstractFunctionMojo {
     protected static final String FUNC_CMD = "func -v";
     protected static final String FUNC_HOST_START_CMD = "func host start -p %s";
@@ -58,6 +65,15 @@ public class RunMojo extends AbstractFunctionMojo {
      */
     @Parameter(property = "funcPort", defaultValue = "7071")
     protected Integer funcPort;
+
+    /**
+     * Keep the functions host running and reload the functions when the classes in the output directory change,
+     * e.g. after they are recompiled by the IDE or {@code mvn compile}.
+     *
+     * @since 1.37.0
+     */
+    @Parameter(property = "functions.watch", defaultValue = "false")
+    protected Boolean watch;
     //region Getter
 
     public String getLocalDebugConfig() {
@@ -85,7 +101,11 @@ public class RunMojo extends AbstractFunctionMojo {
 
         checkRuntimeCompatibility(commandHandler);
 
-        runFunctions(commandHandler);
+        if (Boolean.TRUE.equals(watch)) {
+            runFunctionsWithWatch();
+        } else {
+            runFunctions(commandHandler);
+        }
     }
 
     protected void checkStageDirectoryExistence() throws AzureExecutionException {
@@ -117,6 +137,24 @@ public class RunMojo extends AbstractFunctionMojo {
         );
     }
 
+    protected void runFunctionsWithWatch() throws AzureExecutionException {
+        new FunctionDevLoop(outputDirectory.toPath(), Paths.get(getDeploymentStagingDirectoryPath()),
+                Paths.get(getDeploymentStagingDirectoryPath(), getArtifact().getName()), getStartFunctionHostCommand(), funcPort,
+                this::getRuntimeClasspathUrls, String.format("../%s.jar", getFinalName())).run();
+    }
+
+    private List<URL> getRuntimeClasspathUrls() {
+        final List<URL> urls = new ArrayList<>();
+        try {
+            for (final String element : this.getProject().getRuntimeClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            log.debug("Failed to resolve runtime class path, exception: " + e.getMessage());
+        }
+        return urls;
+    }
+
     private void checkRuntimeCompatibility(final CommandHandler handler) throws AzureExecutionException {
         // Maven will always refer JAVA_HOME, which is also adopted by function core tools
         // So we could get function core tools runtime by java.version
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.function;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.maven.plugins.shade.filter.Filter;
+import org.apache.maven.plugins.shade.resource.ReproducibleResourceTransformer;
+import org.apache.maven.plugins.shade.resource.ResourceTransformer;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Builds an uber jar the same way as maven-shade's {@code DefaultShader} does without relocation (same jar order, same
+ * filters and resource transformers, first entry wins), but copies entries as raw compressed data instead of inflating
+ * and deflating them again. The entries (name, CRC, sizes and data offset) of dependency jars are indexed once and cached
+ * on disk, keyed by path, size and modification time of the jar, so only the project artifact and changed dependencies
+ * are scanned again, entries of unchanged dependencies are copied straight from their recorded offsets.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class UberJarBuilder {
+    static final Path DEFAULT_INDEX_DIR = Paths.get(System.getProperty("user.home"), ".azure", "functions-uber-jar");
+    private static final int INDEX_VERSION = 1;
+    private static final String INDEX_LIST = "META-INF/INDEX.LIST";
+    private static final String MODULE_INFO = "module-info.class";
+
+    @Nonnull
+    private final Path indexDir;
+    @Nonnull
+    private final List<Filter> filters;
+    @Nonnull
+    private final List<ResourceTransformer> transformers;
+
+    /**
+     * @param artifact the project artifact, which is always scanned again and never cached.
+     * @param jars     all jars to merge (including the artifact), in the order {@code DefaultShader} would process them.
+     */
+    public void build(@Nonnull File artifact, @Nonnull Collection<File> jars, @Nonnull File target) throws IOException {
+        final Set<String> resources = new HashSet<>();
+        final Set<String> entries = new HashSet<>();
+        Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(target)) {
+            for (final File jar : jars) {
+                final List<IndexEntry> index = Objects.equals(jar, artifact) ? scan(jar) : getIndex(jar);
+                final List<Filter> jarFilters = this.filters.stream().filter(f -> f.canFilter(jar)).collect(Collectors.toList());
+                final List<IndexEntry> transformed = new ArrayList<>();
+                try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+                    for (final IndexEntry entry : index) {
+                        if (jarFilters.stream().anyMatch(f -> f.isFiltered(entry.name)) || INDEX_LIST.equals(entry.name) || MODULE_INFO.equals(entry.name)) {
+                            continue;
+                        }
+                        final int idx = entry.name.lastIndexOf('/');
+                        if (idx != -1 && !resources.contains(entry.name.substring(0, idx))) {
+                            addDirectory(out, resources, entries, entry.name.substring(0, idx), entry.time);
+                        }
+                        if (!entry.name.endsWith(".class") && this.transformers.stream().anyMatch(t -> t.canTransformResource(entry.name))) {
+                            transformed.add(entry);
+                        } else if (entries.contains(entry.name) || resources.contains(entry.name)) {
+                            log.debug("We have a duplicate {} in {}", entry.name, jar);
+                        } else {
+                            addRawEntry(out, channel, entry);
+                            entries.add(entry.name);
+                            if (!entry.name.endsWith(".class")) {
+                                resources.add(entry.name);
+                            }
+                        }
+                    }
+                }
+                transform(jar, transformed);
+            }
+            writeTransformedResources(out, entries);
+        }
+    }
+
+    private void transform(@Nonnull File jar, @Nonnull List<IndexEntry> transformed) throws IOException {
+        if (transformed.isEmpty()) {
+            return;
+        }
+        // transformers need the inflated content, these are few and small (services, licenses and notices)
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (final IndexEntry entry : transformed) {
+                final ResourceTransformer transformer = this.transformers.stream().filter(t -> t.canTransformResource(entry.name)).findFirst()
+                    .orElseThrow(IllegalStateException::new);
+                try (InputStream in = jarFile.getInputStream(jarFile.getEntry(entry.name))) {
+                    if (transformer instanceof ReproducibleResourceTransformer) {
+                        ((ReproducibleResourceTransformer) transformer).processResource(entry.name, in, Collections.emptyList(), entry.time);
+                    } else {
+                        transformer.processResource(entry.name, in, Collections.emptyList());
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeTransformedResources(@Nonnull ZipArchiveOutputStream out, @Nonnull Set<String> entries) throws IOException {
+        // transformers can only write to a jar stream, so they write to an in-memory jar which is then copied over
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (JarOutputStream jos = new JarOutputStream(buffer)) {
+            for (final ResourceTransformer transformer : this.transformers) {
+                if (transformer.hasTransformedResource()) {
+                    transformer.modifyOutputStream(jos);
+                }
+            }
+        }
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                if (entries.add(entry.getName())) {
+                    final ZipArchiveEntry outEntry = new ZipArchiveEntry(entry.getName());
+                    outEntry.setTime(entry.getTime());
+                    out.putArchiveEntry(outEntry);
+                    IOUtils.copy(in, out);
+                    out.closeArchiveEntry();
+                }
+            }
+        }
+    }
+
+    private static void addDirectory(@Nonnull ZipArchiveOutputStream out, @Nonnull Set<String> resources, @Nonnull Set<String> entries,
+                                     @Nonnull String name, long time) throws IOException {
+        final int idx = name.lastIndexOf('/');
+        if (idx > 0 && !resources.contains(name.substring(0, idx))) {
+            addDirectory(out, resources, entries, name.substring(0, idx), time);
+        }
+        final ZipArchiveEntry entry = new ZipArchiveEntry(name + "/");
+        entry.setTime(time);
+        out.putArchiveEntry(entry);
+        out.closeArchiveEntry();
+        resources.add(name);
+        entries.add(name + "/");
+    }
+
+    private static void addRawEntry(@Nonnull ZipArchiveOutputStream out, @Nonnull FileChannel channel, @Nonnull IndexEntry entry) throws IOException {
+        final ZipArchiveEntry outEntry = new ZipArchiveEntry(entry.name);
+        outEntry.setMethod(entry.method);
+        outEntry.setCrc(entry.crc);
+        outEntry.setSize(entry.size);
+        outEntry.setCompressedSize(entry.compressedSize);
+        outEntry.setTime(entry.time);
+        channel.position(entry.offset);
+        // the raw stream is not closed when copied, the channel is closed by the caller.
+        final InputStream raw = new BoundedInputStream(Channels.newInputStream(channel), entry.compressedSize);
+        out.addRawArchiveEntry(outEntry, new BufferedInputStream(raw));
+    }
+
+    @Nonnull
+    private List<IndexEntry> getIndex(@Nonnull File jar) throws IOException {
+        final Path file = this.indexDir.resolve(getIndexKey(jar) + ".idx");
+        if (Files.isRegularFile(file)) {
+            try {
+                return readIndex(file);
+            } catch (final IOException e) {
+                log.debug("ignoring corrupted uber jar index {}", file, e);
+            }
+        }
+        final List<IndexEntry> index = scan(jar);
+        writeIndex(file, index);
+        return index;
+    }
+
+    @Nonnull
+    static List<IndexEntry> scan(@Nonnull File jar) throws IOException {
+        final List<IndexEntry> result = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jar)) {
+            final Enumeration<ZipArchiveEntry> entries = zip.getEntries();
+            while (entries.hasMoreElements()) {
+                final ZipArchiveEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                // opening the raw stream resolves the data offset from the local file header
+                try (InputStream ignored = zip.getRawInputStream(entry)) {
+                    result.add(new IndexEntry(entry.getName(), entry.getMethod(), entry.getCrc(), entry.getSize(),
+                        entry.getCompressedSize(), entry.getTime(), entry.getDataOffset()));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static String getIndexKey(@Nonnull File jar) throws IOException {
+        try {
+            final String key = jar.getCanonicalPath() + "|" + jar.length() + "|" + jar.lastModified();
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Nonnull
+    private static List<IndexEntry> readIndex(@Nonnull Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != INDEX_VERSION) {
+                throw new IOException("unsupported index version");
+            }
+            final int count = in.readInt();
+            final List<IndexEntry> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(new IndexEntry(in.readUTF(), in.readInt(), in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return result;
+        }
+    }
+
+    private static void writeIndex(@Nonnull Path file, @Nonnull List<IndexEntry> index) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(INDEX_VERSION);
+                out.writeInt(index.size());
+                for (final IndexEntry entry : index) {
+                    out.writeUTF(entry.name);
+                    out.writeInt(entry.method);
+                    out.writeLong(entry.crc);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.compressedSize);
+                    out.writeLong(entry.time);
+                    out.writeLong(entry.offset);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            log.debug("failed to cache uber jar index to {}", file, e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    static class IndexEntry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+        private final long time;
+        private final long offset;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.function;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionDevLoopTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void diff() {
+        final Map<String, String> previous = new HashMap<>();
+        previous.put("a/Kept.class", "1:10");
+        previous.put("a/Changed.class", "1:10");
+        previous.put("a/Deleted.class", "1:10");
+        final Map<String, String> current = new HashMap<>();
+        current.put("a/Kept.class", "1:10");
+        current.put("a/Changed.class", "2:12");
+        current.put("a/Added.class", "2:10");
+
+        final FunctionDevLoop.Changes changes = FunctionDevLoop.diff(previous, current);
+
+        assertEquals(new HashSet<>(Arrays.asList("a/Changed.class", "a/Added.class")), changes.getChanged());
+        assertEquals(Collections.singleton("a/Deleted.class"), changes.getDeleted());
+        assertTrue(FunctionDevLoop.diff(current, current).isEmpty());
+    }
+
+    @Test
+    public void snapshot() throws IOException {
+        final Path classes = folder.newFolder("classes").toPath();
+        write(classes, "com/example/Function.class", "function");
+        write(classes, "config.txt", "config");
+
+        final Map<String, String> snapshot = FunctionDevLoop.snapshot(classes);
+
+        assertEquals(new HashSet<>(Arrays.asList("com/example/Function.class", "config.txt")), snapshot.keySet());
+        assertTrue(FunctionDevLoop.snapshot(classes.resolve("missing")).isEmpty());
+    }
+
+    @Test
+    public void updateArtifact() throws IOException {
+        final Path classes = folder.newFolder("classes").toPath();
+        write(classes, "com/example/Function.class", "new function");
+        write(classes, "com/example/inner/Added.class", "added");
+        final File artifact = createJar("app.jar",
+            "com/example/Function.class", "old function",
+            "com/example/Deleted.class", "deleted",
+            "com/example/Kept.class", "kept");
+        final FunctionDevLoop.Changes changes = new FunctionDevLoop.Changes(
+            new HashSet<>(Arrays.asList("com/example/Function.class", "com/example/inner/Added.class")),
+            Collections.singleton("com/example/Deleted.class"));
+
+        FunctionDevLoop.updateArtifact(artifact.toPath(), classes, changes);
+
+        try (JarFile jar = new JarFile(artifact)) {
+            assertEquals("new function", read(jar, "com/example/Function.class"));
+            assertEquals("added", read(jar, "com/example/inner/Added.class"));
+            assertEquals("kept", read(jar, "com/example/Kept.class"));
+            assertNull(jar.getEntry("com/example/Deleted.class"));
+        }
+    }
+
+    @Test
+    public void mayChangeFunctions() throws IOException {
+        final Path classes = folder.newFolder("classes").toPath();
+        write(classes, "com/example/Http.class", "...Lcom/microsoft/azure/functions/annotation/FunctionName;...");
+        write(classes, "com/example/Helper.class", "helper");
+        write(classes, "com/example/Outer$Inner.class", "inner");
+        final HashSet<String> functionClasses = new HashSet<>(Collections.singleton("com.example.Outer.Inner"));
+
+        assertTrue(FunctionDevLoop.mayChangeFunctions(classes, changed("com/example/Http.class"), functionClasses));
+        assertFalse(FunctionDevLoop.mayChangeFunctions(classes, changed("com/example/Helper.class"), functionClasses));
+        assertTrue(FunctionDevLoop.mayChangeFunctions(classes, changed("com/example/Outer$Inner.class"), functionClasses));
+        assertTrue(FunctionDevLoop.mayChangeFunctions(classes, new FunctionDevLoop.Changes(Collections.emptySet(),
+            Collections.singleton("com/example/Outer$Inner.class")), functionClasses));
+    }
+
+    @Test
+    public void readFunctionClasses() throws IOException {
+        final Path staging = folder.newFolder("staging").toPath();
+        write(staging, "http/function.json", "{\"scriptFile\":\"../app.jar\",\"entryPoint\":\"com.example.Http.run\"}");
+        write(staging, "timer/function.json", "{\"scriptFile\":\"../app.jar\",\"entryPoint\":\"com.example.Outer.Inner.run\"}");
+        write(staging, "lib/dependency.jar", "jar");
+
+        assertEquals(new HashSet<>(Arrays.asList("com.example.Http", "com.example.Outer.Inner")), FunctionDevLoop.readFunctionClasses(staging));
+    }
+
+    private static FunctionDevLoop.Changes changed(String name) {
+        return new FunctionDevLoop.Changes(Collections.singleton(name), Collections.emptySet());
+    }
+
+    private static void write(Path root, String name, String content) throws IOException {
+        final Path file = root.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(JarFile jar, String name) throws IOException {
+        return IOUtils.toString(jar.getInputStream(jar.getEntry(name)), StandardCharsets.UTF_8);
+    }
+
+    private File createJar(String name, String... entries) throws IOException {
+        final File file = new File(folder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new JarEntry(entries[i]));
+                out.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.function;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UberJarBuilderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void buildSameAsDefaultShader() throws Exception {
+        final File artifact = createJar("app.jar",
+            "com/example/Function.class", "function",
+            "com/example/Shared.class", "shared from app",
+            "META-INF/services/com.example.Spi", "com.example.AppSpi\n",
+            "config.txt", "app config");
+        final File dependency = createJar("lib.jar",
+            "com/example/Shared.class", "shared from lib",
+            "com/example/lib/Library.class", String.join("\n", Collections.nCopies(10000, "library code")),
+            "META-INF/services/com.example.Spi", "com.example.lib.LibSpi\n",
+            "META-INF/LICENSE", "license",
+            "META-INF/NOTICE", "notice",
+            "META-INF/LIB.SF", "signature",
+            "META-INF/INDEX.LIST", "index",
+            "config.txt", "lib config",
+            "lib.txt", "lib resource");
+        final Set<File> jars = new LinkedHashSet<>(Arrays.asList(artifact, dependency));
+
+        final File shaded = new File(folder.getRoot(), "shaded.jar");
+        PackageMojo.shadeArtifactWithDependencies(jars, shaded);
+        final Map<String, byte[]> expected = readEntries(shaded);
+
+        final File index = folder.newFolder("index");
+        for (int i = 0; i < 2; i++) {
+            // the second build copies the dependency from its cached index
+            final File built = new File(folder.getRoot(), "built" + i + ".jar");
+            new UberJarBuilder(index.toPath(), Collections.singletonList(PackageMojo.getExcludeSignFilesFilter(jars)), PackageMojo.getDefaultResourceTransformers())
+                .build(artifact, jars, built);
+            final Map<String, byte[]> actual = readEntries(built);
+
+            assertEquals(expected.keySet(), actual.keySet());
+            expected.forEach((name, content) -> assertArrayEquals(name, content, actual.get(name)));
+        }
+        assertEquals(1, index.list().length);
+        assertTrue(expected.containsKey("com/example/lib/"));
+        assertFalse(expected.containsKey("META-INF/LIB.SF"));
+        assertFalse(expected.containsKey("META-INF/INDEX.LIST"));
+        assertEquals("shared from app", new String(expected.get("com/example/Shared.class"), StandardCharsets.UTF_8));
+    }
+
+    private File createJar(String name, String... entries) throws IOException {
+        final File jar = new File(folder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                final byte[] content = entries[i + 1].getBytes(StandardCharsets.UTF_8);
+                final JarEntry entry = new JarEntry(entries[i]);
+                if (entries[i].endsWith(".txt")) {
+                    // mix stored entries with deflated ones
+                    final CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static Map<String, byte[]> readEntries(File jar) throws IOException {
+        final Map<String, byte[]> result = new HashMap<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    result.put(entry.getName(), IOUtils.toByteArray(in));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -377,10 +377,23 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     }
 
     protected Account loginAzure(MavenAuthConfiguration auth) throws MavenDecryptException, AzureExecutionException {
-        if (Azure.az(AzureAccount.class).isLoggedIn()) {
-            return Azure.az(AzureAccount.class).account();
-        }
         final AuthConfiguration authConfig = toAuthConfiguration(auth);
+        final Account account;
+        try {
+            account = AzureBuildSession.get(this.session).login(authConfig, () -> this.doLoginAzure(authConfig));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new AzureExecutionException(e.getMessage(), e);
+        }
+        final String environmentName = AzureEnvironmentUtils.azureEnvironmentToString(account.getEnvironment());
+        telemetryProxy.addDefaultProperty(AUTH_TYPE, account.getType().toString());
+        telemetryProxy.addDefaultProperty(AUTH_METHOD, getActualAuthType());
+        telemetryProxy.addDefaultProperty(AZURE_ENVIRONMENT, environmentName);
+        return account;
+    }
+
+    private Account doLoginAzure(AuthConfiguration authConfig) {
         if (authConfig.getType() == AuthType.DEVICE_CODE) {
             authConfig.setDeviceCodeConsumer(info -> {
                 final String message = StringUtils.replace(info.getMessage(), info.getUserCode(), TextUtils.cyan(info.getUserCode()));
@@ -393,14 +406,10 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
         MavenAuthUtils.disableIdentityLogs();
         final Account account = Azure.az(AzureAccount.class).login(authConfig, false);
         final AzureEnvironment env = account.getEnvironment();
-        final String environmentName = AzureEnvironmentUtils.azureEnvironmentToString(env);
         if (env != AzureEnvironment.AZURE && env != configEnv) {
-            AzureMessager.getMessager().info(AzureString.format(USING_AZURE_ENVIRONMENT, environmentName));
+            AzureMessager.getMessager().info(AzureString.format(USING_AZURE_ENVIRONMENT, AzureEnvironmentUtils.azureEnvironmentToString(env)));
         }
         printCredentialDescription(account);
-        telemetryProxy.addDefaultProperty(AUTH_TYPE, account.getType().toString());
-        telemetryProxy.addDefaultProperty(AUTH_METHOD, getActualAuthType());
-        telemetryProxy.addDefaultProperty(AZURE_ENVIRONMENT, environmentName);
         return account;
     }
 
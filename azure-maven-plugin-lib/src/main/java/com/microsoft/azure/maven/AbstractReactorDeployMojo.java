@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microsoft.azure.maven.deploy.DeployTarget;
+import com.microsoft.azure.maven.deploy.ParallelDeployer;
+import com.microsoft.azure.maven.utils.MavenConfigUtils;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.internal.MojoDescriptorCreator;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.Mojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Base class of the aggregator goals which deploy the apps of all modules in the reactor concurrently. The goal should be
+ * given after the phase which packages the modules, e.g. {@code mvn package azure-webapp:deploy-all}, Maven then runs it
+ * once after all modules are packaged. The {@code deploy} goal of every module which uses this plugin is configured
+ * from the module's configuration and validated one module after another, then the apps are created/updated and
+ * deployed by {@link ParallelDeployer}.
+ */
+@Slf4j
+public abstract class AbstractReactorDeployMojo<T extends AbstractAzureMojo> extends AbstractAzureMojo {
+    private static final String DEPLOY_GOAL = "deploy";
+
+    /**
+     * Max number of apps deployed at the same time.
+     */
+    @JsonProperty
+    @Parameter(property = "deployConcurrency", defaultValue = "4")
+    protected Integer deployConcurrency;
+
+    @Component
+    @JsonIgnore
+    protected MavenPluginManager pluginManager;
+
+    private final Class<T> deployMojoClass;
+
+    protected AbstractReactorDeployMojo(@Nonnull Class<T> deployMojoClass) {
+        this.deployMojoClass = deployMojoClass;
+    }
+
+    /**
+     * validates the configuration of the {@code deploy} goal of a module and returns its deployment, without creating or
+     * deploying anything yet.
+     */
+    @Nonnull
+    protected abstract DeployTarget toDeployTarget(@Nonnull T mojo) throws Throwable;
+
+    @Override
+    protected void doExecute() throws Throwable {
+        final List<DeployTarget> targets = new ArrayList<>();
+        final List<Runnable> releases = new ArrayList<>();
+        try {
+            for (final MavenProject module : this.session.getProjects()) {
+                final MojoExecution execution = createDeployExecution(module);
+                if (Objects.isNull(execution)) {
+                    continue;
+                }
+                final MavenSession moduleSession = this.session.clone();
+                moduleSession.setCurrentProject(module);
+                final T mojo = this.deployMojoClass.cast(this.pluginManager.getConfiguredMojo(Mojo.class, moduleSession, execution));
+                releases.add(() -> this.pluginManager.releaseMojo(mojo, execution));
+                if (mojo.isSkipMojo()) {
+                    log.info(String.format("Skip deployment of module %s.", module.getArtifactId()));
+                    continue;
+                }
+                mojo.initTelemetryProxy();
+                targets.add(this.toDeployTarget(mojo));
+            }
+            if (targets.isEmpty()) {
+                log.warn(String.format("No module in the reactor is configured with %s.", this.getPluginName()));
+                return;
+            }
+            final ParallelDeployer deployer = new ParallelDeployer();
+            Optional.ofNullable(this.deployConcurrency).ifPresent(deployer::setConcurrency);
+            final List<ParallelDeployer.Result> results = deployer.deploy(targets);
+            ParallelDeployer.printSummary(results);
+            final long failed = results.stream().filter(r -> r.getStatus() != ParallelDeployer.Status.SUCCEEDED).count();
+            if (failed > 0) {
+                throw new AzureToolkitRuntimeException(String.format("%s of %s app(s) failed to deploy.", failed, results.size()));
+            }
+        } finally {
+            releases.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * @return execution of the {@code deploy} goal of this plugin with the configuration of {@code module}, or null if the
+     * module doesn't use this plugin.
+     */
+    @Nullable
+    private MojoExecution createDeployExecution(@Nonnull MavenProject module) {
+        final Plugin modulePlugin = module.getPlugin(this.plugin.getPluginLookupKey());
+        final MojoDescriptor descriptor = this.plugin.getMojo(DEPLOY_GOAL);
+        if (Objects.isNull(modulePlugin) || Objects.isNull(descriptor) || MavenConfigUtils.isPomPackaging(module)) {
+            return null;
+        }
+        // configuration of an execution of the deploy goal is already merged with the plugin configuration by Maven
+        final Xpp3Dom configuration = modulePlugin.getExecutions().stream()
+            .filter(e -> e.getGoals().contains(DEPLOY_GOAL))
+            .map(PluginExecution::getConfiguration)
+            .filter(Objects::nonNull).findFirst()
+            .map(c -> (Xpp3Dom) c)
+            .orElse((Xpp3Dom) modulePlugin.getConfiguration());
+        return new MojoExecution(descriptor, finalizeConfiguration(descriptor, configuration));
+    }
+
+    /**
+     * keeps only the parameters of the goal from {@code configuration} and fills the others with their default values, as
+     * Maven does for the goals it executes.
+     */
+    @Nonnull
+    private static Xpp3Dom finalizeConfiguration(@Nonnull MojoDescriptor descriptor, @Nullable Xpp3Dom configuration) {
+        final Xpp3Dom defaults = MojoDescriptorCreator.convert(descriptor);
+        final Xpp3Dom result = new Xpp3Dom("configuration");
+        final List<org.apache.maven.plugin.descriptor.Parameter> parameters = Optional.ofNullable(descriptor.getParameters()).orElse(Collections.emptyList());
+        for (final org.apache.maven.plugin.descriptor.Parameter parameter : parameters) {
+            final Xpp3Dom value = Optional.ofNullable(configuration)
+                .map(c -> Optional.ofNullable(c.getChild(parameter.getName()))
+                    .orElseGet(() -> StringUtils.isEmpty(parameter.getAlias()) ? null : c.getChild(parameter.getAlias())))
+                .orElse(null);
+            final Xpp3Dom merged = Xpp3Dom.mergeXpp3Dom(value, defaults.getChild(parameter.getName()), Boolean.TRUE);
+            if (Objects.nonNull(merged)) {
+                final Xpp3Dom renamed = new Xpp3Dom(merged, parameter.getName());
+                if (StringUtils.isEmpty(renamed.getAttribute("implementation")) && StringUtils.isNotEmpty(parameter.getImplementation())) {
+                    renamed.setAttribute("implementation", parameter.getImplementation());
+                }
+                result.addChild(renamed);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.auth.Account;
+import com.microsoft.azure.toolkit.lib.auth.AuthConfiguration;
+import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
+import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * State shared by the Azure mojo executions of one Maven build. It is stored in the session data of the Maven session, so
+ * it's created by the first execution and dropped with the session, and keyed by its own class, so each plugin (class
+ * realm) has its own. Signed-in accounts are shared between modules with the same auth configuration instead of signing
+ * in again in every module, sign-ins are serialized so that parallel (-T) modules never sign in concurrently, and modules
+ * with other auth configurations are warned and keep using the signed-in account instead of signing out the account
+ * other modules are using. Resource manager clients and runtime/plan lookups are shared through {@link Azure#az()} once
+ * the account is shared. The time saved is logged when the Maven session ends.
+ */
+@Slf4j
+public class AzureBuildSession {
+    private static final String SESSION_ENDED = "sessionEnded";
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> loginCosts = new ConcurrentHashMap<>();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicBoolean summarized = new AtomicBoolean(false);
+    private final Set<String> warned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the build session of the Maven session, or a new unshared one if there is no Maven session (e.g. in tests).
+     */
+    @Nonnull
+    public static AzureBuildSession get(@Nullable MavenSession session) {
+        final SessionData data = Optional.ofNullable(session).map(MavenSession::getRepositorySession).map(RepositorySystemSession::getData).orElse(null);
+        if (Objects.isNull(data)) {
+            return new AzureBuildSession();
+        }
+        final Object current = data.get(AzureBuildSession.class);
+        if (current instanceof AzureBuildSession) {
+            return (AzureBuildSession) current;
+        }
+        final AzureBuildSession created = new AzureBuildSession();
+        // another module may have created it meanwhile, in which case that one is used
+        if (!data.set(AzureBuildSession.class, null, created)) {
+            return (AzureBuildSession) data.get(AzureBuildSession.class);
+        }
+        Optional.ofNullable(session.getRequest()).ifPresent(created::summarizeOnSessionEnd);
+        return created;
+    }
+
+    /**
+     * chains a listener to the execution listener of the request, which maven looks up for every event, to log the
+     * summary when the session ends.
+     */
+    private void summarizeOnSessionEnd(@Nonnull MavenExecutionRequest request) {
+        final ExecutionListener delegate = request.getExecutionListener();
+        final ExecutionListener listener = (ExecutionListener) Proxy.newProxyInstance(ExecutionListener.class.getClassLoader(),
+            new Class<?>[]{ExecutionListener.class}, (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.invoke(this, args);
+                }
+                final Object result = Objects.isNull(delegate) ? null : invoke(method, delegate, args);
+                if (SESSION_ENDED.equals(method.getName())) {
+                    this.summarize();
+                }
+                return result;
+            });
+        request.setExecutionListener(listener);
+    }
+
+    /**
+     * @return the current account if signed in by a previous module or outside of this build, otherwise signs in with
+     * {@code login}. the toolkit has one current account, which is never signed out here since other modules may be using
+     * it concurrently, so modules with another auth configuration than the current account was signed in with are warned
+     * and use it too.
+     */
+    @Nonnull
+    public Account login(@Nonnull AuthConfiguration config, @Nonnull Callable<Account> login) throws Exception {
+        final AzureAccount az = Azure.az(AzureAccount.class);
+        return this.login(config, login, () -> az.isLoggedIn() ? az.account() : null);
+    }
+
+    /**
+     * @param current the current account of the toolkit, null if not signed in.
+     */
+    @Nonnull
+    synchronized Account login(@Nonnull AuthConfiguration config, @Nonnull Callable<Account> login, @Nonnull Supplier<Account> current) throws Exception {
+        final String key = getKey(config);
+        final Account account = current.get();
+        if (Objects.nonNull(account)) {
+            final String signedInWith = this.accounts.entrySet().stream()
+                .filter(e -> e.getValue() == account).map(Map.Entry::getKey).findFirst().orElse(null);
+            if (Objects.nonNull(signedInWith) && !Objects.equals(signedInWith, key) && this.warned.add(key)) {
+                log.warn("The auth configuration of this module differs from the one a previous module of this build signed in with, " +
+                    "but only one Azure account can be used per build, so the account signed in by the previous module is used. " +
+                    "Use the same auth configuration in all modules, or build the modules separately.");
+            }
+            // only accounts signed in by this build save a sign-in, the time of the sign-in which was skipped is saved
+            if (Objects.nonNull(signedInWith)) {
+                final long saved = this.loginCosts.getOrDefault(signedInWith, 0L);
+                this.savedMillis.addAndGet(saved);
+                this.reused.incrementAndGet();
+                log.debug("reusing account signed in by a previous module, saved {} ms", saved);
+            }
+            return account;
+        }
+        final long start = System.currentTimeMillis();
+        final Account signedIn = login.call();
+        this.loginCosts.put(key, System.currentTimeMillis() - start);
+        this.accounts.put(key, signedIn);
+        return signedIn;
+    }
+
+    /**
+     * logs the time saved by sharing the session, once.
+     *
+     * @return the logged summary, null if nothing was logged.
+     */
+    @Nullable
+    String summarize() {
+        if (this.reused.get() == 0 || !this.summarized.compareAndSet(false, true)) {
+            return null;
+        }
+        final String summary = String.format("Azure session was shared by %s module(s), saved %s of sign-in.", this.reused.get(),
+            TextUtils.cyan(String.format("%.1fs", this.savedMillis.get() / 1000.0)));
+        log.info(summary);
+        return summary;
+    }
+
+    public long getSavedMillis() {
+        return this.savedMillis.get();
+    }
+
+    @Nullable
+    private static Object invoke(@Nonnull Method method, @Nonnull Object target, @Nullable Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Nonnull
+    private static String getKey(@Nonnull AuthConfiguration config) {
+        final String key = String.join("|", String.valueOf(config.getType()), StringUtils.defaultString(config.getEnvironment()),
+            StringUtils.defaultString(config.getClient()), StringUtils.defaultString(config.getTenant()),
+            StringUtils.defaultString(config.getCertificate()), StringUtils.defaultString(config.getKey()),
+            StringUtils.defaultString(config.getCertificatePassword()));
+        try {
+            // secrets are part of the key, only keep their hash in memory
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
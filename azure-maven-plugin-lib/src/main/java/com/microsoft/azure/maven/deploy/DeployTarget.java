@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.deploy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * One app deployed by {@link ParallelDeployer}, deployed in two steps so that resources shared by several apps (e.g.
+ * resource group and service plan) are created once.
+ */
+public interface DeployTarget {
+    /**
+     * @return name of the target, used as prefix of its messages and in the result table.
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * @return ids of the resources created or updated in {@link #prepare()} which other targets may share, e.g. the ids of
+     * the resource group and service plan.
+     */
+    @Nonnull
+    default Set<String> getSharedResources() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * creates or updates the app and the resources it depends on.
+     */
+    void prepare() throws Throwable;
+
+    /**
+     * deploys the artifacts to the app prepared by {@link #prepare()}.
+     *
+     * @return url of the deployed app, if any.
+     */
+    @Nullable
+    String deploy() throws Throwable;
+}
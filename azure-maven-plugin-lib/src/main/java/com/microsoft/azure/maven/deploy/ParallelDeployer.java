@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.deploy;
+
+import com.microsoft.azure.toolkit.maven.common.messager.MavenAzureMessager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Deploys {@link DeployTarget}s concurrently, at most {@code concurrency} at the same time. A target which shares
+ * resources with a previous target waits until that target is prepared, so shared resources are created once (by the
+ * first target) and only updated by the others. Messages shown while deploying a target are prefixed with its name.
+ */
+@Slf4j
+public class ParallelDeployer {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    @Getter
+    @Setter
+    private int concurrency = 4;
+
+    /**
+     * @return results in the order of {@code targets}, failure of a target doesn't stop the others.
+     */
+    @Nonnull
+    public List<Result> deploy(@Nonnull List<? extends DeployTarget> targets) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.concurrency, targets.size())), r -> {
+            final Thread thread = new Thread(r, "azure-deploy-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // resource id -> prepared future of the first target sharing the resource
+            final Map<String, CompletableFuture<Void>> owners = new HashMap<>();
+            final List<CompletableFuture<Result>> results = new ArrayList<>();
+            for (final DeployTarget target : targets) {
+                final CompletableFuture<Void> prepared = new CompletableFuture<>();
+                final List<CompletableFuture<Void>> dependencies = target.getSharedResources().stream()
+                    .map(resource -> owners.putIfAbsent(resource, prepared))
+                    .filter(owner -> Objects.nonNull(owner) && owner != prepared).distinct()
+                    .collect(Collectors.toList());
+                results.add(CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(v -> this.deploy(target, prepared), executor));
+            }
+            return results.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Nonnull
+    private Result deploy(@Nonnull DeployTarget target, @Nonnull CompletableFuture<Void> prepared) {
+        final Result result = new Result(target.getName());
+        MavenAzureMessager.setThreadPrefix(String.format("[%s] ", target.getName()));
+        try {
+            final long start = System.currentTimeMillis();
+            try {
+                target.prepare();
+            } finally {
+                result.prepareMillis = System.currentTimeMillis() - start;
+                // targets waiting for shared resources continue even if this one failed
+                prepared.complete(null);
+            }
+            final long deployStart = System.currentTimeMillis();
+            try {
+                result.url = target.deploy();
+            } finally {
+                result.deployMillis = System.currentTimeMillis() - deployStart;
+            }
+            result.status = Status.SUCCEEDED;
+        } catch (final Throwable e) {
+            result.status = Status.FAILED;
+            result.error = e;
+            log.error(String.format("[%s] failed to deploy: %s", target.getName(), getMessage(e)));
+            log.debug(String.format("[%s] deployment failure", target.getName()), e);
+        } finally {
+            prepared.complete(null);
+            MavenAzureMessager.setThreadPrefix(null);
+        }
+        return result;
+    }
+
+    /**
+     * logs a table with the result and timings of each target.
+     */
+    public static void printSummary(@Nonnull List<Result> results) {
+        log.info("Deployment summary:");
+        formatSummary(results).forEach(log::info);
+    }
+
+    @Nonnull
+    static List<String> formatSummary(@Nonnull List<Result> results) {
+        final int width = results.stream().mapToInt(r -> r.getName().length()).max().orElse(0);
+        final String format = "  %-" + Math.max(width, 3) + "s  %-9s  %8s  %8s  %8s  %s";
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format(format, "App", "Result", "Prepare", "Deploy", "Total", "Url/Error"));
+        results.forEach(r -> lines.add(String.format(format, r.getName(), r.getStatus(), toSeconds(r.getPrepareMillis()),
+            toSeconds(r.getDeployMillis()), toSeconds(r.getPrepareMillis() + r.getDeployMillis()),
+            r.getStatus() == Status.SUCCEEDED ? StringUtils.defaultString(r.getUrl()) : getMessage(r.getError()))));
+        return lines;
+    }
+
+    @Nonnull
+    private static String toSeconds(long millis) {
+        return String.format("%.1fs", millis / 1000.0);
+    }
+
+    @Nonnull
+    private static String getMessage(@Nullable Throwable e) {
+        return Optional.ofNullable(e).map(t -> StringUtils.firstNonBlank(t.getMessage(), t.getClass().getSimpleName())).orElse(StringUtils.EMPTY);
+    }
+
+    public enum Status {
+        SUCCEEDED, FAILED
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        @Nonnull
+        private final String name;
+        private Status status;
+        private long prepareMillis;
+        private long deployMillis;
+        @Nullable
+        private String url;
+        @Nullable
+        private Throwable error;
+    }
+}
@@ -15,29 +15,46 @@ import com.fasterxml.jackson.databind.node.TextNode;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
-import com.github.fge.jsonschema.main.JsonValidator;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class SchemaValidator {
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    /**
+     * compiled schemas shared by all validators, schemas of the same property are compiled once.
+     */
+    private static final Map<JsonNode, JsonSchema> COMPILED_SCHEMAS = new ConcurrentHashMap<>();
 
     private Map<String, Map<String, Object>> schemaMap = new HashMap<>();
 
     private Map<String, JsonNode> schemas = new HashMap<>();
 
-    private final JsonValidator validator;
+    private Map<String, JsonSchema> compiledSchemas = new HashMap<>();
+
+    private Map<String, SimpleSchema> simpleSchemas = new HashMap<>();
 
     private final ObjectMapper mapper;
 
     public SchemaValidator() {
         mapper = new ObjectMapper();
-        validator = JsonSchemaFactory.byDefault().getValidator();
     }
 
     public void collectSingleProperty(String resource, String property, JsonNode schema) throws JsonProcessingException {
@@ -48,6 +65,10 @@ public class SchemaValidator {
 
         schemas.put(combineToKey(resource, property), schema);
         schemaMap.put(combineToKey(resource, property), mapper.treeToValue(schema, Map.class));
+        final SimpleSchema simpleSchema = SimpleSchema.from(schema);
+        if (Objects.nonNull(simpleSchema)) {
+            simpleSchemas.put(combineToKey(resource, property), simpleSchema);
+        }
     }
 
     public Map<String, Object> getSchemaMap(String resource, String property) {
@@ -57,16 +78,36 @@ public class SchemaValidator {
 
     public String validateSingleProperty(String resource, String property, String value) {
         checkExistSchema(resource, property);
-        final JsonNode schema = this.schemas.get(combineToKey(resource, property));
-        final String type = (String) schemaMap.get(combineToKey(resource, property)).get("type");
+        final String key = combineToKey(resource, property);
+        final String type = (String) schemaMap.get(key).get("type");
         try {
-            final ProcessingReport reports = validator.validate(schema, stringToJsonObject(type, value));
+            final JsonNode instance = stringToJsonObject(type, value);
+            final SimpleSchema simpleSchema = simpleSchemas.get(key);
+            // valid values are accepted without the generic validation, violations are reported by it with its messages
+            if (Objects.nonNull(simpleSchema) && simpleSchema.accepts(instance)) {
+                return null;
+            }
+            final ProcessingReport reports = getCompiledSchema(key).validate(instance);
             return formatValidationResults(reports);
         } catch (IllegalArgumentException | ProcessingException e) {
             return e.getMessage();
         }
     }
 
+    private JsonSchema getCompiledSchema(String key) throws ProcessingException {
+        JsonSchema result = compiledSchemas.get(key);
+        if (result == null) {
+            final JsonNode schema = schemas.get(key);
+            result = COMPILED_SCHEMAS.get(schema);
+            if (result == null) {
+                result = FACTORY.getJsonSchema(schema);
+                COMPILED_SCHEMAS.putIfAbsent(schema, result);
+            }
+            compiledSchemas.put(key, result);
+        }
+        return result;
+    }
+
     private void checkExistSchema(String resource, String property) {
         Preconditions.checkArgument(StringUtils.isNotBlank(resource), "Parameter 'resource' should not be null or empty.");
         Preconditions.checkArgument(StringUtils.isNotBlank(property), "Parameter 'property' should not be null or empty.");
@@ -127,4 +168,102 @@ public class SchemaValidator {
         return String.format("The input violates the validation rules:\n %s", String.join("\n", errors));
     }
 
+    /**
+     * Schema which only uses {@code type}, {@code pattern}, {@code enum} and length/range constraints, such values are
+     * checked directly instead of by the generic validator.
+     */
+    private static class SimpleSchema {
+        private static final Set<String> SIMPLE_TYPES = ImmutableSet.of("string", "integer", "number", "boolean");
+        private static final Set<String> KEYWORDS = ImmutableSet.of("type", "pattern", "enum", "minLength", "maxLength", "minimum", "maximum",
+            "description", "title", "default", "examples", "$comment");
+
+        private Pattern pattern;
+        private Set<JsonNode> enums;
+        private Integer minLength;
+        private Integer maxLength;
+        private BigDecimal minimum;
+        private BigDecimal maximum;
+
+        /**
+         * @return null if the schema uses other keywords or the constraints can't be checked directly.
+         */
+        @Nullable
+        static SimpleSchema from(@Nonnull JsonNode schema) {
+            if (!schema.isObject() || !SIMPLE_TYPES.contains(schema.path("type").asText())) {
+                return null;
+            }
+            final SimpleSchema result = new SimpleSchema();
+            for (final Iterator<Map.Entry<String, JsonNode>> it = schema.fields(); it.hasNext(); ) {
+                final Map.Entry<String, JsonNode> field = it.next();
+                final JsonNode value = field.getValue();
+                switch (field.getKey()) {
+                    case "pattern":
+                        if (!value.isTextual()) {
+                            return null;
+                        }
+                        try {
+                            result.pattern = Pattern.compile(value.asText());
+                        } catch (PatternSyntaxException e) {
+                            return null;
+                        }
+                        break;
+                    case "enum":
+                        if (!value.isArray()) {
+                            return null;
+                        }
+                        result.enums = new HashSet<>();
+                        value.forEach(result.enums::add);
+                        break;
+                    case "minLength":
+                    case "maxLength":
+                        if (!value.canConvertToInt()) {
+                            return null;
+                        }
+                        if ("minLength".equals(field.getKey())) {
+                            result.minLength = value.intValue();
+                        } else {
+                            result.maxLength = value.intValue();
+                        }
+                        break;
+                    case "minimum":
+                    case "maximum":
+                        if (!value.isNumber()) {
+                            return null;
+                        }
+                        if ("minimum".equals(field.getKey())) {
+                            result.minimum = value.decimalValue();
+                        } else {
+                            result.maximum = value.decimalValue();
+                        }
+                        break;
+                    default:
+                        if (!KEYWORDS.contains(field.getKey())) {
+                            return null;
+                        }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return true if {@code instance} (converted from the schema type) is valid, false if it may be invalid.
+         */
+        boolean accepts(@Nonnull JsonNode instance) {
+            // numbers which only differ in their representation (e.g. 1 and 1.0) are left to the generic validator
+            if (enums != null && !enums.contains(instance)) {
+                return false;
+            }
+            if (instance.isTextual()) {
+                final String text = instance.textValue();
+                final int length = text.codePointCount(0, text.length());
+                return (minLength == null || length >= minLength) && (maxLength == null || length <= maxLength) &&
+                    (pattern == null || pattern.matcher(text).find());
+            }
+            if (instance.isNumber()) {
+                final BigDecimal number = instance.decimalValue();
+                return (minimum == null || number.compareTo(minimum) >= 0) && (maximum == null || number.compareTo(maximum) <= 0);
+            }
+            return true;
+        }
+    }
 }
@@ -13,38 +13,55 @@ import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 @Slf4j
 public class MavenAzureMessager implements IAzureMessager, IAzureMessage.ValueDecorator {
+    private static final ThreadLocal<String> PREFIX = new ThreadLocal<>();
+
+    /**
+     * prefixes messages shown in the current thread, e.g. with the app name when several apps are deployed concurrently.
+     */
+    public static void setThreadPrefix(@Nullable String prefix) {
+        if (Objects.isNull(prefix)) {
+            PREFIX.remove();
+        } else {
+            PREFIX.set(prefix);
+        }
+    }
+
     @Override
     public boolean show(IAzureMessage message) {
+        final String prefix = StringUtils.defaultString(PREFIX.get());
+        final String content = prefix + message.getContent();
         final Stream<DummyOpenUrlAction> actions = Arrays.stream(ObjectUtils.firstNonNull(message.getActions(), new Action[0]))
             .filter(action -> action instanceof DummyOpenUrlAction).map(a -> ((DummyOpenUrlAction) a));
         switch (message.getType()) {
             case ALERT:
             case CONFIRM:
             case WARNING:
-                log.warn(message.getContent());
-                actions.forEach(action -> log.warn("* " + action.toString(this)));
+                log.warn(content);
+                actions.forEach(action -> log.warn(prefix + "* " + action.toString(this)));
                 return true;
             case ERROR:
-                log.error(message.getContent(), ((Throwable) message.getPayload()));
-                actions.forEach(action -> log.error("* " + action.toString(this)));
+                log.error(content, ((Throwable) message.getPayload()));
+                actions.forEach(action -> log.error(prefix + "* " + action.toString(this)));
                 return true;
             case DEBUG:
-                System.out.println(message.getContent());
-                actions.forEach(action -> log.debug("* " + action.toString(this)));
+                System.out.println(content);
+                actions.forEach(action -> log.debug(prefix + "* " + action.toString(this)));
                 return true;
             case INFO:
             case SUCCESS:
             default:
-                log.info(message.getContent());
-                actions.forEach(action -> log.info("* " + action.toString(this)));
+                log.info(content);
+                actions.forEach(action -> log.info(prefix + "* " + action.toString(this)));
                 return true;
         }
     }
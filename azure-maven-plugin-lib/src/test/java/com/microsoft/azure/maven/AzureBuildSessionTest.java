@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.microsoft.azure.toolkit.lib.auth.Account;
+import com.microsoft.azure.toolkit.lib.auth.AuthConfiguration;
+import com.microsoft.azure.toolkit.lib.auth.AuthType;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AzureBuildSessionTest {
+    private final AtomicReference<Account> current = new AtomicReference<>();
+    private final AtomicInteger logins = new AtomicInteger();
+
+    @Test
+    public void testReuseAccountOfSameConfiguration() throws Exception {
+        final AzureBuildSession session = new AzureBuildSession();
+
+        final Account account = login(session, config("client"));
+        assertSame(account, login(session, config("client")));
+        assertSame(account, login(session, config("client")));
+
+        assertEquals(1, logins.get());
+        final String summary = session.summarize();
+        assertNotNull(summary);
+        assertTrue(summary.contains("shared by 2 module(s)"));
+        // logged once
+        assertNull(session.summarize());
+    }
+
+    @Test
+    public void testOtherConfigurationUsesSignedInAccount() throws Exception {
+        final AzureBuildSession session = new AzureBuildSession();
+
+        final Account account = login(session, config("client"));
+        // warned instead of failing or signing out the account other modules may be using
+        assertSame(account, login(session, config("other-client")));
+        assertSame(account, login(session, config("other-client")));
+
+        assertEquals(1, logins.get());
+    }
+
+    @Test
+    public void testAccountSignedInOutsideOfBuildSavesNothing() throws Exception {
+        final AzureBuildSession session = new AzureBuildSession();
+        final Account account = mock(Account.class);
+        current.set(account);
+
+        assertSame(account, login(session, config("client")));
+        assertSame(account, login(session, config("client")));
+
+        assertEquals(0, logins.get());
+        assertEquals(0, session.getSavedMillis());
+        assertNull(session.summarize());
+    }
+
+    @Test
+    public void testSummarizeWhenSessionEnds() throws Exception {
+        final ExecutionListener listener = mock(ExecutionListener.class);
+        final MavenExecutionRequest request = new DefaultMavenExecutionRequest().setExecutionListener(listener);
+        final MavenSession maven = mock(MavenSession.class);
+        when(maven.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        when(maven.getRequest()).thenReturn(request);
+
+        final AzureBuildSession session = AzureBuildSession.get(maven);
+        assertSame(session, AzureBuildSession.get(maven));
+        login(session, config("client"));
+        login(session, config("client"));
+
+        final ExecutionEvent event = mock(ExecutionEvent.class);
+        request.getExecutionListener().projectSucceeded(event);
+        verify(listener).projectSucceeded(event);
+        request.getExecutionListener().sessionEnded(event);
+        verify(listener).sessionEnded(event);
+        // already logged when the session ended
+        assertNull(session.summarize());
+    }
+
+    private Account login(AzureBuildSession session, AuthConfiguration config) throws Exception {
+        final Callable<Account> login = () -> {
+            logins.incrementAndGet();
+            final Account account = mock(Account.class);
+            current.set(account);
+            return account;
+        };
+        return session.login(config, login, current::get);
+    }
+
+    private static AuthConfiguration config(String client) {
+        final AuthConfiguration config = new AuthConfiguration(AuthType.SERVICE_PRINCIPAL);
+        config.setClient(client);
+        config.setTenant("tenant");
+        config.setKey("secret");
+        return config;
+    }
+}
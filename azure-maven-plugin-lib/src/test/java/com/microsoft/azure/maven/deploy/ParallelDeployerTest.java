@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven.deploy;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelDeployerTest {
+    @Test
+    public void testSharedResourcesArePreparedFirst() {
+        final FakeTarget first = new FakeTarget("first", "group", "plan");
+        final FakeTarget second = new FakeTarget("second", "group", "plan");
+        final FakeTarget other = new FakeTarget("other", "another-group");
+        final ParallelDeployer deployer = new ParallelDeployer();
+        deployer.setConcurrency(3);
+
+        final List<ParallelDeployer.Result> results = deployer.deploy(Arrays.asList(first, second, other));
+
+        assertEquals(Arrays.asList("first", "second", "other"), results.stream().map(ParallelDeployer.Result::getName).collect(Collectors.toList()));
+        results.forEach(r -> assertEquals(ParallelDeployer.Status.SUCCEEDED, r.getStatus()));
+        assertTrue(second.prepareStart >= first.prepareEnd);
+        assertEquals("https://second", results.get(1).getUrl());
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<FakeTarget> targets = IntStream.range(0, 6).mapToObj(i -> new FakeTarget("app" + i) {
+            @Override
+            public void prepare() throws InterruptedException {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+            }
+        }).collect(Collectors.toList());
+        final ParallelDeployer deployer = new ParallelDeployer();
+        deployer.setConcurrency(2);
+
+        final List<ParallelDeployer.Result> results = deployer.deploy(targets);
+
+        assertEquals(6, results.size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testFailureDoesNotStopOthers() {
+        final FakeTarget failed = new FakeTarget("failed", "plan") {
+            @Override
+            public void prepare() {
+                throw new IllegalStateException("quota exceeded");
+            }
+        };
+        final FakeTarget dependent = new FakeTarget("dependent", "plan");
+
+        final List<ParallelDeployer.Result> results = new ParallelDeployer().deploy(Arrays.asList(failed, dependent));
+
+        assertEquals(ParallelDeployer.Status.FAILED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getError());
+        assertEquals(ParallelDeployer.Status.SUCCEEDED, results.get(1).getStatus());
+        assertTrue(dependent.deployed);
+        final List<String> summary = ParallelDeployer.formatSummary(results);
+        assertEquals(3, summary.size());
+        assertTrue(summary.get(1).contains("failed") && summary.get(1).contains("FAILED") && summary.get(1).contains("quota exceeded"));
+        assertTrue(summary.get(2).contains("dependent") && summary.get(2).contains("https://dependent"));
+    }
+
+    @Test
+    public void testNoTargets() {
+        assertEquals(Collections.emptyList(), new ParallelDeployer().deploy(Collections.emptyList()));
+    }
+
+    private static class FakeTarget implements DeployTarget {
+        private final String name;
+        private final Set<String> resources;
+        private volatile long prepareStart;
+        private volatile long prepareEnd;
+        private volatile boolean deployed;
+
+        FakeTarget(String name, String... resources) {
+            this.name = name;
+            this.resources = new HashSet<>(Arrays.asList(resources));
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Nonnull
+        @Override
+        public Set<String> getSharedResources() {
+            return this.resources;
+        }
+
+        @Override
+        public void prepare() throws InterruptedException {
+            this.prepareStart = System.nanoTime();
+            Thread.sleep(30);
+            this.prepareEnd = System.nanoTime();
+        }
+
+        @Override
+        public String deploy() {
+            this.deployed = true;
+            return "https://" + this.name;
+        }
+    }
+}
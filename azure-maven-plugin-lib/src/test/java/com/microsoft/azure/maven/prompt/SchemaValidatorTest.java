@@ -12,12 +12,14 @@ import com.github.fge.jackson.JsonLoader;
 
 import lombok.Lombok;
 import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -102,6 +104,20 @@ public class SchemaValidatorTest {
         assertNotNull(error);
     }
 
+    @Test
+    public void testValidateManyValues() throws Exception {
+        for (int i = 0; i < 10000; i++) {
+            final String name = "app" + Integer.toString(i, 36) + (i % 3 == 0 ? "~" : "") + (i % 7 == 0 ? StringUtils.repeat('a', 32) : "");
+            final boolean validName = i % 3 != 0 && i % 7 != 0;
+            assertEquals(name, validName, validator.validateSingleProperty("App", "appName", name) == null);
+            final boolean validCpu = i % 10 >= 1 && i % 10 <= 4;
+            assertEquals(String.valueOf(i % 10), validCpu, validator.validateSingleProperty("Deployment", "cpu", String.valueOf(i % 10)) == null);
+        }
+        // violations are still reported with the messages of the schema validator
+        assertTrue(validator.validateSingleProperty("App", "appName", "foo~").contains("pattern"));
+        assertTrue(validator.validateSingleProperty("Deployment", "cpu", "5").contains("maximum"));
+    }
+
     @Test
     public void testTypeNotSupported() throws Exception {
         final String err = validator.validateSingleProperty("Deployment", "testProperties", "foo");
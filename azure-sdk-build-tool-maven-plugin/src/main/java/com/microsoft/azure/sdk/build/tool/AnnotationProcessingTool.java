@@ -12,18 +12,17 @@ import com.microsoft.azure.sdk.build.tool.util.AnnotationUtils;
 import com.microsoft.azure.sdk.build.tool.util.MojoUtils;
 
 import java.io.File;
-import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Performs the following tasks:
@@ -35,6 +34,8 @@ import java.util.stream.Stream;
  */
 public class AnnotationProcessingTool implements Runnable {
     private static final Logger LOGGER = Logger.getInstance();
+    private static final String SERVICE_METHOD = "com.azure.core.annotation.ServiceMethod";
+    private static final String BETA = "com.azure.cosmos.util.Beta";
 
     /**
      * Runs the annotation processing task to look for @ServiceMethod and @Beta usage.
@@ -47,38 +48,29 @@ public class AnnotationProcessingTool implements Runnable {
         final Set<String> interestedPackages = new TreeSet<>(Comparator.comparingInt(String::length));
         MojoUtils.getCompileSourceRoots().forEach(root -> buildPackageList(root, root, interestedPackages));
 
-        final List<Path> allPaths = getAllPaths();
-        final ClassLoader classLoader = AnnotationUtils.getCompleteClassLoader(allPaths.stream());
-
-        // Collect all calls to methods annotated with the Azure SDK @ServiceMethod annotation
-        Optional<Set<AnnotatedMethodCallerResult>> serviceMethodCallers = AnnotationUtils.getAnnotation("com.azure.core.annotation.ServiceMethod", classLoader)
-            .map(a -> AnnotationUtils.findCallsToAnnotatedMethod(a, allPaths.stream(), interestedPackages, true));
-
-        if (serviceMethodCallers.isPresent()) {
-            List<MethodCallDetails> serviceMethodCallDetails = getMethodCallDetails(serviceMethodCallers.get());
-            AzureSdkMojo.getMojo().getReport().setServiceMethodCalls(serviceMethodCallDetails);
-        }
-
-        // Collect all calls to methods annotated with the Azure SDK @Beta annotation
-        Optional<Set<AnnotatedMethodCallerResult>> betaMethodCallers = AnnotationUtils.getAnnotation("com.azure.cosmos.util.Beta", classLoader)
-            .map(a -> AnnotationUtils.findCallsToAnnotatedMethod(a, allPaths.stream(), interestedPackages, true));
-        if (betaMethodCallers.isPresent()) {
-            List<MethodCallDetails> betaMethodCallDetails = getMethodCallDetails(betaMethodCallers.get());
-
-            AzureSdkMojo.getMojo().getReport().setBetaMethodCalls(betaMethodCallDetails);
-            if (!betaMethodCallers.get().isEmpty()) {
-                StringBuilder message = new StringBuilder();
-                message.append(MojoUtils.getString("betaApiUsed")).append(System.lineSeparator());
-                betaMethodCallers.get().forEach(method -> message.append("   - ").append(method.toString()).append(System.lineSeparator()));
-                MojoUtils.failOrWarn(() -> AzureSdkMojo.getMojo().isValidateNoBetaApiUsed(), BuildErrorCode.BETA_API_USED, message.toString());
-            }
+        // Collect all calls to methods annotated with the Azure SDK @ServiceMethod and @Beta annotations from a single
+        // bytecode scan of the project classes and all dependencies.
+        final Map<String, Set<AnnotatedMethodCallerResult>> callers = AnnotationUtils.findCallsToAnnotatedMethods(
+            Arrays.asList(SERVICE_METHOD, BETA), getAllPaths().stream(), interestedPackages, true);
+
+        final Set<AnnotatedMethodCallerResult> serviceMethodCallers = callers.get(SERVICE_METHOD);
+        List<MethodCallDetails> serviceMethodCallDetails = getMethodCallDetails(serviceMethodCallers);
+        AzureSdkMojo.getMojo().getReport().setServiceMethodCalls(serviceMethodCallDetails);
+
+        final Set<AnnotatedMethodCallerResult> betaMethodCallers = callers.get(BETA);
+        List<MethodCallDetails> betaMethodCallDetails = getMethodCallDetails(betaMethodCallers);
+        AzureSdkMojo.getMojo().getReport().setBetaMethodCalls(betaMethodCallDetails);
+        if (!betaMethodCallers.isEmpty()) {
+            StringBuilder message = new StringBuilder();
+            message.append(MojoUtils.getString("betaApiUsed")).append(System.lineSeparator());
+            betaMethodCallers.forEach(method -> message.append("   - ").append(method.toString()).append(System.lineSeparator()));
+            MojoUtils.failOrWarn(() -> AzureSdkMojo.getMojo().isValidateNoBetaApiUsed(), BuildErrorCode.BETA_API_USED, message.toString());
         }
     }
 
     private List<MethodCallDetails> getMethodCallDetails(Set<AnnotatedMethodCallerResult> betaMethodCallers) {
         return betaMethodCallers.stream()
             .map(AnnotatedMethodCallerResult::getAnnotatedMethod)
-            .map(Method::toGenericString)
             .sorted()
             .collect(Collectors.groupingBy(Function.identity(), Collectors.summingInt(e -> 1)))
             .entrySet()
@@ -24,32 +24,35 @@ public class AzureDependencyMapping {
     private static final String TRACK_TWO_GROUP_ID = "com.azure";
 
     // This map is for all com.microsoft.* group IDs, mapping them into their com.azure equivalents
-    private static final Map<String, List<String>> TRACK_ONE_REDIRECTS = new HashMap<>();
+    private static final Map<String, List<String>> TRACK_ONE_REDIRECTS;
     static {
+        final Map<String, List<String>> redirects = new HashMap<>();
         // Cosmos
-        TRACK_ONE_REDIRECTS.put("azure-cosmosdb", Collections.singletonList("azure-cosmos"));
+        redirects.put("azure-cosmosdb", Collections.singletonList("azure-cosmos"));
 
         // Key Vault - Track 1 KeyVault library is split into three Track 2 libraries
-        TRACK_ONE_REDIRECTS.put("azure-keyvault",
+        redirects.put("azure-keyvault",
                 Arrays.asList("azure-security-keyvault-keys",
                 "azure-security-keyvault-certificates",
                 "azure-security-keyvault-secrets"));
 
         // Blob Storage
-        TRACK_ONE_REDIRECTS.put("azure-storage-blob", Collections.singletonList("azure-storage-blob"));
+        redirects.put("azure-storage-blob", Collections.singletonList("azure-storage-blob"));
 
         // Event Hubs
-        TRACK_ONE_REDIRECTS.put("azure-eventhubs", Collections.singletonList("azure-messaging-eventhubs"));
-        TRACK_ONE_REDIRECTS.put("azure-eventhubs-eph", Collections.singletonList("azure-messaging-eventhubs-checkpointstore-blob"));
+        redirects.put("azure-eventhubs", Collections.singletonList("azure-messaging-eventhubs"));
+        redirects.put("azure-eventhubs-eph", Collections.singletonList("azure-messaging-eventhubs-checkpointstore-blob"));
 
         // Service Bus
-        TRACK_ONE_REDIRECTS.put("azure-servicebus", Collections.singletonList("azure-messaging-servicebus"));
+        redirects.put("azure-servicebus", Collections.singletonList("azure-messaging-servicebus"));
 
         // Event Grid
-        TRACK_ONE_REDIRECTS.put("azure-eventgrid", Collections.singletonList("azure-messaging-eventgrid"));
+        redirects.put("azure-eventgrid", Collections.singletonList("azure-messaging-eventgrid"));
 
         // Log Analytics
-        TRACK_ONE_REDIRECTS.put("azure-loganalytics", Collections.singletonList("azure-monitor-query"));
+        redirects.put("azure-loganalytics", Collections.singletonList("azure-monitor-query"));
+
+        TRACK_ONE_REDIRECTS = Collections.unmodifiableMap(redirects);
     }
 
     /**
@@ -65,10 +68,7 @@ public class AzureDependencyMapping {
 
         if (TRACK_ONE_GROUP_ID.equals(groupId)) {
             if (TRACK_ONE_REDIRECTS.containsKey(artifactId)) {
-                final List<String> newArtifactIds = TRACK_ONE_REDIRECTS.get(artifactId);
-
-                List<String> newGavs = newArtifactIds.stream()
-                        .map(newArtifactId -> TRACK_TWO_GROUP_ID + ":" + newArtifactId + ":" + MavenUtils.getLatestArtifactVersion(TRACK_TWO_GROUP_ID, newArtifactId)).collect(Collectors.toList());
+                final List<String> newGavs = getReplacementGavs(artifactId);
                 return Optional.of(new OutdatedDependency(MavenUtils.toGAV(artifact), newGavs));
             } else {
                 // we've hit artifact location where we don't know know if the com.microsoft.azure artifact has artifact newer
@@ -78,4 +78,20 @@ public class AzureDependencyMapping {
         }
         return Optional.empty();
     }
+
+    /**
+     * Returns whether guidance on how to replace the given artifact is recorded, without looking up any version.
+     *
+     * @param artifact The artifact to check.
+     * @return {@code true} if {@link #lookupReplacement(Artifact)} returns a replacement for the artifact.
+     */
+    public static boolean hasReplacement(Artifact artifact) {
+        return TRACK_ONE_GROUP_ID.equals(artifact.getGroupId()) && TRACK_ONE_REDIRECTS.containsKey(artifact.getArtifactId());
+    }
+
+    private static List<String> getReplacementGavs(String artifactId) {
+        return TRACK_ONE_REDIRECTS.get(artifactId).stream()
+                .map(newArtifactId -> TRACK_TWO_GROUP_ID + ":" + newArtifactId + ":" + MavenUtils.getLatestArtifactVersion(TRACK_TWO_GROUP_ID, newArtifactId))
+                .collect(Collectors.toList());
+    }
 }
@@ -9,14 +9,24 @@ import com.microsoft.azure.sdk.build.tool.mojo.AzureSdkMojo;
 import com.microsoft.azure.sdk.build.tool.util.MavenUtils;
 import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
 import com.microsoft.azure.sdk.build.tool.util.MojoUtils;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.InputLocation;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Performs the following tasks:
@@ -34,7 +44,10 @@ public class DependencyCheckerTool implements Runnable {
     private static final Logger LOGGER = Logger.getInstance();
 
     private static final String AZURE_SDK_BOM_ARTIFACT_ID = "azure-sdk-bom";
-    private static final String COM_MICROSOFT_AZURE_GROUP_ID = "com.microsoft.azure";
+
+    // results of the track one analysis keyed by the hash of the resolved dependency set, shared by all modules of the
+    // reactor (the plugin class realm is reused), so modules with identical dependency trees are only analyzed once
+    private static final Map<String, TrackOneAnalysis> TRACK_ONE_ANALYSES = new ConcurrentHashMap<>();
 
     /**
      * Runs the dependency checker tool.
@@ -114,23 +127,9 @@ public class DependencyCheckerTool implements Runnable {
     }
 
     private void checkForAzureSdkTrackOneDependencies() {
-        // Check direct dependencies first for any 'com.microsoft.azure' group IDs. These are under the users direct
-        // control, so they could try to upgrade to a newer 'com.azure' version instead.
-        List<OutdatedDependency> outdatedDirectDependencies = MojoUtils.getDirectDependencies().stream()
-                .filter(a -> COM_MICROSOFT_AZURE_GROUP_ID.equals(a.getGroupId()))
-                .map(AzureDependencyMapping::lookupReplacement)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
-
-        // check indirect dependencies too, but filter out any dependencies we've already discovered above
-        List<OutdatedDependency> outdatedTransitiveDependencies = MojoUtils.getAllDependencies().stream()
-                .filter(d -> COM_MICROSOFT_AZURE_GROUP_ID.equals(d.getGroupId()))
-                .map(AzureDependencyMapping::lookupReplacement)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(d -> !outdatedDirectDependencies.contains(d))
-                .collect(Collectors.toList());
+        final TrackOneAnalysis analysis = getTrackOneAnalysis(MojoUtils.getDirectDependencies(), MojoUtils.getAllDependencies());
+        List<OutdatedDependency> outdatedDirectDependencies = new ArrayList<>(analysis.outdatedDirectDependencies);
+        List<OutdatedDependency> outdatedTransitiveDependencies = new ArrayList<>(analysis.outdatedTransitiveDependencies);
 
         // The report is only concerned with GAV, so we simplify it here
         AzureSdkMojo.getMojo().getReport().setOutdatedDirectDependencies(outdatedDirectDependencies);
@@ -166,4 +165,66 @@ public class DependencyCheckerTool implements Runnable {
             MojoUtils.failOrWarn(AzureSdkMojo.getMojo()::isValidateNoDeprecatedMicrosoftLibraryUsed, BuildErrorCode.DEPRECATED_TRANSITIVE_DEPENDENCY, message.toString(), outdatedTransitiveDependencyGavs);
         }
     }
+
+    /**
+     * Gets the track one analysis of the given dependencies, modules with the same resolved dependency set share the
+     * analysis of the first of them.
+     */
+    static TrackOneAnalysis getTrackOneAnalysis(Set<Artifact> directDependencies, Set<Artifact> allDependencies) {
+        final String dependencySetHash = getDependencySetHash(directDependencies, allDependencies);
+        TrackOneAnalysis analysis = TRACK_ONE_ANALYSES.get(dependencySetHash);
+        if (analysis == null) {
+            analysis = analyzeTrackOneDependencies(directDependencies, allDependencies);
+            final TrackOneAnalysis existing = TRACK_ONE_ANALYSES.putIfAbsent(dependencySetHash, analysis);
+            analysis = existing == null ? analysis : existing;
+        } else {
+            LOGGER.info("Reusing dependency analysis of a module with the same dependencies");
+        }
+        return analysis;
+    }
+
+    private static TrackOneAnalysis analyzeTrackOneDependencies(Set<Artifact> directDependencies, Set<Artifact> allDependencies) {
+        // Check direct dependencies first for any 'com.microsoft.azure' group IDs. These are under the users direct
+        // control, so they could try to upgrade to a newer 'com.azure' version instead. Replacements are looked up in
+        // parallel, as each one may need to query the latest version from Maven Central.
+        List<OutdatedDependency> outdatedDirectDependencies = directDependencies.parallelStream()
+                .filter(AzureDependencyMapping::hasReplacement)
+                .map(AzureDependencyMapping::lookupReplacement)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+
+        // check indirect dependencies too, but filter out any dependencies we've already discovered above
+        List<OutdatedDependency> outdatedTransitiveDependencies = allDependencies.parallelStream()
+                .filter(AzureDependencyMapping::hasReplacement)
+                .map(AzureDependencyMapping::lookupReplacement)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(d -> !outdatedDirectDependencies.contains(d))
+                .collect(Collectors.toList());
+        return new TrackOneAnalysis(outdatedDirectDependencies, outdatedTransitiveDependencies);
+    }
+
+    private static String getDependencySetHash(Set<Artifact> directDependencies, Set<Artifact> allDependencies) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Stream.concat(directDependencies.stream().map(a -> "direct:" + MavenUtils.toGAV(a)),
+                    allDependencies.stream().map(a -> "all:" + MavenUtils.toGAV(a)))
+                .sorted()
+                .forEach(gav -> digest.update((gav + "\n").getBytes(StandardCharsets.UTF_8)));
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class TrackOneAnalysis {
+        private final List<OutdatedDependency> outdatedDirectDependencies;
+        private final List<OutdatedDependency> outdatedTransitiveDependencies;
+
+        private TrackOneAnalysis(List<OutdatedDependency> outdatedDirectDependencies, List<OutdatedDependency> outdatedTransitiveDependencies) {
+            this.outdatedDirectDependencies = outdatedDirectDependencies;
+            this.outdatedTransitiveDependencies = outdatedTransitiveDependencies;
+        }
+    }
 }
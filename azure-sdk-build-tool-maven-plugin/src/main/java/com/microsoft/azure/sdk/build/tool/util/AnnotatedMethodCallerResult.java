@@ -3,45 +3,42 @@
 
 package com.microsoft.azure.sdk.build.tool.util;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Member;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 /**
  * Represents the result of all the calls to methods annotated with a given annotation.
  */
 public class AnnotatedMethodCallerResult {
-    private final Class<? extends Annotation> annotation;
-    private final Method annotatedMethod;
-    private final Member callingMember;
+    private final String annotation;
+    private final String annotatedMethod;
+    private final String callingMember;
 
     /**
      * Creates an instance of {@link AnnotatedMethodCallerResult}.
      *
-     * @param annotation The annotation that was used to find the annotated method.
-     * @param annotatedMethod The method that was annotated with the annotation.
-     * @param callingMember The member that called the annotated method.
+     * @param annotation The fully qualified name of the annotation that was used to find the annotated method.
+     * @param annotatedMethod The signature of the method that was annotated with the annotation.
+     * @param callingMember The signature of the member that called the annotated method.
      */
-    public AnnotatedMethodCallerResult(final Class<? extends Annotation> annotation,
-                                       final Method annotatedMethod,
-                                       final Member callingMember) {
+    public AnnotatedMethodCallerResult(final String annotation,
+                                       final String annotatedMethod,
+                                       final String callingMember) {
         this.annotation = Objects.requireNonNull(annotation);
         this.annotatedMethod = Objects.requireNonNull(annotatedMethod);
         this.callingMember = Objects.requireNonNull(callingMember);
     }
 
     /**
-     * Returns the method that was annotated with the annotation.
-     * @return The method that was annotated with the annotation.
+     * Returns the signature of the method that was annotated with the annotation.
+     * @return The signature of the method that was annotated with the annotation.
      */
-    public Method getAnnotatedMethod() {
+    public String getAnnotatedMethod() {
         return annotatedMethod;
     }
 
     @Override
     public String toString() {
-        return "Method " + annotatedMethod + " is annotated with @" + annotation.getSimpleName() + " and called by " + callingMember;
+        return "Method " + annotatedMethod + " is annotated with @" + annotation.substring(annotation.lastIndexOf('.') + 1) + " and called by " + callingMember;
     }
 
     @Override
@@ -53,13 +50,13 @@ public class AnnotatedMethodCallerResult {
             return false;
         }
         final AnnotatedMethodCallerResult that = (AnnotatedMethodCallerResult) o;
-        return annotation.getSimpleName().equals(that.annotation.getSimpleName())
-                   && annotatedMethod.getName().equals(that.annotatedMethod.getName())
-                   && callingMember.getName().equals(that.callingMember.getName());
+        return annotation.equals(that.annotation)
+                   && annotatedMethod.equals(that.annotatedMethod)
+                   && callingMember.equals(that.callingMember);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(annotation.getSimpleName(), annotatedMethod.getName(), callingMember.getName());
+        return Objects.hash(annotation, annotatedMethod, callingMember);
     }
 }
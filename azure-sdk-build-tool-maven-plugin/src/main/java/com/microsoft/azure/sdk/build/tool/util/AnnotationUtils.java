@@ -3,144 +3,167 @@
 
 package com.microsoft.azure.sdk.build.tool.util;
 
-import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
-import org.reflections8.Reflections;
-import org.reflections8.ReflectionsException;
-import org.reflections8.scanners.MemberUsageScanner;
-import org.reflections8.scanners.MethodAnnotationsScanner;
-import org.reflections8.util.ConfigurationBuilder;
-import org.reflections8.util.Utils;
+import org.objectweb.asm.Type;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Member;
-import java.lang.reflect.Method;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.reflections8.util.Utils.index;
-import static org.reflections8.util.Utils.name;
-
 /**
  * Utility class to check for annotations.
  */
 public final class AnnotationUtils {
-    private static final Logger LOGGER = Logger.getInstance();
 
     private AnnotationUtils() {
         // no-op
     }
 
     /**
-     * Returns a classloader that contains all the given paths.
+     * Returns the calls to methods annotated with each of the given annotations, answered from a single bytecode scan
+     * of the given paths (see {@link BytecodeIndex}), without loading any class.
      *
-     * @param paths The paths to include in the classloader
-     * @return The classloader that contains the given paths.
+     * @param annotations The fully qualified names of the annotations on the methods to look for.
+     * @param paths The paths to scan.
+     * @param interestedPackages The packages that this scan should be limited to.
+     * @param recursive If true, recursively scan all method calls in all interested packages to find any invocation to the annotated methods.
+     * @return The methods that call methods with each annotation, keyed by annotation name. Annotations that are not
+     * found on any method are mapped to an empty set.
      */
-    public static ClassLoader getCompleteClassLoader(final Stream<Path> paths) {
-        final List<URL> urls = paths.map(AnnotationUtils::pathToUrl).collect(Collectors.toList());
-        return URLClassLoader.newInstance(urls.toArray(new URL[0]));
-    }
+    public static Map<String, Set<AnnotatedMethodCallerResult>> findCallsToAnnotatedMethods(final Collection<String> annotations,
+                                                                                            final Stream<Path> paths,
+                                                                                            final Set<String> interestedPackages,
+                                                                                            final boolean recursive) {
+        final List<BytecodeIndex> indexes = paths.parallel().map(BytecodeIndex::of).collect(Collectors.toList());
+        final Map<String, Set<String>> annotated = new HashMap<>();
+        final Map<String, Set<String>> callers = new HashMap<>();
+        final Map<String, Set<String>> calls = new HashMap<>();
+        final Map<String, MethodDeclaration> declarations = new HashMap<>();
+        for (final BytecodeIndex index : indexes) {
+            declarations.putAll(index.getDeclarations());
+            index.getAnnotatedMethods().forEach((a, methods) -> annotated.computeIfAbsent(a, k -> new HashSet<>()).addAll(methods));
+            index.getCalls().forEach((caller, callees) -> {
+                calls.computeIfAbsent(caller, k -> new HashSet<>()).addAll(callees);
+                callees.forEach(callee -> callers.computeIfAbsent(callee, k -> new HashSet<>()).add(caller));
+            });
+        }
 
-    /**
-     * Returns the annotation class with the given name if found.
-     * @param name The name of the annotation to look for.
-     * @param classLoader The class loader to use to load the annotation.
-     * @return The annotation class if found, otherwise an empty optional.
-     */
-    public static Optional<Class<? extends Annotation>> getAnnotation(String name, ClassLoader classLoader) {
-        try {
-            return Optional.of(Class.forName(name, false, classLoader).asSubclass(Annotation.class));
-        } catch (ClassNotFoundException e) {
-            LOGGER.info("Unable to find annotation " + name + " in classpath");
+        final Map<String, Set<AnnotatedMethodCallerResult>> results = new HashMap<>();
+        for (final String annotation : annotations) {
+            final Set<String> targets = annotated.getOrDefault(annotation.replace('.', '/'), Collections.emptySet());
+            results.put(annotation, findCallers(annotation, targets, calls, callers, declarations, interestedPackages, recursive));
         }
-        return Optional.empty();
+        return results;
     }
 
     /**
      * Returns a list of methods that call methods that are annotated with the given annotation.
-     * @param annotation The annotation on the method to look for.
+     * @param annotation The fully qualified name of the annotation on the method to look for.
      * @param paths The paths to scan.
      * @param interestedPackages The packages that this scan should be limited to.
      * @param recursive If true, recursively scan all method calls in all interested packages to find any invocation to the annotated methods.
      * @return A set of methods that call methods with the annotation.
      */
-    public static Set<AnnotatedMethodCallerResult> findCallsToAnnotatedMethod(final Class<? extends Annotation> annotation,
+    public static Set<AnnotatedMethodCallerResult> findCallsToAnnotatedMethod(final String annotation,
                                                                               final Stream<Path> paths,
                                                                               final Set<String> interestedPackages,
                                                                               final boolean recursive) {
-        final ConfigurationBuilder config = new ConfigurationBuilder()
-                .setScanners(new MethodAnnotationsScanner(), new MemberUsageScanner());
-
-        final List<URL> urls = paths.map(AnnotationUtils::pathToUrl).collect(Collectors.toList());
-        config.addUrls(urls);
-        URLClassLoader classLoader = URLClassLoader.newInstance(urls.toArray(new URL[0]));
-        config.addClassLoader(classLoader);
-        final Reflections reflections = new Reflections(config);
-        final Set<Method> annotatedMethods = reflections.getMethodsAnnotatedWith(annotation);
-        final Set<AnnotatedMethodCallerResult> results = new HashSet<>();
+        return findCallsToAnnotatedMethods(Collections.singleton(annotation), paths, interestedPackages, recursive).get(annotation);
+    }
 
-        annotatedMethods.forEach(method -> {
-            checkMethod(reflections, annotation, method, interestedPackages, recursive, results, classLoader);
-        });
+    private static Set<AnnotatedMethodCallerResult> findCallers(final String annotation,
+                                                                final Set<String> targets,
+                                                                final Map<String, Set<String>> calls,
+                                                                final Map<String, Set<String>> callers,
+                                                                final Map<String, MethodDeclaration> declarations,
+                                                                final Set<String> interestedPackages,
+                                                                final boolean recursive) {
+        if (targets.isEmpty()) {
+            return Collections.emptySet();
+        }
+        // walk backwards from the annotated methods to find every method that can reach one of them. We stop at
+        // methods within the interested packages, as those are the call sites we report.
+        final Set<String> reaching = new HashSet<>(targets);
+        final Set<String> roots = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>(targets);
+        while (!queue.isEmpty()) {
+            final String method = queue.poll();
+            for (final String caller : callers.getOrDefault(method, Collections.emptySet())) {
+                if (isInterested(caller, interestedPackages)) {
+                    roots.add(caller);
+                } else if (recursive && reaching.add(caller)) {
+                    queue.add(caller);
+                }
+            }
+        }
 
+        // then walk forwards from each call site in the interested packages, only through methods that can reach an
+        // annotated method, to find which annotated methods it ends up calling.
+        final Set<AnnotatedMethodCallerResult> results = new HashSet<>();
+        for (final String root : roots) {
+            final Set<String> visited = new HashSet<>();
+            final Deque<String> pending = new ArrayDeque<>(calls.getOrDefault(root, Collections.emptySet()));
+            while (!pending.isEmpty()) {
+                final String method = pending.poll();
+                if (!reaching.contains(method) || !visited.add(method)) {
+                    continue;
+                }
+                if (targets.contains(method)) {
+                    // same formats as reported by reflection before: Method::toGenericString and Method::toString
+                    results.add(new AnnotatedMethodCallerResult(annotation, toGenericString(method, declarations), toString(root, declarations)));
+                }
+                if (recursive && !isInterested(method, interestedPackages)) {
+                    pending.addAll(calls.getOrDefault(method, Collections.emptySet()));
+                }
+            }
+        }
         return results;
     }
 
-    private static void checkMethod(final Reflections reflections,
-                                    final Class<? extends Annotation> annotation,
-                                    final Method method,
-                                    final Set<String> interestedPackages,
-                                    final boolean recursive,
-                                    final Set<AnnotatedMethodCallerResult> results,
-                                    ClassLoader classLoader) {
-        final Set<Member> callingMethods;
-        try {
-            String methodName = name(method);
-            Iterable<String> values = reflections.getStore().get(index(MemberUsageScanner.class), methodName);
-            callingMethods = Utils.getMembersFromDescriptors(values, classLoader);
-        } catch (ReflectionsException e) {
-            LOGGER.info("Unable to get method usage for method " + method.getName() + ". " + e.getMessage());
-            return;
-        }
+    private static boolean isInterested(final String method, final Set<String> interestedPackages) {
+        final String owner = method.substring(0, method.indexOf('.'));
+        final int index = owner.lastIndexOf('/');
+        return interestedPackages.contains(index < 0 ? "" : owner.substring(0, index).replace('/', '.'));
+    }
 
-        callingMethods.forEach(member -> {
-            // we only add a result if the calling method is in the list of packages we are interested in
-            if (member instanceof Method) {
-                final Method methodMember = (Method) member;
-                final String packageName = methodMember.getDeclaringClass().getPackage().getName();
+    /**
+     * Renders a method key of {@link BytecodeIndex} like {@link java.lang.reflect.Method#toGenericString()}, e.g.
+     * {@code public reactor.core.publisher.Mono<java.lang.String> com.azure.Foo.bar(java.util.List<java.lang.String>)}.
+     */
+    static String toGenericString(final String method, final Map<String, MethodDeclaration> declarations) {
+        final MethodDeclaration declaration = declarations.get(method);
+        return declaration == null ? toReadableName(method) : declaration.toGenericString(method);
+    }
 
-                if (interestedPackages.contains(packageName)) {
-                    // we have reached a point where we have found a method call from code in a package
-                    // we are interested in, so we will record it as a valid result. We do not recurse
-                    // further from this method.
-                    results.add(new AnnotatedMethodCallerResult(annotation, method, member));
-                } else {
-                    if (recursive && !methodMember.equals(method)) {
-                        // we are looking at code that we know calls an annotated service method, but it is not
-                        // within one of the packages we are interested in. We recurse here, finding all methods
-                        // that call this method, until such time that we run out of methods to check.
-                        checkMethod(reflections, annotation, methodMember, interestedPackages, recursive, results, classLoader);
-                    }
-                }
-            }
-        });
+    /**
+     * Renders a method key of {@link BytecodeIndex} like {@link java.lang.reflect.Method#toString()}, e.g.
+     * {@code public reactor.core.publisher.Mono com.azure.Foo.bar(java.util.List)}.
+     */
+    static String toString(final String method, final Map<String, MethodDeclaration> declarations) {
+        final MethodDeclaration declaration = declarations.get(method);
+        return declaration == null ? toReadableName(method) : declaration.toString(method);
     }
 
-    private static URL pathToUrl(Path path) {
-        try {
-            URL url = path.toUri().toURL();
-            return url;
-        } catch (MalformedURLException e) {
-            LOGGER.info("Path " + path + " cannot be converted to URL. " + e.getMessage());
-            return null;
-        }
+    /**
+     * Converts a method key of {@link BytecodeIndex} of an undeclared method to a readable signature, e.g.
+     * {@code void com.azure.Foo.bar(java.lang.String)}.
+     */
+    private static String toReadableName(final String method) {
+        final int paren = method.indexOf('(');
+        final int dot = method.lastIndexOf('.', paren);
+        final String owner = method.substring(0, dot).replace('/', '.');
+        final String name = method.substring(dot + 1, paren);
+        final Type type = Type.getMethodType(method.substring(paren));
+        final String parameters = Arrays.stream(type.getArgumentTypes()).map(Type::getClassName).collect(Collectors.joining(","));
+        return type.getReturnType().getClassName() + " " + owner + "." + name + "(" + parameters + ")";
     }
 }
@@ -0,0 +1,322 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Bytecode index of a jar file or class directory, built in a single ASM pass over its class files without loading
+ * any class. It records, for every method, its declaration, the annotations declared on it and the methods it invokes
+ * (including method references), so that callers of annotated methods can be resolved and rendered without a class
+ * loader.
+ *
+ * <p>Indexes of jar files are cached on disk, keyed by the SHA-256 of the jar, so unchanged dependencies are only
+ * scanned once.</p>
+ */
+public final class BytecodeIndex {
+    private static final Logger LOGGER = Logger.getInstance();
+    private static final int FORMAT_VERSION = 2;
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("user.home"), ".azure", "sdk-build-tool", "bytecode-index");
+    private static final String[] IGNORED_OWNER_PREFIXES = {"java/", "javax/", "jdk/", "sun/", "["};
+
+    private final Map<String, Set<String>> annotatedMethods;
+    private final Map<String, Set<String>> calls;
+    private final Map<String, MethodDeclaration> declarations;
+
+    private BytecodeIndex(final Map<String, Set<String>> annotatedMethods, final Map<String, Set<String>> calls,
+                          final Map<String, MethodDeclaration> declarations) {
+        this.annotatedMethods = annotatedMethods;
+        this.calls = calls;
+        this.declarations = declarations;
+    }
+
+    /**
+     * Returns the index of the given jar file or class directory, loading it from the disk cache if possible.
+     *
+     * @param path The jar file or class directory to index.
+     * @return The index, empty if the path can not be read.
+     */
+    public static BytecodeIndex of(final Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                return scanDirectory(path);
+            }
+            if (!Files.isRegularFile(path) || !path.toString().endsWith(".jar")) {
+                return new BytecodeIndex(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+            }
+            final Path cached = CACHE_DIR.resolve(sha256(path) + ".idx");
+            if (Files.isRegularFile(cached)) {
+                try {
+                    return read(cached);
+                } catch (IOException e) {
+                    LOGGER.info("Ignoring corrupted bytecode index " + cached + ". " + e.getMessage());
+                }
+            }
+            final BytecodeIndex index = scanJar(path);
+            index.write(cached);
+            return index;
+        } catch (IOException e) {
+            LOGGER.info("Unable to index " + path + ". " + e.getMessage());
+            return new BytecodeIndex(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Returns the methods annotated with each annotation, keyed by annotation internal name
+     * (e.g. {@code com/azure/core/annotation/ServiceMethod}). Methods are keyed as {@code owner.name(descriptor)}.
+     *
+     * @return The annotated methods keyed by annotation.
+     */
+    public Map<String, Set<String>> getAnnotatedMethods() {
+        return annotatedMethods;
+    }
+
+    /**
+     * Returns the methods invoked by each method, both keyed as {@code owner.name(descriptor)}.
+     *
+     * @return The invoked methods keyed by invoking method.
+     */
+    public Map<String, Set<String>> getCalls() {
+        return calls;
+    }
+
+    /**
+     * Returns the declaration of each method declared in the indexed classes, keyed as {@code owner.name(descriptor)}.
+     *
+     * @return The method declarations keyed by method.
+     */
+    Map<String, MethodDeclaration> getDeclarations() {
+        return declarations;
+    }
+
+    private static BytecodeIndex scanJar(final Path jar) throws IOException {
+        final Map<String, Set<String>> annotated = new HashMap<>();
+        final Map<String, Set<String>> calls = new HashMap<>();
+        final Map<String, MethodDeclaration> declarations = new HashMap<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                // skip multi-release variants and module descriptors
+                if (entry.getName().endsWith(".class") && !entry.getName().startsWith("META-INF/") && !entry.getName().endsWith("module-info.class")) {
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        scanClass(in, annotated, calls, declarations);
+                    }
+                }
+            }
+        }
+        return new BytecodeIndex(annotated, calls, declarations);
+    }
+
+    private static BytecodeIndex scanDirectory(final Path dir) throws IOException {
+        final Map<String, Set<String>> annotated = new HashMap<>();
+        final Map<String, Set<String>> calls = new HashMap<>();
+        final Map<String, MethodDeclaration> declarations = new HashMap<>();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (final Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    scanClass(in, annotated, calls, declarations);
+                }
+            }
+        }
+        return new BytecodeIndex(annotated, calls, declarations);
+    }
+
+    private static void scanClass(final InputStream in, final Map<String, Set<String>> annotated, final Map<String, Set<String>> calls,
+                                  final Map<String, MethodDeclaration> declarations) throws IOException {
+        final ClassReader reader;
+        try {
+            reader = new ClassReader(in);
+        } catch (IllegalArgumentException e) {
+            // class file version not supported by this ASM version
+            return;
+        }
+        reader.accept(new ClassVisitor(Opcodes.ASM9) {
+            private String owner;
+            private boolean isInterface;
+
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                this.owner = name;
+                this.isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                final String caller = key(owner, name, descriptor);
+                // same as Method.isDefault(): a public non-abstract instance method of an interface
+                final boolean isDefault = isInterface && (access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC)) == Opcodes.ACC_PUBLIC;
+                declarations.put(caller, new MethodDeclaration(access, isDefault, signature, exceptions));
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                        annotated.computeIfAbsent(Type.getType(annotationDescriptor).getInternalName(), k -> new HashSet<>()).add(caller);
+                        return null;
+                    }
+
+                    @Override
+                    public void visitMethodInsn(int opcode, String calleeOwner, String calleeName, String calleeDescriptor, boolean isInterface) {
+                        addCall(caller, calleeOwner, calleeName, calleeDescriptor);
+                    }
+
+                    @Override
+                    public void visitInvokeDynamicInsn(String indyName, String indyDescriptor, Handle bootstrap, Object... bootstrapArguments) {
+                        // method references and lambda bodies
+                        for (final Object argument : bootstrapArguments) {
+                            if (argument instanceof Handle) {
+                                final Handle handle = (Handle) argument;
+                                addCall(caller, handle.getOwner(), handle.getName(), handle.getDesc());
+                            }
+                        }
+                    }
+
+                    private void addCall(String from, String calleeOwner, String calleeName, String calleeDescriptor) {
+                        for (final String prefix : IGNORED_OWNER_PREFIXES) {
+                            if (calleeOwner.startsWith(prefix)) {
+                                return;
+                            }
+                        }
+                        calls.computeIfAbsent(from, k -> new HashSet<>()).add(key(calleeOwner, calleeName, calleeDescriptor));
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    }
+
+    static String key(final String owner, final String name, final String descriptor) {
+        return owner + "." + name + descriptor;
+    }
+
+    private static BytecodeIndex read(final Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("unsupported index version");
+            }
+            return new BytecodeIndex(readMultimap(in), readMultimap(in), readDeclarations(in));
+        }
+    }
+
+    private void write(final Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                writeMultimap(out, annotatedMethods);
+                writeMultimap(out, calls);
+                writeDeclarations(out, declarations);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.info("Unable to cache bytecode index to " + file + ". " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Set<String>> readMultimap(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final Map<String, Set<String>> map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            final String key = in.readUTF();
+            final int count = in.readInt();
+            final Set<String> values = new HashSet<>(count * 2);
+            for (int j = 0; j < count; j++) {
+                values.add(in.readUTF());
+            }
+            map.put(key, values);
+        }
+        return map;
+    }
+
+    private static void writeMultimap(final DataOutputStream out, final Map<String, Set<String>> map) throws IOException {
+        out.writeInt(map.size());
+        for (final Map.Entry<String, Set<String>> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (final String value : entry.getValue()) {
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    private static Map<String, MethodDeclaration> readDeclarations(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final Map<String, MethodDeclaration> map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            final String key = in.readUTF();
+            final int access = in.readInt();
+            final boolean isDefault = in.readBoolean();
+            final String signature = in.readBoolean() ? in.readUTF() : null;
+            final String[] exceptions = new String[in.readInt()];
+            for (int j = 0; j < exceptions.length; j++) {
+                exceptions[j] = in.readUTF();
+            }
+            map.put(key, new MethodDeclaration(access, isDefault, signature, exceptions));
+        }
+        return map;
+    }
+
+    private static void writeDeclarations(final DataOutputStream out, final Map<String, MethodDeclaration> map) throws IOException {
+        out.writeInt(map.size());
+        for (final Map.Entry<String, MethodDeclaration> entry : map.entrySet()) {
+            final MethodDeclaration declaration = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeInt(declaration.getAccess());
+            out.writeBoolean(declaration.isDefault());
+            out.writeBoolean(declaration.getSignature() != null);
+            if (declaration.getSignature() != null) {
+                out.writeUTF(declaration.getSignature());
+            }
+            out.writeInt(declaration.getExceptions().length);
+            for (final String exception : declaration.getExceptions()) {
+                out.writeUTF(exception);
+            }
+        }
+    }
+
+    private static String sha256(final Path file) throws IOException {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = Files.newInputStream(file)) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+}
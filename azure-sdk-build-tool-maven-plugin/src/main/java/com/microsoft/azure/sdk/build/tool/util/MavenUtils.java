@@ -18,6 +18,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
  * Utility class to perform Maven related operations.
@@ -25,6 +28,9 @@ import java.net.URL;
 public class MavenUtils {
     private static final Logger LOGGER = Logger.getInstance();
 
+    // latest versions looked up so far, shared by all modules of the reactor as the plugin class realm is reused
+    private static final Map<String, String> LATEST_VERSIONS = new ConcurrentHashMap<>();
+
     /**
      * Creates artifact string representation of an artifact.
      * @param artifact The artifact.
@@ -44,13 +50,32 @@ public class MavenUtils {
     }
 
     /**
-     * Gets the latest released version of the given artifact from Maven repository.
+     * Gets the latest released version of the given artifact from Maven repository. The version is only looked up
+     * once per artifact for the whole build.
      * @param groupId The group id of the artifact.
      * @param artifactId The artifact id of the artifact.
      * @return The latest version or {@code null} if an error occurred while retrieving the latest
      * version.
      */
     public static String getLatestArtifactVersion(String groupId, String artifactId) {
+        return getLatestArtifactVersion(groupId, artifactId, MavenUtils::fetchLatestArtifactVersion);
+    }
+
+    static String getLatestArtifactVersion(String groupId, String artifactId, BiFunction<String, String, String> fetcher) {
+        final String key = groupId + ":" + artifactId;
+        String version = LATEST_VERSIONS.get(key);
+        if (version == null) {
+            // looked up outside of the map so concurrent lookups of other artifacts are not blocked, failed lookups
+            // are not remembered and will be retried
+            version = fetcher.apply(groupId, artifactId);
+            if (version != null) {
+                LATEST_VERSIONS.putIfAbsent(key, version);
+            }
+        }
+        return version;
+    }
+
+    private static String fetchLatestArtifactVersion(String groupId, String artifactId) {
         HttpURLConnection connection = null;
         try {
             groupId = groupId.replace(".", "/");
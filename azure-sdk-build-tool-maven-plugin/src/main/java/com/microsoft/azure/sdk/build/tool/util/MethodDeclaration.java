@@ -0,0 +1,302 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.signature.SignatureReader;
+import org.objectweb.asm.signature.SignatureVisitor;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Declaration of a method as read from bytecode (modifiers, generic signature and declared exceptions), used to render
+ * the method the same way as {@link java.lang.reflect.Method#toGenericString()} and
+ * {@link java.lang.reflect.Method#toString()} do, without loading the class.
+ */
+final class MethodDeclaration {
+    private static final String CONSTRUCTOR = "<init>";
+
+    private final int access;
+    private final boolean isDefault;
+    private final String signature;
+    private final String[] exceptions;
+
+    /**
+     * Creates an instance of {@link MethodDeclaration}.
+     *
+     * @param access The access flags of the method.
+     * @param isDefault Whether the method is a default method of an interface.
+     * @param signature The generic signature of the method, null if it has none.
+     * @param exceptions The internal names of the declared exceptions, null if none.
+     */
+    MethodDeclaration(final int access, final boolean isDefault, final String signature, final String[] exceptions) {
+        this.access = access;
+        this.isDefault = isDefault;
+        this.signature = signature;
+        this.exceptions = exceptions == null ? new String[0] : exceptions;
+    }
+
+    int getAccess() {
+        return access;
+    }
+
+    boolean isDefault() {
+        return isDefault;
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    String[] getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Renders the method the same way as {@link java.lang.reflect.Method#toGenericString()}, e.g.
+     * {@code public <T> reactor.core.publisher.Mono<T> com.azure.Foo.bar(java.util.List<java.lang.String>) throws java.io.IOException}.
+     *
+     * @param method The method key of {@link BytecodeIndex}.
+     * @return The generic string of the method.
+     */
+    String toGenericString(final String method) {
+        final List<String> parameters;
+        final List<String> thrown;
+        final String returnType;
+        String typeParameters = "";
+        if (signature == null) {
+            final Type type = Type.getMethodType(method.substring(method.indexOf('(')));
+            parameters = Arrays.stream(type.getArgumentTypes()).map(Type::getClassName).collect(Collectors.toList());
+            thrown = getExceptionNames();
+            returnType = type.getReturnType().getClassName();
+        } else {
+            final Signature generic = new Signature();
+            new SignatureReader(signature).accept(generic);
+            generic.resolve();
+            parameters = generic.parameters;
+            thrown = generic.exceptions.isEmpty() ? getExceptionNames() : generic.exceptions;
+            returnType = generic.returnType;
+            if (!generic.typeParameters.isEmpty()) {
+                typeParameters = generic.typeParameters.stream().collect(Collectors.joining(",", "<", "> "));
+            }
+        }
+        if ((access & Opcodes.ACC_VARARGS) != 0 && !parameters.isEmpty()) {
+            final int last = parameters.size() - 1;
+            parameters.set(last, parameters.get(last).replaceFirst("\\[\\]$", "..."));
+        }
+        return format(method, typeParameters, returnType, parameters, thrown);
+    }
+
+    /**
+     * Renders the method the same way as {@link java.lang.reflect.Method#toString()}, e.g.
+     * {@code public void com.azure.Foo.bar(java.util.List) throws java.io.IOException}.
+     *
+     * @param method The method key of {@link BytecodeIndex}.
+     * @return The string of the method.
+     */
+    String toString(final String method) {
+        final Type type = Type.getMethodType(method.substring(method.indexOf('(')));
+        final List<String> parameters = Arrays.stream(type.getArgumentTypes()).map(Type::getClassName).collect(Collectors.toList());
+        return format(method, "", type.getReturnType().getClassName(), parameters, getExceptionNames());
+    }
+
+    private List<String> getExceptionNames() {
+        return Arrays.stream(exceptions).map(e -> Type.getObjectType(e).getClassName()).collect(Collectors.toList());
+    }
+
+    private String format(final String method, final String typeParameters, final String returnType, final List<String> parameters, final List<String> thrown) {
+        final int paren = method.indexOf('(');
+        final int dot = method.lastIndexOf('.', paren);
+        final String owner = method.substring(0, dot).replace('/', '.');
+        final String name = method.substring(dot + 1, paren);
+        final StringBuilder result = new StringBuilder();
+        final String modifiers = Modifier.toString(access & Modifier.methodModifiers());
+        if (!modifiers.isEmpty()) {
+            result.append(modifiers).append(' ');
+        }
+        if (isDefault) {
+            result.append("default ");
+        }
+        result.append(typeParameters);
+        if (CONSTRUCTOR.equals(name)) {
+            result.append(owner);
+        } else {
+            result.append(returnType).append(' ').append(owner).append('.').append(name);
+        }
+        result.append(parameters.stream().collect(Collectors.joining(",", "(", ")")));
+        if (!thrown.isEmpty()) {
+            result.append(thrown.stream().collect(Collectors.joining(",", " throws ", "")));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Java type names of the parts of a method signature, in the format of {@link java.lang.reflect.Type#getTypeName()}.
+     */
+    private static final class Signature extends SignatureVisitor {
+        private final List<String> typeParameters = new ArrayList<>();
+        private final List<List<TypeName>> typeParameterBounds = new ArrayList<>();
+        private final List<TypeName> parameterTypes = new ArrayList<>();
+        private final List<TypeName> exceptionTypes = new ArrayList<>();
+        private TypeName returnTypeName;
+        private final List<String> parameters = new ArrayList<>();
+        private final List<String> exceptions = new ArrayList<>();
+        private String returnType;
+
+        Signature() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visitFormalTypeParameter(final String name) {
+            typeParameters.add(name);
+            typeParameterBounds.add(new ArrayList<>());
+        }
+
+        @Override
+        public SignatureVisitor visitClassBound() {
+            return bound();
+        }
+
+        @Override
+        public SignatureVisitor visitInterfaceBound() {
+            return bound();
+        }
+
+        @Override
+        public SignatureVisitor visitParameterType() {
+            return add(parameterTypes);
+        }
+
+        @Override
+        public SignatureVisitor visitReturnType() {
+            returnTypeName = new TypeName();
+            return returnTypeName;
+        }
+
+        @Override
+        public SignatureVisitor visitExceptionType() {
+            return add(exceptionTypes);
+        }
+
+        private SignatureVisitor bound() {
+            return add(typeParameterBounds.get(typeParameterBounds.size() - 1));
+        }
+
+        private static SignatureVisitor add(final List<TypeName> types) {
+            final TypeName type = new TypeName();
+            types.add(type);
+            return type;
+        }
+
+        /**
+         * Resolves the names of the visited types, the type visitors only end once the whole signature is read.
+         */
+        void resolve() {
+            for (int i = 0; i < typeParameters.size(); i++) {
+                final List<String> bounds = typeParameterBounds.get(i).stream().map(TypeName::toString).collect(Collectors.toList());
+                if (!bounds.isEmpty() && !bounds.equals(Arrays.asList("java.lang.Object"))) {
+                    typeParameters.set(i, typeParameters.get(i) + " extends " + String.join(" & ", bounds));
+                }
+            }
+            parameterTypes.forEach(t -> parameters.add(t.toString()));
+            exceptionTypes.forEach(t -> exceptions.add(t.toString()));
+            returnType = returnTypeName.toString();
+        }
+    }
+
+    /**
+     * Java type name of a type signature, e.g. {@code java.util.Map$Entry<K, ? extends java.lang.Number>[]}.
+     */
+    private static final class TypeName extends SignatureVisitor {
+        private final StringBuilder name = new StringBuilder();
+        private TypeName array;
+        private List<TypeName> arguments;
+
+        TypeName() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visitBaseType(final char descriptor) {
+            name.append(Type.getType(String.valueOf(descriptor)).getClassName());
+        }
+
+        @Override
+        public void visitTypeVariable(final String variable) {
+            name.append(variable);
+        }
+
+        @Override
+        public SignatureVisitor visitArrayType() {
+            array = new TypeName();
+            return array;
+        }
+
+        @Override
+        public void visitClassType(final String internalName) {
+            name.append(internalName.replace('/', '.'));
+        }
+
+        @Override
+        public void visitInnerClassType(final String innerName) {
+            appendArguments();
+            name.append('$').append(innerName);
+        }
+
+        @Override
+        public void visitTypeArgument() {
+            arguments().add(wildcard("?"));
+        }
+
+        @Override
+        public SignatureVisitor visitTypeArgument(final char wildcard) {
+            final TypeName argument;
+            if (wildcard == SignatureVisitor.EXTENDS) {
+                argument = wildcard("? extends ");
+            } else if (wildcard == SignatureVisitor.SUPER) {
+                argument = wildcard("? super ");
+            } else {
+                argument = new TypeName();
+            }
+            arguments().add(argument);
+            return argument;
+        }
+
+        @Override
+        public void visitEnd() {
+            appendArguments();
+        }
+
+        private List<TypeName> arguments() {
+            if (arguments == null) {
+                arguments = new ArrayList<>();
+            }
+            return arguments;
+        }
+
+        private void appendArguments() {
+            if (arguments != null) {
+                name.append(arguments.stream().map(TypeName::toString).collect(Collectors.joining(", ", "<", ">")));
+                arguments = null;
+            }
+        }
+
+        private static TypeName wildcard(final String prefix) {
+            final TypeName type = new TypeName();
+            type.name.append(prefix);
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return array != null ? array + "[]" : name.toString();
+        }
+    }
+}
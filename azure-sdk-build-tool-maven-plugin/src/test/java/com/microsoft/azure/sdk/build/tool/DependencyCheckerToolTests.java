@@ -0,0 +1,58 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DependencyCheckerToolTests {
+    // the default handler is part of maven-core, which is not on the test classpath
+    private static final ArtifactHandler JAR = (ArtifactHandler) Proxy.newProxyInstance(ArtifactHandler.class.getClassLoader(),
+        new Class<?>[]{ArtifactHandler.class}, (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+
+    @Test
+    public void reusesAnalysisOfSameDependencySet() {
+        final Set<Artifact> direct = artifacts("org.example:reuse-a:1.0");
+        final Set<Artifact> all = artifacts("org.example:reuse-a:1.0", "org.example:reuse-b:2.0");
+
+        final DependencyCheckerTool.TrackOneAnalysis first = DependencyCheckerTool.getTrackOneAnalysis(direct, all);
+        // another module resolving the same dependencies, in a different order
+        final DependencyCheckerTool.TrackOneAnalysis second = DependencyCheckerTool.getTrackOneAnalysis(
+            artifacts("org.example:reuse-a:1.0"), artifacts("org.example:reuse-b:2.0", "org.example:reuse-a:1.0"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void analyzesDifferentDependencySets() {
+        final Set<Artifact> direct = artifacts("org.example:other-a:1.0");
+        final DependencyCheckerTool.TrackOneAnalysis first = DependencyCheckerTool.getTrackOneAnalysis(direct,
+            artifacts("org.example:other-a:1.0", "org.example:other-b:2.0"));
+
+        // a different version of a transitive dependency
+        assertNotSame(first, DependencyCheckerTool.getTrackOneAnalysis(direct,
+            artifacts("org.example:other-a:1.0", "org.example:other-b:2.1")));
+        // the same artifacts, but one of them is declared directly
+        assertNotSame(first, DependencyCheckerTool.getTrackOneAnalysis(artifacts("org.example:other-a:1.0", "org.example:other-b:2.0"),
+            artifacts("org.example:other-a:1.0", "org.example:other-b:2.0")));
+    }
+
+    private static Set<Artifact> artifacts(String... gavs) {
+        final Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (final String gav : gavs) {
+            final String[] parts = gav.split(":");
+            artifacts.add(new DefaultArtifact(parts[0], parts[1], parts[2], Artifact.SCOPE_COMPILE, "jar", null, JAR));
+        }
+        return artifacts;
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.test.models;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares methods of various shapes, to compare how they are rendered from bytecode and by reflection.
+ */
+public class ClassC<E extends Number> {
+    public ClassC(final List<E> values) throws IOException {
+        // no-op
+    }
+
+    public static synchronized <T extends Comparable<T> & Serializable> List<? super T> generic(final Map<String, List<T>>[] maps,
+                                                                                               final String... rest) throws IOException {
+        return Collections.emptyList();
+    }
+
+    protected final E[] typeVariables(final List<? extends E> values, final int[][] matrix) {
+        return null;
+    }
+
+    public Map.Entry<String, ?> nested(final ClassC<E>.Inner inner) throws IllegalStateException {
+        return null;
+    }
+
+    void plain(final long value, final Object... values) {
+        // no-op
+    }
+
+    /**
+     * Inner class of a generic class.
+     */
+    public class Inner {
+    }
+
+    /**
+     * Interface with a default method.
+     */
+    public interface WithDefault<T> {
+        default List<T> defaults(final T value) {
+            return Collections.singletonList(value);
+        }
+
+        void undefined();
+    }
+}
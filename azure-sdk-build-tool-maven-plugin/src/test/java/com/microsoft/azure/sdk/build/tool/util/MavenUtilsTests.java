@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MavenUtilsTests {
+
+    @Test
+    public void looksUpLatestVersionOnce() {
+        final AtomicInteger lookups = new AtomicInteger();
+
+        assertEquals("1.2.3", MavenUtils.getLatestArtifactVersion("org.example", "cached", (g, a) -> lookups.incrementAndGet() > 0 ? "1.2.3" : null));
+        assertEquals("1.2.3", MavenUtils.getLatestArtifactVersion("org.example", "cached", (g, a) -> lookups.incrementAndGet() > 0 ? "4.5.6" : null));
+        assertEquals(1, lookups.get());
+
+        assertEquals("4.5.6", MavenUtils.getLatestArtifactVersion("org.example", "cached-other", (g, a) -> lookups.incrementAndGet() > 0 ? "4.5.6" : null));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void retriesFailedLookups() {
+        final AtomicInteger lookups = new AtomicInteger();
+
+        assertNull(MavenUtils.getLatestArtifactVersion("org.example", "unavailable", (g, a) -> lookups.incrementAndGet() > 1 ? "1.0.0" : null));
+        assertEquals("1.0.0", MavenUtils.getLatestArtifactVersion("org.example", "unavailable", (g, a) -> lookups.incrementAndGet() > 1 ? "1.0.0" : null));
+        assertEquals(2, lookups.get());
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import com.microsoft.azure.sdk.build.tool.test.models.ClassC;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class MethodDeclarationTests {
+
+    @Test
+    public void rendersLikeReflection() {
+        final Map<String, MethodDeclaration> declarations = BytecodeIndex.of(Paths.get("target", "test-classes")).getDeclarations();
+        for (final Class<?> type : new Class<?>[]{ClassC.class, ClassC.WithDefault.class}) {
+            for (final Method method : type.getDeclaredMethods()) {
+                final String key = BytecodeIndex.key(Type.getInternalName(type), method.getName(), Type.getMethodDescriptor(method));
+                assertNotNull(declarations.get(key), key);
+                assertEquals(method.toGenericString(), AnnotationUtils.toGenericString(key, declarations));
+                assertEquals(method.toString(), AnnotationUtils.toString(key, declarations));
+            }
+        }
+        final Constructor<?> constructor = ClassC.class.getConstructors()[0];
+        final String key = BytecodeIndex.key(Type.getInternalName(ClassC.class), "<init>", Type.getConstructorDescriptor(constructor));
+        assertEquals(constructor.toGenericString(), AnnotationUtils.toGenericString(key, declarations));
+        assertEquals(constructor.toString(), AnnotationUtils.toString(key, declarations));
+    }
+
+    @Test
+    public void rendersUndeclaredMethods() {
+        assertEquals("void com.azure.Foo.bar(java.lang.String,int[])",
+            AnnotationUtils.toGenericString("com/azure/Foo.bar(Ljava/lang/String;[I)V", Collections.emptyMap()));
+    }
+}
@@ -17,6 +17,7 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
 import com.microsoft.azure.toolkit.lib.springcloud.AzureSpringCloud;
+import com.microsoft.azure.toolkit.lib.springcloud.DeploymentReadinessWatcher;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudApp;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudCluster;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudDeployment;
@@ -107,7 +108,9 @@ public class DeployMojo extends AbstractMojoBase {
         }
         final SpringCloudDeployment deployment = task.doExecute();
         if (!BooleanUtils.isTrue(noWait) && Optional.of(deploymentConfig).map(SpringCloudDeploymentConfig::getArtifact).map(IArtifact::getFile).isPresent()) {
-            if (!deployment.waitUntilReady(GET_STATUS_TIMEOUT)) {
+            final DeploymentReadinessWatcher.Result readiness = deployment.watchUntilReady(GET_STATUS_TIMEOUT);
+            printReadiness(readiness);
+            if (readiness.getState() == DeploymentReadinessWatcher.State.TIMEOUT) {
                 log.warn(GET_DEPLOYMENT_STATUS_TIMEOUT);
             }
         }
@@ -156,6 +159,16 @@ public class DeployMojo extends AbstractMojoBase {
         }
     }
 
+    protected void printReadiness(DeploymentReadinessWatcher.Result readiness) {
+        telemetryProxy.addDefaultProperty("deployment-ready-state", readiness.getState().name());
+        telemetryProxy.addDefaultProperty("deployment-ready-cost", String.valueOf(readiness.getElapsed().toMillis()));
+        if (readiness.getState() == DeploymentReadinessWatcher.State.FAILED) {
+            log.warn("Deployment failed to start: {}", readiness.getReason());
+        }
+        readiness.getReadyInstances().forEach((name, cost) ->
+                log.info(String.format("  Instance %s is ready in %.1fs", name, cost.toMillis() / 1000.0)));
+    }
+
     protected void printStatus(SpringCloudDeployment deployment) {
         log.info("Deployment Status: {}", color(deployment.getStatus()));
         deployment.getInstances().forEach(instance ->
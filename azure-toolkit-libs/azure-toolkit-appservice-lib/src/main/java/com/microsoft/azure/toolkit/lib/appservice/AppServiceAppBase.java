@@ -52,6 +52,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +69,8 @@ public abstract class AppServiceAppBase<
     extends AbstractAzResource<T, P, F> implements Startable, Deletable, StreamingLogSupport, ManagedIdentitySupport {
     public static final String SETTING_DOCKER_IMAGE = "DOCKER_CUSTOM_IMAGE_NAME";
     public static final String SETTING_REGISTRY_SERVER = "DOCKER_REGISTRY_SERVER_URL";
+    public static final String SETTING_REGISTRY_USERNAME = "DOCKER_REGISTRY_SERVER_USERNAME";
+    public static final String SETTING_REGISTRY_PASSWORD = "DOCKER_REGISTRY_SERVER_PASSWORD";
 
     protected AppServiceKuduClient kuduManager;
     public static final Action.Id<AppServiceAppBase<?, ?, ?>> OPEN_IN_BROWSER = Action.Id.of("user/webapp.open_in_browser.app");
@@ -158,6 +161,18 @@ public abstract class AppServiceAppBase<
         Optional.ofNullable(getFileClient()).ifPresent(c -> c.uploadFileToPath(content, path));
     }
 
+    public void uploadFileToPath(@Nonnull Path file, String path) {
+        Optional.ofNullable(getFileClient()).ifPresent(c -> c.uploadFileToPath(file, path));
+    }
+
+    public void downloadFile(String path, @Nonnull Path target) {
+        Optional.ofNullable(getFileClient()).ifPresent(c -> c.downloadFile(path, target));
+    }
+
+    public void syncDirectory(@Nonnull Path localDir, String remoteDir, int concurrency) {
+        Optional.ofNullable(getFileClient()).ifPresent(c -> c.syncDirectory(localDir, remoteDir, concurrency));
+    }
+
     public void createDirectory(String path) {
         Optional.ofNullable(getFileClient()).ifPresent(c -> c.createDirectory(path));
     }
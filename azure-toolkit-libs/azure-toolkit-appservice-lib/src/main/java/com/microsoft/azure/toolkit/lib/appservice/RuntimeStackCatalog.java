@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.resourcemanager.appservice.AppServiceManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Local catalog of App Service runtime stacks (response of ARM {@code Microsoft.Web/webAppStacks} or
+ * {@code Microsoft.Web/functionAppStacks}), persisted to {@code ~/.azure/appservice-runtime-stacks/<name>.json}. Cached
+ * stacks are returned right away, stale ones (older than 24 hours or of another api version) are revalidated in background
+ * with {@code If-None-Match}, so callers never wait for ARM. Without cached stacks callers get nothing and keep using the
+ * bundled default runtimes until the background fetch completes.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class RuntimeStackCatalog {
+    public static final String WEB_APP_STACKS = "webAppStacks";
+    public static final String FUNCTION_APP_STACKS = "functionAppStacks";
+    private static final int FORMAT_VERSION = 1;
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("user.home"), ".azure", "appservice-runtime-stacks");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<HashMap<String, Object>> TYPE_REF = new TypeReference<HashMap<String, Object>>() {
+    };
+    private static final Map<String, RuntimeStackCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final Path file;
+    @Nonnull
+    private final LongSupplier clock;
+    @Nonnull
+    private final Scheduler scheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile boolean diskLoaded = false;
+    @Nullable
+    private volatile Stacks stacks;
+
+    @Nonnull
+    public static RuntimeStackCatalog get(@Nonnull String name) {
+        return CATALOGS.computeIfAbsent(name, n -> new RuntimeStackCatalog(n, CACHE_DIR.resolve(n + ".json"), System::currentTimeMillis, Schedulers.boundedElastic()));
+    }
+
+    /**
+     * @return the cached stacks response, empty if no stacks have been cached yet. Stale or missing stacks are refreshed
+     * in background.
+     */
+    @Nonnull
+    public Map<String, Object> getStacks(@Nonnull AppServiceManager manager) {
+        return this.getStacks(manager.httpPipeline(), manager.serviceClient().getEndpoint(), manager.serviceClient().getApiVersion());
+    }
+
+    @Nonnull
+    Map<String, Object> getStacks(@Nonnull HttpPipeline pipeline, @Nonnull String endpoint, @Nonnull String apiVersion) {
+        final Stacks current = this.load();
+        if (Objects.isNull(current) || current.isStale(apiVersion, this.clock.getAsLong())) {
+            this.refreshInBackground(pipeline, endpoint, apiVersion, current);
+        }
+        return Optional.ofNullable(current).map(s -> s.body).orElse(Collections.emptyMap());
+    }
+
+    @Nullable
+    private Stacks load() {
+        if (!this.diskLoaded) {
+            synchronized (this) {
+                if (!this.diskLoaded) {
+                    this.stacks = read(this.file);
+                    this.diskLoaded = true;
+                }
+            }
+        }
+        return this.stacks;
+    }
+
+    private void refreshInBackground(@Nonnull HttpPipeline pipeline, @Nonnull String endpoint, @Nonnull String apiVersion, @Nullable Stacks current) {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromRunnable(() -> this.refresh(pipeline, endpoint, apiVersion, current))
+            .subscribeOn(this.scheduler)
+            .doFinally(s -> this.refreshing.set(false))
+            .subscribe(null, e -> log.debug("failed to refresh runtime stacks ({})", this.name, e));
+    }
+
+    private void refresh(@Nonnull HttpPipeline pipeline, @Nonnull String endpoint, @Nonnull String apiVersion, @Nullable Stacks current) {
+        final String url = String.format("%s/providers/Microsoft.Web/%s?api-version=%s", StringUtils.removeEnd(endpoint, "/"), this.name, apiVersion);
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, url);
+        final boolean revalidate = Objects.nonNull(current) && StringUtils.isNotBlank(current.etag) && StringUtils.equals(current.apiVersion, apiVersion);
+        if (revalidate) {
+            request.setHeader("If-None-Match", current.etag);
+        }
+        try (HttpResponse response = pipeline.send(request).block()) {
+            if (Objects.isNull(response)) {
+                return;
+            }
+            if (revalidate && response.getStatusCode() == 304) {
+                this.save(new Stacks(apiVersion, current.etag, this.clock.getAsLong(), current.body));
+            } else if (response.getStatusCode() == 200) {
+                final Map<String, Object> body = MAPPER.readValue(response.getBodyAsString().block(), TYPE_REF);
+                this.save(new Stacks(apiVersion, response.getHeaderValue("ETag"), this.clock.getAsLong(), body));
+            } else {
+                log.debug("failed to refresh runtime stacks ({}), status code: {}", this.name, response.getStatusCode());
+            }
+        } catch (final IOException e) {
+            log.debug("failed to refresh runtime stacks ({})", this.name, e);
+        }
+    }
+
+    private void save(@Nonnull Stacks stacks) throws IOException {
+        this.stacks = stacks;
+        final Map<String, Object> content = new HashMap<>();
+        content.put("formatVersion", FORMAT_VERSION);
+        content.put("apiVersion", stacks.apiVersion);
+        content.put("etag", stacks.etag);
+        content.put("fetchedAt", stacks.fetchedAt);
+        content.put("body", stacks.body);
+        Files.createDirectories(this.file.getParent());
+        final Path temp = Files.createTempFile(this.file.getParent(), this.name, ".tmp");
+        MAPPER.writeValue(temp.toFile(), content);
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Stacks read(@Nonnull Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final Map<String, Object> content = MAPPER.readValue(file.toFile(), TYPE_REF);
+            if (!Objects.equals(content.get("formatVersion"), FORMAT_VERSION) || !(content.get("body") instanceof Map)) {
+                return null;
+            }
+            return new Stacks((String) content.get("apiVersion"), (String) content.get("etag"),
+                ((Number) content.get("fetchedAt")).longValue(), (Map<String, Object>) content.get("body"));
+        } catch (final IOException | RuntimeException e) {
+            log.debug("ignoring invalid runtime stacks cache {}", file, e);
+            return null;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Stacks {
+        @Nullable
+        private final String apiVersion;
+        @Nullable
+        private final String etag;
+        private final long fetchedAt;
+        @Nonnull
+        private final Map<String, Object> body;
+
+        private boolean isStale(@Nonnull String currentApiVersion, long now) {
+            return !StringUtils.equals(this.apiVersion, currentApiVersion) || now - this.fetchedAt > TTL.toMillis();
+        }
+    }
+}
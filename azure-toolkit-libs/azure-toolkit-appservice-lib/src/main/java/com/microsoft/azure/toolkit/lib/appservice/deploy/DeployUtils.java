@@ -13,7 +13,9 @@ import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 class DeployUtils {
     private static final String INTERNAL_STORAGE_NOT_FOUND = "Application setting 'AzureWebJobsStorage' is not found, " +
@@ -22,6 +24,8 @@ class DeployUtils {
             "please check the application setting and try again later.";
     private static final String INTERNAL_STORAGE_KEY = "AzureWebJobsStorage";
     private static final String UNSUPPORTED_DEPLOYMENT_TARGET = "Unsupported deployment target, only function is supported";
+    // clients are thread safe, sharing them keeps the http pipeline and its connection pool across deployments
+    private static final Map<String, BlobServiceClient> CLIENTS = new ConcurrentHashMap<>();
 
     /**
      * Get storage account specified within AzureWebJobsStorage for function app/slot
@@ -38,10 +42,16 @@ class DeployUtils {
         if (StringUtils.isEmpty(connectionString)) {
             throw new AzureToolkitRuntimeException(INTERNAL_STORAGE_NOT_FOUND);
         }
-        return new BlobServiceClientBuilder().connectionString(connectionString).buildClient();
+        return CLIENTS.computeIfAbsent(connectionString, c -> new BlobServiceClientBuilder().connectionString(c).buildClient());
     }
 
     static void updateFunctionAppSetting(final WebAppBase deployTarget, final String key, final String value) {
+        // updating app settings restarts the app, skip it if the setting is already there, e.g. when redeploying
+        final String remoteValue = Optional.ofNullable(deployTarget.getAppSettings())
+                .map(map -> (AppSetting) map.get(key)).map(AppSetting::value).orElse(null);
+        if (StringUtils.equals(remoteValue, value)) {
+            return;
+        }
         if (deployTarget instanceof FunctionApp) {
             ((FunctionApp) deployTarget).update().withAppSetting(key, value).apply();
         } else if (deployTarget instanceof FunctionDeploymentSlot) {
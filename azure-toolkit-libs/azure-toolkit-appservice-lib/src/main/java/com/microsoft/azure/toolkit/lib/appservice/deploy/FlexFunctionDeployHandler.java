@@ -11,9 +11,9 @@ import com.microsoft.azure.toolkit.lib.appservice.file.AppServiceKuduClient;
 import com.microsoft.azure.toolkit.lib.appservice.file.AzureFunctionsAdminClient;
 import com.microsoft.azure.toolkit.lib.appservice.function.AzureFunctions;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppBase;
+import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppReadinessProbe;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
-import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import javax.annotation.Nonnull;
@@ -26,7 +26,7 @@ public class FlexFunctionDeployHandler implements IFunctionDeployHandler {
 
     public static final String FAILED_TO_DEPLOY = "Failed to deploy to Azure Function (%s) : ";
     public static final Duration HOST_STATUS_DELAY = Duration.ofSeconds(2);
-    public static final int HOST_STATUS_REPEAT = 15;
+    public static final Duration HOST_STATUS_TIMEOUT = Duration.ofSeconds(90);
     public static final String INVALID_STATUS = "Deployment was successful but the app appears to be unhealthy. Please check the app logs.";
     public static final int DEPLOYMENT_REPEAT_TIMES = 450;
     public static final Duration DEPLOYMENT_STATUS_DELAY = Duration.ofMillis(500);
@@ -44,22 +44,24 @@ public class FlexFunctionDeployHandler implements IFunctionDeployHandler {
             Objects.requireNonNull(kuduManager).flexZipDeploy(file);
             kuduManager.checkLatestDeploymentStatus(DEPLOYMENT_STATUS_DELAY, DEPLOYMENT_REPEAT_TIMES);
             checkFlexAppAfterDeployment(functionAppBase);
-        } catch (final IOException | InterruptedException e) {
+        } catch (final IOException e) {
             throw new AzureToolkitRuntimeException(String.format(FAILED_TO_DEPLOY, ExceptionUtils.getRootCauseMessage(e)), e);
         }
         AzureMessager.getMessager().info(String.format(DEPLOY_FINISH, functionAppBase.getHostName()));
     }
 
-    private void checkFlexAppAfterDeployment(@Nonnull final FunctionAppBase<?, ?, ?> functionAppBase) throws InterruptedException {
-        AzureMessager.getMessager().info("Waiting for sync triggers, it may take some moments...");
-        Thread.sleep(60 * 1000);
+    private void checkFlexAppAfterDeployment(@Nonnull final FunctionAppBase<?, ?, ?> functionAppBase) {
         final AzureFunctionsAdminClient adminClient = functionAppBase.getAdminClient();
         if (Objects.isNull(adminClient)) {
             return;
         }
         AzureMessager.getMessager().info("Checking the health of the function app...");
-        final Boolean result = adminClient.getHostStatus(HOST_STATUS_DELAY, HOST_STATUS_REPEAT);
-        if (BooleanUtils.isNotTrue(result)) {
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            .hostStatus(adminClient::getHostState)
+            .initialDelay(HOST_STATUS_DELAY)
+            .timeout(HOST_STATUS_TIMEOUT)
+            .build().probe();
+        if (!report.isReady()) {
             throw new AzureToolkitRuntimeException(INVALID_STATUS);
         }
     }
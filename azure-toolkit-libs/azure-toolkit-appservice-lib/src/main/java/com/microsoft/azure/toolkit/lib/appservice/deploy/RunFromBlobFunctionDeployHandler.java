@@ -4,45 +4,263 @@
  */
 package com.microsoft.azure.toolkit.lib.appservice.deploy;
 
+import com.azure.resourcemanager.appservice.models.AppSetting;
+import com.azure.resourcemanager.appservice.models.FunctionApp;
+import com.azure.resourcemanager.appservice.models.FunctionDeploymentSlot;
+import com.azure.resourcemanager.appservice.models.FunctionDeploymentSlotBasic;
 import com.azure.resourcemanager.appservice.models.WebAppBase;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobContainerAccessPolicies;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobListDetails;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.legacy.function.AzureStorageHelper;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.legacy.function.Constants.APP_SETTING_WEBSITE_RUN_FROM_PACKAGE;
 
+/**
+ * Deploys the package as a blob which the function app runs from. Packages are named after their SHA-256 and tagged with
+ * the function app they belong to, so redeploying an identical package reuses the uploaded blob (and its SAS url while
+ * valid, so the app is not restarted), and packages of the app (and its slots) which were not deployed within
+ * {@code packageRetention} and are not referenced any more are deleted.
+ */
+@Slf4j
 public class RunFromBlobFunctionDeployHandler implements IFunctionDeployHandler {
     private static final int SAS_EXPIRE_DATE_BY_YEAR = 10;
+    /**
+     * the SAS token of a reused package is renewed if it expires within this period.
+     */
+    private static final Duration SAS_RENEWAL = Duration.ofDays(365);
     private static final String DEPLOYMENT_PACKAGE_CONTAINER = "java-functions-run-from-packages";
     private static final String UPDATE_ACCESS_LEVEL_TO_PRIVATE = "The blob container '%s' access level was updated to be private";
+    private static final String REUSE_PACKAGE = "Package with the same content (sha256: %s) is already uploaded, skip uploading.";
+    private static final String METADATA_FUNCTION_APP = "functionapp";
+    private static final String METADATA_SHA256 = "sha256";
+
+    /**
+     * size of the blocks the package is staged as.
+     */
+    @Getter
+    @Setter
+    private long blockSize = AzureStorageHelper.DEFAULT_BLOCK_SIZE;
+    /**
+     * max number of blocks uploaded at the same time.
+     */
+    @Getter
+    @Setter
+    private int maxConcurrency = AzureStorageHelper.DEFAULT_MAX_CONCURRENCY;
+    /**
+     * packages not deployed within this period are deleted if no longer referenced by the function app or its slots.
+     */
+    @Getter
+    @Setter
+    private Duration packageRetention = Duration.ofDays(30);
 
     @Override
     public void deploy(@Nonnull File file, @Nonnull WebAppBase target) {
         final BlobServiceClient storageAccount = DeployUtils.getBlobServiceClient(target);
         final BlobClient blob = deployArtifactToAzureStorage(target, file, storageAccount);
-        final String sasToken = AzureStorageHelper.getSASToken(blob, Period.ofYears(SAS_EXPIRE_DATE_BY_YEAR));
-        DeployUtils.updateFunctionAppSetting(target, APP_SETTING_WEBSITE_RUN_FROM_PACKAGE, sasToken);
+        DeployUtils.updateFunctionAppSetting(target, APP_SETTING_WEBSITE_RUN_FROM_PACKAGE, getPackageSasUrl(target, blob));
+    }
+
+    /**
+     * @return the current package url of the target if it points to the blob with a SAS token which is still valid, so
+     * redeploying an identical package doesn't update the setting (which restarts the app), otherwise a new SAS url.
+     */
+    @Nonnull
+    String getPackageSasUrl(@Nonnull WebAppBase target, @Nonnull BlobClient blob) {
+        final String current = Optional.ofNullable(target.getAppSettings()).map(s -> s.get(APP_SETTING_WEBSITE_RUN_FROM_PACKAGE))
+            .map(AppSetting::value).orElse(null);
+        final OffsetDateTime expiry = getSasExpiry(current);
+        if (Objects.nonNull(current) && blob.getBlobName().equals(toBlobName(current)) && Objects.nonNull(expiry)
+            && expiry.isAfter(OffsetDateTime.now().plus(SAS_RENEWAL))) {
+            return current;
+        }
+        return AzureStorageHelper.getSASToken(blob, Period.ofYears(SAS_EXPIRE_DATE_BY_YEAR));
     }
 
-    private BlobClient deployArtifactToAzureStorage(WebAppBase deployTarget, File zipPackage, BlobServiceClient storageAccount) {
+    BlobClient deployArtifactToAzureStorage(WebAppBase deployTarget, File zipPackage, BlobServiceClient storageAccount) {
         AzureMessager.getMessager().info(String.format(DEPLOY_START, deployTarget.name()));
         final BlobContainerClient container = getOrCreateArtifactContainer(storageAccount);
-        final String blobName = getBlobName(deployTarget);
-        final BlobClient blob = AzureStorageHelper.uploadFileAsBlob(zipPackage, storageAccount,
-                container.getBlobContainerName(), blobName);
+        final String owner = getFunctionApp(deployTarget).id();
+        final String hash = sha256(zipPackage);
+        final Map<String, String> metadata = new HashMap<>();
+        metadata.put(METADATA_FUNCTION_APP, owner);
+        metadata.put(METADATA_SHA256, hash);
+
+        BlobClient blob = container.getBlobClient(String.format("%s-%s", deployTarget.name(), hash));
+        final BlobProperties existing = blob.exists() ? blob.getProperties() : null;
+        if (Objects.nonNull(existing) && isOwnedBy(existing.getMetadata(), owner) && hash.equals(existing.getMetadata().get(METADATA_SHA256))) {
+            AzureMessager.getMessager().info(String.format(REUSE_PACKAGE, hash));
+            // refreshes last modified time of the package, which is when it was deployed last
+            blob.setMetadata(metadata);
+        } else {
+            // the name is taken by a package of another app with the same name, fall back to a unique name
+            final String blobName = Objects.isNull(existing) ? blob.getBlobName() : getBlobName(deployTarget);
+            blob = AzureStorageHelper.uploadFileAsBlob(zipPackage, storageAccount, container.getBlobContainerName(), blobName,
+                this.blockSize, this.maxConcurrency, metadata);
+        }
         AzureMessager.getMessager().info(String.format(DEPLOY_FINISH, deployTarget.defaultHostname()));
+        deleteExpiredPackages(deployTarget, container, blob.getBlobName());
         return blob;
     }
 
+    private void deleteExpiredPackages(final WebAppBase deployTarget, final BlobContainerClient container, final String current) {
+        try {
+            final FunctionApp functionApp = getFunctionApp(deployTarget);
+            final OffsetDateTime expiry = OffsetDateTime.now().minus(this.packageRetention);
+            final ListBlobsOptions options = new ListBlobsOptions().setDetails(new BlobListDetails().setRetrieveMetadata(true));
+            final List<BlobItem> expired = container.listBlobs(options, null).stream()
+                .filter(b -> !b.getName().equals(current) && isOwnedBy(b.getMetadata(), functionApp.id()))
+                .filter(b -> b.getProperties().getLastModified().isBefore(expiry))
+                .collect(Collectors.toList());
+            if (expired.isEmpty()) {
+                return;
+            }
+            // slot swaps move packages between the app and its slots, so keep packages that any of them still runs from.
+            // packages are matched by blob name, the app may refer to them through another endpoint of the account
+            final Set<String> referenced = new HashSet<>();
+            Optional.ofNullable(getPackageBlobName(functionApp.getAppSettings())).ifPresent(referenced::add);
+            for (final FunctionDeploymentSlotBasic slot : functionApp.deploymentSlots().list()) {
+                // the basic model of slots has no app settings
+                final FunctionDeploymentSlot deploymentSlot = functionApp.deploymentSlots().getById(slot.id());
+                if (Objects.isNull(deploymentSlot)) {
+                    // references of the slot are unknown, so none of the packages can be deleted safely
+                    throw new AzureToolkitRuntimeException(String.format("failed to get app settings of slot %s", slot.name()));
+                }
+                Optional.ofNullable(getPackageBlobName(deploymentSlot.getAppSettings())).ifPresent(referenced::add);
+            }
+            for (final BlobItem item : expired) {
+                if (!referenced.contains(item.getName())) {
+                    log.debug("deleting expired function package {}", item.getName());
+                    container.getBlobClient(item.getName()).deleteIfExists();
+                }
+            }
+        } catch (final RuntimeException e) {
+            // garbage collection is best effort and should never fail the deployment
+            log.debug("failed to delete expired function packages", e);
+        }
+    }
+
+    @Nonnull
+    private static FunctionApp getFunctionApp(final WebAppBase deployTarget) {
+        if (deployTarget instanceof FunctionApp) {
+            return (FunctionApp) deployTarget;
+        } else if (deployTarget instanceof FunctionDeploymentSlot) {
+            return ((FunctionDeploymentSlot) deployTarget).parent();
+        }
+        throw new AzureToolkitRuntimeException("Unsupported deployment target, only function is supported");
+    }
+
+    /**
+     * @return name of the package blob the app runs from, null if it doesn't run from a package of the container.
+     */
+    @Nullable
+    private static String getPackageBlobName(@Nullable final Map<String, AppSetting> settings) {
+        return Optional.ofNullable(settings).map(s -> s.get(APP_SETTING_WEBSITE_RUN_FROM_PACKAGE))
+            .map(AppSetting::value)
+            .map(RunFromBlobFunctionDeployHandler::toBlobName)
+            .orElse(null);
+    }
+
+    /**
+     * @return name of the blob in the package container the url points to, null if it points elsewhere.
+     */
+    @Nullable
+    private static String toBlobName(@Nonnull final String packageUrl) {
+        final String path = StringUtils.substringBefore(packageUrl, "?");
+        final String prefix = "/" + DEPLOYMENT_PACKAGE_CONTAINER + "/";
+        if (!StringUtils.containsIgnoreCase(path, prefix)) {
+            return null;
+        }
+        return decode(path.substring(StringUtils.indexOfIgnoreCase(path, prefix) + prefix.length()));
+    }
+
+    /**
+     * @return expiry time ({@code se}) of the SAS token of the url, null if it has none.
+     */
+    @Nullable
+    private static OffsetDateTime getSasExpiry(@Nullable final String packageUrl) {
+        if (StringUtils.isBlank(packageUrl)) {
+            return null;
+        }
+        return Arrays.stream(StringUtils.split(StringUtils.substringAfter(packageUrl, "?"), '&'))
+            .filter(p -> p.startsWith("se="))
+            .findFirst()
+            .map(p -> {
+                try {
+                    return OffsetDateTime.parse(decode(p.substring(3)));
+                } catch (final DateTimeParseException e) {
+                    return null;
+                }
+            }).orElse(null);
+    }
+
+    @Nonnull
+    private static String decode(@Nonnull final String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException e) {
+            throw new AzureToolkitRuntimeException(e);
+        }
+    }
+
+    private static boolean isOwnedBy(final Map<String, String> metadata, final String owner) {
+        return Objects.nonNull(metadata) && StringUtils.equalsIgnoreCase(metadata.get(METADATA_FUNCTION_APP), owner);
+    }
+
+    @Nonnull
+    private static String sha256(@Nonnull File file) {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to compute hash of package %s", file.getName()), e);
+        }
+    }
+
     private BlobContainerClient getOrCreateArtifactContainer(final BlobServiceClient storageAccount) {
         final BlobContainerClient container = storageAccount.getBlobContainerClient(DEPLOYMENT_PACKAGE_CONTAINER);
         if (!container.exists()) {
@@ -17,6 +17,7 @@ import com.azure.core.annotation.PathParam;
 import com.azure.core.annotation.Post;
 import com.azure.core.annotation.Put;
 import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.rest.Response;
 import com.azure.core.http.rest.RestProxy;
 import com.azure.core.http.rest.StreamResponse;
@@ -85,8 +86,14 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         String[] parts = host.split("\\.", 2);
         host = parts[0] + ".scm." + parts[1];
         host = "https://" + host;
+        return getClient(host, webAppBase.manager().httpPipeline(), appService);
+    }
 
-        final KuduService kuduService = RestProxy.create(KuduService.class, webAppBase.manager().httpPipeline());
+    /**
+     * @param host scm site with scheme, e.g. {@code https://app.scm.azurewebsites.net}
+     */
+    static AppServiceKuduClient getClient(@Nonnull String host, @Nonnull HttpPipeline pipeline, @Nullable AppServiceAppBase<?, ?, ?> appService) {
+        final KuduService kuduService = RestProxy.create(KuduService.class, pipeline);
         return new AppServiceKuduClient(host, kuduService, appService);
     }
 
@@ -95,35 +102,48 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         return this.kuduService.getFileContent(host, fixedPath).flatMapMany(StreamResponse::getValue);
     }
 
+    public Flux<ByteBuffer> getFileContent(final String path, final long offset) {
+        final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
+        return this.kuduService.getFileContentRange(host, fixedPath, FileTransfers.toRange(offset)).flatMapMany(r -> FileTransfers.fromOffset(r, offset));
+    }
+
     public List<? extends AppServiceFile> getFilesInDirectory(String dir) {
+        return DirectoryListingCache.getInstance().getFiles(host, StringUtils.removeStart(dir, HOME_PREFIX), this::listFilesInDirectory);
+    }
+
+    public AppServiceFile getFileByPath(String path) {
+        // kudu vfs has no metadata api for a single file, the entry is looked up in the (cached) listing of its parent
+        return DirectoryListingCache.getInstance().getFile(host, StringUtils.removeStart(path, HOME_PREFIX), this::listFilesInDirectory);
+    }
+
+    private List<? extends AppServiceFile> listFilesInDirectory(String fixedDir) {
         // this file is generated by kudu itself, should not be visible to user.
-        final String fixedDir = StringUtils.removeStart(dir, HOME_PREFIX);
         return Objects.requireNonNull(this.kuduService.getFilesInDirectory(host, fixedDir).block()).getValue().stream()
             .filter(file -> !"text/xml".equals(file.getMime()) || !file.getName().contains("LogFiles-kudu-trace_pending.xml"))
             .map(file -> file.withApp(app).withPath(Paths.get(fixedDir, file.getName()).toString()))
             .collect(Collectors.toList());
     }
 
-    public AppServiceFile getFileByPath(String path) {
-        final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
-        final File file = new File(fixedPath);
-        final List<? extends AppServiceFile> result = getFilesInDirectory(file.getParent());
-        return result.stream()
-            .filter(appServiceFile -> StringUtils.equals(file.getName(), appServiceFile.getName()))
-            .findFirst()
-            .orElse(null);
-    }
-
     public void uploadFileToPath(String content, String path) {
         this.kuduService.saveFile(host, path, content).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, StringUtils.removeStart(path, HOME_PREFIX));
+    }
+
+    public void uploadFileToPath(Flux<ByteBuffer> content, long length, String path) {
+        this.kuduService.saveFileContent(host, path, content, length).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, StringUtils.removeStart(path, HOME_PREFIX));
     }
 
     public void createDirectory(String path) {
         this.kuduService.createDirectory(host, path).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, StringUtils.removeStart(path, HOME_PREFIX));
+        DirectoryListingCache.getInstance().invalidate(host, StringUtils.removeStart(path, HOME_PREFIX));
     }
 
     public void deleteFile(String path) {
         this.kuduService.deleteFile(host, path).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, StringUtils.removeStart(path, HOME_PREFIX));
+        DirectoryListingCache.getInstance().invalidate(host, StringUtils.removeStart(path, HOME_PREFIX));
     }
 
     public List<ProcessInfo> listProcess() {
@@ -225,6 +245,13 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         @Get("api/vfs/{path}")
         Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path);
 
+        @Headers({
+            "Content-Type: application/json; charset=utf-8"
+        })
+        @Get("api/vfs/{path}")
+        @ExpectedResponses({200, 206})
+        Mono<StreamResponse> getFileContentRange(@HostParam("$host") String host, @PathParam("path") String path, @HeaderParam("Range") String range);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -238,6 +265,15 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         @Put("api/vfs/{path}")
         Mono<Void> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") String content);
 
+        @Headers({
+            "Content-Type: application/octet-stream",
+            "If-Match: *",
+            "x-ms-body-logging: false"
+        })
+        @Put("api/vfs/{path}")
+        Mono<Void> saveFileContent(@HostParam("$host") String host, @PathParam("path") String path,
+                                   @BodyParam("application/octet-stream") Flux<ByteBuffer> content, @HeaderParam("Content-Length") long length);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -7,7 +7,9 @@ package com.microsoft.azure.toolkit.lib.appservice.file;
 
 import com.azure.core.annotation.BodyParam;
 import com.azure.core.annotation.Delete;
+import com.azure.core.annotation.ExpectedResponses;
 import com.azure.core.annotation.Get;
+import com.azure.core.annotation.HeaderParam;
 import com.azure.core.annotation.Headers;
 import com.azure.core.annotation.Host;
 import com.azure.core.annotation.HostParam;
@@ -15,6 +17,7 @@ import com.azure.core.annotation.PathParam;
 import com.azure.core.annotation.Post;
 import com.azure.core.annotation.Put;
 import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.exception.HttpResponseException;
 import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.HttpPipelineBuilder;
@@ -42,7 +45,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
-import java.io.File;
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -88,7 +91,21 @@ public class AzureFunctionsAdminClient implements IFileClient {
         return this.functionsService.getFileContent(host, getFixedPath(path)).flatMapMany(StreamResponse::getValue);
     }
 
+    public Flux<ByteBuffer> getFileContent(final String path, final long offset) {
+        return this.functionsService.getFileContentRange(host, getFixedPath(path), FileTransfers.toRange(offset))
+            .flatMapMany(r -> FileTransfers.fromOffset(r, offset));
+    }
+
     public List<? extends AppServiceFile> getFilesInDirectory(String dir) {
+        return DirectoryListingCache.getInstance().getFiles(host, getFixedPath(dir), this::listFilesInDirectory);
+    }
+
+    public AppServiceFile getFileByPath(String path) {
+        // the admin vfs api has no metadata api for a single file, the entry is looked up in the (cached) listing of its parent
+        return DirectoryListingCache.getInstance().getFile(host, getFixedPath(path), this::listFilesInDirectory);
+    }
+
+    private List<? extends AppServiceFile> listFilesInDirectory(String dir) {
         final Response<List<AppServiceFile>> response = this.functionsService.getFilesInDirectory(host, getFixedPath(dir)).block();
         return Objects.isNull(response) ? Collections.emptyList() : response.getValue().stream()
             // this file is generated by kudu itself, should not be visible to user.
@@ -97,25 +114,26 @@ public class AzureFunctionsAdminClient implements IFileClient {
             .collect(Collectors.toList());
     }
 
-    public AppServiceFile getFileByPath(String path) {
-        final File file = new File(path);
-        final List<? extends AppServiceFile> result = getFilesInDirectory(getFixedPath(file.getParent()));
-        return result.stream()
-            .filter(appServiceFile -> StringUtils.equals(file.getName(), appServiceFile.getName()))
-            .findFirst()
-            .orElse(null);
-    }
-
     public void uploadFileToPath(String content, String path) {
         this.functionsService.saveFile(host, getFixedPath(path), content).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, getFixedPath(path));
+    }
+
+    public void uploadFileToPath(Flux<ByteBuffer> content, long length, String path) {
+        this.functionsService.saveFileContent(host, getFixedPath(path), content, length).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, getFixedPath(path));
     }
 
     public void createDirectory(String path) {
         this.functionsService.createDirectory(host, getFixedPath(path)).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, getFixedPath(path));
+        DirectoryListingCache.getInstance().invalidate(host, getFixedPath(path));
     }
 
     public void deleteFile(String path) {
         this.functionsService.deleteFile(host, getFixedPath(path)).block();
+        DirectoryListingCache.getInstance().invalidateParent(host, getFixedPath(path));
+        DirectoryListingCache.getInstance().invalidate(host, getFixedPath(path));
     }
 
     private String getFixedPath(String originPath) {
@@ -123,15 +141,28 @@ public class AzureFunctionsAdminClient implements IFileClient {
             originPath : Paths.get(LINUX_ROOT, originPath).toString();
     }
 
+    public boolean isHostRunning() {
+        return BooleanUtils.isTrue(this.getHostState());
+    }
+
+    /**
+     * @return true if the host is running, false if it's not running (yet), null if the state is unknown because the
+     * admin api couldn't be reached or refused the request (e.g. access restrictions).
+     */
+    @Nullable
+    public Boolean getHostState() {
+        try {
+            final Response<Void> result = this.functionsService.getHostStatus(host).block();
+            return Optional.ofNullable(result).map(Response::getStatusCode).map(status -> status == 200).orElse(false);
+        } catch (final HttpResponseException e) {
+            return Objects.nonNull(e.getResponse()) && e.getResponse().getStatusCode() >= 500 ? Boolean.FALSE : null;
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
     public Boolean getHostStatus(final Duration delay, final int repeatTimes) {
-        return Mono.fromCallable(() -> {
-                try {
-                    final Response<Void> result = this.functionsService.getHostStatus(host).block();
-                    return Optional.ofNullable(result).map(Response::getStatusCode).map(status -> status == 200).orElse(false);
-                } catch (final RuntimeException e) {
-                    return false;
-                }
-            })
+        return Mono.fromCallable(this::isHostRunning)
             .delayElement(delay)
             .subscribeOn(Schedulers.boundedElastic())
             .repeat(repeatTimes)
@@ -158,6 +189,13 @@ public class AzureFunctionsAdminClient implements IFileClient {
         @Get("admin/vfs/{path}")
         Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path);
 
+        @Headers({
+            "Content-Type: application/json; charset=utf-8"
+        })
+        @Get("admin/vfs/{path}")
+        @ExpectedResponses({200, 206})
+        Mono<StreamResponse> getFileContentRange(@HostParam("$host") String host, @PathParam("path") String path, @HeaderParam("Range") String range);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -171,6 +209,15 @@ public class AzureFunctionsAdminClient implements IFileClient {
         @Put("admin/vfs/{path}")
         Mono<Void> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") String content);
 
+        @Headers({
+            "Content-Type: application/octet-stream",
+            "If-Match: *",
+            "x-ms-body-logging: false"
+        })
+        @Put("admin/vfs/{path}")
+        Mono<Void> saveFileContent(@HostParam("$host") String host, @PathParam("path") String path,
+                                   @BodyParam("application/octet-stream") Flux<ByteBuffer> content, @HeaderParam("Content-Length") long length);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of VFS directory listings shared by all {@link IFileClient}s, keyed by the host of the client (which
+ * identifies the app or slot) and the directory path. Each cached listing is indexed by name, so looking up a single file
+ * doesn't scan the (possibly huge, e.g. {@code LogFiles}) directory. Clients invalidate listings they modify, other
+ * changes become visible when the entry expires. Paths are normalized here only, loaders get the normalized directory
+ * so the cached entries always match the listed directory.
+ */
+public class DirectoryListingCache {
+    private static final Duration TTL = Duration.ofSeconds(15);
+    private static final long MAX_CACHED_FILES = 200_000;
+    private static final DirectoryListingCache INSTANCE = new DirectoryListingCache();
+
+    private final Cache<String, Listing> listings = Caffeine.newBuilder()
+        .expireAfterWrite(TTL)
+        .maximumWeight(MAX_CACHED_FILES)
+        .weigher((String key, Listing listing) -> listing.files.size() + 1)
+        .build();
+
+    @Nonnull
+    public static DirectoryListingCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param loader lists the given (normalized) directory.
+     */
+    @Nonnull
+    List<? extends AppServiceFile> getFiles(@Nonnull String host, @Nonnull String dir, @Nonnull Function<String, List<? extends AppServiceFile>> loader) {
+        return this.getListing(host, normalize(dir), loader).files;
+    }
+
+    /**
+     * @param loader lists the given (normalized) parent directory of {@code path}.
+     */
+    @Nullable
+    AppServiceFile getFile(@Nonnull String host, @Nonnull String path, @Nonnull Function<String, List<? extends AppServiceFile>> loader) {
+        final String normalized = normalize(path);
+        final String name = StringUtils.substringAfterLast(normalized, "/");
+        return this.getListing(host, getParent(normalized), loader).filesByName.get(name);
+    }
+
+    /**
+     * invalidates the listing of {@code path} and all directories under it.
+     */
+    void invalidate(@Nonnull String host, @Nonnull String path) {
+        final String key = key(host, path);
+        this.listings.asMap().keySet().removeIf(k -> k.equals(key) || k.startsWith(key + "/"));
+    }
+
+    /**
+     * invalidates the listing of the parent directory of {@code path}, which contains {@code path} itself.
+     */
+    void invalidateParent(@Nonnull String host, @Nonnull String path) {
+        this.listings.invalidate(key(host, getParent(path)));
+    }
+
+    @Nonnull
+    private static String getParent(@Nonnull String path) {
+        return StringUtils.substringBeforeLast(normalize(path), "/");
+    }
+
+    /**
+     * @param dir normalized directory.
+     */
+    @Nonnull
+    private Listing getListing(@Nonnull String host, @Nonnull String dir, @Nonnull Function<String, List<? extends AppServiceFile>> loader) {
+        return Objects.requireNonNull(this.listings.get(key(host, dir), k -> new Listing(loader.apply(dir))));
+    }
+
+    @Nonnull
+    private static String key(@Nonnull String host, @Nonnull String path) {
+        return host + "|" + normalize(path);
+    }
+
+    /**
+     * absolute path with '/' separators and without trailing '/', e.g. {@code /site/wwwroot}.
+     */
+    @Nonnull
+    private static String normalize(@Nonnull String path) {
+        return StringUtils.removeEnd(StringUtils.prependIfMissing(path.replace('\\', '/'), "/"), "/");
+    }
+
+    private static class Listing {
+        private final List<? extends AppServiceFile> files;
+        private final Map<String, AppServiceFile> filesByName;
+
+        private Listing(@Nonnull List<? extends AppServiceFile> files) {
+            this.files = Collections.unmodifiableList(files);
+            this.filesByName = files.stream().collect(Collectors.toMap(AppServiceFile::getName, Function.identity(), (a, b) -> a));
+        }
+    }
+}
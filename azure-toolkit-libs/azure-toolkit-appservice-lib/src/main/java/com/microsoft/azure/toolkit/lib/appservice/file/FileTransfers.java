@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.rest.StreamResponse;
+import com.azure.core.util.FluxUtil;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming transfers on top of the VFS api of {@link IFileClient}s. Files are read and written in chunks of
+ * {@link #CHUNK_SIZE} with backpressure, so memory usage doesn't depend on file size.
+ */
+@Slf4j
+final class FileTransfers {
+    static final int CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_DOWNLOAD_RETRIES = 3;
+
+    private FileTransfers() {
+    }
+
+    static Flux<ByteBuffer> toFlux(@Nonnull InputStream in) {
+        return FluxUtil.toFluxByteBuffer(in, CHUNK_SIZE);
+    }
+
+    static void upload(@Nonnull IFileClient client, @Nonnull Path file, @Nonnull String path) {
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            client.uploadFileToPath(FluxUtil.readFile(channel, CHUNK_SIZE, 0, size), size, path);
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to upload file %s to %s", file, path), e);
+        }
+    }
+
+    /**
+     * @return content of the {@code response} starting from {@code offset}, skipping leading bytes if the server ignored
+     * the {@code Range} header and returned the whole file.
+     */
+    static Flux<ByteBuffer> fromOffset(@Nonnull StreamResponse response, long offset) {
+        if (offset <= 0 || response.getStatusCode() == 206) {
+            return response.getValue();
+        }
+        final AtomicLong remaining = new AtomicLong(offset);
+        return response.getValue().map(buffer -> {
+            final int skip = (int) Math.min(remaining.get(), buffer.remaining());
+            if (skip == 0) {
+                return buffer;
+            }
+            remaining.addAndGet(-skip);
+            final ByteBuffer rest = buffer.duplicate();
+            rest.position(rest.position() + skip);
+            return rest;
+        }).filter(ByteBuffer::hasRemaining);
+    }
+
+    @Nullable
+    static String toRange(long offset) {
+        return offset > 0 ? String.format("bytes=%d-", offset) : null;
+    }
+
+    static void download(@Nonnull IFileClient client, @Nonnull String path, @Nonnull Path target) {
+        final Path part = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Optional.ofNullable(target.toAbsolutePath().getParent()).ifPresent(FileTransfers::createDirectories);
+            Files.deleteIfExists(part);
+            for (int attempt = 0; ; attempt++) {
+                final long offset = Files.exists(part) ? Files.size(part) : 0;
+                try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    client.getFileContent(path, offset).doOnNext(buffer -> write(channel, buffer)).blockLast();
+                    break;
+                } catch (final RuntimeException e) {
+                    if (attempt >= MAX_DOWNLOAD_RETRIES || isClientError(e)) {
+                        throw e;
+                    }
+                    log.debug("download of {} interrupted at {} bytes, resuming", path, Files.size(part), e);
+                }
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException | UncheckedIOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to download file %s to %s", path, target), e);
+        }
+    }
+
+    static void sync(@Nonnull IFileClient client, @Nonnull Path localDir, @Nonnull String remoteDir, int concurrency) {
+        final String remoteRoot = StringUtils.removeEnd(remoteDir.replace('\\', '/'), "/");
+        // local files grouped by remote directory, sorted so that parent directories come first
+        final Map<String, List<Path>> filesByDir = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(localDir)) {
+            paths.forEach(p -> {
+                final String relative = localDir.relativize(p).toString().replace('\\', '/');
+                final String remote = StringUtils.isEmpty(relative) ? remoteRoot : remoteRoot + "/" + relative;
+                if (Files.isDirectory(p)) {
+                    filesByDir.computeIfAbsent(remote, k -> new ArrayList<>());
+                } else {
+                    filesByDir.computeIfAbsent(StringUtils.substringBeforeLast(remote, "/"), k -> new ArrayList<>()).add(p);
+                }
+            });
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to list files in %s", localDir), e);
+        }
+
+        final Map<String, Map<String, AppServiceFile>> remoteFiles = new ConcurrentHashMap<>();
+        Flux.fromIterable(filesByDir.keySet())
+            .flatMap(dir -> Mono.fromRunnable(() -> listDirectory(client, dir).ifPresent(files -> remoteFiles.put(dir, files)))
+                .subscribeOn(Schedulers.boundedElastic()), Math.max(1, concurrency))
+            .blockLast();
+        filesByDir.keySet().stream().filter(dir -> !remoteFiles.containsKey(dir)).forEach(client::createDirectory);
+
+        final List<Path> changed = filesByDir.entrySet().stream()
+            .flatMap(e -> e.getValue().stream().filter(f -> isChanged(f, remoteFiles.getOrDefault(e.getKey(), Collections.emptyMap()).get(f.getFileName().toString()))))
+            .collect(Collectors.toList());
+        Flux.fromIterable(changed)
+            .flatMap(f -> Mono.fromRunnable(() -> client.uploadFileToPath(f, remoteRoot + "/" + localDir.relativize(f).toString().replace('\\', '/')))
+                .subscribeOn(Schedulers.boundedElastic()), Math.max(1, concurrency))
+            .blockLast();
+        log.debug("synced {} to {}, {} of {} files uploaded", localDir, remoteRoot, changed.size(), filesByDir.values().stream().mapToInt(List::size).sum());
+    }
+
+    private static Optional<Map<String, AppServiceFile>> listDirectory(@Nonnull IFileClient client, @Nonnull String dir) {
+        try {
+            return Optional.of(client.getFilesInDirectory(dir).stream()
+                .filter(f -> f.getType() == AppServiceFile.Type.FILE)
+                .collect(Collectors.toMap(AppServiceFile::getName, f -> (AppServiceFile) f, (a, b) -> a)));
+        } catch (final HttpResponseException e) {
+            if (e.getResponse().getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isChanged(@Nonnull Path local, @Nullable AppServiceFile remote) {
+        if (Objects.isNull(remote) || StringUtils.isBlank(remote.getMtime())) {
+            return true;
+        }
+        try {
+            return Files.size(local) != remote.getSize() ||
+                Files.getLastModifiedTime(local).toInstant().isAfter(OffsetDateTime.parse(remote.getMtime()).toInstant());
+        } catch (final IOException | DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    private static boolean isClientError(@Nonnull RuntimeException e) {
+        return e instanceof HttpResponseException && Objects.nonNull(((HttpResponseException) e).getResponse()) &&
+            ((HttpResponseException) e).getResponse().getStatusCode() / 100 == 4;
+    }
+
+    private static void write(@Nonnull FileChannel channel, @Nonnull ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void createDirectories(@Nonnull Path dir) {
+        try {
+            Files.createDirectories(dir);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
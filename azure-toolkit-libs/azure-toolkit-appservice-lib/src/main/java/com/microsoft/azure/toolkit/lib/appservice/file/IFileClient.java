@@ -8,18 +8,59 @@ package com.microsoft.azure.toolkit.lib.appservice.file;
 import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import reactor.core.publisher.Flux;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface IFileClient {
     Flux<ByteBuffer> getFileContent(final String path);
 
+    /**
+     * @return content of the file starting from {@code offset}, requested with HTTP {@code Range}.
+     */
+    Flux<ByteBuffer> getFileContent(final String path, long offset);
+
     List<? extends AppServiceFile> getFilesInDirectory(String dir);
 
     AppServiceFile getFileByPath(String path);
 
     void uploadFileToPath(String content, String path);
 
+    /**
+     * streams {@code length} bytes of {@code content} to the file, {@code content} is subscribed again if the request is retried.
+     */
+    void uploadFileToPath(Flux<ByteBuffer> content, long length, String path);
+
+    /**
+     * streams the local file in chunks, so memory usage doesn't grow with the file size.
+     */
+    default void uploadFileToPath(Path file, String path) {
+        FileTransfers.upload(this, file, path);
+    }
+
+    /**
+     * streams {@code length} bytes read from {@code in}, the stream can't be read again, so failed requests are not replayed.
+     */
+    default void uploadFileToPath(InputStream in, long length, String path) {
+        this.uploadFileToPath(FileTransfers.toFlux(in), length, path);
+    }
+
+    /**
+     * downloads the file to {@code target}, resuming from the downloaded bytes if the transfer is interrupted.
+     */
+    default void downloadFile(String path, Path target) {
+        FileTransfers.download(this, path, target);
+    }
+
+    /**
+     * uploads files under {@code localDir} which are missing or changed in {@code remoteDir}, at most {@code concurrency}
+     * files at the same time. Remote files which don't exist locally are kept.
+     */
+    default void syncDirectory(Path localDir, String remoteDir, int concurrency) {
+        FileTransfers.sync(this, localDir, remoteDir, concurrency);
+    }
+
     void createDirectory(String path);
 
     void deleteFile(String path);
@@ -14,6 +14,7 @@ import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceServiceSubscription;
 import com.microsoft.azure.toolkit.lib.appservice.entity.FunctionEntity;
+import com.microsoft.azure.toolkit.lib.appservice.file.AzureFunctionsAdminClient;
 import com.microsoft.azure.toolkit.lib.appservice.model.ContainerAppFunctionConfiguration;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
@@ -33,9 +34,6 @@ import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
-import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -64,14 +62,11 @@ public class FunctionApp extends FunctionAppBase<FunctionApp, AppServiceServiceS
     private static final String NO_ANONYMOUS_HTTP_TRIGGER = "No anonymous HTTP Triggers found in deployed function app, skip list triggers.";
     private static final String AUTH_LEVEL = "authLevel";
     private static final String HTTP_TRIGGER = "httpTrigger";
-    private static final int SYNC_FUNCTION_MAX_ATTEMPTS = 5;
-    private static final int SYNC_FUNCTION_DELAY = 1;
-    private static final String LIST_TRIGGERS = "Querying triggers...";
-    private static final String LIST_TRIGGERS_WITH_RETRY = "Querying triggers (Attempt {0}/{1})...";
     private static final String NO_TRIGGERS_FOUNDED = "No triggers found in deployed function app, " +
         "please try recompile the project by `mvn clean package` and deploy again.";
-    private static final int LIST_TRIGGERS_MAX_RETRY = 5;
-    private static final int LIST_TRIGGERS_RETRY_PERIOD_IN_SECONDS = 10;
+    private static final String APP_READY = "Function app is ready in %.1fs.";
+    private static final String APP_NOT_READY = "Deployed function app is %s.";
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(30);
 
     protected FunctionApp(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull FunctionAppModule module) {
         super(name, resourceGroupName, module);
@@ -176,11 +171,24 @@ public class FunctionApp extends FunctionAppBase<FunctionApp, AppServiceServiceS
         return this.deploymentModule;
     }
 
-    public void listHTTPTriggerUrls() throws Exception {
+    /**
+     * waits until the app is ready and prints the urls of its anonymous http triggers.
+     */
+    @Nonnull
+    public FunctionAppReadinessProbe.Report listHTTPTriggerUrls() throws Exception {
         final IAzureMessager messager = AzureMessager.getMessager();
-        trySyncTriggers();
-        final List<FunctionEntity> triggers = trySyncListFunctions();
-        final List<FunctionEntity> httpFunction = triggers.stream()
+        messager.info(SYNC_TRIGGERS);
+        final FunctionAppReadinessProbe.Report report = this.probeReadiness();
+        final FunctionAppReadinessProbe.PhaseResult failed = report.getFailedPhase();
+        if (Objects.nonNull(failed) && failed.getPhase() != FunctionAppReadinessProbe.Phase.WARM_UP) {
+            throw new AzureToolkitRuntimeException(failed.getPhase() == FunctionAppReadinessProbe.Phase.TRIGGERS ?
+                NO_TRIGGERS_FOUNDED : String.format(APP_NOT_READY, report));
+        } else if (Objects.nonNull(failed)) {
+            messager.warning(String.format(APP_NOT_READY, report));
+        } else {
+            messager.info(String.format(APP_READY, report.getTimeToReadyMillis() / 1000.0));
+        }
+        final List<FunctionEntity> httpFunction = report.getTriggers().stream()
             .filter(function -> function.getTrigger() != null &&
                 StringUtils.equalsIgnoreCase(function.getTrigger().getType(), HTTP_TRIGGER))
             .collect(Collectors.toList());
@@ -190,7 +198,7 @@ public class FunctionApp extends FunctionAppBase<FunctionApp, AppServiceServiceS
             .collect(Collectors.toList());
         if (CollectionUtils.isEmpty(httpFunction) || CollectionUtils.isEmpty(anonymousTriggers)) {
             messager.info(NO_ANONYMOUS_HTTP_TRIGGER);
-            return;
+            return report;
         }
         final StringBuilder builder = new StringBuilder();
         builder.append(HTTP_TRIGGER_URLS).append(System.lineSeparator());
@@ -199,35 +207,35 @@ public class FunctionApp extends FunctionAppBase<FunctionApp, AppServiceServiceS
             builder.append(UNABLE_TO_LIST_NONE_ANONYMOUS_HTTP_TRIGGERS);
         }
         messager.info(builder.toString());
+        return report;
     }
 
-    // Refers https://github.com/Azure/azure-functions-core-tools/blob/3.0.3568/src/Azure.Functions.Cli/Actions/AzureActions/PublishFunctionAppAction.cs#L452
-    private void trySyncTriggers() throws InterruptedException {
-        AzureMessager.getMessager().info(SYNC_TRIGGERS);
-        Thread.sleep(5 * 1000);
-        Mono.fromRunnable(() -> {
-                try {
-                    this.syncTriggers();
-                } catch (ManagementException e) {
-                    if (e.getResponse().getStatusCode() != 200) { // Java SDK throw exception with 200 response, swallow exception in this case
-                        throw e;
-                    }
-                }
-            }).subscribeOn(Schedulers.boundedElastic())
-            .retryWhen(Retry.fixedDelay(SYNC_FUNCTION_MAX_ATTEMPTS - 1, Duration.ofSeconds(SYNC_FUNCTION_DELAY))).block();
+    /**
+     * waits until the host is running, the triggers are synced and listed and the app responds to a warm-up request
+     * to its root, which doesn't invoke any function.
+     */
+    @Nonnull
+    public FunctionAppReadinessProbe.Report probeReadiness() {
+        final String warmUpUrl = String.format("https://%s", this.getHostName());
+        return FunctionAppReadinessProbe.builder()
+            // host status is served by the admin api, which is not available for apps hosted in container apps environment
+            .hostStatus(this.isContainerHostingFunctionApp() ? null :
+                () -> Optional.ofNullable(this.getAdminClient()).map(AzureFunctionsAdminClient::getHostState).orElse(null))
+            .syncTriggers(this::trySyncTriggers)
+            .triggers(() -> this.listFunctions())
+            .warmUp(() -> FunctionAppReadinessProbe.get(warmUpUrl, WARM_UP_TIMEOUT))
+            .build().probe();
     }
 
-    private List<FunctionEntity> trySyncListFunctions() {
-        final int[] count = {0};
-        final IAzureMessager messager = AzureMessager.getMessager();
-        return Mono.fromCallable(() -> {
-                final AzureString message = count[0]++ == 0 ? AzureString.fromString(LIST_TRIGGERS) : AzureString.format(LIST_TRIGGERS_WITH_RETRY, count[0], LIST_TRIGGERS_MAX_RETRY);
-                messager.info(message);
-                return Optional.of(this.listFunctions())
-                    .filter(CollectionUtils::isNotEmpty)
-                    .orElseThrow(() -> new AzureToolkitRuntimeException(NO_TRIGGERS_FOUNDED));
-            }).subscribeOn(Schedulers.boundedElastic())
-            .retryWhen(Retry.fixedDelay(LIST_TRIGGERS_MAX_RETRY - 1, Duration.ofSeconds(LIST_TRIGGERS_RETRY_PERIOD_IN_SECONDS))).block();
+    // Refers https://github.com/Azure/azure-functions-core-tools/blob/3.0.3568/src/Azure.Functions.Cli/Actions/AzureActions/PublishFunctionAppAction.cs#L452
+    private void trySyncTriggers() {
+        try {
+            this.syncTriggers();
+        } catch (ManagementException e) {
+            if (e.getResponse().getStatusCode() != 200) { // Java SDK throw exception with 200 response, swallow exception in this case
+                throw e;
+            }
+        }
     }
 
     @Nullable
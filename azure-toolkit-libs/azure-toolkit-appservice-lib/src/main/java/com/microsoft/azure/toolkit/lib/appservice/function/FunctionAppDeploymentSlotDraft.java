@@ -20,6 +20,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.FunctionAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.OperatingSystem;
 import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
+import com.microsoft.azure.toolkit.lib.appservice.utils.AppSettingsReconciler;
 import com.microsoft.azure.toolkit.lib.appservice.utils.Utils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -45,7 +46,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppDraft.CAN_NOT_UPDATE_EXISTING_APP_SERVICE_OS;
 import static com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppDraft.UNSUPPORTED_OPERATING_SYSTEM;
@@ -167,14 +167,9 @@ public class FunctionAppDeploymentSlotDraft extends FunctionAppDeploymentSlot
     @AzureOperation(name = "azure/function.update_deployment_slot.slot", params = {"this.getName()"})
     public FunctionDeploymentSlot updateResourceInAzure(@Nonnull FunctionDeploymentSlot remote) {
         Runtime.tryWarningDeprecation(this);
-        final Map<String, String> oldAppSettings = Utils.normalizeAppSettings(remote.getAppSettings());
-        final Map<String, String> settingsToAdd = this.ensureConfig().getAppSettings();
-        if (ObjectUtils.allNotNull(oldAppSettings, settingsToAdd)) {
-            settingsToAdd.entrySet().removeAll(oldAppSettings.entrySet());
-        }
-        final Set<String> settingsToRemove = Optional.ofNullable(this.ensureConfig().getAppSettingsToRemove())
-                .map(set -> set.stream().filter(oldAppSettings::containsKey).collect(Collectors.toSet()))
-                .orElse(Collections.emptySet());
+        final AppSettingsReconciler appSettings = new AppSettingsReconciler(Utils.normalizeAppSettings(remote.getAppSettings()))
+            .set(this.ensureConfig().getAppSettings())
+            .remove(this.ensureConfig().getAppSettingsToRemove());
         final Runtime newRuntime = this.ensureConfig().getRuntime();
         final DockerConfiguration newDockerConfig = this.ensureConfig().getDockerConfiguration();
         final DiagnosticConfig oldDiagnosticConfig = super.getDiagnosticConfig();
@@ -185,7 +180,7 @@ public class FunctionAppDeploymentSlotDraft extends FunctionAppDeploymentSlot
         final Runtime oldRuntime = super.getRuntime();
         final boolean isRuntimeModified = (Objects.isNull(oldRuntime) || !oldRuntime.isDocker()) && Objects.nonNull(newRuntime) && !Objects.equals(newRuntime, oldRuntime);
         final boolean isDockerConfigurationModified = Objects.nonNull(oldRuntime) && oldRuntime.isDocker() && Objects.nonNull(newDockerConfig);
-        final boolean isAppSettingsModified = MapUtils.isNotEmpty(settingsToAdd) || CollectionUtils.isNotEmpty(settingsToRemove);
+        final boolean isAppSettingsModified = appSettings.isModified();
         final boolean isDiagnosticConfigModified = Objects.nonNull(newDiagnosticConfig) && !Objects.equals(newDiagnosticConfig, oldDiagnosticConfig);
         final boolean flexConsumptionModified = getParent().getAppServicePlan().getPricingTier().isFlexConsumption() &&
             Objects.nonNull(newFlexConsumptionConfiguration) && !Objects.equals(newFlexConsumptionConfiguration, oldFlexConsumptionConfiguration);
@@ -193,8 +188,7 @@ public class FunctionAppDeploymentSlotDraft extends FunctionAppDeploymentSlot
 
         if (modified) {
             final DeploymentSlotBase.Update<FunctionDeploymentSlot> update = remote.update();
-            Optional.ofNullable(settingsToAdd).filter(ignore -> isAppSettingsModified).ifPresent(update::withAppSettings);
-            Optional.ofNullable(settingsToRemove).filter(ignore -> isAppSettingsModified).ifPresent(s -> s.forEach(update::withoutAppSetting));
+            appSettings.applyTo(update);
             Optional.ofNullable(newRuntime).filter(ignore -> isRuntimeModified).ifPresent(r -> updateRuntime(update, r));
             Optional.ofNullable(newDockerConfig).filter(ignore -> isDockerConfigurationModified)
                     .ifPresent(dockerConfiguration -> updateDockerConfiguration(update, dockerConfiguration));
@@ -44,6 +44,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.model.StorageAuthenticationMethod;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
+import com.microsoft.azure.toolkit.lib.appservice.utils.AppSettingsReconciler;
 import com.microsoft.azure.toolkit.lib.appservice.utils.Utils;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
@@ -364,25 +365,19 @@ public class FunctionAppDraft extends FunctionApp implements AzResource.Draft<Fu
         assert origin != null : "updating target is not specified.";
         Runtime.tryWarningDeprecation(this);
         final Map<String, String> oldAppSettings = Objects.requireNonNull(origin.getAppSettings());
-        // remove app settings which has already existed
-        final Map<String, String> settingsToAdd = Optional.ofNullable(this.ensureConfig().getAppSettings())
-            .map(map -> map.entrySet().stream().filter(entry -> !StringUtils.equals(oldAppSettings.get(entry.getKey()), entry.getValue()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
-            .orElseGet(HashMap::new);
-        final Boolean enableDistributedTracing = ensureConfig().getEnableDistributedTracing();
-        if (Objects.nonNull(enableDistributedTracing)) {
-            settingsToAdd.put(APPLICATIONINSIGHTS_ENABLE_AGENT, String.valueOf(enableDistributedTracing));
-        }
-        final Set<String> settingsToRemove = Optional.ofNullable(this.ensureConfig().getAppSettingsToRemove())
-            .map(set -> set.stream().filter(oldAppSettings::containsKey).collect(Collectors.toSet()))
-            .orElse(Collections.emptySet());
+        final AppSettingsReconciler appSettings = new AppSettingsReconciler(oldAppSettings)
+            .set(this.ensureConfig().getAppSettings())
+            .set(APPLICATIONINSIGHTS_ENABLE_AGENT, Optional.ofNullable(ensureConfig().getEnableDistributedTracing()).map(String::valueOf).orElse(null))
+            .remove(this.ensureConfig().getAppSettingsToRemove());
         final DiagnosticConfig oldDiagnosticConfig = super.getDiagnosticConfig();
         final DiagnosticConfig newDiagnosticConfig = this.ensureConfig().getDiagnosticConfig();
         final Runtime newRuntime = this.ensureConfig().getRuntime();
         @Nullable final AppServicePlan newPlan = this.ensureConfig().getPlan();
         final DockerConfiguration newDockerConfig = this.ensureConfig().getDockerConfiguration();
         final FlexConsumptionConfiguration newFlexConsumptionConfiguration = this.ensureConfig().getFlexConsumptionConfiguration();
-        final StorageAccount storageAccount = getStorageAccount();
+        // storage account is set with app settings, skip it if the app already uses its connection string
+        final StorageAccount storageAccount = Optional.ofNullable(getStorageAccount())
+            .filter(account -> isStorageAccountModified(oldAppSettings, account)).orElse(null);
         final Runtime oldRuntime = origin.getRuntime();
         final AppServicePlan oldPlan = origin.getAppServicePlan();
         final FlexConsumptionConfiguration oldFlexConsumptionConfiguration = origin.getFlexConsumptionConfiguration();
@@ -396,22 +391,20 @@ public class FunctionAppDraft extends FunctionApp implements AzResource.Draft<Fu
             .map(AppServicePlan::getPricingTier).map(PricingTier::isFlexConsumption).orElse(false);
         final boolean flexConsumptionModified = isFlexConsumption &&
             Objects.nonNull(newFlexConsumptionConfiguration) && isFlexConsumptionModified(oldFlexConsumptionConfiguration, newFlexConsumptionConfiguration);
-        final boolean isAppSettingsModified = MapUtils.isNotEmpty(settingsToAdd) || CollectionUtils.isNotEmpty(settingsToRemove);
+        final boolean isAppSettingsModified = appSettings.isModified();
         final boolean isDiagnosticConfigModified = Objects.nonNull(newDiagnosticConfig) && !Objects.equals(newDiagnosticConfig, oldDiagnosticConfig);
         final boolean runtimeModified = !isFlexConsumption && (Objects.isNull(oldRuntime) || !oldRuntime.isDocker()) &&
             Objects.nonNull(newRuntime) && !Objects.equals(newRuntime, oldRuntime);
         final boolean envConfigurationModified = isContainerHostingFunctionApp() && Objects.nonNull(newContainerConfiguration) &&
             !Objects.equals(oldContainerConfiguration, newContainerConfiguration);
         final boolean modified = planModified || runtimeModified || dockerModified || flexConsumptionModified ||
-            isAppSettingsModified || Objects.nonNull(newDiagnosticConfig) || Objects.nonNull(storageAccount) || envConfigurationModified;
-        final String funcExtVersion = Optional.of(settingsToAdd).map(map -> map.get(FUNCTIONS_EXTENSION_VERSION))
-            .orElseGet(() -> oldAppSettings.get(FUNCTIONS_EXTENSION_VERSION));
+            isAppSettingsModified || isDiagnosticConfigModified || Objects.nonNull(storageAccount) || envConfigurationModified;
+        final String funcExtVersion = appSettings.getResult().get(FUNCTIONS_EXTENSION_VERSION);
         if (modified) {
             final Update update = remote.update();
             Optional.ofNullable(newPlan).filter(ignore -> planModified).ifPresent(p -> updateAppServicePlan(update, p));
             Optional.ofNullable(newRuntime).filter(ignore -> runtimeModified).ifPresent(p -> updateRuntime(update, p, funcExtVersion));
-            Optional.of(settingsToAdd).filter(ignore -> isAppSettingsModified).ifPresent(update::withAppSettings);
-            Optional.of(settingsToRemove).filter(CollectionUtils::isNotEmpty).filter(ignore -> isAppSettingsModified).ifPresent(s -> s.forEach(update::withoutAppSetting));
+            appSettings.applyTo(update);
             Optional.ofNullable(newDockerConfig).filter(ignore -> dockerModified).ifPresent(p -> updateDockerConfiguration(update, p));
             Optional.ofNullable(newDiagnosticConfig).filter(ignore -> isDiagnosticConfigModified).filter(ignore -> StringUtils.isBlank(getEnvironmentId())).ifPresent(c -> AppServiceUtils.updateDiagnosticConfigurationForWebAppBase(update, c));
             Optional.ofNullable(newFlexConsumptionConfiguration).filter(ignore -> flexConsumptionModified).ifPresent(c -> update.withContainerSize(c.getInstanceSize()));
@@ -448,6 +441,13 @@ public class FunctionAppDraft extends FunctionApp implements AzResource.Draft<Fu
         Optional.ofNullable(c.getMemory()).ifPresent(resourceConfig::withMemory);
     }
 
+    /**
+     * the connection string is compared as a whole, so that e.g. a rotated key is updated.
+     */
+    private static boolean isStorageAccountModified(@Nonnull final Map<String, String> appSettings, @Nonnull final StorageAccount account) {
+        return !StringUtils.equals(appSettings.get("AzureWebJobsStorage"), account.getConnectionString());
+    }
+
     private boolean isFlexConsumptionModified(final FlexConsumptionConfiguration oldConfiguration, final FlexConsumptionConfiguration newConfiguration) {
         if (Objects.isNull(newConfiguration)) {
             return false;
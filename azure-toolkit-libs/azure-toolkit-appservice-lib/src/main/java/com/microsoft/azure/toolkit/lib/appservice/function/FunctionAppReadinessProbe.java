@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function;
+
+import com.microsoft.azure.toolkit.lib.appservice.entity.FunctionEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Waits until a deployed function app is ready to serve requests, checking (in order and each only once the previous
+ * one passed) the host status, the triggers of the app (after syncing them) and, optionally, a warm-up request. Every
+ * check is retried with exponential backoff, all checks share one deadline, so the probe returns as soon as the app is
+ * ready instead of waiting for fixed delays, and gives up once the deadline passed. Checks which are not configured are
+ * skipped, so is a check whose result is unknown (null), in which case the following checks decide.
+ */
+@Slf4j
+@Builder
+public class FunctionAppReadinessProbe {
+    /**
+     * returns true if the host is running, null if its state is unknown (e.g. the admin api is not accessible).
+     */
+    @Nullable
+    private final Callable<Boolean> hostStatus;
+    /**
+     * run before the triggers are listed, retried until it succeeds once.
+     */
+    @Nullable
+    private final Runnable syncTriggers;
+    /**
+     * lists the triggers of the app, the app is not ready while it returns no triggers.
+     */
+    @Nullable
+    private final Callable<List<FunctionEntity>> triggers;
+    /**
+     * sends the warm-up request, returns true if the app responded.
+     */
+    @Nullable
+    private final Callable<Boolean> warmUp;
+    @Nonnull
+    @Builder.Default
+    private final Duration initialDelay = Duration.ofSeconds(1);
+    @Nonnull
+    @Builder.Default
+    private final Duration maxDelay = Duration.ofSeconds(16);
+    @Nonnull
+    @Builder.Default
+    private final Duration timeout = Duration.ofMinutes(3);
+
+    @Nonnull
+    public Report probe() {
+        final long start = System.currentTimeMillis();
+        final long deadline = start + timeout.toMillis();
+        final Report report = new Report();
+        final boolean[] synced = {Objects.isNull(syncTriggers)};
+        final List<FunctionEntity> listed = new ArrayList<>();
+        final List<Check> checks = new ArrayList<>();
+        if (Objects.nonNull(hostStatus)) {
+            checks.add(new Check(Phase.HOST_STATUS, hostStatus));
+        }
+        if (Objects.nonNull(triggers)) {
+            checks.add(new Check(Phase.TRIGGERS, () -> {
+                if (!synced[0]) {
+                    syncTriggers.run();
+                    synced[0] = true;
+                }
+                final List<FunctionEntity> result = triggers.call();
+                if (CollectionUtils.isEmpty(result)) {
+                    return false;
+                }
+                listed.addAll(result);
+                return true;
+            }));
+        }
+        if (Objects.nonNull(warmUp)) {
+            checks.add(new Check(Phase.WARM_UP, warmUp));
+        }
+        for (final Check check : checks) {
+            final PhaseResult result = check.run(start, deadline);
+            report.phases.add(result);
+            if (!result.isReady()) {
+                break;
+            }
+        }
+        report.triggers = Collections.unmodifiableList(listed);
+        report.totalMillis = System.currentTimeMillis() - start;
+        report.ready = report.phases.stream().allMatch(PhaseResult::isReady) && report.phases.size() == checks.size();
+        report.timeToReadyMillis = report.ready ? report.totalMillis : -1;
+        log.debug(report.toString());
+        return report;
+    }
+
+    /**
+     * sends a GET request to {@code url}, the app responded if the status is not a server error.
+     */
+    public static boolean get(@Nonnull String url, @Nonnull Duration timeout) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout((int) timeout.toMillis());
+            connection.setReadTimeout((int) timeout.toMillis());
+            connection.setInstanceFollowRedirects(false);
+            return connection.getResponseCode() < 500;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    public enum Phase {
+        HOST_STATUS("host status"), TRIGGERS("triggers"), WARM_UP("warm-up");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return this.label;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class PhaseResult {
+        @Nonnull
+        private final Phase phase;
+        private final boolean ready;
+        /**
+         * the check couldn't tell whether the app is ready, the phase doesn't block the following ones.
+         */
+        private final boolean unknown;
+        private final int attempts;
+        /**
+         * time from the start of the probe until the phase passed or gave up.
+         */
+        private final long elapsedMillis;
+        /**
+         * error of the last attempt, null if it didn't fail with an error.
+         */
+        @Nullable
+        private final String error;
+    }
+
+    @Getter
+    public static class Report {
+        private boolean ready;
+        private final List<PhaseResult> phases = new ArrayList<>();
+        @Nonnull
+        private List<FunctionEntity> triggers = Collections.emptyList();
+        /**
+         * time from the start of the probe until all phases passed, -1 if the app isn't ready.
+         */
+        private long timeToReadyMillis;
+        private long totalMillis;
+
+        @Nullable
+        public PhaseResult getFailedPhase() {
+            return this.phases.stream().filter(p -> !p.isReady()).findFirst().orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            final String phases = this.phases.stream().map(p -> String.format("%s %s after %d attempt(s) at %.1fs%s", p.getPhase(),
+                p.isUnknown() ? "unknown" : p.isReady() ? "passed" : "failed", p.getAttempts(), p.getElapsedMillis() / 1000.0,
+                Objects.isNull(p.getError()) ? "" : String.format(" (%s)", p.getError()))).collect(Collectors.joining(", "));
+            return String.format("%s %.1fs (%s)", this.ready ? "ready in" : "not ready after", this.totalMillis / 1000.0, phases);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class Check {
+        private final Phase phase;
+        private final Callable<Boolean> body;
+
+        private PhaseResult run(long start, long deadline) {
+            long delay = initialDelay.toMillis();
+            int attempts = 0;
+            while (true) {
+                attempts++;
+                String error = null;
+                try {
+                    final Boolean result = body.call();
+                    if (Objects.isNull(result)) {
+                        log.debug(String.format("%s is unknown, skipped", phase));
+                        return new PhaseResult(phase, true, true, attempts, System.currentTimeMillis() - start, null);
+                    } else if (result) {
+                        return new PhaseResult(phase, true, false, attempts, System.currentTimeMillis() - start, null);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new PhaseResult(phase, false, false, attempts, System.currentTimeMillis() - start, "interrupted");
+                } catch (final Exception e) {
+                    error = ExceptionUtils.getRootCauseMessage(e);
+                }
+                log.debug(String.format("%s check failed at attempt %d%s", phase, attempts, Objects.isNull(error) ? "" : ": " + error));
+                final long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    return new PhaseResult(phase, false, false, attempts, now - start, error);
+                }
+                try {
+                    Thread.sleep(Math.min(delay, deadline - now));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new PhaseResult(phase, false, false, attempts, System.currentTimeMillis() - start, "interrupted");
+                }
+                delay = Math.min(delay * 2, maxDelay.toMillis());
+            }
+        }
+    }
+}
@@ -5,18 +5,14 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.function;
 
-import com.azure.core.http.HttpMethod;
-import com.azure.core.http.HttpPipeline;
-import com.azure.core.http.HttpRequest;
-import com.azure.core.http.HttpResponse;
 import com.azure.resourcemanager.appservice.AppServiceManager;
 import com.azure.resourcemanager.appservice.fluent.models.FunctionAppStackInner;
 import com.azure.resourcemanager.appservice.models.FunctionAppMajorVersion;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceServiceSubscription;
 import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
+import com.microsoft.azure.toolkit.lib.appservice.RuntimeStackCatalog;
 import com.microsoft.azure.toolkit.lib.appservice.model.FunctionAppLinuxRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.FunctionAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.FunctionAppWindowsRuntime;
@@ -89,7 +85,8 @@ public class FunctionsServiceSubscription extends AppServiceServiceSubscription
         if (FunctionAppWindowsRuntime.isLoaded() && FunctionAppLinuxRuntime.isLoaded()) {
             return;
         }
-        final Map<String, Object> result = getRuntimesUsingHttpPipeline(remote);
+        // served from the local catalog, refreshed in background, never blocks on ARM
+        final Map<String, Object> result = RuntimeStackCatalog.get(RuntimeStackCatalog.FUNCTION_APP_STACKS).getStacks(remote);
         if (result.isEmpty()) {
             return;
         }
@@ -102,19 +99,4 @@ public class FunctionsServiceSubscription extends AppServiceServiceSubscription
         FunctionAppLinuxRuntime.loadAllFunctionAppLinuxRuntimesFromMap(javaStacks);
         FunctionAppWindowsRuntime.loadAllFunctionAppWindowsRuntimesFromMap(javaStacks);
     }
-
-    private Map<String, Object> getRuntimesUsingHttpPipeline(AppServiceManager appServiceManager) {
-        final HttpPipeline pipeline = appServiceManager.httpPipeline();
-        final String apiVersion = appServiceManager.serviceClient().getApiVersion();
-        final HttpRequest request = new HttpRequest(HttpMethod.GET, String.format("%s/providers/Microsoft.Web/functionAppStacks?api-version=%s", appServiceManager.serviceClient().getEndpoint(), apiVersion));
-        try (final HttpResponse response = pipeline.send(request).block()) {
-            if (Objects.nonNull(response) && response.getStatusCode() == 200) {
-                final String responseBodyString = response.getBodyAsString().block();
-                return mapper.readValue(responseBodyString, typeRef);
-            }
-        } catch (final JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-        return Collections.emptyMap();
-    }
 }
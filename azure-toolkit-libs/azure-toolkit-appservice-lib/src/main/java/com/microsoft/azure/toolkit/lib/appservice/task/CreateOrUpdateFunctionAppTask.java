@@ -58,9 +58,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -88,7 +86,7 @@ public class CreateOrUpdateFunctionAppTask extends AzureTask<FunctionAppBase<?,
     public static final String DEPLOYMENT_CONTAINER_NAME_MISSED = "Failed to get deployment container from app %s, please either set it manually in tooling or correct the value in Azure";
 
     private final FunctionAppConfig functionAppConfig;
-    private final List<AzureTask<?>> tasks = new ArrayList<>();
+    private final ProvisioningPlanner planner = new ProvisioningPlanner();
 
     private ResourceGroup resourceGroup;
     private AppServicePlan appServicePlan;
@@ -109,45 +107,53 @@ public class CreateOrUpdateFunctionAppTask extends AzureTask<FunctionAppBase<?,
     private void initTasks() {
         final FunctionAppDraft appDraft = Azure.az(AzureFunctions.class).functionApps(functionAppConfig.subscriptionId())
             .updateOrCreate(functionAppConfig.appName(), functionAppConfig.resourceGroup());
-        registerSubTask(getResourceGroupTask(), result -> this.resourceGroup = result);
+        final ProvisioningPlanner.Step<?> resourceGroupStep = registerSubTask("resource group", getResourceGroupTask(), result -> this.resourceGroup = result);
+        ProvisioningPlanner.Step<?> storageAccountStep = null;
         if (appDraft.isDraftForCreating()) {
             // create new storage account when create function app
             final String storageAccountName = StringUtils.firstNonBlank(functionAppConfig.storageAccountName(), getDefaultStorageAccountName(functionAppConfig.appName()));
             final String storageResourceGroup = StringUtils.firstNonBlank(functionAppConfig.storageAccountResourceGroup(), functionAppConfig.resourceGroup());
-            registerSubTask(getStorageAccountTask(storageAccountName, storageResourceGroup), result -> this.storageAccount = result);
+            storageAccountStep = registerSubTask("storage account", getStorageAccountTask(storageAccountName, storageResourceGroup),
+                result -> this.storageAccount = result, resourceGroupStep);
         }
         // get/create AI instances only if user didn't specify AI connection string in app settings
         final boolean isInstrumentKeyConfigured = MapUtils.isNotEmpty(functionAppConfig.appSettings()) &&
             functionAppConfig.appSettings().containsKey(APPINSIGHTS_INSTRUMENTATION_KEY);
+        ProvisioningPlanner.Step<?> applicationInsightsStep = null;
         if (!functionAppConfig.disableAppInsights() && !isInstrumentKeyConfigured) {
             if (StringUtils.isNotEmpty(functionAppConfig.appInsightsKey())) {
                 this.instrumentationKey = functionAppConfig.appInsightsKey();
             } else if (StringUtils.isNotEmpty(functionAppConfig.appInsightsInstance()) || !appDraft.exists()) {
                 // create AI instance by default when create new function
-                registerSubTask(getApplicationInsightsTask(), result -> {
+                applicationInsightsStep = registerSubTask("application insights", getApplicationInsightsTask(), result -> {
                     this.applicationInsight = result;
                     this.instrumentationKey = Optional.ofNullable(result).map(ApplicationInsight::getInstrumentationKey).orElse(null);
-                });
+                }, resourceGroupStep);
             }
         }
         if (StringUtils.isNotBlank(functionAppConfig.environment())) {
-            registerSubTask(getContainerAppEnvironmentTask(), result -> this.environment = result);
+            // the log analytics workspace of the application insights is used by the new environment
+            registerSubTask("container apps environment", getContainerAppEnvironmentTask(), result -> this.environment = result,
+                resourceGroupStep, applicationInsightsStep);
         } else {
-            registerSubTask(getServicePlanTask(), result -> this.appServicePlan = result);
+            registerSubTask("app service plan", getServicePlanTask(), result -> this.appServicePlan = result, resourceGroupStep);
         }
         if (isFlexConsumptionFunctionApp(appDraft)) {
             // create new storage account when create function app
-            registerSubTask(getDeploymentStorageAccount(appDraft), result -> this.deploymentStorageAccount = result);
-            registerSubTask(getDeploymentStorageContainer(appDraft), result -> this.deploymentContainer = result);
+            final ProvisioningPlanner.Step<?> deploymentAccountStep = registerSubTask("deployment storage account", getDeploymentStorageAccount(appDraft),
+                result -> this.deploymentStorageAccount = result, resourceGroupStep, storageAccountStep);
+            registerSubTask("deployment container", getDeploymentStorageContainer(appDraft), result -> this.deploymentContainer = result, deploymentAccountStep);
         }
+        // the app is created/updated after all the resources it refers to
+        final ProvisioningPlanner.Step<?>[] resourceSteps = planner.getSteps().toArray(new ProvisioningPlanner.Step<?>[0]);
         if (StringUtils.isEmpty(functionAppConfig.deploymentSlotName())) {
             final AzureTask<FunctionApp> functionTask = appDraft.exists() ? getUpdateFunctionAppTask(appDraft) : getCreateFunctionAppTask(appDraft);
-            registerSubTask(functionTask, result -> this.functionApp = result);
+            registerSubTask("function app", functionTask, result -> this.functionApp = result, resourceSteps);
         } else {
             final FunctionAppDeploymentSlotDraft slotDraft = getFunctionDeploymentSlot(appDraft);
             final AzureTask<FunctionAppDeploymentSlot> slotTask = slotDraft.exists() ?
                 getUpdateFunctionSlotTask(slotDraft) : getCreateFunctionSlotTask(slotDraft);
-            registerSubTask(slotTask, result -> this.functionApp = result);
+            registerSubTask("deployment slot", slotTask, result -> this.functionApp = result, resourceSteps);
         }
     }
 
@@ -190,11 +196,15 @@ public class CreateOrUpdateFunctionAppTask extends AzureTask<FunctionAppBase<?,
         }
         final ResourceGroup resourceGroup = Azure.az(AzureResources.class).groups(functionAppConfig.subscriptionId())
             .getOrDraft(resourceGroupName, resourceGroupName);
-        if (!resourceGroup.exists()) {
-            final Region region = getNonStageRegion(functionAppConfig.region());
-            registerSubTask(new CreateResourceGroupTask(functionAppConfig.subscriptionId(), resourceGroupName, region), result -> this.resourceGroup = result);
+        final AzureTask<StorageAccount> storageAccountTask = getStorageAccountTask(accountName, resourceGroupName);
+        if (resourceGroup.exists()) {
+            return storageAccountTask;
         }
-        return getStorageAccountTask(accountName, resourceGroupName);
+        final Region region = getNonStageRegion(functionAppConfig.region());
+        return new AzureTask<>(() -> {
+            new CreateResourceGroupTask(functionAppConfig.subscriptionId(), resourceGroupName, region).doExecute();
+            return storageAccountTask.getBody().call();
+        });
     }
 
     private StorageAccount getDeploymentStorageFromApp(final FunctionAppDraft appDraft) {
@@ -273,14 +283,16 @@ public class CreateOrUpdateFunctionAppTask extends AzureTask<FunctionAppBase<?,
             .map(Region::fromName).orElse(region);
     }
 
-    private <T> void registerSubTask(AzureTask<T> task, Consumer<T> consumer) {
-        if (task != null) {
-            tasks.add(new AzureTask<>(() -> {
-                T result = task.getBody().call();
-                consumer.accept(result);
-                return result;
-            }));
+    @Nullable
+    private <T> ProvisioningPlanner.Step<T> registerSubTask(String name, AzureTask<T> task, Consumer<T> consumer, ProvisioningPlanner.Step<?>... dependencies) {
+        if (task == null) {
+            return null;
         }
+        return planner.add(name, () -> {
+            T result = task.getBody().call();
+            consumer.accept(result);
+            return result;
+        }, dependencies);
     }
 
     private AzureTask<FunctionApp> getCreateFunctionAppTask(final FunctionAppDraft draft) {
@@ -484,9 +496,7 @@ public class CreateOrUpdateFunctionAppTask extends AzureTask<FunctionAppBase<?,
 
     @Override
     public FunctionAppBase<?, ?, ?> doExecute() throws Exception {
-        for (AzureTask<?> task : this.tasks) {
-            task.getBody().call();
-        }
+        planner.execute();
         return functionApp;
     }
 }
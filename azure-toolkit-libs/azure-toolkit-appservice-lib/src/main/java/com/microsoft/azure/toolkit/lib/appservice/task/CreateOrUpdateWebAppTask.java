@@ -19,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.WebAppDockerRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppLinuxRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppWindowsRuntime;
+import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlanDraft;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.AzureWebApp;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.WebApp;
@@ -33,6 +34,7 @@ import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
 import com.microsoft.azure.toolkit.lib.resource.task.CreateResourceGroupTask;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -85,11 +87,6 @@ public class CreateOrUpdateWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
                 if (skipCreateAzureResource) {
                     throwForbidCreateResourceWarning("Web app", config.appName());
                 }
-                final Availability result = Objects.requireNonNull(az.get(config.subscriptionId(), null)).checkNameAvailability(config.appName());
-                if (!result.isAvailable()) {
-                    throw new AzureToolkitRuntimeException(AzureString.format("Cannot create webapp {0} due to error: {1}",
-                        config.appName(), result.getUnavailabilityReason()).getString());
-                }
                 return create();
             } else {
                 return update(target);
@@ -113,19 +110,35 @@ public class CreateOrUpdateWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         final Region region = this.config.region();
         final AppServicePlanConfig planConfig = FunctionAppConfig.getServicePlanConfig(config);
 
-        new CreateResourceGroupTask(this.config.subscriptionId(), this.config.resourceGroup(), region).doExecute();
-
-        final AppServicePlanDraft planDraft = Azure.az(AzureAppService.class).plans(planConfig.getSubscriptionId())
-            .updateOrCreate(planConfig.getName(), planConfig.getResourceGroupName());
-        planDraft.setPlanConfig(planConfig);
-
-        final WebAppDraft appDraft = Azure.az(AzureWebApp.class).webApps(config.subscriptionId()).create(config.appName(), config.resourceGroup());
-        appDraft.setAppServicePlan(planDraft.commit());
-        appDraft.setRuntime(getRuntime(config.runtime()));
-        appDraft.setDiagnosticConfig(config.diagnosticConfig());
-        appDraft.setDockerConfiguration(getDockerConfiguration(config.runtime()));
-        appDraft.setAppSettings(config.appSettings());
-        return appDraft.createIfNotExist();
+        // nothing is created before the name is known to be available
+        final ProvisioningPlanner planner = new ProvisioningPlanner();
+        final ProvisioningPlanner.Step<Void> availabilityStep = planner.add("name availability", () -> {
+            final Availability result = Objects.requireNonNull(Azure.az(AzureWebApp.class).get(config.subscriptionId(), null)).checkNameAvailability(config.appName());
+            if (!result.isAvailable()) {
+                throw new AzureToolkitRuntimeException(AzureString.format("Cannot create webapp {0} due to error: {1}",
+                    config.appName(), result.getUnavailabilityReason()).getString());
+            }
+            return null;
+        });
+        final ProvisioningPlanner.Step<ResourceGroup> resourceGroupStep = planner.add("resource group",
+            () -> new CreateResourceGroupTask(this.config.subscriptionId(), this.config.resourceGroup(), region).doExecute(), availabilityStep);
+        final ProvisioningPlanner.Step<AppServicePlan> planStep = planner.add("app service plan", () -> {
+            final AppServicePlanDraft planDraft = Azure.az(AzureAppService.class).plans(planConfig.getSubscriptionId())
+                .updateOrCreate(planConfig.getName(), planConfig.getResourceGroupName());
+            planDraft.setPlanConfig(planConfig);
+            return planDraft.commit();
+        }, resourceGroupStep, availabilityStep);
+        final ProvisioningPlanner.Step<WebApp> appStep = planner.add("web app", () -> {
+            final WebAppDraft appDraft = Azure.az(AzureWebApp.class).webApps(config.subscriptionId()).create(config.appName(), config.resourceGroup());
+            appDraft.setAppServicePlan(planStep.getResult());
+            appDraft.setRuntime(getRuntime(config.runtime()));
+            appDraft.setDiagnosticConfig(config.diagnosticConfig());
+            appDraft.setDockerConfiguration(getDockerConfiguration(config.runtime()));
+            appDraft.setAppSettings(config.appSettings());
+            return appDraft.createIfNotExist();
+        }, planStep);
+        planner.execute();
+        return appStep.getResult();
     }
 
     @AzureOperation(name = "azure/webapp.update_app.app", params = {"this.config.appName()"})
@@ -9,6 +9,7 @@ import com.microsoft.azure.toolkit.lib.appservice.entity.FunctionEntity;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionApp;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppBase;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppDeploymentSlot;
+import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppReadinessProbe;
 import com.microsoft.azure.toolkit.lib.appservice.model.FunctionDeployType;
 import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
@@ -80,7 +81,10 @@ public class DeployFunctionAppTask extends AzureTask<FunctionAppBase<?, ?, ?>> {
         deployArtifact();
         if (target instanceof FunctionApp && openStreamingLogOnFailure) {
             try {
-                ((FunctionApp) target).listHTTPTriggerUrls();
+                final FunctionAppReadinessProbe.Report report = ((FunctionApp) target).listHTTPTriggerUrls();
+                if (report.isReady()) {
+                    OperationContext.action().setTelemetryProperty("time-to-ready", String.valueOf(report.getTimeToReadyMillis()));
+                }
             } catch (final Exception e) {
                 // show warning instead of exception for list triggers
                 messager.warning(FAILED_TO_LIST_TRIGGERS);
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.task;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Provisions the resources required by an app as a dependency graph: every step (checking existence and creating or
+ * updating a resource) starts as soon as the steps it depends on succeeded, so independent steps (e.g. storage account,
+ * application insights and service plan after the resource group) run concurrently instead of one after another.
+ * Steps depending on a failed step are skipped, the first failure is rethrown after all running steps finished.
+ * The critical path, i.e. the chain of steps which determined the total time, is logged after execution.
+ */
+@Slf4j
+public class ProvisioningPlanner {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final List<Step<?>> steps = new ArrayList<>();
+    @Getter
+    private long totalMillis;
+
+    /**
+     * adds a step which starts once all {@code dependencies} succeeded, null dependencies are ignored. Dependencies
+     * must be added before, so the steps always form an acyclic graph.
+     */
+    @Nonnull
+    public <T> Step<T> add(@Nonnull String name, @Nonnull Callable<T> body, @Nullable Step<?>... dependencies) {
+        final List<Step<?>> required = Arrays.stream(Objects.requireNonNull(dependencies)).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        required.forEach(d -> {
+            if (!this.steps.contains(d)) {
+                throw new IllegalArgumentException(String.format("step '%s' depends on '%s' which is not added to this planner.", name, d.getName()));
+            }
+        });
+        final Step<T> step = new Step<>(name, body, required);
+        this.steps.add(step);
+        return step;
+    }
+
+    @Nonnull
+    public List<Step<?>> getSteps() {
+        return Collections.unmodifiableList(this.steps);
+    }
+
+    /**
+     * runs all steps, failure of a step is rethrown as is if it's unchecked.
+     */
+    public void execute() {
+        if (this.steps.isEmpty()) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newFixedThreadPool(this.steps.size(), r -> {
+            final Thread thread = new Thread(r, "azure-provision-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final Map<Step<?>, CompletableFuture<Void>> futures = new HashMap<>();
+            for (final Step<?> step : this.steps) {
+                final CompletableFuture<?>[] dependencies = step.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new);
+                // steps run in contexts derived from the current one, so that they are still part of the current operation
+                final OperationThreadContext context = OperationThreadContext.current().derive();
+                futures.put(step, CompletableFuture.allOf(dependencies).thenRunAsync(() -> step.run(context), executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } catch (final CompletionException e) {
+            // steps catch their own failures, so it happens only if the executor rejects a step
+            throw new AzureToolkitRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            this.totalMillis = System.currentTimeMillis() - start;
+        }
+        this.steps.forEach(s -> log.debug(String.format("provisioning step '%s' %s in %dms", s.getName(), s.getStatus(), s.getDurationMillis())));
+        log.info(String.format("Provisioned resources in %.1fs, critical path: %s", this.totalMillis / 1000.0, formatCriticalPath(this.getCriticalPath())));
+        final Throwable error = this.steps.stream().filter(s -> s.getStatus() == Status.FAILED).findFirst().map(Step::getError).orElse(null);
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (Objects.nonNull(error)) {
+            throw new AzureToolkitRuntimeException(error);
+        }
+    }
+
+    /**
+     * @return chain of executed steps which ended last: starting from the step which finished last, each step is preceded
+     * by its dependency which finished last.
+     */
+    @Nonnull
+    public List<Step<?>> getCriticalPath() {
+        final Comparator<Step<?>> byEnd = Comparator.comparingLong(Step::getEndMillis);
+        final LinkedList<Step<?>> path = new LinkedList<>();
+        Step<?> current = this.steps.stream().filter(Step::isExecuted).max(byEnd).orElse(null);
+        while (Objects.nonNull(current)) {
+            path.addFirst(current);
+            current = current.dependencies.stream().filter(Step::isExecuted).max(byEnd).orElse(null);
+        }
+        return path;
+    }
+
+    @Nonnull
+    static String formatCriticalPath(@Nonnull List<Step<?>> path) {
+        return path.stream().map(s -> String.format("%s (%.1fs)", s.getName(), s.getDurationMillis() / 1000.0)).collect(Collectors.joining(" -> "));
+    }
+
+    public enum Status {
+        PENDING, SUCCEEDED, FAILED, SKIPPED
+    }
+
+    @Getter
+    public static class Step<T> {
+        @Nonnull
+        private final String name;
+        @Nonnull
+        private final Callable<T> body;
+        @Nonnull
+        private final List<Step<?>> dependencies;
+        private volatile Status status = Status.PENDING;
+        @Nullable
+        private volatile T result;
+        @Nullable
+        private volatile Throwable error;
+        private volatile long startMillis;
+        private volatile long endMillis;
+
+        private Step(@Nonnull String name, @Nonnull Callable<T> body, @Nonnull List<Step<?>> dependencies) {
+            this.name = name;
+            this.body = body;
+            this.dependencies = dependencies;
+        }
+
+        public long getDurationMillis() {
+            return this.endMillis - this.startMillis;
+        }
+
+        private boolean isExecuted() {
+            return this.status == Status.SUCCEEDED || this.status == Status.FAILED;
+        }
+
+        private void run(@Nonnull OperationThreadContext context) {
+            if (this.dependencies.stream().anyMatch(d -> d.getStatus() != Status.SUCCEEDED)) {
+                this.status = Status.SKIPPED;
+                return;
+            }
+            this.startMillis = System.currentTimeMillis();
+            context.run(() -> {
+                try {
+                    this.result = this.body.call();
+                    this.status = Status.SUCCEEDED;
+                } catch (final Throwable e) {
+                    this.error = e;
+                    this.status = Status.FAILED;
+                }
+            });
+            if (this.status == Status.PENDING) {
+                this.status = Status.FAILED;
+                this.error = new AzureToolkitRuntimeException(String.format("failed to run provisioning step '%s'.", this.name));
+            }
+            this.endMillis = System.currentTimeMillis();
+        }
+    }
+}
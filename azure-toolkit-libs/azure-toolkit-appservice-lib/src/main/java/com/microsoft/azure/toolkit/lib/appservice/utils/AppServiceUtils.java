@@ -14,23 +14,28 @@ import com.azure.resourcemanager.appservice.models.SkuDescription;
 import com.azure.resourcemanager.appservice.models.WebAppBase;
 import com.azure.resourcemanager.appservice.models.WebAppDiagnosticLogs;
 import com.azure.resourcemanager.resources.fluentcore.model.HasInnerModel;
+import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
 import com.microsoft.azure.toolkit.lib.appservice.entity.FunctionEntity;
 import com.microsoft.azure.toolkit.lib.appservice.model.CsmDeploymentStatus;
 import com.microsoft.azure.toolkit.lib.appservice.model.DeployOptions;
 import com.microsoft.azure.toolkit.lib.appservice.model.DeploymentBuildStatus;
 import com.microsoft.azure.toolkit.lib.appservice.model.DiagnosticConfig;
+import com.microsoft.azure.toolkit.lib.appservice.model.DockerConfiguration;
 import com.microsoft.azure.toolkit.lib.appservice.model.ErrorEntity;
 import com.microsoft.azure.toolkit.lib.appservice.model.KuduDeploymentResult;
 import com.microsoft.azure.toolkit.lib.appservice.model.LogLevel;
 import com.microsoft.azure.toolkit.lib.appservice.model.PricingTier;
 import com.microsoft.azure.toolkit.lib.appservice.model.PublishingProfile;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class AppServiceUtils {
@@ -120,6 +125,24 @@ public class AppServiceUtils {
         }
     }
 
+    /**
+     * @return whether the container settings of an app/slot differ from the ones {@code config} is applied with, the
+     * startup command is only loaded (one more request) if everything else is unchanged.
+     */
+    public static boolean isDockerConfigurationModified(@Nullable final String linuxFxVersion, @Nonnull final Map<String, String> appSettings,
+                                                        @Nonnull final DockerConfiguration config, @Nonnull final Supplier<String> startUpCommand) {
+        final boolean isPrivateRegistry = !config.isPublic() && StringUtils.isNotEmpty(config.getRegistryUrl());
+        final String image = StringUtils.removeStartIgnoreCase(linuxFxVersion, "DOCKER|");
+        // images of private registries are prefixed with the registry host when applied
+        final boolean imageModified = !StringUtils.equals(image, config.getImage()) &&
+            !(isPrivateRegistry && StringUtils.endsWith(image, "/" + config.getImage()));
+        final boolean registryModified = !StringUtils.equals(appSettings.get(AppServiceAppBase.SETTING_REGISTRY_SERVER), isPrivateRegistry ? config.getRegistryUrl() : null) ||
+            !StringUtils.equals(appSettings.get(AppServiceAppBase.SETTING_REGISTRY_USERNAME), config.isPublic() ? null : config.getUserName()) ||
+            !StringUtils.equals(appSettings.get(AppServiceAppBase.SETTING_REGISTRY_PASSWORD), config.isPublic() ? null : config.getPassword());
+        return imageModified || registryModified ||
+            !StringUtils.equals(StringUtils.trimToEmpty(startUpCommand.get()), StringUtils.trimToEmpty(config.getStartUpCommand()));
+    }
+
     public static FunctionEntity fromFunctionAppEnvelope(@Nonnull FunctionEnvelope functionEnvelope, @Nonnull String functionId) {
         final Object config = functionEnvelope.config();
         if (!(config instanceof Map)) {
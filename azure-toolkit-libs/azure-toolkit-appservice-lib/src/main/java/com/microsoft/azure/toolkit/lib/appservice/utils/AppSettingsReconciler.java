@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.utils;
+
+import com.azure.resourcemanager.appservice.models.WebAppBase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Collects the app settings changes of an app/slot against its remote settings, keeping only the settings which really
+ * change: settings set to their remote value and removal of settings which don't exist are dropped. All changes are
+ * applied to one update, so they are sent in a single app settings request, and callers can skip the update (and the
+ * restart of the site it causes) if {@link #isModified()} is false.
+ */
+public class AppSettingsReconciler {
+    @Nonnull
+    private final Map<String, String> remote;
+    private final Map<String, String> settingsToUpdate = new LinkedHashMap<>();
+    private final Set<String> settingsToRemove = new LinkedHashSet<>();
+
+    public AppSettingsReconciler(@Nullable Map<String, String> remote) {
+        this.remote = Optional.ofNullable(remote).<Map<String, String>>map(HashMap::new).orElseGet(HashMap::new);
+    }
+
+    /**
+     * sets {@code settings}, settings with null value are ignored.
+     */
+    @Nonnull
+    public AppSettingsReconciler set(@Nullable Map<String, String> settings) {
+        Optional.ofNullable(settings).ifPresent(s -> s.forEach(this::set));
+        return this;
+    }
+
+    @Nonnull
+    public AppSettingsReconciler set(@Nonnull String name, @Nullable String value) {
+        if (Objects.isNull(value)) {
+            return this;
+        }
+        this.settingsToRemove.remove(name);
+        if (Objects.equals(this.remote.get(name), value)) {
+            this.settingsToUpdate.remove(name);
+        } else {
+            this.settingsToUpdate.put(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * removes {@code names}, removal wins over settings set before.
+     */
+    @Nonnull
+    public AppSettingsReconciler remove(@Nullable Collection<String> names) {
+        Optional.ofNullable(names).ifPresent(n -> n.forEach(name -> {
+            this.settingsToUpdate.remove(name);
+            if (this.remote.containsKey(name)) {
+                this.settingsToRemove.add(name);
+            }
+        }));
+        return this;
+    }
+
+    public boolean isModified() {
+        return !this.settingsToUpdate.isEmpty() || !this.settingsToRemove.isEmpty();
+    }
+
+    @Nonnull
+    public Map<String, String> getSettingsToUpdate() {
+        return Collections.unmodifiableMap(this.settingsToUpdate);
+    }
+
+    @Nonnull
+    public Set<String> getSettingsToRemove() {
+        return Collections.unmodifiableSet(this.settingsToRemove);
+    }
+
+    /**
+     * @return remote settings with the changes applied.
+     */
+    @Nonnull
+    public Map<String, String> getResult() {
+        final Map<String, String> result = new HashMap<>(this.remote);
+        result.putAll(this.settingsToUpdate);
+        this.settingsToRemove.forEach(result::remove);
+        return result;
+    }
+
+    public void applyTo(@Nonnull WebAppBase.Update<?> update) {
+        if (!this.settingsToUpdate.isEmpty()) {
+            update.withAppSettings(new HashMap<>(this.settingsToUpdate));
+        }
+        this.settingsToRemove.forEach(update::withoutAppSetting);
+    }
+}
@@ -17,6 +17,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppWindowsRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
+import com.microsoft.azure.toolkit.lib.appservice.utils.AppSettingsReconciler;
 import com.microsoft.azure.toolkit.lib.appservice.utils.Utils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -42,7 +43,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.appservice.webapp.WebAppDraft.CAN_NOT_UPDATE_EXISTING_APP_SERVICE_OS;
 import static com.microsoft.azure.toolkit.lib.appservice.webapp.WebAppDraft.UNSUPPORTED_OPERATING_SYSTEM;
@@ -148,13 +148,9 @@ public class WebAppDeploymentSlotDraft extends WebAppDeploymentSlot implements A
     public DeploymentSlot updateResourceInAzure(@Nonnull DeploymentSlot remote) {
         Runtime.tryWarningDeprecation(this);
         final Map<String, String> oldAppSettings = Utils.normalizeAppSettings(remote.getAppSettings());
-        final Map<String, String> settingsToAdd = this.ensureConfig().getAppSettings();
-        if (ObjectUtils.allNotNull(oldAppSettings, settingsToAdd)) {
-            settingsToAdd.entrySet().removeAll(oldAppSettings.entrySet());
-        }
-        final Set<String> settingsToRemove = Optional.ofNullable(this.ensureConfig().getAppSettingsToRemove())
-                .map(set -> set.stream().filter(oldAppSettings::containsKey).collect(Collectors.toSet()))
-                .orElse(Collections.emptySet());
+        final AppSettingsReconciler appSettings = new AppSettingsReconciler(oldAppSettings)
+            .set(this.ensureConfig().getAppSettings())
+            .remove(this.ensureConfig().getAppSettingsToRemove());
         final Runtime newRuntime = this.ensureConfig().getRuntime();
         final DockerConfiguration newDockerConfig = this.ensureConfig().getDockerConfiguration();
         final DiagnosticConfig oldDiagnosticConfig = super.getDiagnosticConfig();
@@ -162,15 +158,17 @@ public class WebAppDeploymentSlotDraft extends WebAppDeploymentSlot implements A
 
         final Runtime oldRuntime = super.getRuntime();
         final boolean isRuntimeModified =  (Objects.isNull(oldRuntime) || !oldRuntime.isDocker()) && Objects.nonNull(newRuntime) && !Objects.equals(newRuntime, oldRuntime);
-        final boolean isDockerConfigurationModified = Objects.nonNull(oldRuntime) && oldRuntime.isDocker() && Objects.nonNull(newDockerConfig);
-        final boolean isAppSettingsModified = MapUtils.isNotEmpty(settingsToAdd) || CollectionUtils.isNotEmpty(settingsToRemove);
+        final DeploymentSlot slot = remote;
+        final boolean isDockerConfigurationModified = Objects.nonNull(oldRuntime) && oldRuntime.isDocker() && Objects.nonNull(newDockerConfig) &&
+            AppServiceUtils.isDockerConfigurationModified(remote.linuxFxVersion(), oldAppSettings, newDockerConfig, () -> slot.parent().manager().serviceClient()
+                .getWebApps().getConfigurationSlot(slot.resourceGroupName(), slot.parent().name(), slot.name()).appCommandLine());
+        final boolean isAppSettingsModified = appSettings.isModified();
         final boolean isDiagnosticConfigModified = Objects.nonNull(newDiagnosticConfig) && !Objects.equals(newDiagnosticConfig, oldDiagnosticConfig);
         final boolean modified = isDiagnosticConfigModified || isAppSettingsModified || isRuntimeModified || isDockerConfigurationModified;
 
         if (modified) {
             final DeploymentSlotBase.Update<DeploymentSlot> update = remote.update();
-            Optional.ofNullable(settingsToAdd).filter(ignore -> isAppSettingsModified).ifPresent(update::withAppSettings);
-            Optional.of(settingsToRemove).filter(ignore -> isAppSettingsModified).ifPresent(s -> s.forEach(update::withoutAppSetting));
+            appSettings.applyTo(update);
             Optional.ofNullable(newRuntime).filter(ignore -> isRuntimeModified).ifPresent(r -> updateRuntime(update, r));
             Optional.ofNullable(newDockerConfig).filter(ignore -> isDockerConfigurationModified)
                     .ifPresent(dockerConfiguration -> updateDockerConfiguration(update, dockerConfiguration));
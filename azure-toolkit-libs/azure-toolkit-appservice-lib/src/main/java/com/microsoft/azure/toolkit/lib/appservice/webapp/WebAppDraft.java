@@ -19,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.WebAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppWindowsRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
+import com.microsoft.azure.toolkit.lib.appservice.utils.AppSettingsReconciler;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
@@ -43,7 +44,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class WebAppDraft extends WebApp implements AzResource.Draft<WebApp, com.azure.resourcemanager.appservice.models.WebApp> {
     public static final String UNSUPPORTED_OPERATING_SYSTEM = "Unsupported operating system %s";
@@ -161,13 +161,10 @@ public class WebAppDraft extends WebApp implements AzResource.Draft<WebApp, com.
         assert origin != null : "updating target is not specified.";
         Runtime.tryWarningDeprecation(this);
         final Map<String, String> oldAppSettings = Objects.requireNonNull(origin.getAppSettings());
-        final Map<String, String> settingsToAdd = this.ensureConfig().getAppSettings();
-        if (ObjectUtils.allNotNull(oldAppSettings, settingsToAdd)) {
-            settingsToAdd.entrySet().removeAll(oldAppSettings.entrySet());
-        }
-        final Set<String> settingsToRemove = Optional.ofNullable(this.ensureConfig().getAppSettingsToRemove())
-                .map(set -> set.stream().filter(oldAppSettings::containsKey).collect(Collectors.toSet()))
-                .orElse(Collections.emptySet());
+        final AppSettingsReconciler appSettings = new AppSettingsReconciler(oldAppSettings)
+            .set(this.ensureConfig().getAppSettings())
+            .remove(this.ensureConfig().getAppSettingsToRemove());
+        final DiagnosticConfig oldDiagnosticConfig = origin.getDiagnosticConfig();
         final DiagnosticConfig newDiagnosticConfig = this.ensureConfig().getDiagnosticConfig();
         final Runtime newRuntime = this.ensureConfig().getRuntime();
         final AppServicePlan newPlan = this.ensureConfig().getPlan();
@@ -177,18 +174,20 @@ public class WebAppDraft extends WebApp implements AzResource.Draft<WebApp, com.
 
         final boolean planModified = Objects.nonNull(newPlan) && !Objects.equals(newPlan, oldPlan);
         final boolean runtimeModified = !Objects.requireNonNull(oldRuntime).isDocker() && Objects.nonNull(newRuntime) && !Objects.equals(newRuntime, oldRuntime);
-        final boolean dockerModified = oldRuntime.isDocker() && Objects.nonNull(newDockerConfig);
-        final boolean modified = planModified || runtimeModified || dockerModified ||
-            MapUtils.isNotEmpty(settingsToAdd) || CollectionUtils.isNotEmpty(settingsToRemove) || Objects.nonNull(newDiagnosticConfig);
+        final com.azure.resourcemanager.appservice.models.WebApp app = remote;
+        final boolean dockerModified = oldRuntime.isDocker() && Objects.nonNull(newDockerConfig) &&
+            AppServiceUtils.isDockerConfigurationModified(remote.linuxFxVersion(), oldAppSettings, newDockerConfig,
+                () -> app.manager().serviceClient().getWebApps().getConfiguration(app.resourceGroupName(), app.name()).appCommandLine());
+        final boolean diagnosticConfigModified = Objects.nonNull(newDiagnosticConfig) && !Objects.equals(newDiagnosticConfig, oldDiagnosticConfig);
+        final boolean modified = planModified || runtimeModified || dockerModified || appSettings.isModified() || diagnosticConfigModified;
 
         if (modified) {
             final Update update = remote.update();
-            Optional.ofNullable(newPlan).ifPresent(p -> updateAppServicePlan(update, p));
-            Optional.ofNullable(newRuntime).ifPresent(p -> updateRuntime(update, p));
-            Optional.ofNullable(settingsToAdd).ifPresent(update::withAppSettings);
-            Optional.of(settingsToRemove).filter(CollectionUtils::isNotEmpty).ifPresent(s -> s.forEach(update::withoutAppSetting));
-            Optional.ofNullable(newDockerConfig).ifPresent(p -> updateDockerConfiguration(update, p));
-            Optional.ofNullable(newDiagnosticConfig).ifPresent(c -> AppServiceUtils.updateDiagnosticConfigurationForWebAppBase(update, newDiagnosticConfig));
+            Optional.ofNullable(newPlan).filter(ignore -> planModified).ifPresent(p -> updateAppServicePlan(update, p));
+            Optional.ofNullable(newRuntime).filter(ignore -> runtimeModified).ifPresent(p -> updateRuntime(update, p));
+            appSettings.applyTo(update);
+            Optional.ofNullable(newDockerConfig).filter(ignore -> dockerModified).ifPresent(p -> updateDockerConfiguration(update, p));
+            Optional.ofNullable(newDiagnosticConfig).filter(ignore -> diagnosticConfigModified).ifPresent(c -> AppServiceUtils.updateDiagnosticConfigurationForWebAppBase(update, c));
 
             final IAzureMessager messager = AzureMessager.getMessager();
             messager.info(AzureString.format("Start updating Web App({0})...", remote.name()));
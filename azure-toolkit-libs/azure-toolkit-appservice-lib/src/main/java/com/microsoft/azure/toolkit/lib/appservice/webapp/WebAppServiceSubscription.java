@@ -5,18 +5,12 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.webapp;
 
-import com.azure.core.http.HttpMethod;
-import com.azure.core.http.HttpPipeline;
-import com.azure.core.http.HttpRequest;
-import com.azure.core.http.HttpResponse;
 import com.azure.resourcemanager.appservice.AppServiceManager;
 import com.azure.resourcemanager.appservice.fluent.models.WebAppStackInner;
 import com.azure.resourcemanager.appservice.models.WebAppMajorVersion;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceServiceSubscription;
 import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
+import com.microsoft.azure.toolkit.lib.appservice.RuntimeStackCatalog;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppLinuxRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppRuntime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppWindowsRuntime;
@@ -26,7 +20,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,10 +27,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class WebAppServiceSubscription extends AppServiceServiceSubscription {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final TypeReference<HashMap<String, Object>> typeRef = new TypeReference<HashMap<String, Object>>() {
-    };
-
     protected WebAppServiceSubscription(@Nonnull String subscriptionId, @Nonnull AzureAppService service) {
         super(subscriptionId, service);
     }
@@ -93,7 +82,8 @@ public class WebAppServiceSubscription extends AppServiceServiceSubscription {
             return;
         }
 
-        final Map<String, Object> result = getRuntimesUsingHttpPipeline(remote);
+        // served from the local catalog, refreshed in background, never blocks on ARM
+        final Map<String, Object> result = RuntimeStackCatalog.get(RuntimeStackCatalog.WEB_APP_STACKS).getStacks(remote);
         if (result.isEmpty()) {
             return;
         }
@@ -106,19 +96,4 @@ public class WebAppServiceSubscription extends AppServiceServiceSubscription {
         WebAppLinuxRuntime.loadAllWebAppLinuxRuntimesFromMap(javaStacks, containerStacks);
         WebAppWindowsRuntime.loadAllWebAppWindowsRuntimesFromMap(javaStacks, containerStacks);
     }
-
-    private Map<String, Object> getRuntimesUsingHttpPipeline(AppServiceManager appServiceManager) {
-        final HttpPipeline pipeline = appServiceManager.httpPipeline();
-        final String apiVersion = appServiceManager.serviceClient().getApiVersion();
-        final HttpRequest request = new HttpRequest(HttpMethod.GET, String.format("%s/providers/Microsoft.Web/webAppStacks?api-version=%s", appServiceManager.serviceClient().getEndpoint(), apiVersion));
-        try (HttpResponse response = pipeline.send(request).block()) {
-            if (Objects.nonNull(response) && response.getStatusCode() == 200) {
-                final String responseBodyString = response.getBodyAsString().block();
-                return mapper.readValue(responseBodyString, typeRef);
-            }
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-        return Collections.emptyMap();
-    }
 }
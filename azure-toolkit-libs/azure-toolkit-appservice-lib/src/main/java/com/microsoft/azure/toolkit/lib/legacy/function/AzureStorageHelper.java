@@ -8,33 +8,54 @@ package com.microsoft.azure.toolkit.lib.legacy.function;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobUploadFromFileOptions;
 import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.time.LocalDateTime;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.time.Period;
+import java.util.Map;
 
 public class AzureStorageHelper {
     private static final int SAS_START_RESERVE_MINUTE = 5;
+    public static final long DEFAULT_BLOCK_SIZE = 8L * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
     private static final String FAIL_TO_DELETE_BLOB = "Fail to delete blob";
     private static final String FAIL_TO_UPLOAD_BLOB = "Fail to upload file as blob";
     private static final String FAIL_TO_GENERATE_BLOB_SAS_TOKEN = "Fail to generate blob sas token";
 
     public static BlobClient uploadFileAsBlob(final File fileToUpload, final BlobServiceClient blobServiceClient,
             final String containerName, final String blobName) {
+        return uploadFileAsBlob(fileToUpload, blobServiceClient, containerName, blobName, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_CONCURRENCY, null);
+    }
+
+    /**
+     * Uploads the file as a block blob, files larger than one block are staged as blocks of {@code blockSize} bytes with up
+     * to {@code maxConcurrency} blocks uploaded at the same time, an existing blob with the same name is overwritten.
+     */
+    public static BlobClient uploadFileAsBlob(final File fileToUpload, final BlobServiceClient blobServiceClient,
+            final String containerName, final String blobName, final long blockSize, final int maxConcurrency,
+            @Nullable final Map<String, String> metadata) {
         try {
             final BlobContainerClient blobContainer = blobServiceClient.getBlobContainerClient(containerName);
             blobContainer.createIfNotExists();
 
             final BlobClient blob = blobContainer.getBlobClient(blobName);
-            blob.upload(new FileInputStream(fileToUpload), fileToUpload.length());
+            final ParallelTransferOptions transferOptions = new ParallelTransferOptions()
+                .setBlockSizeLong(blockSize)
+                .setMaxSingleUploadSizeLong(blockSize)
+                .setMaxConcurrency(Math.max(1, maxConcurrency));
+            final BlobUploadFromFileOptions options = new BlobUploadFromFileOptions(fileToUpload.getAbsolutePath())
+                .setParallelTransferOptions(transferOptions)
+                .setMetadata(metadata);
+            blob.uploadFromFileWithResponse(options, null, null);
             return blob;
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             throw new AzureToolkitRuntimeException(FAIL_TO_UPLOAD_BLOB, e);
         }
     }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice;
+
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RuntimeStackCatalogTest {
+    private static final String API_VERSION = "2023-01-01";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private HttpPipeline pipeline;
+    private String endpoint;
+    private Path file;
+    /**
+     * virtual time in millis of the catalogs.
+     */
+    private long now = 1_000_000;
+    private volatile String etag = "\"v1\"";
+    /**
+     * {@code If-None-Match} header of each request to the fake stacks api, empty if the header is absent.
+     */
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> apiVersions = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * fake ARM serving stacks named after the current {@link #etag}, {@code 304} if the request carries the current etag.
+     */
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/providers/Microsoft.Web/" + RuntimeStackCatalog.WEB_APP_STACKS, exchange -> {
+            final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            requests.add(Objects.toString(ifNoneMatch, ""));
+            apiVersions.add(exchange.getRequestURI().getQuery());
+            if (etag.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                final byte[] body = String.format("{\"value\":[{\"name\":\"%s\"}]}", etag.replace("\"", ""))
+                    .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add("ETag", etag);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        endpoint = String.format("http://127.0.0.1:%d/", server.getAddress().getPort());
+        pipeline = new HttpPipelineBuilder().build();
+        file = folder.getRoot().toPath().resolve("stacks").resolve(RuntimeStackCatalog.WEB_APP_STACKS + ".json");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testFirstRun() {
+        final RuntimeStackCatalog catalog = catalog();
+
+        // nothing cached yet, callers keep the bundled runtimes while the stacks are fetched
+        assertTrue(getStacks(catalog).isEmpty());
+        assertEquals(Collections.singletonList(""), requests);
+        assertEquals("api-version=" + API_VERSION, apiVersions.get(0));
+        assertTrue(Files.isRegularFile(file));
+
+        assertEquals("v1", name(getStacks(catalog)));
+        // the next run reads the stacks from disk without waiting for ARM
+        assertEquals("v1", name(getStacks(catalog())));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testRevalidateAfterTtl() {
+        final RuntimeStackCatalog catalog = catalog();
+        getStacks(catalog);
+
+        now += Duration.ofHours(23).toMillis();
+        getStacks(catalog);
+        assertEquals(1, requests.size());
+
+        // expired, the cached stacks are returned and revalidated, unchanged stacks are only renewed
+        now += Duration.ofHours(2).toMillis();
+        assertEquals("v1", name(getStacks(catalog)));
+        assertEquals("\"v1\"", requests.get(1));
+        getStacks(catalog);
+        assertEquals(2, requests.size());
+        assertEquals("v1", name(getStacks(catalog())));
+        assertEquals(2, requests.size());
+
+        // expired and changed
+        now += Duration.ofHours(25).toMillis();
+        etag = "\"v2\"";
+        assertEquals("v1", name(getStacks(catalog)));
+        assertEquals("\"v1\"", requests.get(2));
+        assertEquals("v2", name(getStacks(catalog)));
+        assertEquals("v2", name(getStacks(catalog())));
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testOtherApiVersion() {
+        getStacks(catalog());
+
+        final RuntimeStackCatalog catalog = catalog();
+        assertEquals("v1", name(catalog.getStacks(pipeline, endpoint, "2024-01-01")));
+        // stacks of another api version are fetched again instead of revalidated
+        assertEquals("", requests.get(1));
+        assertEquals("api-version=2024-01-01", apiVersions.get(1));
+        catalog.getStacks(pipeline, endpoint, "2024-01-01");
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testCorruptCache() throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, "{\"formatVersion\":1,\"body\":".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(getStacks(catalog()).isEmpty());
+        assertEquals(Collections.singletonList(""), requests);
+        assertEquals("v1", name(getStacks(catalog())));
+    }
+
+    @Test
+    public void testOldFormatCache() throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, String.format("{\"apiVersion\":\"%s\",\"etag\":\"\\\"v1\\\"\",\"fetchedAt\":%d,\"body\":{\"value\":[]}}", API_VERSION, now)
+            .getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(getStacks(catalog()).isEmpty());
+        // not revalidated, the old file is replaced
+        assertEquals(Collections.singletonList(""), requests);
+        assertEquals("v1", name(getStacks(catalog())));
+    }
+
+    @Test
+    public void testFailedFetch() {
+        server.stop(0);
+
+        final RuntimeStackCatalog catalog = catalog();
+        assertTrue(getStacks(catalog).isEmpty());
+        assertFalse(Files.exists(file));
+        assertNull(name(getStacks(catalog)));
+    }
+
+    /**
+     * catalog refreshing in the calling thread, as a new run would create it.
+     */
+    private RuntimeStackCatalog catalog() {
+        return new RuntimeStackCatalog(RuntimeStackCatalog.WEB_APP_STACKS, file, () -> now, Schedulers.immediate());
+    }
+
+    private Map<String, Object> getStacks(RuntimeStackCatalog catalog) {
+        return catalog.getStacks(pipeline, endpoint, API_VERSION);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String name(Map<String, Object> stacks) {
+        final List<Map<String, Object>> value = (List<Map<String, Object>>) stacks.get("value");
+        return Objects.isNull(value) || value.isEmpty() ? null : (String) value.get(0).get("name");
+    }
+}
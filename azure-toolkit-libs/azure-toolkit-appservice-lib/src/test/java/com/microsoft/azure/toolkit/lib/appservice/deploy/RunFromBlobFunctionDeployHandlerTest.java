@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.deploy;
+
+import com.azure.core.http.rest.PagedFlux;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponseBase;
+import com.azure.resourcemanager.appservice.models.AppSetting;
+import com.azure.resourcemanager.appservice.models.FunctionApp;
+import com.azure.resourcemanager.appservice.models.FunctionDeploymentSlot;
+import com.azure.resourcemanager.appservice.models.FunctionDeploymentSlotBasic;
+import com.azure.resourcemanager.appservice.models.FunctionDeploymentSlots;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobUploadFromFileOptions;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RunFromBlobFunctionDeployHandlerTest {
+    private static final String APP_ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/app";
+    private static final String CONTAINER_URL = "https://account.blob.core.windows.net/java-functions-run-from-packages/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, BlobClient> blobs = new HashMap<>();
+    private BlobServiceClient storageAccount;
+    private BlobContainerClient container;
+    private FunctionApp app;
+    private FunctionDeploymentSlots slots;
+    private File zip;
+    private String hash;
+
+    @Before
+    public void setUp() throws IOException, NoSuchAlgorithmException {
+        AzureMessager.setDefaultMessager(new AzureMessager.DummyMessager());
+        zip = folder.newFile("app.zip");
+        Files.write(zip.toPath(), "package".getBytes(StandardCharsets.UTF_8));
+        hash = String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(zip.toPath()))));
+
+        storageAccount = mock(BlobServiceClient.class);
+        container = mock(BlobContainerClient.class);
+        when(storageAccount.getBlobContainerClient(anyString())).thenReturn(container);
+        when(container.exists()).thenReturn(false);
+        when(container.getBlobContainerName()).thenReturn("java-functions-run-from-packages");
+        when(container.getBlobClient(anyString())).thenAnswer(i -> blobs.computeIfAbsent(i.getArgument(0), RunFromBlobFunctionDeployHandlerTest::blob));
+        when(container.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(paged(Collections.emptyList()));
+
+        app = mock(FunctionApp.class);
+        slots = mock(FunctionDeploymentSlots.class);
+        when(app.id()).thenReturn(APP_ID);
+        when(app.name()).thenReturn("app");
+        when(app.deploymentSlots()).thenReturn(slots);
+        when(slots.list()).thenReturn(paged(Collections.emptyList()));
+    }
+
+    @Test
+    public void testUploadNewPackage() {
+        final BlobClient blob = new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        assertEquals("app-" + hash, blob.getBlobName());
+        final ArgumentCaptor<BlobUploadFromFileOptions> options = ArgumentCaptor.forClass(BlobUploadFromFileOptions.class);
+        verify(blob).uploadFromFileWithResponse(options.capture(), any(), any());
+        assertEquals(APP_ID, options.getValue().getMetadata().get("functionapp"));
+        assertEquals(hash, options.getValue().getMetadata().get("sha256"));
+    }
+
+    @Test
+    public void testReuseUploadedPackage() {
+        final BlobClient existing = existing("app-" + hash, APP_ID.toUpperCase(), hash);
+
+        final BlobClient blob = new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        assertEquals(existing, blob);
+        verify(existing, never()).uploadFromFileWithResponse(any(), any(), any());
+        // refreshes the last modified time
+        verify(existing).setMetadata(Mockito.anyMap());
+    }
+
+    @Test
+    public void testNameTakenByAnotherApp() {
+        final BlobClient existing = existing("app-" + hash, APP_ID.replace("rg", "other-rg"), hash);
+
+        final BlobClient blob = new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        assertNotEquals(existing, blob);
+        assertTrue(blob.getBlobName().startsWith("app-"));
+        verify(existing, never()).uploadFromFileWithResponse(any(), any(), any());
+        verify(existing, never()).setMetadata(Mockito.anyMap());
+        verify(blob).uploadFromFileWithResponse(any(), any(), any());
+    }
+
+    @Test
+    public void testDeleteExpiredPackages() {
+        final OffsetDateTime expired = OffsetDateTime.now().minusDays(31);
+        final OffsetDateTime recent = OffsetDateTime.now().minusDays(1);
+        when(container.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(paged(Arrays.asList(
+            item("app-" + hash, APP_ID, expired),
+            item("app-expired", APP_ID, expired),
+            item("app-run-by-app", APP_ID, expired),
+            item("app-run-by-slot", APP_ID, expired),
+            item("app-recent", APP_ID, recent),
+            item("other-expired", APP_ID.replace("rg", "other-rg"), expired))));
+        final Map<String, AppSetting> appSettings = settings(CONTAINER_URL + "app-run-by-app?sv=sas");
+        when(app.getAppSettings()).thenReturn(appSettings);
+        final FunctionDeploymentSlotBasic staging = mock(FunctionDeploymentSlotBasic.class);
+        when(staging.id()).thenReturn(APP_ID + "/slots/staging");
+        final FunctionDeploymentSlot slot = mock(FunctionDeploymentSlot.class);
+        // e.g. through a custom domain of the account
+        final Map<String, AppSetting> slotSettings = settings("https://packages.contoso.com/java-functions-run-from-packages/app%2Drun%2Dby%2Dslot?sv=sas");
+        when(slot.getAppSettings()).thenReturn(slotSettings);
+        when(slots.list()).thenReturn(paged(Collections.singletonList(staging)));
+        when(slots.getById(APP_ID + "/slots/staging")).thenReturn(slot);
+
+        new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        verify(blobs.get("app-expired")).deleteIfExists();
+        for (final String kept : Arrays.asList("app-" + hash, "app-run-by-app", "app-run-by-slot", "app-recent", "other-expired")) {
+            if (blobs.containsKey(kept)) {
+                verify(blobs.get(kept), never()).deleteIfExists();
+            }
+        }
+    }
+
+    @Test
+    public void testFailedLookupOfReferencesDeletesNothing() {
+        when(container.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(paged(Collections.singletonList(
+            item("app-expired", APP_ID, OffsetDateTime.now().minusDays(31)))));
+        when(slots.list()).thenThrow(new IllegalStateException("forbidden"));
+
+        new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        if (blobs.containsKey("app-expired")) {
+            verify(blobs.get("app-expired"), never()).deleteIfExists();
+        }
+    }
+
+    @Test
+    public void testUnreadableSlotDeletesNothing() {
+        when(container.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(paged(Collections.singletonList(
+            item("app-expired", APP_ID, OffsetDateTime.now().minusDays(31)))));
+        final FunctionDeploymentSlotBasic staging = mock(FunctionDeploymentSlotBasic.class);
+        when(staging.id()).thenReturn(APP_ID + "/slots/staging");
+        when(slots.list()).thenReturn(paged(Collections.singletonList(staging)));
+        when(slots.getById(APP_ID + "/slots/staging")).thenReturn(null);
+
+        new RunFromBlobFunctionDeployHandler().deployArtifactToAzureStorage(app, zip, storageAccount);
+
+        if (blobs.containsKey("app-expired")) {
+            verify(blobs.get("app-expired"), never()).deleteIfExists();
+        }
+    }
+
+    @Test
+    public void testReuseValidSasUrl() {
+        final BlobClient blob = blob("app-" + hash);
+        final String current = String.format("%sapp-%s?sv=2021-08-06&se=%s&sr=b&sp=r&sig=abc", CONTAINER_URL, hash,
+            OffsetDateTime.now().plusYears(9).withNano(0).toString().replace(":", "%3A"));
+        final Map<String, AppSetting> appSettings = settings(current);
+        when(app.getAppSettings()).thenReturn(appSettings);
+
+        // the setting stays the same, so the app is not restarted
+        assertEquals(current, new RunFromBlobFunctionDeployHandler().getPackageSasUrl(app, blob));
+        verify(blob, never()).generateSas(any());
+    }
+
+    @Test
+    public void testRenewSasUrl() {
+        final BlobClient blob = blob("app-" + hash);
+        when(blob.generateSas(any())).thenReturn("sv=new");
+        final String expiring = String.format("%sapp-%s?se=%s&sig=abc", CONTAINER_URL, hash, OffsetDateTime.now().plusDays(10).withNano(0));
+        final Map<String, AppSetting> appSettings = settings(expiring);
+        when(app.getAppSettings()).thenReturn(appSettings);
+
+        assertEquals(CONTAINER_URL + "app-" + hash + "?sv=new", new RunFromBlobFunctionDeployHandler().getPackageSasUrl(app, blob));
+
+        // the app runs from another package
+        final Map<String, AppSetting> otherSettings = settings(String.format("%sapp-other?se=%s&sig=abc", CONTAINER_URL, OffsetDateTime.now().plusYears(9)));
+        when(app.getAppSettings()).thenReturn(otherSettings);
+        assertEquals(CONTAINER_URL + "app-" + hash + "?sv=new", new RunFromBlobFunctionDeployHandler().getPackageSasUrl(app, blob));
+    }
+
+    private BlobClient existing(String name, String owner, String sha256) {
+        final Map<String, String> metadata = new HashMap<>();
+        metadata.put("functionapp", owner);
+        metadata.put("sha256", sha256);
+        final BlobProperties properties = mock(BlobProperties.class);
+        when(properties.getMetadata()).thenReturn(metadata);
+        final BlobClient blob = container.getBlobClient(name);
+        when(blob.exists()).thenReturn(true);
+        when(blob.getProperties()).thenReturn(properties);
+        return blob;
+    }
+
+    private static BlobClient blob(String name) {
+        final BlobClient blob = mock(BlobClient.class);
+        when(blob.getBlobName()).thenReturn(name);
+        when(blob.getBlobUrl()).thenReturn(CONTAINER_URL + name);
+        return blob;
+    }
+
+    private static BlobItem item(String name, String owner, OffsetDateTime lastModified) {
+        return new BlobItem().setName(name)
+            .setMetadata(Collections.singletonMap("functionapp", owner))
+            .setProperties(new BlobItemProperties().setLastModified(lastModified));
+    }
+
+    private static Map<String, AppSetting> settings(String packageUrl) {
+        final AppSetting setting = mock(AppSetting.class);
+        when(setting.value()).thenReturn(packageUrl);
+        return Collections.singletonMap("WEBSITE_RUN_FROM_PACKAGE", setting);
+    }
+
+    private static <T> PagedIterable<T> paged(List<T> items) {
+        return new PagedIterable<>(new PagedFlux<>(() -> Mono.just(new PagedResponseBase<Void, T>(null, 200, null, items, null, null))));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpPipelineBuilder;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class DirectoryListingCacheTest {
+    private FakeKuduVfs vfs;
+    private AppServiceKuduClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        vfs = new FakeKuduVfs();
+        client = AppServiceKuduClient.getClient(vfs.getHost(), new HttpPipelineBuilder().build(), null);
+        vfs.put("site/wwwroot/app.jar", new byte[3], OffsetDateTime.now());
+        vfs.put("site/wwwroot/lib/dep.jar", new byte[2], OffsetDateTime.now());
+    }
+
+    @After
+    public void tearDown() {
+        vfs.close();
+    }
+
+    @Test
+    public void testSpellingsOfDirectoryShareListing() {
+        assertEquals(Arrays.asList("lib", "app.jar"), names("/home/site/wwwroot"));
+        assertEquals(Arrays.asList("lib", "app.jar"), names("site/wwwroot/"));
+        assertEquals(Arrays.asList("lib", "app.jar"), names("site\\wwwroot"));
+        assertEquals(3, client.getFileByPath("/home/site/wwwroot/app.jar").getSize());
+        assertEquals(3, client.getFileByPath("site\\wwwroot\\app.jar").getSize());
+
+        assertEquals(Collections.singletonList("site/wwwroot"), vfs.listings);
+        // listed files carry the path of the listed directory
+        client.getFilesInDirectory("site/wwwroot/").forEach(f -> assertTrue(f.getPath().replace('\\', '/').startsWith("/site/wwwroot/")));
+    }
+
+    @Test
+    public void testUploadInvalidatesParent() {
+        assertNull(client.getFileByPath("/home/site/wwwroot/new.txt"));
+
+        client.uploadFileToPath("content", "site/wwwroot/new.txt");
+
+        final AppServiceFile uploaded = client.getFileByPath("/home/site/wwwroot/new.txt");
+        assertNotNull(uploaded);
+        assertEquals(7, uploaded.getSize());
+        assertEquals(2, vfs.listings.size());
+    }
+
+    @Test
+    public void testCreateDirectoryInvalidatesParent() {
+        assertEquals(Arrays.asList("lib", "app.jar"), names("site/wwwroot"));
+        assertNull(client.getFileByPath("site/wwwroot/conf"));
+
+        client.createDirectory("site/wwwroot/conf");
+
+        assertEquals(Arrays.asList("conf", "lib", "app.jar"), names("site/wwwroot"));
+        assertTrue(client.getFilesInDirectory("site/wwwroot/conf").isEmpty());
+    }
+
+    @Test
+    public void testDeleteInvalidatesParentAndContent() {
+        assertEquals(Collections.singletonList("dep.jar"), names("/home/site/wwwroot/lib"));
+        assertNotNull(client.getFileByPath("/home/site/wwwroot/lib"));
+
+        client.deleteFile("site/wwwroot/lib/");
+
+        assertEquals(Collections.singletonList("app.jar"), names("/home/site/wwwroot"));
+        assertNull(client.getFileByPath("/home/site/wwwroot/lib"));
+        // the listing of the deleted directory is dropped too, so it's listed (and missing) again
+        final int listings = vfs.listings.size();
+        assertThrows(RuntimeException.class, () -> client.getFilesInDirectory("/home/site/wwwroot/lib"));
+        assertEquals(listings + 1, vfs.listings.size());
+    }
+
+    private List<String> names(String dir) {
+        return client.getFilesInDirectory(dir).stream().map(AppServiceFile::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * in-process stand-in of the kudu VFS api ({@code /api/vfs/}): files are kept in memory by path relative to the VFS
+ * root, directory listings are json arrays of the direct children, GET supports {@code Range: bytes=N-}, PUT of a
+ * path ending with '/' creates a directory and DELETE removes a file or a directory with its content.
+ */
+class FakeKuduVfs implements AutoCloseable {
+    private static final String PREFIX = "/api/vfs/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<String, OffsetDateTime> mtimes = new ConcurrentHashMap<>();
+    private final Set<String> directories = new ConcurrentSkipListSet<>();
+    /**
+     * {@code Range} headers of file downloads, null if none was sent.
+     */
+    final List<String> ranges = new CopyOnWriteArrayList<>();
+    final List<String> uploads = new CopyOnWriteArrayList<>();
+    final List<String> listings = new CopyOnWriteArrayList<>();
+    /**
+     * number of bytes the next downloads send before the connection is dropped, one per download.
+     */
+    final List<Integer> truncations = new CopyOnWriteArrayList<>();
+    volatile boolean rangeSupported = true;
+
+    FakeKuduVfs() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext(PREFIX, this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+        this.directories.add("");
+    }
+
+    String getHost() {
+        return String.format("http://127.0.0.1:%d", this.server.getAddress().getPort());
+    }
+
+    void put(String path, byte[] content, OffsetDateTime mtime) {
+        final String normalized = normalize(path);
+        this.files.put(normalized, content);
+        this.mtimes.put(normalized, mtime);
+        for (String dir = parent(normalized); !dir.isEmpty(); dir = parent(dir)) {
+            this.directories.add(dir);
+        }
+    }
+
+    byte[] get(String path) {
+        return this.files.get(normalize(path));
+    }
+
+    boolean isDirectory(String path) {
+        return this.directories.contains(normalize(path));
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        // kudu client sends paths with encoded '/', which getPath() decodes
+        final String raw = exchange.getRequestURI().getPath().substring(PREFIX.length());
+        final boolean directory = raw.endsWith("/");
+        final String path = normalize(raw);
+        final String method = exchange.getRequestMethod();
+        if ("GET".equals(method) && directory) {
+            this.listings.add(path);
+            this.list(exchange, path);
+        } else if ("GET".equals(method)) {
+            this.download(exchange, path);
+        } else if ("PUT".equals(method) && directory) {
+            this.directories.add(path);
+            respond(exchange, 201, new byte[0]);
+        } else if ("PUT".equals(method)) {
+            if (!this.directories.contains(parent(path))) {
+                respond(exchange, 409, "parent directory doesn't exist".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            this.uploads.add(path);
+            this.files.put(path, IOUtils.toByteArray(exchange.getRequestBody()));
+            this.mtimes.put(path, OffsetDateTime.now());
+            respond(exchange, 201, new byte[0]);
+        } else if ("DELETE".equals(method)) {
+            final String prefix = path + "/";
+            this.files.keySet().removeIf(f -> f.equals(path) || f.startsWith(prefix));
+            this.directories.removeIf(d -> d.equals(path) || d.startsWith(prefix));
+            respond(exchange, 200, new byte[0]);
+        } else {
+            respond(exchange, 405, new byte[0]);
+        }
+    }
+
+    private void list(HttpExchange exchange, String dir) throws IOException {
+        if (!this.directories.contains(dir)) {
+            respond(exchange, 404, new byte[0]);
+            return;
+        }
+        final String prefix = dir.isEmpty() ? "" : dir + "/";
+        final String dirs = this.directories.stream().filter(d -> !d.isEmpty() && parent(d).equals(dir))
+            .map(d -> String.format("{\"name\":\"%s\",\"size\":0,\"mime\":\"inode/directory\"}", d.substring(prefix.length())))
+            .collect(Collectors.joining(","));
+        final String files = this.files.keySet().stream().filter(f -> parent(f).equals(dir))
+            .map(f -> String.format("{\"name\":\"%s\",\"size\":%d,\"mtime\":\"%s\",\"mime\":\"application/octet-stream\"}",
+                f.substring(prefix.length()), this.files.get(f).length, this.mtimes.get(f)))
+            .collect(Collectors.joining(","));
+        final String json = "[" + dirs + (dirs.isEmpty() || files.isEmpty() ? "" : ",") + files + "]";
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        respond(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void download(HttpExchange exchange, String path) throws IOException {
+        final byte[] content = this.files.get(path);
+        if (content == null) {
+            respond(exchange, 404, new byte[0]);
+            return;
+        }
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        this.ranges.add(range);
+        int offset = 0;
+        if (this.rangeSupported && range != null) {
+            offset = Integer.parseInt(StringUtils.substringBetween(range, "bytes=", "-"));
+            exchange.getResponseHeaders().add("Content-Range", String.format("bytes %d-%d/%d", offset, content.length - 1, content.length));
+        }
+        final int length = content.length - offset;
+        exchange.sendResponseHeaders(offset > 0 ? 206 : 200, length);
+        final Integer truncation = this.truncations.isEmpty() ? null : this.truncations.remove(0);
+        final OutputStream out = exchange.getResponseBody();
+        try {
+            out.write(content, offset, truncation == null ? length : Math.min(truncation, length));
+            out.flush();
+        } finally {
+            // closing an incompletely written body drops the connection
+            try {
+                exchange.close();
+            } catch (final RuntimeException ignored) {
+                // insufficient bytes written
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static String normalize(String path) {
+        return StringUtils.strip(path.replace('\\', '/').replaceAll("/+", "/"), "/");
+    }
+
+    private static String parent(String path) {
+        return path.contains("/") ? StringUtils.substringBeforeLast(path, "/") : "";
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpPipelineBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileTransfersTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FakeKuduVfs vfs;
+    private AppServiceKuduClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        vfs = new FakeKuduVfs();
+        client = AppServiceKuduClient.getClient(vfs.getHost(), new HttpPipelineBuilder().build(), null);
+    }
+
+    @After
+    public void tearDown() {
+        vfs.close();
+    }
+
+    @Test
+    public void testDownload() throws IOException {
+        final byte[] content = randomBytes(3 * FileTransfers.CHUNK_SIZE + 17);
+        vfs.put("LogFiles/app.log", content, OffsetDateTime.now());
+        final Path target = folder.getRoot().toPath().resolve("logs").resolve("app.log");
+
+        client.downloadFile("/home/LogFiles/app.log", target);
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(1, vfs.ranges.size());
+        assertNull(vfs.ranges.get(0));
+        assertFalse(Files.exists(target.resolveSibling("app.log.part")));
+    }
+
+    @Test
+    public void testResumeInterruptedDownload() throws IOException {
+        final byte[] content = randomBytes(1024 * 1024);
+        vfs.put("LogFiles/app.log", content, OffsetDateTime.now());
+        vfs.truncations.addAll(Arrays.asList(300 * 1024, 200 * 1024));
+        final Path target = folder.getRoot().toPath().resolve("app.log");
+
+        client.downloadFile("/home/LogFiles/app.log", target);
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+        // every attempt continues from the bytes received so far
+        assertEquals(3, vfs.ranges.size());
+        assertNull(vfs.ranges.get(0));
+        final long second = offset(vfs.ranges.get(1));
+        final long third = offset(vfs.ranges.get(2));
+        assertTrue(second > 0 && second <= 300 * 1024);
+        assertTrue(third > second && third <= second + 200 * 1024);
+    }
+
+    @Test
+    public void testResumeWhenRangeIsIgnored() throws IOException {
+        final byte[] content = randomBytes(1024 * 1024);
+        vfs.put("LogFiles/app.log", content, OffsetDateTime.now());
+        vfs.rangeSupported = false;
+        vfs.truncations.add(400 * 1024);
+        final Path target = folder.getRoot().toPath().resolve("app.log");
+
+        client.downloadFile("/home/LogFiles/app.log", target);
+
+        // the whole file is sent again and the bytes already downloaded are skipped
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(2, vfs.ranges.size());
+        assertTrue(offset(vfs.ranges.get(1)) > 0);
+    }
+
+    @Test
+    public void testUpload() throws IOException {
+        final byte[] content = randomBytes(2 * FileTransfers.CHUNK_SIZE + 1);
+        final Path file = folder.newFile("app.jar").toPath();
+        Files.write(file, content);
+        vfs.put("site/wwwroot/old.jar", new byte[1], OffsetDateTime.now());
+
+        client.uploadFileToPath(file, "site/wwwroot/app.jar");
+
+        assertArrayEquals(content, vfs.get("site/wwwroot/app.jar"));
+    }
+
+    @Test
+    public void testSyncUploadsMissingAndChangedFiles() throws IOException {
+        final Path local = folder.newFolder("wwwroot").toPath();
+        write(local.resolve("unchanged.txt"), "same");
+        write(local.resolve("lib/changed.txt"), "new content");
+        write(local.resolve("lib/missing.txt"), "missing");
+        write(local.resolve("lib/deeper/nested.txt"), "nested");
+        Files.createDirectories(local.resolve("empty"));
+        // remote copy is newer and of the same size
+        vfs.put("site/wwwroot/unchanged.txt", "same".getBytes(StandardCharsets.UTF_8), OffsetDateTime.now().plusHours(1));
+        vfs.put("site/wwwroot/lib/changed.txt", "old".getBytes(StandardCharsets.UTF_8), OffsetDateTime.now().plusHours(1));
+        vfs.put("site/wwwroot/remote-only.txt", "kept".getBytes(StandardCharsets.UTF_8), OffsetDateTime.now());
+
+        client.syncDirectory(local, "site/wwwroot/", 4);
+
+        assertEquals(new HashSet<>(Arrays.asList("site/wwwroot/lib/changed.txt", "site/wwwroot/lib/missing.txt", "site/wwwroot/lib/deeper/nested.txt")),
+            new HashSet<>(vfs.uploads));
+        assertEquals("new content", new String(vfs.get("site/wwwroot/lib/changed.txt"), StandardCharsets.UTF_8));
+        assertEquals("nested", new String(vfs.get("site/wwwroot/lib/deeper/nested.txt"), StandardCharsets.UTF_8));
+        assertEquals("kept", new String(vfs.get("site/wwwroot/remote-only.txt"), StandardCharsets.UTF_8));
+        assertTrue(vfs.isDirectory("site/wwwroot/empty"));
+        // every directory is listed once
+        assertEquals(vfs.listings.size(), new HashSet<>(vfs.listings).size());
+
+        // nothing changed since the last sync
+        vfs.uploads.clear();
+        client.syncDirectory(local, "site/wwwroot", 4);
+        assertTrue(vfs.uploads.isEmpty());
+    }
+
+    @Test
+    public void testGetFileByPath() {
+        vfs.put("site/wwwroot/lib/app.jar", new byte[3], OffsetDateTime.now());
+
+        assertEquals(3, client.getFileByPath("/home/site/wwwroot/lib/app.jar").getSize());
+        assertEquals("lib", client.getFileByPath("/home/site/wwwroot/lib/").getName());
+        assertEquals("lib", client.getFileByPath("site\\wwwroot\\lib").getName());
+        assertNull(client.getFileByPath("/home/site/wwwroot/missing.jar"));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long offset(String range) {
+        return Long.parseLong(range.substring("bytes=".length(), range.length() - 1));
+    }
+
+    private static byte[] randomBytes(int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
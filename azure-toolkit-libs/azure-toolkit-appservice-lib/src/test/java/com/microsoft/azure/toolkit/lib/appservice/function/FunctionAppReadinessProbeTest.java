@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function;
+
+import com.microsoft.azure.toolkit.lib.appservice.entity.FunctionEntity;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionAppReadinessProbeTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private HttpServer host;
+    private String url;
+    private final AtomicInteger hostStatusRequests = new AtomicInteger();
+    private final AtomicInteger warmUpRequests = new AtomicInteger();
+    private volatile int startingRequests;
+
+    /**
+     * fake function host, the host status is unavailable for the first {@link #startingRequests} requests.
+     */
+    @Before
+    public void setUp() throws IOException {
+        host = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        host.createContext("/admin/host/status", exchange -> {
+            final int status = hostStatusRequests.incrementAndGet() > startingRequests ? 200 : 503;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        host.createContext("/", exchange -> {
+            warmUpRequests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        host.start();
+        url = String.format("http://127.0.0.1:%d", host.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        host.stop(0);
+    }
+
+    @Test
+    public void testReady() {
+        startingRequests = 2;
+        final AtomicInteger listRequests = new AtomicInteger();
+        final AtomicInteger syncRequests = new AtomicInteger();
+        final FunctionEntity trigger = FunctionEntity.builder().name("http").build();
+
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            .hostStatus(() -> FunctionAppReadinessProbe.get(url + "/admin/host/status", REQUEST_TIMEOUT))
+            .syncTriggers(syncRequests::incrementAndGet)
+            .triggers(() -> listRequests.incrementAndGet() > 1 ? Collections.singletonList(trigger) : Collections.emptyList())
+            .warmUp(() -> FunctionAppReadinessProbe.get(url, REQUEST_TIMEOUT))
+            .initialDelay(Duration.ofMillis(10))
+            .timeout(Duration.ofSeconds(10))
+            .build().probe();
+
+        assertTrue(report.isReady());
+        assertEquals(3, report.getPhases().size());
+        assertEquals(3, report.getPhases().get(0).getAttempts());
+        assertEquals(2, report.getPhases().get(1).getAttempts());
+        assertEquals(1, report.getPhases().get(2).getAttempts());
+        assertEquals(1, syncRequests.get());
+        assertEquals(1, warmUpRequests.get());
+        assertEquals(Collections.singletonList(trigger), report.getTriggers());
+        assertTrue(report.getTimeToReadyMillis() >= 0);
+        // backoff of 10ms and 20ms before the host is running, 10ms before the triggers are listed
+        assertTrue(report.getTimeToReadyMillis() >= 40);
+    }
+
+    @Test
+    public void testDeadline() {
+        startingRequests = Integer.MAX_VALUE;
+        final AtomicInteger warmUps = new AtomicInteger();
+
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            .hostStatus(() -> FunctionAppReadinessProbe.get(url + "/admin/host/status", REQUEST_TIMEOUT))
+            .warmUp(() -> warmUps.incrementAndGet() > 0)
+            .initialDelay(Duration.ofMillis(10))
+            .maxDelay(Duration.ofMillis(50))
+            .timeout(Duration.ofMillis(300))
+            .build().probe();
+
+        assertFalse(report.isReady());
+        assertEquals(-1, report.getTimeToReadyMillis());
+        assertTrue(report.getTotalMillis() >= 300);
+        assertTrue(report.getTotalMillis() < 3000);
+        final FunctionAppReadinessProbe.PhaseResult failed = report.getFailedPhase();
+        assertNotNull(failed);
+        assertEquals(FunctionAppReadinessProbe.Phase.HOST_STATUS, failed.getPhase());
+        assertTrue(failed.getAttempts() > 3);
+        // the warm-up is not sent to a host which is not running
+        assertEquals(0, warmUps.get());
+        assertEquals(1, report.getPhases().size());
+    }
+
+    @Test
+    public void testUnknownHostStatus() {
+        final AtomicInteger hostStatus = new AtomicInteger();
+
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            // e.g. the admin api is not accessible
+            .hostStatus(() -> {
+                hostStatus.incrementAndGet();
+                return null;
+            })
+            .triggers(() -> Collections.singletonList(FunctionEntity.builder().name("timer").build()))
+            .initialDelay(Duration.ofSeconds(10))
+            .timeout(Duration.ofSeconds(30))
+            .build().probe();
+
+        // the host status is not waited for, the triggers decide
+        assertTrue(report.isReady());
+        assertEquals(1, hostStatus.get());
+        assertTrue(report.getTotalMillis() < 5000);
+        assertEquals(2, report.getPhases().size());
+        assertTrue(report.getPhases().get(0).isUnknown());
+        assertFalse(report.getPhases().get(1).isUnknown());
+        assertTrue(report.toString().contains("host status unknown"));
+    }
+
+    @Test
+    public void testFailedAttemptsAreRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            .syncTriggers(() -> {
+                if (attempts.incrementAndGet() < 2) {
+                    throw new IllegalStateException("sync triggers failed");
+                }
+            })
+            .triggers(() -> Collections.singletonList(FunctionEntity.builder().name("timer").build()))
+            .initialDelay(Duration.ofMillis(10))
+            .build().probe();
+
+        assertTrue(report.isReady());
+        assertEquals(2, report.getPhases().get(0).getAttempts());
+        assertEquals(FunctionAppReadinessProbe.Phase.TRIGGERS, report.getPhases().get(0).getPhase());
+    }
+
+    @Test
+    public void testLastError() {
+        final FunctionAppReadinessProbe.Report report = FunctionAppReadinessProbe.builder()
+            .warmUp(() -> FunctionAppReadinessProbe.get("http://127.0.0.1:1", REQUEST_TIMEOUT))
+            .initialDelay(Duration.ofMillis(10))
+            .timeout(Duration.ofMillis(50))
+            .build().probe();
+
+        assertFalse(report.isReady());
+        assertNotNull(report.getFailedPhase());
+        assertNotNull(report.getFailedPhase().getError());
+        assertTrue(report.toString().contains("warm-up failed"));
+    }
+}
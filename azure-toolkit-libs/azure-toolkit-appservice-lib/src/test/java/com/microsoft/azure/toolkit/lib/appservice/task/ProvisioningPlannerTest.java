@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.task;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProvisioningPlannerTest {
+    @Test
+    public void testIndependentStepsRunConcurrently() {
+        final FakeResourceManager arm = new FakeResourceManager();
+        arm.latencies.put("resource group", 100L);
+        arm.latencies.put("storage account", 300L);
+        arm.latencies.put("application insights", 400L);
+        arm.latencies.put("app service plan", 200L);
+        arm.latencies.put("function app", 100L);
+        final ProvisioningPlanner planner = new ProvisioningPlanner();
+        final ProvisioningPlanner.Step<String> group = planner.add("resource group", () -> arm.createOrUpdate("resource group"));
+        final ProvisioningPlanner.Step<String> storage = planner.add("storage account", () -> arm.createOrUpdate("storage account"), group);
+        final ProvisioningPlanner.Step<String> insights = planner.add("application insights", () -> arm.createOrUpdate("application insights"), group);
+        final ProvisioningPlanner.Step<String> plan = planner.add("app service plan", () -> arm.createOrUpdate("app service plan"), group);
+        final ProvisioningPlanner.Step<String> app = planner.add("function app", () -> arm.createOrUpdate("function app"), storage, insights, plan, null);
+
+        planner.execute();
+
+        assertEquals("function app", app.getResult());
+        planner.getSteps().forEach(s -> assertEquals(ProvisioningPlanner.Status.SUCCEEDED, s.getStatus()));
+        // sequential provisioning takes 1100ms, the critical path only 600ms
+        assertTrue(planner.getTotalMillis() < 1000);
+        assertTrue(storage.getStartMillis() >= group.getEndMillis());
+        assertTrue(app.getStartMillis() >= Collections.max(Arrays.asList(storage.getEndMillis(), insights.getEndMillis(), plan.getEndMillis())));
+        assertEquals(Arrays.asList("resource group", "application insights", "function app"),
+            planner.getCriticalPath().stream().map(ProvisioningPlanner.Step::getName).collect(Collectors.toList()));
+        assertTrue(ProvisioningPlanner.formatCriticalPath(planner.getCriticalPath()).startsWith("resource group ("));
+    }
+
+    @Test
+    public void testDependentsOfFailedStepAreSkipped() {
+        final FakeResourceManager arm = new FakeResourceManager();
+        final IllegalStateException quota = new IllegalStateException("quota exceeded");
+        final ProvisioningPlanner planner = new ProvisioningPlanner();
+        final ProvisioningPlanner.Step<String> group = planner.add("resource group", () -> arm.createOrUpdate("resource group"));
+        final ProvisioningPlanner.Step<String> plan = planner.add("app service plan", () -> {
+            throw quota;
+        }, group);
+        final ProvisioningPlanner.Step<String> storage = planner.add("storage account", () -> arm.createOrUpdate("storage account"), group);
+        final ProvisioningPlanner.Step<String> app = planner.add("function app", () -> arm.createOrUpdate("function app"), plan, storage);
+
+        try {
+            planner.execute();
+            fail("should rethrow the failure of the plan");
+        } catch (final IllegalStateException e) {
+            assertSame(quota, e);
+        }
+        assertEquals(ProvisioningPlanner.Status.FAILED, plan.getStatus());
+        assertEquals(ProvisioningPlanner.Status.SUCCEEDED, storage.getStatus());
+        assertEquals(ProvisioningPlanner.Status.SKIPPED, app.getStatus());
+        assertNull(app.getResult());
+        assertEquals(Arrays.asList("resource group", "storage account"), arm.getCreated());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDependencyOfOtherPlanner() {
+        final ProvisioningPlanner other = new ProvisioningPlanner();
+        final ProvisioningPlanner.Step<String> group = other.add("resource group", () -> "resource group");
+        new ProvisioningPlanner().add("app service plan", () -> "app service plan", group);
+    }
+
+    @Test
+    public void testNoSteps() {
+        final ProvisioningPlanner planner = new ProvisioningPlanner();
+        planner.execute();
+        assertTrue(planner.getCriticalPath().isEmpty());
+    }
+
+    /**
+     * stands in for ARM, creating a resource takes the latency configured for it.
+     */
+    private static class FakeResourceManager {
+        private final Map<String, Long> latencies = new HashMap<>();
+        private final Map<String, Long> created = new ConcurrentHashMap<>();
+
+        String createOrUpdate(String resource) throws InterruptedException {
+            Thread.sleep(latencies.getOrDefault(resource, 10L));
+            created.put(resource, System.nanoTime());
+            return resource;
+        }
+
+        List<String> getCreated() {
+            return created.entrySet().stream().sorted(Map.Entry.comparingByValue()).map(Map.Entry::getKey).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.utils;
+
+import com.microsoft.azure.toolkit.lib.appservice.model.DockerConfiguration;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AppServiceUtilsTest {
+    private static final String REGISTRY = "https://myregistry.azurecr.io";
+
+    @Test
+    public void testUnchangedPublicImage() {
+        final DockerConfiguration config = DockerConfiguration.builder().image("nginx:1.25").startUpCommand("run").build();
+        final AtomicInteger commandRequests = new AtomicInteger();
+
+        assertFalse(AppServiceUtils.isDockerConfigurationModified("DOCKER|nginx:1.25", Collections.emptyMap(), config, () -> {
+            commandRequests.incrementAndGet();
+            return "run";
+        }));
+        assertEquals(1, commandRequests.get());
+        assertTrue(AppServiceUtils.isDockerConfigurationModified("DOCKER|nginx:1.25", Collections.emptyMap(), config, () -> "other"));
+    }
+
+    @Test
+    public void testChangedImageSkipsStartUpCommand() {
+        final DockerConfiguration config = DockerConfiguration.builder().image("nginx:1.26").build();
+
+        assertTrue(AppServiceUtils.isDockerConfigurationModified("DOCKER|nginx:1.25", Collections.emptyMap(), config, () -> {
+            throw new AssertionError("startup command is not needed");
+        }));
+        assertTrue(AppServiceUtils.isDockerConfigurationModified(null, Collections.emptyMap(), config, () -> null));
+    }
+
+    @Test
+    public void testPrivateRegistry() {
+        final DockerConfiguration config = DockerConfiguration.builder().image("app:1").registryUrl(REGISTRY)
+            .userName("user").password("secret").build();
+        final Map<String, String> settings = new HashMap<>();
+        settings.put("DOCKER_REGISTRY_SERVER_URL", REGISTRY);
+        settings.put("DOCKER_REGISTRY_SERVER_USERNAME", "user");
+        settings.put("DOCKER_REGISTRY_SERVER_PASSWORD", "secret");
+
+        // the image is prefixed with the registry host when applied
+        assertFalse(AppServiceUtils.isDockerConfigurationModified("DOCKER|myregistry.azurecr.io/app:1", settings, config, () -> null));
+
+        settings.put("DOCKER_REGISTRY_SERVER_PASSWORD", "rotated");
+        assertTrue(AppServiceUtils.isDockerConfigurationModified("DOCKER|myregistry.azurecr.io/app:1", settings, config, () -> null));
+        // credentials left from a private image
+        final DockerConfiguration publicConfig = DockerConfiguration.builder().image("myregistry.azurecr.io/app:1").build();
+        assertTrue(AppServiceUtils.isDockerConfigurationModified("DOCKER|myregistry.azurecr.io/app:1", settings, publicConfig, () -> null));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.utils;
+
+import com.azure.resourcemanager.appservice.models.WebApp;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AppSettingsReconcilerTest {
+    @Test
+    public void testUnchangedSettingsAreSkipped() {
+        final Map<String, String> desired = new HashMap<>();
+        desired.put("FUNCTIONS_WORKER_RUNTIME", "java");
+        desired.put("WEBSITE_RUN_FROM_PACKAGE", "1");
+        final AppSettingsReconciler reconciler = new AppSettingsReconciler(remote())
+            .set(desired)
+            .set("APPLICATIONINSIGHTS_ENABLE_AGENT", null)
+            .remove(Collections.singleton("NOT_EXISTING"));
+
+        assertFalse(reconciler.isModified());
+        assertEquals(remote(), reconciler.getResult());
+
+        final WebApp.Update update = Mockito.mock(WebApp.Update.class);
+        reconciler.applyTo(update);
+        Mockito.verifyNoInteractions(update);
+    }
+
+    @Test
+    public void testChanges() {
+        final AppSettingsReconciler reconciler = new AppSettingsReconciler(remote())
+            .set("FUNCTIONS_WORKER_RUNTIME", "java")
+            .set("JAVA_OPTS", "-Xmx512m")
+            .set("FUNCTIONS_EXTENSION_VERSION", "~4")
+            .set("TO_BE_REMOVED", "kept")
+            .remove(Arrays.asList("WEBSITE_RUN_FROM_PACKAGE", "FUNCTIONS_EXTENSION_VERSION"));
+
+        assertTrue(reconciler.isModified());
+        final Map<String, String> expectedUpdates = Collections.singletonMap("JAVA_OPTS", "-Xmx512m");
+        assertEquals(expectedUpdates, reconciler.getSettingsToUpdate());
+        assertEquals(Collections.singleton("WEBSITE_RUN_FROM_PACKAGE"), reconciler.getSettingsToRemove());
+        assertEquals("-Xmx512m", reconciler.getResult().get("JAVA_OPTS"));
+        assertFalse(reconciler.getResult().containsKey("WEBSITE_RUN_FROM_PACKAGE"));
+
+        final WebApp.Update update = Mockito.mock(WebApp.Update.class);
+        reconciler.applyTo(update);
+        Mockito.verify(update).withAppSettings(expectedUpdates);
+        Mockito.verify(update).withoutAppSetting("WEBSITE_RUN_FROM_PACKAGE");
+        Mockito.verifyNoMoreInteractions(update);
+    }
+
+    @Test
+    public void testSetAfterRemove() {
+        final AppSettingsReconciler reconciler = new AppSettingsReconciler(remote())
+            .remove(Collections.singleton("WEBSITE_RUN_FROM_PACKAGE"))
+            .set("WEBSITE_RUN_FROM_PACKAGE", "1");
+
+        assertFalse(reconciler.isModified());
+    }
+
+    @Test
+    public void testNoRemoteSettings() {
+        final AppSettingsReconciler reconciler = new AppSettingsReconciler(null).set("FUNCTIONS_WORKER_RUNTIME", "java");
+
+        assertEquals(Collections.singletonMap("FUNCTIONS_WORKER_RUNTIME", "java"), reconciler.getSettingsToUpdate());
+    }
+
+    private static Map<String, String> remote() {
+        final Map<String, String> result = new HashMap<>();
+        result.put("FUNCTIONS_WORKER_RUNTIME", "java");
+        result.put("WEBSITE_RUN_FROM_PACKAGE", "1");
+        result.put("TO_BE_REMOVED", "kept");
+        return result;
+    }
+}
@@ -19,20 +19,18 @@ import com.azure.identity.TokenCachePersistenceOptions;
 import com.azure.identity.implementation.MsalToken;
 import com.azure.identity.implementation.util.ScopeUtil;
 import com.azure.resourcemanager.resources.ResourceManager;
+import com.azure.resourcemanager.resources.models.Tenant;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAccount;
-import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.cache.CacheEvict;
 import com.microsoft.azure.toolkit.lib.common.cache.Preloader;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
-import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
-import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -95,7 +93,7 @@ public abstract class Account implements IAccount {
 
     void login() {
         this.defaultTokenCredential = this.buildDefaultTokenCredential();
-        this.reloadSubscriptions();
+        this.setSubscriptions(this.loadSubscriptionsAfterLogin());
         this.setupAfterLogin(this.defaultTokenCredential);
         this.config.setType(this.getType());
         this.config.setClient(this.getClientId());
@@ -144,27 +142,71 @@ public abstract class Account implements IAccount {
 
     @AzureOperation(name = "azure/account.reload_subscriptions")
     public List<Subscription> reloadSubscriptions() {
+        this.setSubscriptions(this.loadSubscriptions());
+        return this.getSubscriptions();
+    }
+
+    private synchronized void setSubscriptions(@Nullable List<Subscription> subscriptions) {
         final List<String> selected = Optional.ofNullable(this.subscriptions).orElse(Collections.emptyList())
             .stream().filter(Subscription::isSelected)
             .map(Subscription::getId)
             .collect(Collectors.toList());
-        this.subscriptions = Optional.ofNullable(this.loadSubscriptions()).orElse(Collections.emptyList()).stream()
+        final List<Subscription> sorted = Optional.ofNullable(subscriptions).orElse(Collections.emptyList()).stream()
             .sorted(Comparator.comparing(s -> s.getName().toLowerCase()))
             .collect(Collectors.toList());
-        this.subscriptions.stream()
+        sorted.stream()
             .filter(s -> selected.contains(s.getId().toLowerCase()))
             .forEach(s -> s.setSelected(true));
-        return this.getSubscriptions();
+        this.subscriptions = sorted;
     }
 
+    /**
+     * loads subscriptions right after signing in, the last loaded subscriptions of the account are returned right away if
+     * there are, and revalidated in background.
+     */
     @AzureOperation(name = "azure/account.load_subscriptions")
-    protected List<Subscription> loadSubscriptions() {
+    protected List<Subscription> loadSubscriptionsAfterLogin() {
         final TokenCredential credential = this.defaultTokenCredential;
-        final ResourceManager.Authenticated client = configureAzure().authenticate(credential, new AzureProfile(this.getEnvironment()));
-        return client.tenants().listAsync()
-            .flatMap(t -> this.loadSubscriptions(t.tenantId()))
-            .filter(Utils.distinctByKey(Subscription::getId))
-            .collectList().block();
+        return this.getSubscriptionDiscovery().discover(this.getSubscriptionsSnapshotKey(), subscriptions -> {
+            if (this.defaultTokenCredential == credential) { // skip if signed out or signed in again meanwhile
+                this.setSubscriptions(subscriptions);
+            }
+        });
+    }
+
+    /**
+     * loads subscriptions of all tenants concurrently.
+     */
+    @AzureOperation(name = "azure/account.load_subscriptions")
+    protected List<Subscription> loadSubscriptions() {
+        return this.getSubscriptionDiscovery().refresh(this.getSubscriptionsSnapshotKey());
+    }
+
+    @Nonnull
+    private SubscriptionDiscovery getSubscriptionDiscovery() {
+        final ResourceManager.Authenticated client = configureAzure().authenticate(this.defaultTokenCredential, new AzureProfile(this.getEnvironment()));
+        return new SubscriptionDiscovery(() -> client.tenants().listAsync().map(Tenant::tenantId), this::loadSubscriptions);
+    }
+
+    /**
+     * @return key of the last loaded subscriptions of the signed-in identity, null if the identity is unknown.
+     */
+    @Nullable
+    private String getSubscriptionsSnapshotKey() {
+        try {
+            final String[] scopes = ScopeUtil.resourceToScopes(this.getEnvironment().getManagementEndpoint());
+            final AccessToken token = this.defaultTokenCredential.getToken(new TokenRequestContext().addScopes(scopes)).block();
+            final String identity = token instanceof MsalToken ? Optional.ofNullable(((MsalToken) token).getAccount())
+                .map(com.microsoft.aad.msal4j.IAccount::homeAccountId).orElse(this.getClientId()) : this.getClientId();
+            if (Objects.isNull(token) || StringUtils.isBlank(identity)) {
+                return null;
+            }
+            return String.join("|", String.valueOf(this.getType()), AzureEnvironmentUtils.azureEnvironmentToString(this.getEnvironment()),
+                StringUtils.defaultString(this.config.getTenant()), identity);
+        } catch (final RuntimeException e) {
+            LOGGER.verbose("failed to identify account for subscriptions snapshot", e);
+            return null;
+        }
     }
 
     @Nonnull
@@ -173,13 +215,8 @@ public abstract class Account implements IAccount {
         final TokenCredential credential = this.getTenantTokenCredential(tenantId);
         final AzureProfile profile = new AzureProfile(tenantId, null, this.getEnvironment());
         final ResourceManager.Authenticated client = configureAzure().authenticate(credential, profile);
-        return client.subscriptions().listAsync().onErrorResume(ex -> {
-                AzureMessager.getMessager().warning(AzureString.format(
-                    "Failed to get subscriptions for tenant %s, please confirm you have sufficient permissions." +
-                        " Use %s to explicitly login to a tenant if it requires Multi-Factor Authentication (MFA)." +
-                        " Message: %s", tenantId, "-Dauth.tenant=TENANT_ID", ex.getMessage()));
-                return Flux.fromIterable(new ArrayList<>());
-        }).map(Subscription::new);
+        // failures are reported by the discovery
+        return client.subscriptions().listAsync().map(Subscription::new);
     }
 
     @Nonnull
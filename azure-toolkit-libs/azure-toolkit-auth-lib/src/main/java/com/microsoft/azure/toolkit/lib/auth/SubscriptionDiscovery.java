@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.auth;
+
+import com.azure.core.exception.ClientAuthenticationException;
+import com.azure.core.exception.HttpResponseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.model.Subscription;
+import com.microsoft.azure.toolkit.lib.common.operation.Operation;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
+import com.microsoft.azure.toolkit.lib.common.utils.Utils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter.OPERATION_NAME;
+import static com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter.OP_NAME;
+import static com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter.OP_TYPE;
+import static com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter.SERVICE_NAME;
+
+/**
+ * Discovers subscriptions of all tenants of an account, loading at most {@code concurrency} tenants at the same time.
+ * A tenant that doesn't answer within {@code tenantTimeout} is skipped without stalling the others. Complete results are
+ * saved as a snapshot in {@code ~/.azure/azure-toolkit-subscriptions}, the first discovery after signing in returns the
+ * snapshot of the account right away and revalidates it in background, explicit refreshes always load all tenants.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SubscriptionDiscovery {
+    private static final int FORMAT_VERSION = 1;
+    private static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(7);
+    private static final Path SNAPSHOT_DIR = Paths.get(System.getProperty("user.home"), ".azure", "azure-toolkit-subscriptions");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> REVALIDATING = ConcurrentHashMap.newKeySet();
+
+    @Nonnull
+    private final Supplier<Flux<String>> tenants;
+    /**
+     * subscriptions of the given tenant, failing if they can't be listed.
+     */
+    @Nonnull
+    private final Function<String, Flux<Subscription>> tenantSubscriptions;
+    @Getter
+    @Setter
+    private int concurrency = 8;
+    @Getter
+    @Setter
+    private Duration tenantTimeout = Duration.ofSeconds(15);
+    @Setter(AccessLevel.PACKAGE)
+    private Path snapshotDir = SNAPSHOT_DIR;
+    @Setter(AccessLevel.PACKAGE)
+    private Scheduler scheduler = Schedulers.boundedElastic();
+    @Setter(AccessLevel.PACKAGE)
+    private Consumer<Map<String, String>> telemetry = properties -> AzureTelemeter.log(AzureTelemetry.Type.INFO, properties);
+
+    /**
+     * returns the snapshot of the account if there is one, and revalidates it in background. Otherwise, the
+     * subscriptions are loaded.
+     *
+     * @param snapshotKey    identifies the account (e.g. cloud, auth type and user) whose snapshot is used, no snapshot is
+     *                       read or written if null.
+     * @param onRevalidated  called with the fresh subscriptions if they differ from the returned snapshot.
+     */
+    @Nonnull
+    public List<Subscription> discover(@Nullable String snapshotKey, @Nonnull Consumer<List<Subscription>> onRevalidated) {
+        final Path file = this.getSnapshotFile(snapshotKey);
+        final List<Subscription> snapshot = Objects.isNull(file) ? null : readSnapshot(file);
+        if (Objects.isNull(snapshot)) {
+            return this.refresh(snapshotKey);
+        }
+        if (REVALIDATING.add(file.toString())) {
+            Mono.fromCallable(this::load)
+                .subscribeOn(this.scheduler)
+                .doFinally(s -> REVALIDATING.remove(file.toString()))
+                .subscribe(result -> {
+                    // a partial result would drop the subscriptions of the skipped tenants
+                    if (result.complete) {
+                        writeSnapshot(file, result.subscriptions);
+                        if (!toKeys(result.subscriptions).equals(toKeys(snapshot))) {
+                            onRevalidated.accept(result.subscriptions);
+                        }
+                    }
+                }, e -> log.debug("failed to revalidate subscriptions snapshot", e));
+        }
+        return snapshot;
+    }
+
+    /**
+     * loads the subscriptions of all tenants without looking at the snapshot, the snapshot is updated if no tenant was
+     * skipped.
+     */
+    @Nonnull
+    public List<Subscription> refresh(@Nullable String snapshotKey) {
+        final Path file = this.getSnapshotFile(snapshotKey);
+        final Result result = this.load();
+        if (Objects.nonNull(file) && result.complete) {
+            writeSnapshot(file, result.subscriptions);
+        }
+        return result.subscriptions;
+    }
+
+    @Nullable
+    private Path getSnapshotFile(@Nullable String snapshotKey) {
+        return Objects.isNull(snapshotKey) ? null : this.snapshotDir.resolve(sha256(snapshotKey) + ".json");
+    }
+
+    @Nonnull
+    private Result load() {
+        final AtomicBoolean complete = new AtomicBoolean(true);
+        final List<Subscription> subscriptions = this.tenants.get()
+            .flatMap(tenantId -> this.loadTenant(tenantId, complete), Math.max(1, this.concurrency))
+            .filter(Utils.distinctByKey(Subscription::getId))
+            .collectList().blockOptional().orElseGet(Collections::emptyList);
+        return new Result(subscriptions, complete.get());
+    }
+
+    /**
+     * @param complete set to false if the tenant times out or fails for other reasons than being denied access, which
+     *                 would fail again (e.g. MFA is required).
+     */
+    @Nonnull
+    private Flux<Subscription> loadTenant(@Nonnull String tenantId, @Nonnull AtomicBoolean complete) {
+        final long start = System.currentTimeMillis();
+        return Flux.defer(() -> this.tenantSubscriptions.apply(tenantId))
+            .collectList()
+            .timeout(this.tenantTimeout)
+            .doOnNext(subscriptions -> this.telemeter(tenantId, start, "success", subscriptions.size()))
+            .onErrorResume(TimeoutException.class, e -> {
+                complete.set(false);
+                this.telemeter(tenantId, start, "timeout", 0);
+                AzureMessager.getMessager().warning(AzureString.format("Loading subscriptions of tenant %s timed out after %s seconds, skipped." +
+                    " Use %s to explicitly login to the tenant if its subscriptions are required.", tenantId, this.tenantTimeout.getSeconds(), "-Dauth.tenant=TENANT_ID"));
+                return Mono.empty();
+            })
+            .onErrorResume(e -> {
+                if (!isAccessDenied(e)) {
+                    complete.set(false);
+                }
+                this.telemeter(tenantId, start, "error", 0);
+                AzureMessager.getMessager().warning(AzureString.format(
+                    "Failed to get subscriptions for tenant %s, please confirm you have sufficient permissions." +
+                        " Use %s to explicitly login to a tenant if it requires Multi-Factor Authentication (MFA)." +
+                        " Message: %s", tenantId, "-Dauth.tenant=TENANT_ID", e.getMessage()));
+                return Mono.empty();
+            })
+            .flatMapMany(Flux::fromIterable);
+    }
+
+    private static boolean isAccessDenied(@Nonnull Throwable e) {
+        final Throwable cause = Exceptions.unwrap(e);
+        if (cause instanceof HttpResponseException && Objects.nonNull(((HttpResponseException) cause).getResponse())) {
+            final int status = ((HttpResponseException) cause).getResponse().getStatusCode();
+            return status == 401 || status == 403;
+        }
+        return cause instanceof ClientAuthenticationException;
+    }
+
+    private void telemeter(@Nonnull String tenantId, long start, @Nonnull String result, int count) {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(SERVICE_NAME, "account");
+        properties.put(OPERATION_NAME, "load_subscriptions.tenant");
+        properties.put(OP_NAME, "account.load_subscriptions.tenant");
+        properties.put(OP_TYPE, Operation.Type.AZURE);
+        properties.put("tenantId", tenantId);
+        properties.put("result", result);
+        properties.put("count", String.valueOf(count));
+        properties.put("duration", String.valueOf(System.currentTimeMillis() - start));
+        this.telemetry.accept(properties);
+    }
+
+    @Nonnull
+    private static Set<String> toKeys(@Nonnull List<Subscription> subscriptions) {
+        return subscriptions.stream().map(s -> String.join("|", s.getId(), s.getName(), s.getTenantId())).collect(Collectors.toSet());
+    }
+
+    @Nullable
+    private static List<Subscription> readSnapshot(@Nonnull Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final Snapshot snapshot = MAPPER.readValue(file.toFile(), Snapshot.class);
+            if (snapshot.formatVersion != FORMAT_VERSION || System.currentTimeMillis() - snapshot.savedAt > SNAPSHOT_MAX_AGE.toMillis() ||
+                Objects.isNull(snapshot.subscriptions) || snapshot.subscriptions.isEmpty()) {
+                return null;
+            }
+            snapshot.subscriptions.forEach(s -> s.setSelected(false));
+            return snapshot.subscriptions;
+        } catch (final IOException | RuntimeException e) {
+            log.debug("ignoring invalid subscriptions snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(@Nonnull Path file, @Nonnull List<Subscription> subscriptions) {
+        try {
+            final Snapshot snapshot = new Snapshot();
+            snapshot.formatVersion = FORMAT_VERSION;
+            snapshot.savedAt = System.currentTimeMillis();
+            snapshot.subscriptions = subscriptions.stream()
+                .map(s -> Subscription.builder().id(s.getId()).name(s.getName()).tenantId(s.getTenantId()).build())
+                .collect(Collectors.toList());
+            Files.createDirectories(file.getParent());
+            final Path temp = Files.createTempFile(file.getParent(), "subscriptions", ".tmp");
+            MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            log.debug("failed to save subscriptions snapshot to {}", file, e);
+        }
+    }
+
+    @Nonnull
+    private static String sha256(@Nonnull String key) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Result {
+        private final List<Subscription> subscriptions;
+        /**
+         * false if some tenants were skipped as they timed out or failed.
+         */
+        private final boolean complete;
+    }
+
+    private static class Snapshot {
+        public int formatVersion;
+        public long savedAt;
+        public List<Subscription> subscriptions;
+    }
+}
@@ -62,6 +62,13 @@ public class AzureCliAccount extends Account {
         return new ArrayList<>(cliSubs);
     }
 
+    @Nonnull
+    @Override
+    protected List<Subscription> loadSubscriptionsAfterLogin() {
+        // subscriptions of azure cli are read locally
+        return this.loadSubscriptions();
+    }
+
     @Override
     protected void setupAfterLogin(TokenCredential defaultTokenCredential) {
         List<Subscription> subscriptions = this.getSubscriptions();
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.auth;
+
+import com.azure.core.exception.ClientAuthenticationException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.model.Subscription;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SubscriptionDiscoveryTest {
+    private static final String KEY = "DEVICE_CODE|AzureCloud||user";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * subscriptions of each tenant, a tenant without entry never answers.
+     */
+    private final Map<String, Flux<Subscription>> tenants = new HashMap<>();
+    private final AtomicInteger tenantLoads = new AtomicInteger();
+    private final List<Map<String, String>> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        AzureMessager.setDefaultMessager(new AzureMessager.DummyMessager());
+        tenants.put("t1", Flux.just(subscription("s1", "t1"), subscription("s2", "t1")));
+        tenants.put("t2", Flux.just(subscription("s3", "t2")));
+    }
+
+    @Test
+    public void testSnapshotAfterLogin() {
+        // the first sign in loads all tenants and saves the snapshot
+        assertEquals(Arrays.asList("s1", "s2", "s3"), ids(discovery().discover(KEY, s -> {
+            throw new AssertionError("not revalidated");
+        })));
+        assertEquals(2, tenantLoads.get());
+
+        // the next sign in gets the snapshot, and the revalidation (run right away here) finds a new subscription
+        tenants.put("t2", Flux.just(subscription("s3", "t2"), subscription("s4", "t2")));
+        final List<List<Subscription>> revalidated = new ArrayList<>();
+        assertEquals(Arrays.asList("s1", "s2", "s3"), ids(discovery().discover(KEY, revalidated::add)));
+        assertEquals(4, tenantLoads.get());
+        assertEquals(1, revalidated.size());
+        assertEquals(Arrays.asList("s1", "s2", "s3", "s4"), ids(revalidated.get(0)));
+        assertEquals(Arrays.asList("s1", "s2", "s3", "s4"), ids(discovery().discover(KEY, s -> {
+        })));
+    }
+
+    @Test
+    public void testRefreshBypassesSnapshot() {
+        discovery().refresh(KEY);
+        tenants.put("t2", Flux.just(subscription("s4", "t2")));
+
+        assertEquals(Arrays.asList("s1", "s2", "s4"), ids(discovery().refresh(KEY)));
+        assertEquals(4, tenantLoads.get());
+        assertEquals(Arrays.asList("s1", "s2", "s4"), ids(discovery().discover(KEY, s -> {
+        })));
+    }
+
+    @Test
+    public void testTimedOutTenantIsNotSaved() {
+        discovery().refresh(KEY);
+        tenants.put("t2", Flux.never());
+
+        // the subscriptions of the skipped tenant are missing, but neither saved nor applied
+        assertEquals(Arrays.asList("s1", "s2"), ids(discovery().refresh(KEY)));
+        final List<List<Subscription>> revalidated = new ArrayList<>();
+        assertEquals(Arrays.asList("s1", "s2", "s3"), ids(discovery().discover(KEY, revalidated::add)));
+        assertTrue(revalidated.isEmpty());
+        assertEquals("timeout", result("t2"));
+        assertEquals(1, snapshots());
+    }
+
+    @Test
+    public void testFailedTenant() {
+        tenants.put("t2", Flux.error(new IllegalStateException("connection reset")));
+
+        assertEquals(Arrays.asList("s1", "s2"), ids(discovery().refresh(KEY)));
+        assertEquals("success", result("t1"));
+        assertEquals("error", result("t2"));
+        // the tenant may answer next time, so the result is not saved
+        assertEquals(0, snapshots());
+
+        // a tenant which requires MFA always fails, the result is complete without it
+        tenants.put("t2", Flux.error(new ClientAuthenticationException("AADSTS50076", null)));
+        discovery().refresh(KEY);
+        assertEquals("error", result("t2"));
+        assertEquals(1, snapshots());
+    }
+
+    @Test
+    public void testNoSnapshotWithoutKey() {
+        discovery().discover(null, s -> {
+        });
+        discovery().discover(null, s -> {
+        });
+        assertEquals(4, tenantLoads.get());
+        assertEquals(0, snapshots());
+    }
+
+    private SubscriptionDiscovery discovery() {
+        final SubscriptionDiscovery discovery = new SubscriptionDiscovery(() -> Flux.just("t1", "t2"), tenantId -> {
+            tenantLoads.incrementAndGet();
+            return tenants.get(tenantId);
+        });
+        discovery.setTenantTimeout(Duration.ofMillis(200));
+        discovery.setSnapshotDir(folder.getRoot().toPath());
+        discovery.setScheduler(Schedulers.immediate());
+        discovery.setTelemetry(events::add);
+        return discovery;
+    }
+
+    private int snapshots() {
+        return Objects.requireNonNull(folder.getRoot().list()).length;
+    }
+
+    private String result(String tenantId) {
+        return events.stream().filter(e -> Objects.equals(e.get("tenantId"), tenantId)).map(e -> e.get("result"))
+            .reduce((first, second) -> second).orElse(null);
+    }
+
+    private static Subscription subscription(String id, String tenantId) {
+        return Subscription.builder().id(id).name(id).tenantId(tenantId).build();
+    }
+
+    private static List<String> ids(List<Subscription> subscriptions) {
+        return subscriptions.stream().map(Subscription::getId).sorted().collect(Collectors.toList());
+    }
+}
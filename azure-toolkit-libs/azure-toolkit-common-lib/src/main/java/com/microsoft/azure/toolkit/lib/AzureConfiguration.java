@@ -47,8 +47,12 @@ public class AzureConfiguration {
     private int pageSize = 99;
     private List<String> documentsLabelFields = new ArrayList<>(DEFAULT_DOCUMENT_LABEL_FIELDS);
     private int monitorQueryRowNumber = 200;
+    private int monitorQueryTimeoutInSeconds = 60;
     private boolean authPersistenceEnabled = true;
     private String eventHubsConsumerGroup = "$Default";
+    private int messageReceivePrefetchCount = 500;
+    private int messageReceiveBufferSize = 1000;
+    private String messageReceiveOverflowPolicy = "DROP_OLDEST";
 
     private String azuritePath;
     private String azuriteWorkspace;
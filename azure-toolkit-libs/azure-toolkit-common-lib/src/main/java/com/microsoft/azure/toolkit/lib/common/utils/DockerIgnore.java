@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher of {@code .dockerignore} rules: glob patterns ({@code *}, {@code ?}, {@code [...]}, {@code **}) relative to the build
+ * context, {@code !} exceptions and "last matching rule wins". The dockerfile ({@code Dockerfile} unless configured
+ * otherwise) and {@code .dockerignore} are never ignored since the build always needs them.
+ */
+public class DockerIgnore implements Predicate<Path> {
+    public static final String FILE_NAME = ".dockerignore";
+    public static final String DEFAULT_DOCKERFILE = "Dockerfile";
+
+    @Nullable
+    private final Path root;
+    private final List<Rule> rules;
+    private final boolean hasExceptions;
+    /**
+     * relative path of the dockerfile, always kept.
+     */
+    private final String dockerfile;
+
+    private DockerIgnore(@Nullable Path root, @Nonnull List<Rule> rules, @Nullable String dockerfile) {
+        this.root = root;
+        this.rules = rules;
+        this.hasExceptions = rules.stream().anyMatch(r -> r.exception);
+        this.dockerfile = normalize(StringUtils.defaultIfBlank(dockerfile, DEFAULT_DOCKERFILE));
+    }
+
+    /**
+     * @return matcher ignoring nothing.
+     */
+    @Nonnull
+    public static DockerIgnore none() {
+        return new DockerIgnore(null, Collections.emptyList(), null);
+    }
+
+    /**
+     * @return rules of {@code .dockerignore} under {@code context}, or a matcher ignoring nothing if absent.
+     */
+    @Nonnull
+    public static DockerIgnore load(@Nonnull Path context) {
+        return load(context, DEFAULT_DOCKERFILE);
+    }
+
+    /**
+     * @param dockerfile path of the dockerfile relative to {@code context}, e.g. {@code docker/app.Dockerfile}, it's
+     *                   never ignored. {@code Dockerfile} if null.
+     * @return rules of {@code .dockerignore} under {@code context}, or a matcher ignoring nothing if absent.
+     */
+    @Nonnull
+    public static DockerIgnore load(@Nonnull Path context, @Nullable String dockerfile) {
+        final Path file = context.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return new DockerIgnore(context, Collections.emptyList(), dockerfile);
+        }
+        try {
+            return parse(context, Files.readAllLines(file, StandardCharsets.UTF_8), dockerfile);
+        } catch (final IOException e) {
+            return new DockerIgnore(context, Collections.emptyList(), dockerfile);
+        }
+    }
+
+    @Nonnull
+    public static DockerIgnore parse(@Nullable Path context, @Nonnull List<String> lines) {
+        return parse(context, lines, DEFAULT_DOCKERFILE);
+    }
+
+    @Nonnull
+    public static DockerIgnore parse(@Nullable Path context, @Nonnull List<String> lines, @Nullable String dockerfile) {
+        final List<Rule> rules = new ArrayList<>();
+        for (final String line : lines) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                continue;
+            }
+            final boolean exception = pattern.startsWith("!");
+            pattern = StringUtils.strip(exception ? pattern.substring(1).trim() : pattern, "/");
+            if (pattern.startsWith("./")) {
+                pattern = pattern.substring(2);
+            }
+            if (!pattern.isEmpty()) {
+                rules.add(new Rule(toRegex(pattern), exception));
+            }
+        }
+        return new DockerIgnore(context, rules, dockerfile);
+    }
+
+    /**
+     * @param path absolute path under the context directory this was loaded from.
+     */
+    @Override
+    public boolean test(@Nonnull Path path) {
+        if (this.rules.isEmpty() || this.root == null || !path.startsWith(this.root) || path.equals(this.root)) {
+            return false;
+        }
+        return this.isIgnored(this.root.relativize(path).toString().replace('\\', '/'));
+    }
+
+    /**
+     * @return true if a whole ignored directory can be skipped, i.e. no exception rule may re-include a descendant.
+     */
+    public boolean canSkipDirectory(@Nonnull Path dir) {
+        if (this.hasExceptions || !this.test(dir)) {
+            return false;
+        }
+        // the dockerfile may live in an ignored directory
+        final String relativePath = this.root.relativize(dir).toString().replace('\\', '/');
+        return !this.dockerfile.startsWith(relativePath + "/");
+    }
+
+    public boolean isIgnored(@Nonnull String relativePath) {
+        if (relativePath.equals(this.dockerfile) || relativePath.equals(FILE_NAME)) {
+            return false;
+        }
+        boolean ignored = false;
+        for (final Rule rule : this.rules) {
+            if (rule.exception == ignored && rule.matches(relativePath)) {
+                ignored = !rule.exception;
+            }
+        }
+        return ignored;
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull String path) {
+        String result = StringUtils.strip(path.trim().replace('\\', '/'), "/");
+        while (result.startsWith("./")) {
+            result = result.substring(2);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static Pattern toRegex(@Nonnull String glob) {
+        final StringBuilder regex = new StringBuilder(glob.length() + 16);
+        final int length = glob.length();
+        int end;
+        for (int i = 0; i < length; i++) {
+            final char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < length && glob.charAt(i + 1) == '*') {
+                    i++;
+                    if (i + 1 < length && glob.charAt(i + 1) == '/') {
+                        i++;
+                        regex.append("(?:.*/)?");
+                    } else {
+                        regex.append(".*");
+                    }
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[' && (end = appendCharClass(glob, i, regex)) > i) {
+                i = end;
+            } else if (c == '\\' && i + 1 < length) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        // a rule matching a directory also matches everything inside it
+        return Pattern.compile(regex.append("(?:/.*)?").toString());
+    }
+
+    /**
+     * appends the character class starting at {@code glob[start]} ({@code '['}) in the syntax of go's
+     * {@code filepath.Match}: {@code [^a-z\]]}, i.e. optionally negated by {@code '^'}, of characters and ranges,
+     * {@code '\'} escapes. like {@code '?'}, it never matches {@code '/'}.
+     *
+     * @return index of the closing {@code ']'}, or {@code start} if unterminated and nothing is appended.
+     */
+    private static int appendCharClass(@Nonnull String glob, int start, @Nonnull StringBuilder regex) {
+        final StringBuilder clazz = new StringBuilder("[");
+        int i = start + 1;
+        if (i < glob.length() && glob.charAt(i) == '^') {
+            clazz.append('^');
+            i++;
+        }
+        boolean empty = true;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == ']' && !empty) {
+                regex.append(clazz.append("&&[^/]]"));
+                return i;
+            }
+            if (c == '\\' && i + 1 < glob.length()) {
+                c = glob.charAt(++i);
+            }
+            clazz.append(String.format("\\x{%x}", (int) c));
+            if (i + 2 < glob.length() && glob.charAt(i + 1) == '-' && glob.charAt(i + 2) != ']') {
+                i += 2;
+                char hi = glob.charAt(i);
+                if (hi == '\\' && i + 1 < glob.length()) {
+                    hi = glob.charAt(++i);
+                }
+                clazz.append('-').append(String.format("\\x{%x}", (int) hi));
+            }
+            empty = false;
+            i++;
+        }
+        return start;
+    }
+
+    @RequiredArgsConstructor
+    private static class Rule {
+        private final Pattern pattern;
+        private final boolean exception;
+
+        boolean matches(@Nonnull String path) {
+            return this.pattern.matcher(path).matches();
+        }
+    }
+}
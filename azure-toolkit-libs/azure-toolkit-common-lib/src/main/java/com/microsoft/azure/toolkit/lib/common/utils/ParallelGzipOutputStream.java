@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * pigz-style gzip writer: input is split into fixed size blocks which are deflated independently on a thread pool
+ * (each primed with the last 32K of its predecessor as preset dictionary, so ratio stays close to single threaded
+ * gzip) and concatenated in order into one gzip member. Non-final blocks end with a sync flush, so the output is a
+ * regular gzip stream readable by any decompressor.
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int level;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final ExecutorService executor;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long totalIn = 0;
+    private byte[] block;
+    private int blockLength = 0;
+    @Nullable
+    private byte[] dictionary;
+    private boolean closed = false;
+
+    public ParallelGzipOutputStream(@Nonnull OutputStream out) throws IOException {
+        this(out, Deflater.DEFAULT_COMPRESSION, DEFAULT_BLOCK_SIZE, Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ParallelGzipOutputStream(@Nonnull OutputStream out, int level, int blockSize, int threads) throws IOException {
+        super(out);
+        if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException(String.format("block size should be no less than %d", DICTIONARY_SIZE));
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = threads * 2;
+        this.block = new byte[blockSize];
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "parallel-gzip-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("stream closed");
+        }
+        this.crc.update(b, off, len);
+        this.totalIn += len;
+        while (len > 0) {
+            final int n = Math.min(len, this.blockSize - this.blockLength);
+            System.arraycopy(b, off, this.block, this.blockLength, n);
+            this.blockLength += n;
+            off += n;
+            len -= n;
+            if (this.blockLength == this.blockSize) {
+                this.submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * only flushes blocks that are already compressed, flushing a partial block would hurt the ratio.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.drain(false);
+        this.out.flush();
+    }
+
+    /**
+     * writes the final block and gzip trailer without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.submitBlock(true);
+            this.drain(true);
+            writeInt((int) this.crc.getValue());
+            writeInt((int) this.totalIn);
+        } finally {
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.finish();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        final byte[] input = this.block;
+        final int length = this.blockLength;
+        final byte[] dict = this.dictionary;
+        if (!last) { // non-final blocks are always full, so they are never shorter than the dictionary.
+            this.dictionary = Arrays.copyOfRange(input, length - DICTIONARY_SIZE, length);
+        }
+        this.pending.addLast(this.executor.submit(() -> deflate(input, length, dict, last)));
+        this.block = last ? this.block : new byte[this.blockSize];
+        this.blockLength = 0;
+        if (this.pending.size() >= this.maxPendingBlocks) {
+            this.writeBlock(this.pending.removeFirst());
+        }
+    }
+
+    private void drain(boolean all) throws IOException {
+        while (!this.pending.isEmpty() && (all || this.pending.peekFirst().isDone())) {
+            this.writeBlock(this.pending.removeFirst());
+        }
+    }
+
+    private void writeBlock(@Nonnull Future<byte[]> future) throws IOException {
+        try {
+            this.out.write(future.get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while compressing");
+        } catch (final ExecutionException e) {
+            throw new IOException("failed to compress block", e.getCause());
+        }
+    }
+
+    @Nonnull
+    private byte[] deflate(@Nonnull byte[] input, int length, @Nullable byte[] dict, boolean last) {
+        final Deflater deflater = new Deflater(this.level, true);
+        try {
+            if (dict != null) {
+                deflater.setDictionary(dict);
+            }
+            deflater.setInput(input, 0, length);
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+            final byte[] buffer = new byte[Math.max(length / 2, 4096) + 64];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // a sync flush is complete once the output buffer is not filled up.
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        // magic, CM=deflate, FLG=0, MTIME=0, XFL=0, OS=unknown
+        this.out.write(new byte[]{0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff});
+    }
+
+    private void writeInt(int value) throws IOException {
+        this.out.write(value & 0xff);
+        this.out.write((value >> 8) & 0xff);
+        this.out.write((value >> 16) & 0xff);
+        this.out.write((value >> 24) & 0xff);
+    }
+}
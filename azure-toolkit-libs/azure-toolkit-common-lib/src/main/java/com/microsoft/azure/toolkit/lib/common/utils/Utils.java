@@ -16,7 +16,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -73,6 +73,8 @@ public class Utils {
     private static final String CLASS = ".class";
     private static final String SPRING_BOOT_CLASSES = "Spring-Boot-Classes";
     private static final String START_CLASS = "Start-Class";
+    private static final int TAR_BUFFER_SIZE = 64 * 1024;
+    private static final long TAR_PROGRESS_INTERVAL_IN_MILLIS = 500;
     private static final String DEFAULT_SPRING_BOOT_CLASSES = "BOOT-INF/classes/";
     public static final int DEFAULT_TIMEOUT = 10000;
 
@@ -318,6 +320,10 @@ public class Utils {
         return (T) obj;
     }
 
+    /**
+     * tar and gzip (block parallel) the {@code source} directory into a temp file, files matched by {@code ignore} are
+     * excluded.
+     */
     @SneakyThrows(IOException.class)
     public static Path tar(Path source, Predicate<Path> ignore) {
         if (!Files.isDirectory(source)) {
@@ -325,15 +331,43 @@ public class Utils {
         }
         // get folder name as zip file name
         final Path tarFilePath = Paths.get(System.getProperty("java.io.tmpdir")).resolve(String.format("build_archive_%s.tar.gz", UUID.randomUUID()));
-        try (final OutputStream fOut = Files.newOutputStream(tarFilePath);
-             final BufferedOutputStream buffOut = new BufferedOutputStream(fOut);
-             final GzipCompressorOutputStream gzOut = new GzipCompressorOutputStream(buffOut);
-             final TarArchiveOutputStream tOut = new TarArchiveOutputStream(gzOut)) {
+        tar(source, ignore, Files.newOutputStream(tarFilePath));
+        return tarFilePath;
+    }
+
+    /**
+     * tar and gzip (block parallel) the {@code source} directory into {@code target}, which is closed when done. files
+     * matched by {@code ignore} are excluded.
+     */
+    public static void tar(Path source, Predicate<Path> ignore, OutputStream target) {
+        tar(source, ignore, null, target);
+    }
+
+    /**
+     * tar and gzip (block parallel) the {@code source} directory into {@code target}, which is closed when done. files
+     * matched by {@code ignore} are excluded.
+     *
+     * @param dockerfile path of the dockerfile relative to {@code source} if it's the context of a dockerfile build, in
+     *                   which case the {@code .dockerignore} of {@code source} applies too (except to the dockerfile).
+     *                   null for other builds, e.g. buildpacks, which don't read {@code .dockerignore}.
+     */
+    @SneakyThrows(IOException.class)
+    public static void tar(Path source, Predicate<Path> ignore, @Nullable String dockerfile, OutputStream target) {
+        if (!Files.isDirectory(source)) {
+            target.close();
+            throw new IOException("Please provide a directory.");
+        }
+        final DockerIgnore dockerIgnore = Objects.isNull(dockerfile) ? DockerIgnore.none() : DockerIgnore.load(source, dockerfile);
+        final long[] progress = new long[]{0, 0, System.currentTimeMillis()}; // files, bytes, last reported time
+        try (final OutputStream fOut = target;
+             final BufferedOutputStream buffOut = new BufferedOutputStream(fOut, TAR_BUFFER_SIZE);
+             final ParallelGzipOutputStream gzOut = new ParallelGzipOutputStream(buffOut);
+             final TarArchiveOutputStream tOut = new TarArchiveOutputStream(new BufferedOutputStream(gzOut, TAR_BUFFER_SIZE))) {
             tOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
             Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
                 @Override
                 public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                    if (attrs.isSymbolicLink() || ignore.test(dir)) {
+                    if (attrs.isSymbolicLink() || ignore.test(dir) || dockerIgnore.canSkipDirectory(dir)) {
                         return FileVisitResult.SKIP_SUBTREE;
                     }
                     return super.preVisitDirectory(dir, attrs);
@@ -342,7 +376,7 @@ public class Utils {
                 @Override
                 public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
                     // only copy files, no symbolic links
-                    if (attributes.isSymbolicLink() || ignore.test(path)) {
+                    if (attributes.isSymbolicLink() || ignore.test(path) || dockerIgnore.test(path)) {
                         return FileVisitResult.CONTINUE;
                     }
                     // get filename
@@ -352,7 +386,13 @@ public class Utils {
                         tOut.putArchiveEntry(tarEntry);
                         Files.copy(path, tOut);
                         tOut.closeArchiveEntry();
-                        AzureMessager.getMessager().progress(AzureString.format("compressing : %s", path));
+                        progress[0]++;
+                        progress[1] += attributes.size();
+                        final long now = System.currentTimeMillis();
+                        if (now - progress[2] >= TAR_PROGRESS_INTERVAL_IN_MILLIS) {
+                            progress[2] = now;
+                            AzureMessager.getMessager().progress(AzureString.format("compressing : %s files (%s)", progress[0], FileUtils.byteCountToDisplaySize(progress[1])));
+                        }
                     } catch (final IOException e) {
                         AzureMessager.getMessager().warning(AzureString.format("Unable to compress : %s", path));
                     }
@@ -367,6 +407,6 @@ public class Utils {
             });
             tOut.finish();
         }
-        return tarFilePath;
+        AzureMessager.getMessager().progress(AzureString.format("compressed : %s files (%s)", progress[0], FileUtils.byteCountToDisplaySize(progress[1])));
     }
 }
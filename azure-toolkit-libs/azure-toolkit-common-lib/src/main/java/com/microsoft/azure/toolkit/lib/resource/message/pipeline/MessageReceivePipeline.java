@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.resource.message.pipeline;
+
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
+import lombok.Getter;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Receive pipeline shared by event hubs and service bus receivers. SDK callbacks {@link #offer(ReceivedMessage) offer}
+ * messages into a bounded ring buffer (never blocking the receiving thread), a single renderer drains the buffer in
+ * batches at a fixed interval, and {@link ReceiveStatistics} tracks rate, drops and lag.
+ */
+public class MessageReceivePipeline implements AutoCloseable {
+    @Getter
+    private final ReceivePipelineOptions options;
+    @Getter
+    private final ReceiveStatistics statistics;
+    private final Consumer<List<ReceivedMessage>> renderer;
+    private final ReceivedMessage[] buffer;
+    private int head = 0;
+    private int size = 0;
+    private long sampleCounter = 0;
+    private Subscription timer;
+
+    public MessageReceivePipeline(@Nonnull ReceivePipelineOptions options, @Nonnull Consumer<List<ReceivedMessage>> renderer) {
+        this(options, new ReceiveStatistics(), renderer);
+    }
+
+    private MessageReceivePipeline(@Nonnull ReceivePipelineOptions options, @Nonnull ReceiveStatistics statistics,
+                                   @Nonnull Consumer<List<ReceivedMessage>> renderer) {
+        this.options = options;
+        this.statistics = statistics;
+        this.renderer = renderer;
+        this.buffer = new ReceivedMessage[Math.max(1, options.getBufferSize())];
+    }
+
+    /**
+     * create a pipeline rendering received messages through the given messager.
+     */
+    @Nonnull
+    public static MessageReceivePipeline create(@Nonnull ReceivePipelineOptions options, @Nonnull IAzureMessager messager) {
+        final ReceiveStatistics statistics = new ReceiveStatistics();
+        return new MessageReceivePipeline(options, statistics, messagerRenderer(messager, statistics));
+    }
+
+    /**
+     * @return {@code false} if the message is dropped by the overflow policy.
+     */
+    public boolean offer(@Nonnull ReceivedMessage message) {
+        this.statistics.onReceived(message);
+        synchronized (this.buffer) {
+            final int capacity = this.buffer.length;
+            final ReceivePipelineOptions.OverflowPolicy policy = this.options.getOverflowPolicy();
+            if (policy == ReceivePipelineOptions.OverflowPolicy.SAMPLE && this.size >= capacity / 2
+                && (this.sampleCounter++ % Math.max(1, this.options.getSampleRate())) != 0) {
+                this.statistics.onDropped(1);
+                return false;
+            }
+            if (this.size == capacity) {
+                if (policy != ReceivePipelineOptions.OverflowPolicy.DROP_OLDEST) {
+                    this.statistics.onDropped(1);
+                    return false;
+                }
+                this.head = (this.head + 1) % capacity;
+                this.size--;
+                this.statistics.onDropped(1);
+            }
+            this.buffer[(this.head + this.size) % capacity] = message;
+            this.size++;
+            return true;
+        }
+    }
+
+    /**
+     * remove and render at most {@code renderBatchSize} buffered messages.
+     *
+     * @return number of rendered messages.
+     */
+    public int drain() {
+        final List<ReceivedMessage> batch;
+        synchronized (this.buffer) {
+            final int count = Math.min(this.size, Math.max(1, this.options.getRenderBatchSize()));
+            if (count == 0) {
+                return 0;
+            }
+            batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(this.buffer[this.head]);
+                this.buffer[this.head] = null;
+                this.head = (this.head + 1) % this.buffer.length;
+            }
+            this.size -= count;
+        }
+        this.renderer.accept(Collections.unmodifiableList(batch));
+        this.statistics.onRendered(batch.size());
+        return batch.size();
+    }
+
+    public int getBufferedCount() {
+        synchronized (this.buffer) {
+            return this.size;
+        }
+    }
+
+    public synchronized void start() {
+        if (Objects.nonNull(this.timer)) {
+            return;
+        }
+        final long interval = Math.max(10, this.options.getRenderIntervalInMillis());
+        this.timer = Observable.interval(interval, interval, TimeUnit.MILLISECONDS, Schedulers.io())
+            .subscribe(ignore -> this.onTick(), e -> this.timer = null);
+    }
+
+    private void onTick() {
+        this.statistics.tick();
+        this.drain();
+    }
+
+    /**
+     * stop the renderer and flush what is left in the buffer.
+     */
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(this.timer)) {
+            this.timer.unsubscribe();
+            this.timer = null;
+        }
+        //noinspection StatementWithEmptyBody
+        while (this.drain() > 0) {
+        }
+    }
+
+    /**
+     * renderer printing a batch through the given messager: one summary line with live counters, then the bodies.
+     */
+    @Nonnull
+    public static Consumer<List<ReceivedMessage>> messagerRenderer(@Nonnull IAzureMessager messager, @Nonnull ReceiveStatistics statistics) {
+        return batch -> {
+            messager.info(AzureString.format("%s message(s) received (%s):\n", batch.size(), statistics));
+            final StringBuilder sb = new StringBuilder();
+            batch.forEach(m -> sb.append(String.format("[%s] \"%s\"\n", m.getPartition(), m.getBody())));
+            messager.debug(AzureString.fromString(sb.toString()));
+        };
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.resource.message.pipeline;
+
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.commons.lang3.EnumUtils;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+
+@Getter
+@Builder
+public class ReceivePipelineOptions {
+    /**
+     * number of messages the underlying SDK client prefetches from the service.
+     */
+    @Builder.Default
+    private final int prefetchCount = 500;
+    /**
+     * number of concurrent message handler calls (service bus processor only).
+     */
+    @Builder.Default
+    private final int maxConcurrentCalls = 1;
+    /**
+     * capacity of the ring buffer between the receivers and the renderer.
+     */
+    @Builder.Default
+    private final int bufferSize = 1000;
+    @Builder.Default
+    private final OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    /**
+     * with {@link OverflowPolicy#SAMPLE}, keep one of every {@code sampleRate} messages once the buffer is half full.
+     */
+    @Builder.Default
+    private final int sampleRate = 10;
+    /**
+     * max number of messages rendered in one batch.
+     */
+    @Builder.Default
+    private final int renderBatchSize = 100;
+    @Builder.Default
+    private final long renderIntervalInMillis = 500;
+
+    public enum OverflowPolicy {
+        /**
+         * overwrite the oldest buffered message when the buffer is full.
+         */
+        DROP_OLDEST,
+        /**
+         * discard incoming messages when the buffer is full.
+         */
+        DROP_NEWEST,
+        /**
+         * sample incoming messages when the buffer is more than half full, discard them when it's full.
+         */
+        SAMPLE
+    }
+
+    @Nonnull
+    public static ReceivePipelineOptions fromConfig(@Nonnull AzureConfiguration config) {
+        final OverflowPolicy policy = Optional.ofNullable(config.getMessageReceiveOverflowPolicy())
+            .map(p -> EnumUtils.getEnumIgnoreCase(OverflowPolicy.class, p))
+            .orElse(OverflowPolicy.DROP_OLDEST);
+        return ReceivePipelineOptions.builder()
+            .prefetchCount(Math.max(0, config.getMessageReceivePrefetchCount()))
+            .bufferSize(Math.max(1, config.getMessageReceiveBufferSize()))
+            .overflowPolicy(policy)
+            .build();
+    }
+}
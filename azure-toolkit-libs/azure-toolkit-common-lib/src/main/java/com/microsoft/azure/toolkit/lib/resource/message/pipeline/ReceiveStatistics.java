@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.resource.message.pipeline;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * live counters of a {@link MessageReceivePipeline}: totals, receive rate (msgs/sec) and lag per partition.
+ */
+public class ReceiveStatistics {
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+    private final Map<String, PartitionState> partitions = new ConcurrentHashMap<>();
+
+    private long lastTickNanos = System.nanoTime();
+    private long lastTickReceived = 0;
+    private volatile double receiveRate = 0;
+
+    void onReceived(@Nonnull ReceivedMessage message) {
+        this.received.increment();
+        final PartitionState state = this.partitions.computeIfAbsent(message.getPartition(), k -> new PartitionState());
+        state.received.increment();
+        if (Objects.nonNull(message.getSequenceNumber())) {
+            state.lastSequenceNumber.accumulateAndGet(message.getSequenceNumber(), Math::max);
+        }
+        if (Objects.nonNull(message.getLastEnqueuedSequenceNumber())) {
+            state.lastEnqueuedSequenceNumber.accumulateAndGet(message.getLastEnqueuedSequenceNumber(), Math::max);
+        }
+    }
+
+    void onDropped(int count) {
+        this.dropped.add(count);
+    }
+
+    void onRendered(int count) {
+        this.rendered.add(count);
+    }
+
+    /**
+     * recompute the receive rate from the messages received since the last tick.
+     */
+    synchronized void tick() {
+        final long now = System.nanoTime();
+        final long total = this.received.sum();
+        final long elapsed = now - this.lastTickNanos;
+        if (elapsed > 0) {
+            this.receiveRate = (total - this.lastTickReceived) * 1_000_000_000d / elapsed;
+        }
+        this.lastTickNanos = now;
+        this.lastTickReceived = total;
+    }
+
+    public long getReceived() {
+        return this.received.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public long getRendered() {
+        return this.rendered.sum();
+    }
+
+    /**
+     * @return messages received per second, measured between the last two ticks.
+     */
+    public double getReceiveRate() {
+        return this.receiveRate;
+    }
+
+    /**
+     * @return number of events enqueued in the partition but not yet received, or {@code null} if unknown.
+     */
+    @Nullable
+    public Long getLag(@Nonnull String partition) {
+        final PartitionState state = this.partitions.get(partition);
+        if (Objects.isNull(state) || state.lastEnqueuedSequenceNumber.get() < 0 || state.lastSequenceNumber.get() < 0) {
+            return null;
+        }
+        return Math.max(0, state.lastEnqueuedSequenceNumber.get() - state.lastSequenceNumber.get());
+    }
+
+    @Nonnull
+    public Map<String, Long> getLags() {
+        final Map<String, Long> result = new TreeMap<>();
+        this.partitions.keySet().forEach(p -> {
+            final Long lag = getLag(p);
+            if (Objects.nonNull(lag)) {
+                result.put(p, lag);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder()
+            .append(String.format("%.1f msgs/sec, received: %d, dropped: %d", getReceiveRate(), getReceived(), getDropped()));
+        final Map<String, Long> lags = getLags();
+        if (!lags.isEmpty()) {
+            sb.append(", lag: ").append(lags);
+        }
+        return sb.toString();
+    }
+
+    private static class PartitionState {
+        private final LongAdder received = new LongAdder();
+        private final AtomicLong lastSequenceNumber = new AtomicLong(-1);
+        private final AtomicLong lastEnqueuedSequenceNumber = new AtomicLong(-1);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.resource.message.pipeline;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+@Getter
+@RequiredArgsConstructor
+public class ReceivedMessage {
+    /**
+     * partition id for event hubs, entity/session name for service bus.
+     */
+    @Nonnull
+    private final String partition;
+    @Nullable
+    private final Long sequenceNumber;
+    /**
+     * sequence number of the last event enqueued in the partition when this message was received, used to compute lag.
+     */
+    @Nullable
+    private final Long lastEnqueuedSequenceNumber;
+    @Nonnull
+    private final String body;
+
+    public ReceivedMessage(@Nonnull String partition, @Nullable Long sequenceNumber, @Nonnull String body) {
+        this(partition, sequenceNumber, null, body);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+public class DockerIgnoreTest {
+    private static final Path ROOT = Paths.get("context").toAbsolutePath();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        AzureMessager.setDefaultMessager(new AzureMessager.DummyMessager());
+    }
+
+    @Test
+    public void testRules() {
+        final DockerIgnore ignore = DockerIgnore.parse(ROOT, Arrays.asList("# comment", "*.md", "!README.md", "target/", "**/*.tmp"));
+        Assert.assertTrue(ignore.isIgnored("CHANGELOG.md"));
+        Assert.assertFalse(ignore.isIgnored("README.md"));
+        Assert.assertTrue(ignore.isIgnored("target/app.jar"));
+        Assert.assertTrue(ignore.isIgnored("src/main/a.tmp"));
+        Assert.assertFalse(ignore.isIgnored("src/main/App.java"));
+        Assert.assertFalse(ignore.canSkipDirectory(ROOT.resolve("target")));
+    }
+
+    @Test
+    public void testDefaultDockerfileIsKept() {
+        final DockerIgnore ignore = DockerIgnore.parse(ROOT, Arrays.asList("*", ".dockerignore"));
+        Assert.assertFalse(ignore.isIgnored("Dockerfile"));
+        Assert.assertFalse(ignore.isIgnored(DockerIgnore.FILE_NAME));
+        Assert.assertTrue(ignore.isIgnored("app.Dockerfile"));
+    }
+
+    @Test
+    public void testConfiguredDockerfileIsKept() {
+        final DockerIgnore ignore = DockerIgnore.parse(ROOT, Arrays.asList("docker", "Dockerfile"), "./docker/app.Dockerfile");
+        Assert.assertFalse(ignore.isIgnored("docker/app.Dockerfile"));
+        Assert.assertTrue(ignore.isIgnored("docker/other.Dockerfile"));
+        Assert.assertTrue(ignore.isIgnored("Dockerfile"));
+        Assert.assertFalse(ignore.test(ROOT.resolve("docker").resolve("app.Dockerfile")));
+        // the directory holding the dockerfile must be walked
+        Assert.assertFalse(ignore.canSkipDirectory(ROOT.resolve("docker")));
+        Assert.assertTrue(DockerIgnore.parse(ROOT, Arrays.asList("docker", "build")).canSkipDirectory(ROOT.resolve("build")));
+    }
+
+    @Test
+    public void testCharacterClasses() {
+        final DockerIgnore ignore = DockerIgnore.parse(ROOT, Arrays.asList("log[0-9].txt", "[^a-c]*.bak", "x[\\]-]y", "y[/]z", "[unterminated"));
+        Assert.assertTrue(ignore.isIgnored("log1.txt"));
+        Assert.assertFalse(ignore.isIgnored("logA.txt"));
+        Assert.assertFalse(ignore.isIgnored("log10.txt"));
+        Assert.assertTrue(ignore.isIgnored("d.bak"));
+        Assert.assertFalse(ignore.isIgnored("b.bak"));
+        Assert.assertTrue(ignore.isIgnored("x]y"));
+        Assert.assertTrue(ignore.isIgnored("x-y"));
+        Assert.assertFalse(ignore.isIgnored("xay"));
+        // like '?', a class never matches the separator
+        Assert.assertFalse(ignore.isIgnored("y/z"));
+        Assert.assertTrue(ignore.isIgnored("[unterminated"));
+    }
+
+    @Test
+    public void testTarAppliesDockerIgnoreOnlyToDockerfileBuilds() throws IOException {
+        final Path context = folder.newFolder("context").toPath();
+        Files.write(context.resolve(DockerIgnore.FILE_NAME), "*.log".getBytes(StandardCharsets.UTF_8));
+        Files.write(context.resolve("app.log"), new byte[1]);
+        Files.write(context.resolve("app.jar"), new byte[1]);
+
+        final ByteArrayOutputStream dockerfileBuild = new ByteArrayOutputStream();
+        Utils.tar(context, p -> false, DockerIgnore.DEFAULT_DOCKERFILE, dockerfileBuild);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(DockerIgnore.FILE_NAME, "app.jar")), entries(dockerfileBuild));
+
+        // e.g. buildpacks, which don't read .dockerignore
+        final ByteArrayOutputStream sourceBuild = new ByteArrayOutputStream();
+        Utils.tar(context, p -> false, sourceBuild);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(DockerIgnore.FILE_NAME, "app.jar", "app.log")), entries(sourceBuild));
+    }
+
+    private static Set<String> entries(ByteArrayOutputStream tarGz) throws IOException {
+        final Set<String> names = new HashSet<>();
+        try (TarArchiveInputStream in = new TarArchiveInputStream(new GZIPInputStream(new ByteArrayInputStream(tarGz.toByteArray())))) {
+            for (TarArchiveEntry entry = in.getNextTarEntry(); entry != null; entry = in.getNextTarEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
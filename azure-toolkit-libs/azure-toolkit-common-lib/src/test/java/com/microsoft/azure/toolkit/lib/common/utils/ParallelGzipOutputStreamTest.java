@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGzipOutputStreamTest {
+
+    private static byte[] synthesize(int size) {
+        final Random random = new Random(size);
+        final byte[] text = "the quick brown fox jumps over the lazy dog ".getBytes();
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = random.nextInt(10) == 0 ? (byte) random.nextInt(256) : text[i % text.length];
+        }
+        return data;
+    }
+
+    private static byte[] roundTrip(byte[] data, int chunk) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, Deflater.DEFAULT_COMPRESSION, 64 * 1024, 4)) {
+            for (int off = 0; off < data.length; off += chunk) {
+                out.write(data, off, Math.min(chunk, data.length - off));
+            }
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    @Test
+    public void decompressesToOriginal() throws IOException {
+        for (final int size : new int[]{0, 1, 64 * 1024, 64 * 1024 + 1, 3 * 1024 * 1024 + 17}) {
+            final byte[] data = synthesize(size);
+            Assert.assertArrayEquals("size " + size, data, roundTrip(data, 7919));
+        }
+    }
+
+    @Test
+    public void singleByteWrites() throws IOException {
+        final byte[] data = synthesize(100 * 1024);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, Deflater.BEST_SPEED, 32 * 1024, 2)) {
+            for (final byte b : data) {
+                out.write(b);
+            }
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertTrue(Arrays.equals(data, IOUtils.toByteArray(in)));
+        }
+    }
+}
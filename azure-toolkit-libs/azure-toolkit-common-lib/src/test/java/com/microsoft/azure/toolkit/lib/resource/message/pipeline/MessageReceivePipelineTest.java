@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.resource.message.pipeline;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class MessageReceivePipelineTest {
+
+    private static List<ReceivedMessage> synthesize(String partition, int count, long lastEnqueued) {
+        final List<ReceivedMessage> result = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            result.add(new ReceivedMessage(partition, i, lastEnqueued, "message-" + i));
+        }
+        return result;
+    }
+
+    private static ReceivePipelineOptions options(int bufferSize, ReceivePipelineOptions.OverflowPolicy policy) {
+        return ReceivePipelineOptions.builder().bufferSize(bufferSize).overflowPolicy(policy).renderBatchSize(bufferSize).build();
+    }
+
+    @Test
+    public void dropOldestKeepsLatestMessages() {
+        final List<ReceivedMessage> rendered = new ArrayList<>();
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options(10, ReceivePipelineOptions.OverflowPolicy.DROP_OLDEST), rendered::addAll);
+        synthesize("0", 25, 24).forEach(pipeline::offer);
+        Assert.assertEquals(10, pipeline.getBufferedCount());
+        pipeline.close();
+        Assert.assertEquals(10, rendered.size());
+        Assert.assertEquals("message-15", rendered.get(0).getBody());
+        Assert.assertEquals("message-24", rendered.get(9).getBody());
+        Assert.assertEquals(25, pipeline.getStatistics().getReceived());
+        Assert.assertEquals(15, pipeline.getStatistics().getDropped());
+        Assert.assertEquals(10, pipeline.getStatistics().getRendered());
+    }
+
+    @Test
+    public void dropNewestKeepsEarliestMessages() {
+        final List<ReceivedMessage> rendered = new ArrayList<>();
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options(10, ReceivePipelineOptions.OverflowPolicy.DROP_NEWEST), rendered::addAll);
+        synthesize("0", 25, 24).forEach(pipeline::offer);
+        pipeline.close();
+        Assert.assertEquals(10, rendered.size());
+        Assert.assertEquals("message-0", rendered.get(0).getBody());
+        Assert.assertEquals("message-9", rendered.get(9).getBody());
+        Assert.assertEquals(15, pipeline.getStatistics().getDropped());
+    }
+
+    @Test
+    public void sampleThinsOutMessagesWhenBufferIsBusy() {
+        final ReceivePipelineOptions options = ReceivePipelineOptions.builder()
+            .bufferSize(100).overflowPolicy(ReceivePipelineOptions.OverflowPolicy.SAMPLE).sampleRate(10).build();
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options, batch -> {
+        });
+        synthesize("0", 550, 549).forEach(pipeline::offer);
+        // first 50 fill half of the buffer, then 1 of every 10 of the remaining 500 is kept
+        Assert.assertEquals(100, pipeline.getBufferedCount());
+        Assert.assertEquals(450, pipeline.getStatistics().getDropped());
+    }
+
+    @Test
+    public void rendersInBoundedBatches() {
+        final List<Integer> batchSizes = new ArrayList<>();
+        final ReceivePipelineOptions options = ReceivePipelineOptions.builder().bufferSize(1000).renderBatchSize(64).build();
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options, batch -> batchSizes.add(batch.size()));
+        synthesize("0", 200, 199).forEach(pipeline::offer);
+        pipeline.close();
+        Assert.assertEquals("[64, 64, 64, 8]", batchSizes.toString());
+    }
+
+    @Test
+    public void tracksLagPerPartition() {
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options(100, ReceivePipelineOptions.OverflowPolicy.DROP_OLDEST), batch -> {
+        });
+        synthesize("0", 10, 100).forEach(pipeline::offer);
+        synthesize("1", 40, 39).forEach(pipeline::offer);
+        pipeline.offer(new ReceivedMessage("2", 3L, "no lag information"));
+        Assert.assertEquals(Long.valueOf(91), pipeline.getStatistics().getLag("0"));
+        Assert.assertEquals(Long.valueOf(0), pipeline.getStatistics().getLag("1"));
+        Assert.assertNull(pipeline.getStatistics().getLag("2"));
+        Assert.assertEquals(2, pipeline.getStatistics().getLags().size());
+    }
+
+    @Test
+    public void concurrentProducersNeverExceedCapacity() throws InterruptedException {
+        final List<ReceivedMessage> rendered = new ArrayList<>();
+        final MessageReceivePipeline pipeline = new MessageReceivePipeline(options(256, ReceivePipelineOptions.OverflowPolicy.DROP_OLDEST), rendered::addAll);
+        final int partitions = 8;
+        final int perPartition = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        final CountDownLatch done = new CountDownLatch(partitions);
+        final AtomicBoolean overflowed = new AtomicBoolean(false);
+        for (int p = 0; p < partitions; p++) {
+            final List<ReceivedMessage> source = synthesize(String.valueOf(p), perPartition, perPartition - 1);
+            executor.submit(() -> {
+                source.forEach(m -> {
+                    pipeline.offer(m);
+                    if (pipeline.getBufferedCount() > 256) {
+                        overflowed.set(true);
+                    }
+                });
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertFalse(overflowed.get());
+        pipeline.getStatistics().tick();
+        pipeline.close();
+        final long total = (long) partitions * perPartition;
+        Assert.assertEquals(total, pipeline.getStatistics().getReceived());
+        Assert.assertEquals(total, pipeline.getStatistics().getDropped() + pipeline.getStatistics().getRendered());
+        Assert.assertEquals(256, rendered.size());
+        Assert.assertTrue(pipeline.getStatistics().getReceiveRate() > 0);
+    }
+}
@@ -32,6 +32,7 @@ import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.common.utils.DockerIgnore;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.containerapps.environment.ContainerAppsEnvironment;
 import com.microsoft.azure.toolkit.lib.containerapps.environment.ContainerAppsEnvironmentDraft;
@@ -58,19 +59,19 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.containerregistry.ContainerRegistry.ACR_IMAGE_SUFFIX;
 
 public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<ContainerApp, com.azure.resourcemanager.appcontainers.models.ContainerApp> {
+    private static final Set<String> IGNORED_SOURCES = Sets.newHashSet(".git", ".gitignore", ".bzr", "bzrignore", ".hg", ".hgignore", ".svn");
 
     @Getter
     @Nullable
@@ -230,8 +231,9 @@ public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<
             // ACR Task is the only way we have for now to build a Dockerfile using Docker.
             AzureMessager.getMessager().warning("Dockerfile detected. Running the build through ACR.");
             final ContainerRegistry registry = getOrCreateRegistry(imageConfig);
-            tarSourceIfNeeded(buildConfig);
-            final RegistryTaskRun run = registry.buildImage(imageConfig.getAcrImageNameWithTag(), buildConfig.getSource());
+            // directories are compressed and uploaded block by block while being walked, no temp tar file.
+            final RegistryTaskRun run = registry.buildImage(imageConfig.getAcrImageNameWithTag(), buildConfig.getSource(), buildConfig.getDockerfile(),
+                ContainerAppDraft::isIgnoredSource);
             if (Objects.isNull(run)) {
                 throw new AzureToolkitRuntimeException("ACR is not ready, Failed to build image through ACR.");
             }
@@ -255,13 +257,16 @@ public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<
 
     private static void tarSourceIfNeeded(final BuildImageConfig buildConfig) {
         if (Files.isDirectory(buildConfig.source)) {
-            final HashSet<String> ignored = Sets.newHashSet(".git", ".gitignore", ".bzr", "bzrignore", ".hg", ".hgignore", ".svn");
             AzureMessager.getMessager().progress(AzureString.format("Creating tar.gz from %s.", buildConfig.source.getFileName()));
-            final Path sourceTar = Utils.tar(buildConfig.source, (path) -> ignored.contains(path.getFileName().toString()));
+            final Path sourceTar = Utils.tar(buildConfig.source, ContainerAppDraft::isIgnoredSource);
             buildConfig.setSource(sourceTar);
         }
     }
 
+    private static boolean isIgnoredSource(final Path path) {
+        return IGNORED_SOURCES.contains(path.getFileName().toString());
+    }
+
     @Nonnull
     private ContainerRegistry getOrCreateRegistry(final ImageConfig config) {
         ContainerRegistry registry = config.getContainerRegistry();
@@ -482,11 +487,21 @@ public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<
         @Nonnull
         private Path source;
         private Map<String, String> sourceBuildEnv;
+        /**
+         * path of the dockerfile relative to {@link #source}, {@code Dockerfile} if not set.
+         */
+        @Nullable
+        private String dockerfile;
+
+        @Nonnull
+        public String getDockerfile() {
+            return StringUtils.defaultIfBlank(dockerfile, DockerIgnore.DEFAULT_DOCKERFILE);
+        }
 
         public boolean sourceHasDockerFile() {
             return Optional.of(source)
                 .filter(Files::isDirectory)
-                .map(p -> Files.isRegularFile(Paths.get(p.toString(), "Dockerfile"))).orElse(false);
+                .map(p -> Files.isRegularFile(p.resolve(getDockerfile()))).orElse(false);
         }
     }
 
@@ -32,8 +32,12 @@ public class ArtifactModule extends AbstractAzResourceModule<Artifact, Repositor
         if (!this.parent.exists()) {
             return Collections.emptyIterator();
         }
+        // listed manifests are indexed, which drops the indexed tags of the changed artifacts.
+        final TagPropertiesIndex index = this.parent.getTagIndex();
         return Optional.ofNullable(this.parent.getRemote())
-            .map(r -> r.listManifestProperties().streamByPage(getPageSize()).iterator())
+            .map(r -> r.listManifestProperties().streamByPage(getPageSize())
+                .peek(page -> page.getValue().forEach(m -> index.putManifest(this.parent.getName(), m)))
+                .iterator())
             .orElse(Collections.emptyIterator());
     }
 
@@ -44,14 +48,14 @@ public class ArtifactModule extends AbstractAzResourceModule<Artifact, Repositor
             return null;
         }
         final ContainerRepository remote = Objects.requireNonNull(this.parent.getRemote());
-        return remote.listManifestProperties().stream()
-            .filter(p -> p.getDigest().equalsIgnoreCase(name))
-            .findAny().orElse(null);
+        return this.parent.getTagIndex().getManifest(this.parent.getName(), remote.getArtifact(name), name);
     }
 
     @Override
     protected void deleteResourceFromAzure(@Nonnull String resourceId) {
-        Optional.ofNullable(this.get(resourceId)).map(Artifact::getArtifact).ifPresent(RegistryArtifact::delete);
+        final Artifact artifact = this.get(resourceId);
+        Optional.ofNullable(artifact).map(Artifact::getArtifact).ifPresent(RegistryArtifact::delete);
+        Optional.ofNullable(artifact).ifPresent(a -> this.parent.getTagIndex().invalidate(this.parent.getName(), a.getName()));
     }
 
     @Nonnull
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Output stream that uploads what is written to a block blob while it is being produced: data is cut into fixed size
+ * blocks which are staged concurrently ({@link BlockBlobClient#stageBlock}) and committed in write order by
+ * {@link #commit()}. Closing the stream without committing (e.g. because the producer failed half way) leaves the blob
+ * untouched, the service discards uncommitted blocks. At most {@code maxConcurrency} blocks are in flight, writers block when all of them are busy, so
+ * memory stays bounded by {@code (maxConcurrency + 1) * blockSize}.
+ */
+public class BlockBlobOutputStream extends OutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BlockBlobClient client;
+    private final int blockSize;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final List<String> blockIds = new ArrayList<>();
+    private final List<CompletableFuture<Void>> staging = new ArrayList<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private byte[] block;
+    private int blockLength = 0;
+    @Getter
+    private long size = 0;
+    private boolean closed = false;
+    private boolean uploaded = false;
+
+    public BlockBlobOutputStream(@Nonnull BlockBlobClient client) {
+        this(client, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public BlockBlobOutputStream(@Nonnull BlockBlobClient client, int blockSize, int maxConcurrency) {
+        this.client = client;
+        this.blockSize = blockSize;
+        this.permits = new Semaphore(maxConcurrency);
+        this.block = new byte[blockSize];
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, r -> {
+            final Thread thread = new Thread(r, "blob-block-upload-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("stream closed");
+        }
+        while (len > 0) {
+            final int n = Math.min(len, this.blockSize - this.blockLength);
+            System.arraycopy(b, off, this.block, this.blockLength, n);
+            this.blockLength += n;
+            this.size += n;
+            off += n;
+            len -= n;
+            if (this.blockLength == this.blockSize) {
+                this.stageBlock();
+            }
+        }
+    }
+
+    /**
+     * stages the remaining data and waits for all blocks, the blob is not changed until {@link #commit()}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.blockLength > 0 || this.blockIds.isEmpty()) {
+                this.stageBlock();
+            }
+            CompletableFuture.allOf(this.staging.toArray(new CompletableFuture[0])).get();
+            this.uploaded = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while uploading blocks");
+        } catch (final ExecutionException e) {
+            throw new IOException("failed to upload block", e.getCause());
+        } finally {
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * closes the stream if not yet closed and commits all blocks in write order, replacing the content of the blob.
+     */
+    public void commit() throws IOException {
+        this.close();
+        if (!this.uploaded) {
+            throw new IOException("failed to upload blocks, nothing to commit");
+        }
+        this.client.commitBlockList(this.blockIds, true);
+    }
+
+    private void stageBlock() throws IOException {
+        this.checkError();
+        // block ids must be base64 strings of the same length within a blob
+        final String blockId = Base64.getEncoder().encodeToString(String.format("%08d", this.blockIds.size()).getBytes(StandardCharsets.UTF_8));
+        final byte[] data = this.block;
+        final int length = this.blockLength;
+        try {
+            this.permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for block upload");
+        }
+        this.blockIds.add(blockId);
+        this.staging.add(CompletableFuture.runAsync(() -> {
+            try {
+                this.client.stageBlock(blockId, new ByteArrayInputStream(data, 0, length), length);
+            } catch (final RuntimeException e) {
+                this.error.compareAndSet(null, e);
+                throw e;
+            } finally {
+                this.permits.release();
+            }
+        }, this.executor));
+        this.block = new byte[this.blockSize];
+        this.blockLength = 0;
+    }
+
+    private void checkError() throws IOException {
+        final Throwable t = this.error.get();
+        if (t != null) {
+            this.closed = true;
+            this.executor.shutdownNow();
+            throw new IOException("failed to upload block", t);
+        }
+    }
+}
@@ -30,38 +30,53 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.utils.DockerIgnore;
 import com.microsoft.azure.toolkit.lib.common.utils.StreamingLogSupport;
+import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.containerregistry.model.Sku;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, AzureContainerRegistryServiceSubscription, Registry> {
     public static final String ACR_IMAGE_SUFFIX = ".azurecr.io";
     @Getter
     private final RepositoryModule repositoryModule;
+    /**
+     * shared by all repositories, artifacts and tags of this registry.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final TagPropertiesIndex tagIndex;
 
     protected ContainerRegistry(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull AzureContainerRegistryModule module) {
         super(name, resourceGroupName, module);
         this.repositoryModule = new RepositoryModule(this);
+        this.tagIndex = new TagPropertiesIndex();
     }
 
     protected ContainerRegistry(@Nonnull ContainerRegistry registry) {
         super(registry);
         this.repositoryModule = registry.repositoryModule;
+        this.tagIndex = registry.tagIndex;
     }
 
     protected ContainerRegistry(@Nonnull Registry registry, @Nonnull AzureContainerRegistryModule module) {
         super(registry.name(), registry.resourceGroupName(), module);
         this.repositoryModule = new RepositoryModule(this);
+        this.tagIndex = new TagPropertiesIndex();
     }
 
     @Nonnull
@@ -140,17 +155,49 @@ public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, Azu
      */
     @Nullable
     public RegistryTaskRun buildImage(final String imageNameWithTag, final Path sourceTar) {
+        return this.buildImage(imageNameWithTag, sourceTar, path -> false);
+    }
+
+    /**
+     * @param source tar.gz file, or directory which is compressed and uploaded block by block on the fly (no temp file)
+     * @param ignore files/directories to exclude if {@code source} is a directory
+     * @return image build task run, null if registry is not ready
+     */
+    @Nullable
+    public RegistryTaskRun buildImage(final String imageNameWithTag, final Path source, final Predicate<Path> ignore) {
+        return this.buildImage(imageNameWithTag, source, DockerIgnore.DEFAULT_DOCKERFILE, ignore);
+    }
+
+    /**
+     * @param source     tar.gz file, or directory which is compressed and uploaded block by block on the fly (no temp file)
+     * @param dockerfile path of the dockerfile relative to {@code source}, never excluded from the upload
+     * @param ignore     files/directories to exclude if {@code source} is a directory
+     * @return image build task run, null if registry is not ready
+     */
+    @Nullable
+    public RegistryTaskRun buildImage(final String imageNameWithTag, final Path source, @Nonnull final String dockerfile, final Predicate<Path> ignore) {
         return this.remoteOptional().map(r -> {
             // upload tar.gz file
             AzureMessager.getMessager().progress(AzureString.format("Uploading compressed source code to Registry '%s'.", this.getName()));
             final SourceUploadDefinition upload = r.getBuildSourceUploadUrl();
             final BlockBlobClient blobClient = new SpecializedBlobClientBuilder().endpoint(upload.uploadUrl()).buildBlockBlobClient();
-            blobClient.upload(BinaryData.fromFile(sourceTar));
+            if (Files.isDirectory(source)) {
+                final BlockBlobOutputStream blob = new BlockBlobOutputStream(blobClient);
+                // a failed tar leaves the blob uncommitted instead of committing a truncated tarball
+                Utils.tar(source, ignore, dockerfile, blob);
+                try {
+                    blob.commit();
+                } catch (final IOException e) {
+                    throw new AzureToolkitRuntimeException("failed to upload compressed source code", e);
+                }
+            } else {
+                blobClient.upload(BinaryData.fromFile(source));
+            }
 
             AzureMessager.getMessager().progress(AzureString.format("Building image '%s' in Registry '%s'.", imageNameWithTag, this.getName()));
             return r.scheduleRun().withLinux().withDockerTaskRunRequest()
                 .defineDockerTaskStep()
-                .withDockerFilePath("./Dockerfile")
+                .withDockerFilePath("./" + StringUtils.removeStart(dockerfile, "./"))
                 .withImageNames(Collections.singletonList(imageNameWithTag))
                 .withPushEnabled(true)
                 .attach()
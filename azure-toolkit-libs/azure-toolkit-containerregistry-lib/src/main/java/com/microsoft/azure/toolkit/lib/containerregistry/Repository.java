@@ -41,6 +41,11 @@ public class Repository extends AbstractAzResource<Repository, ContainerRegistry
         this.artifactModule = registry.artifactModule;
     }
 
+    @Nonnull
+    TagPropertiesIndex getTagIndex() {
+        return this.getParent().getTagIndex();
+    }
+
     @Nonnull
     @Override
     public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
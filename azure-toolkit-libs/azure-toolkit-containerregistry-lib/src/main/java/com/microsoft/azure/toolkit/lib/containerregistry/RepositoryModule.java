@@ -90,6 +90,7 @@ public class RepositoryModule extends AbstractAzResourceModule<Repository, Conta
         }
         final ContainerRegistryClient client = this.getClient();
         Objects.requireNonNull(client).deleteRepository(repository.getName());
+        this.parent.getTagIndex().invalidate(repository.getName());
     }
 
     @SneakyThrows
@@ -40,8 +40,9 @@ public class TagModule extends AbstractAzResourceModule<Tag, Artifact, ArtifactT
             return Collections.emptyIterator();
         }
         final Repository repository = this.getParent().getParent();
-        final RegistryArtifact image = Objects.requireNonNull(repository.getRemote()).getArtifact(this.getParent().getDigest());
-        return Collections.singletonList(new ItemPage<>(tags.stream().map(image::getTagProperties))).iterator();
+        final String digest = this.getParent().getDigest();
+        final RegistryArtifact image = Objects.requireNonNull(repository.getRemote()).getArtifact(digest);
+        return Collections.singletonList(new ItemPage<>(repository.getTagIndex().getTags(repository.getName(), image, digest, tags))).iterator();
     }
 
     @Nullable
@@ -50,8 +51,10 @@ public class TagModule extends AbstractAzResourceModule<Tag, Artifact, ArtifactT
         if (!this.parent.exists()) {
             return null;
         }
-        final RegistryArtifact artifact = Objects.requireNonNull(this.parent.getParent().getRemote()).getArtifact(this.getParent().getDigest());
-        return artifact.getTagProperties(name);
+        final Repository repository = this.parent.getParent();
+        final String digest = this.getParent().getDigest();
+        final RegistryArtifact artifact = Objects.requireNonNull(repository.getRemote()).getArtifact(digest);
+        return repository.getTagIndex().getTag(repository.getName(), artifact, digest, name);
     }
 
     @Override
@@ -61,6 +64,7 @@ public class TagModule extends AbstractAzResourceModule<Tag, Artifact, ArtifactT
             .map(AbstractAzResource::getParent)
             .map(Artifact::getArtifact)
             .ifPresent(a -> a.deleteTag(tag.getName()));
+        Optional.ofNullable(tag).ifPresent(t -> this.parent.getParent().getTagIndex().invalidate(this.parent.getParent().getName(), this.parent.getDigest()));
     }
 
     @Nonnull
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.containers.containerregistry.RegistryArtifact;
+import com.azure.containers.containerregistry.models.ArtifactManifestProperties;
+import com.azure.containers.containerregistry.models.ArtifactTagProperties;
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Short-lived, per-registry index of artifact manifests and their tag properties, keyed by repository and manifest
+ * digest. Manifests listed by {@link ArtifactModule} are written into the index and single artifact lookups read
+ * through it. Tags of an artifact are loaded with the paged {@link RegistryArtifact#listTagProperties()} (one request
+ * per page) instead of one {@link RegistryArtifact#getTagProperties(String)} per tag and kept until the tags or the
+ * manifest change, the artifact/repository is deleted or the entry expires.
+ */
+@Slf4j
+class TagPropertiesIndex {
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final int FALLBACK_CONCURRENCY = 8;
+
+    private final Cache<String, ArtifactManifestProperties> manifests = Caffeine.newBuilder()
+        .expireAfterWrite(TTL)
+        .maximumSize(10000)
+        .build();
+    private final Cache<String, List<ArtifactTagProperties>> tagsByDigest = Caffeine.newBuilder()
+        .expireAfterWrite(TTL)
+        .maximumSize(1000)
+        .build();
+
+    /**
+     * index a listed manifest, indexed tags of the artifact are dropped if its tags or last update time changed.
+     */
+    public void putManifest(@Nonnull String repository, @Nonnull ArtifactManifestProperties manifest) {
+        final String key = key(repository, manifest.getDigest());
+        final ArtifactManifestProperties old = this.manifests.asMap().put(key, manifest);
+        if (Objects.isNull(old) || !Objects.equals(old.getTags(), manifest.getTags()) || !Objects.equals(old.getLastUpdatedOn(), manifest.getLastUpdatedOn())) {
+            this.tagsByDigest.invalidate(key);
+        }
+    }
+
+    /**
+     * @return manifest of the artifact from the index, otherwise got from the registry (a single request).
+     */
+    @Nullable
+    public ArtifactManifestProperties getManifest(@Nonnull String repository, @Nonnull RegistryArtifact artifact, @Nonnull String digest) {
+        return this.manifests.get(key(repository, digest), k -> {
+            try {
+                return artifact.getManifestProperties();
+            } catch (final ResourceNotFoundException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return properties of all tags of the artifact, in the order returned by the registry.
+     */
+    @Nonnull
+    public List<ArtifactTagProperties> getTags(@Nonnull String repository, @Nonnull RegistryArtifact artifact, @Nonnull String digest, @Nonnull List<String> tagNames) {
+        if (tagNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Objects.requireNonNull(this.tagsByDigest.get(key(repository, digest), k -> load(artifact, tagNames)));
+    }
+
+    /**
+     * @return properties of the tag from the index if its artifact is indexed, otherwise loaded individually.
+     */
+    @Nullable
+    public ArtifactTagProperties getTag(@Nonnull String repository, @Nonnull RegistryArtifact artifact, @Nonnull String digest, @Nonnull String name) {
+        final List<ArtifactTagProperties> tags = this.tagsByDigest.getIfPresent(key(repository, digest));
+        if (Objects.nonNull(tags)) {
+            return tags.stream().filter(t -> t.getName().equals(name)).findFirst().orElse(null);
+        }
+        return artifact.getTagProperties(name);
+    }
+
+    public void invalidate(@Nonnull String repository, @Nonnull String digest) {
+        final String key = key(repository, digest);
+        this.manifests.invalidate(key);
+        this.tagsByDigest.invalidate(key);
+    }
+
+    public void invalidate(@Nonnull String repository) {
+        final String prefix = key(repository, "");
+        this.manifests.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        this.tagsByDigest.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    @Nonnull
+    private static String key(@Nonnull String repository, @Nonnull String digest) {
+        return String.format("%s@%s", repository, digest).toLowerCase();
+    }
+
+    @Nonnull
+    private static List<ArtifactTagProperties> load(@Nonnull RegistryArtifact artifact, @Nonnull List<String> tagNames) {
+        try {
+            final List<ArtifactTagProperties> result = new ArrayList<>(tagNames.size());
+            artifact.listTagProperties().forEach(result::add);
+            return Collections.unmodifiableList(result);
+        } catch (final HttpResponseException e) {
+            log.debug("failed to list tag properties, falling back to per-tag requests", e);
+            return loadConcurrently(artifact, tagNames);
+        }
+    }
+
+    @Nonnull
+    private static List<ArtifactTagProperties> loadConcurrently(@Nonnull RegistryArtifact artifact, @Nonnull List<String> tagNames) {
+        final List<ArtifactTagProperties> result = Flux.fromIterable(tagNames)
+            .flatMapSequential(name -> Mono.fromCallable(() -> artifact.getTagProperties(name)).subscribeOn(Schedulers.boundedElastic()), FALLBACK_CONCURRENCY)
+            .collectList()
+            .block();
+        return Collections.unmodifiableList(Objects.requireNonNull(result));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.azure.storage.blob.specialized.SpecializedBlobClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class BlockBlobOutputStreamTest {
+    private static final Pattern LATEST = Pattern.compile("<Latest>([^<]*)</Latest>");
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private BlockBlobClient client;
+    private final Map<String, byte[]> staged = new ConcurrentHashMap<>();
+    private final List<String> committed = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger commits = new AtomicInteger();
+    private final Random random = new Random(32);
+    private volatile int failingBlock = -1;
+    private volatile byte[] blob;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/account/container/source.tar.gz", this::handle);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.start();
+        client = new SpecializedBlobClientBuilder()
+            .endpoint(String.format("http://127.0.0.1:%d/account/container/source.tar.gz", server.getAddress().getPort()))
+            .buildBlockBlobClient();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCommitInWriteOrder() throws IOException {
+        final byte[] data = new byte[10 * 1024 + 123];
+        random.nextBytes(data);
+        final BlockBlobOutputStream out = new BlockBlobOutputStream(client, 1024, 4);
+        for (int off = 0; off < data.length; ) {
+            final int length = Math.min(data.length - off, 1 + random.nextInt(3000));
+            out.write(data, off, length);
+            off += length;
+        }
+        out.commit();
+
+        Assert.assertEquals(data.length, out.getSize());
+        Assert.assertEquals(11, committed.size());
+        Assert.assertEquals(committed.size(), staged.size());
+        // block ids of a blob must have the same length
+        Assert.assertEquals(1, committed.stream().mapToInt(String::length).distinct().count());
+        Assert.assertArrayEquals(data, blob);
+    }
+
+    @Test
+    public void testEmptyBlob() throws IOException {
+        new BlockBlobOutputStream(client, 1024, 2).commit();
+
+        Assert.assertEquals(1, commits.get());
+        Assert.assertArrayEquals(new byte[0], blob);
+    }
+
+    @Test
+    public void testFailedProducerIsNotCommitted() {
+        try (BlockBlobOutputStream out = new BlockBlobOutputStream(client, 1024, 2)) {
+            out.write(new byte[5000]);
+            throw new IOException("tar failed");
+        } catch (final IOException e) {
+            Assert.assertEquals("tar failed", e.getMessage());
+        }
+
+        Assert.assertFalse(staged.isEmpty());
+        Assert.assertEquals(0, commits.get());
+        Assert.assertNull(blob);
+    }
+
+    @Test
+    public void testFailedBlockIsNotCommitted() throws IOException {
+        failingBlock = 2;
+        final BlockBlobOutputStream out = new BlockBlobOutputStream(client, 1024, 2);
+        try {
+            out.write(new byte[8 * 1024]);
+            out.commit();
+            Assert.fail("upload of block 2 should fail");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("failed to upload block"));
+        }
+        try {
+            out.commit();
+            Assert.fail("nothing should be committed");
+        } catch (final IOException e) {
+            Assert.assertEquals("failed to upload blocks, nothing to commit", e.getMessage());
+        }
+        Assert.assertEquals(0, commits.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final Map<String, String> query = new HashMap<>();
+        for (final String param : exchange.getRequestURI().getRawQuery().split("&")) {
+            final String[] pair = param.split("=", 2);
+            query.put(pair[0], pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+        }
+        final byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+        if ("block".equals(query.get("comp"))) {
+            final String blockId = query.get("blockid");
+            final int index = Integer.parseInt(new String(Base64.getDecoder().decode(blockId), StandardCharsets.UTF_8));
+            if (index == failingBlock) {
+                respond(exchange, 400);
+                return;
+            }
+            // completes blocks out of order
+            sleep(random.nextInt(20));
+            staged.put(blockId, body);
+        } else if ("blocklist".equals(query.get("comp"))) {
+            commits.incrementAndGet();
+            final Matcher matcher = LATEST.matcher(new String(body, StandardCharsets.UTF_8));
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            while (matcher.find()) {
+                committed.add(matcher.group(1));
+                content.write(staged.get(matcher.group(1)));
+            }
+            blob = content.toByteArray();
+        }
+        respond(exchange, 201);
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.containers.containerregistry.ContainerRegistryClientBuilder;
+import com.azure.containers.containerregistry.ContainerRepository;
+import com.azure.containers.containerregistry.RegistryArtifact;
+import com.azure.containers.containerregistry.models.ArtifactManifestProperties;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class TagPropertiesIndexTest {
+    private static final String REPOSITORY = "app";
+    private static final String DIGEST = "sha256:0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String ATTRIBUTES = "{\"deleteEnabled\":true,\"writeEnabled\":true,\"readEnabled\":true,\"listEnabled\":true}";
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private RegistryArtifact artifact;
+    private final AtomicInteger manifestRequests = new AtomicInteger();
+    private final AtomicInteger tagRequests = new AtomicInteger();
+    private volatile List<String> tags = Arrays.asList("v1", "latest");
+
+    /**
+     * fake registry serving the manifest of {@link #DIGEST} tagged with {@link #tags}.
+     */
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/acr/v1/" + REPOSITORY + "/_manifests/", exchange -> {
+            manifestRequests.incrementAndGet();
+            final String tagNames = tags.stream().map(t -> "\"" + t + "\"").collect(Collectors.joining(","));
+            respond(exchange, String.format("{\"registry\":\"registry\",\"imageName\":\"%s\",\"manifest\":{\"digest\":\"%s\",\"imageSize\":10," +
+                "\"createdTime\":\"2024-01-01T00:00:00Z\",\"lastUpdateTime\":\"2024-01-01T00:00:00Z\",\"tags\":[%s],\"changeableAttributes\":%s}}",
+                REPOSITORY, DIGEST, tagNames, ATTRIBUTES));
+        });
+        server.createContext("/acr/v1/" + REPOSITORY + "/_tags", exchange -> {
+            tagRequests.incrementAndGet();
+            final String tagProperties = tags.stream().map(t -> String.format("{\"name\":\"%s\",\"digest\":\"%s\",\"createdTime\":\"2024-01-01T00:00:00Z\"," +
+                "\"lastUpdateTime\":\"2024-01-01T00:00:00Z\",\"signed\":false,\"changeableAttributes\":%s}", t, DIGEST, ATTRIBUTES)).collect(Collectors.joining(","));
+            respond(exchange, String.format("{\"registry\":\"registry\",\"imageName\":\"%s\",\"tags\":[%s]}", REPOSITORY, tagProperties));
+        });
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.start();
+        final ContainerRepository repository = new ContainerRegistryClientBuilder()
+            .endpoint(String.format("http://127.0.0.1:%d", server.getAddress().getPort()))
+            // anonymous access without the credential policy, which requires https
+            .pipeline(new HttpPipelineBuilder().build())
+            .buildClient()
+            .getRepository(REPOSITORY);
+        artifact = repository.getArtifact(DIGEST);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIndexHits() {
+        final TagPropertiesIndex index = new TagPropertiesIndex();
+
+        Assert.assertEquals(tags, index.getManifest(REPOSITORY, artifact, DIGEST).getTags());
+        Assert.assertEquals(tags, index.getManifest(REPOSITORY, artifact, DIGEST).getTags());
+        Assert.assertEquals(1, manifestRequests.get());
+
+        Assert.assertEquals(2, index.getTags(REPOSITORY, artifact, DIGEST, tags).size());
+        Assert.assertEquals(2, index.getTags(REPOSITORY, artifact, DIGEST, tags).size());
+        Assert.assertEquals("latest", index.getTag(REPOSITORY, artifact, DIGEST, "latest").getName());
+        Assert.assertNull(index.getTag(REPOSITORY, artifact, DIGEST, "missing"));
+        Assert.assertEquals(1, tagRequests.get());
+        Assert.assertTrue(index.getTags(REPOSITORY, artifact, DIGEST, Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testListedManifestIsIndexed() {
+        final TagPropertiesIndex index = new TagPropertiesIndex();
+        final ArtifactManifestProperties listed = artifact.getManifestProperties();
+
+        index.putManifest(REPOSITORY, listed);
+
+        Assert.assertSame(listed, index.getManifest(REPOSITORY, artifact, DIGEST));
+        Assert.assertEquals(1, manifestRequests.get());
+    }
+
+    @Test
+    public void testInvalidation() {
+        final TagPropertiesIndex index = new TagPropertiesIndex();
+        index.putManifest(REPOSITORY, artifact.getManifestProperties());
+        index.getTags(REPOSITORY, artifact, DIGEST, tags);
+
+        // relisting an unchanged artifact keeps its tags
+        index.putManifest(REPOSITORY, artifact.getManifestProperties());
+        index.getTags(REPOSITORY, artifact, DIGEST, tags);
+        Assert.assertEquals(1, tagRequests.get());
+
+        // a tag was added since
+        tags = Arrays.asList("v1", "v2", "latest");
+        index.putManifest(REPOSITORY, artifact.getManifestProperties());
+        Assert.assertEquals(3, index.getTags(REPOSITORY, artifact, DIGEST, tags).size());
+        Assert.assertEquals(2, tagRequests.get());
+
+        // e.g. a tag is deleted
+        index.invalidate(REPOSITORY, DIGEST);
+        index.getTags(REPOSITORY, artifact, DIGEST, tags);
+        Assert.assertEquals(3, tagRequests.get());
+        final int manifests = manifestRequests.get();
+        index.getManifest(REPOSITORY, artifact, DIGEST);
+        Assert.assertEquals(manifests + 1, manifestRequests.get());
+
+        // e.g. the repository is deleted
+        index.invalidate(REPOSITORY);
+        index.getManifest(REPOSITORY, artifact, DIGEST);
+        index.getTags(REPOSITORY, artifact, DIGEST, tags);
+        Assert.assertEquals(manifests + 2, manifestRequests.get());
+        Assert.assertEquals(4, tagRequests.get());
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
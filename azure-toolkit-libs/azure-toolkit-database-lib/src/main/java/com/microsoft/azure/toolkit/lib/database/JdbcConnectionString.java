@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, parsed form of a MySQL, PostgreSQL or SQL Server jdbc url, the state behind {@link JdbcUrl}. Instances are
+ * produced by a hand-written single pass parser (no URI/regex, components are only url-decoded when they contain
+ * escapes), interned by the url they are parsed from and carry a precomputed hash code, so that they are cheap to use
+ * as map keys and to compare. Parsed instances keep the url as is, modified copies are formatted from their components.
+ */
+public final class JdbcConnectionString {
+    private static final String JDBC_PREFIX = "jdbc:";
+    private static final Cache<String, JdbcConnectionString> INTERNED = Caffeine.newBuilder().maximumSize(512).build();
+
+    @Getter
+    @Nonnull
+    private final Dialect dialect;
+    @Nonnull
+    private final String host;
+    /**
+     * port specified in the url, {@code -1} if absent.
+     */
+    private final int port;
+    @Nullable
+    private final String database;
+    @Nonnull
+    private final Map<String, String> parameters;
+    @Nonnull
+    private final String canonical;
+    private final int hash;
+
+    private JdbcConnectionString(@Nonnull Dialect dialect, @Nonnull String host, int port, @Nullable String database,
+                                 @Nonnull Map<String, String> parameters, @Nullable String url) {
+        this.dialect = dialect;
+        this.host = host;
+        this.port = port;
+        this.database = database;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.canonical = Objects.nonNull(url) ? url : this.format();
+        this.hash = this.canonical.hashCode();
+    }
+
+    /**
+     * parse the jdbc url, returning the interned instance if the same url has been parsed before.
+     */
+    @Nonnull
+    public static JdbcConnectionString parse(@Nonnull String url) {
+        return Objects.requireNonNull(INTERNED.get(url, JdbcConnectionString::doParse));
+    }
+
+    @Nonnull
+    public String getServerHost() {
+        return decode(this.host);
+    }
+
+    /**
+     * @return port specified in the url or default port of the dialect.
+     */
+    public int getPort() {
+        return this.port >= 0 ? this.port : this.dialect.getDefaultPort();
+    }
+
+    /**
+     * @return the {@code database} parameter of SQL Server urls, the path of others ({@code ""} if absent).
+     */
+    @Nullable
+    public String getDatabase() {
+        if (this.dialect == Dialect.SQLSERVER) {
+            return decode(this.parameters.get("database"));
+        }
+        return Objects.isNull(this.database) ? "" : decode(this.database);
+    }
+
+    @Nullable
+    public String getParameter(@Nonnull String name) {
+        return decode(this.parameters.get(name));
+    }
+
+    /**
+     * @return raw (not decoded) parameters in the order they appear in the url.
+     */
+    @Nonnull
+    public Map<String, String> getParameters() {
+        return this.parameters;
+    }
+
+    @Nonnull
+    public String getDefaultDriverClass() {
+        return this.dialect.getDriverClass();
+    }
+
+    @Nonnull
+    public JdbcConnectionString withServerHost(@Nonnull String host) {
+        return new JdbcConnectionString(this.dialect, host, this.port, this.database, this.parameters, null);
+    }
+
+    @Nonnull
+    public JdbcConnectionString withPort(int port) {
+        return new JdbcConnectionString(this.dialect, this.host, port, this.database, this.parameters, null);
+    }
+
+    /**
+     * @param database decoded database name, it's url-encoded in the url.
+     */
+    @Nonnull
+    public JdbcConnectionString withDatabase(@Nonnull String database) {
+        if (this.dialect == Dialect.SQLSERVER) {
+            return this.withParameter("database", database);
+        }
+        return new JdbcConnectionString(this.dialect, this.host, this.port, encode(database), this.parameters, null);
+    }
+
+    /**
+     * sets the parameter, it's moved to the end if it exists.
+     *
+     * @param value decoded value, it's url-encoded in the url.
+     */
+    @Nonnull
+    public JdbcConnectionString withParameter(@Nonnull String name, @Nonnull String value) {
+        final Map<String, String> parameters = new LinkedHashMap<>(this.parameters);
+        parameters.remove(name);
+        parameters.put(name, encode(value));
+        return new JdbcConnectionString(this.dialect, this.host, this.port, this.database, parameters, null);
+    }
+
+    @Nonnull
+    public JdbcUrl toJdbcUrl() {
+        return JdbcUrl.from(this.canonical);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JdbcConnectionString)) {
+            return false;
+        }
+        final JdbcConnectionString that = (JdbcConnectionString) o;
+        return this.hash == that.hash && this.canonical.equals(that.canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * @return the canonical url, e.g. {@code jdbc:mysql://host:3306/db?k=v} or {@code jdbc:sqlserver://host:1433;k=v}
+     */
+    @Override
+    public String toString() {
+        return this.canonical;
+    }
+
+    /**
+     * @return the canonical url with all escapes decoded, as {@link JdbcUrl#toString()}.
+     */
+    @Nonnull
+    public String toDecodedString() {
+        return Objects.requireNonNull(decode(this.canonical));
+    }
+
+    @Nonnull
+    private String format() {
+        final StringBuilder sb = new StringBuilder(64).append(this.dialect.getPrefix()).append("//").append(this.host);
+        if (this.port >= 0) {
+            sb.append(':').append(this.port);
+        }
+        if (this.dialect == Dialect.SQLSERVER) {
+            this.parameters.forEach((k, v) -> appendParameter(sb.append(';'), k, v));
+            return sb.toString();
+        }
+        if (Objects.nonNull(this.database)) {
+            sb.append('/').append(this.database);
+        }
+        char separator = '?';
+        for (final Map.Entry<String, String> e : this.parameters.entrySet()) {
+            appendParameter(sb.append(separator), e.getKey(), e.getValue());
+            separator = '&';
+        }
+        return sb.toString();
+    }
+
+    private static void appendParameter(@Nonnull StringBuilder sb, @Nonnull String key, @Nullable String value) {
+        sb.append(key);
+        if (Objects.nonNull(value)) {
+            sb.append('=').append(value);
+        }
+    }
+
+    @Nonnull
+    private static JdbcConnectionString doParse(@Nonnull String url) {
+        final Dialect dialect = Dialect.of(url);
+        final int length = url.length();
+        int i = dialect.getPrefix().length();
+        if (!url.startsWith("//", i)) {
+            throw new AzureToolkitRuntimeException(String.format("invalid jdbc url: %s", url));
+        }
+        i += 2;
+        // host, ipv6 literals are enclosed in brackets
+        final int hostStart = i;
+        if (i < length && url.charAt(i) == '[') {
+            i = url.indexOf(']', i);
+            if (i < 0) {
+                throw new AzureToolkitRuntimeException(String.format("invalid jdbc url: %s", url));
+            }
+            i++;
+        }
+        while (i < length && !isHostTerminator(url.charAt(i), dialect)) {
+            i++;
+        }
+        final String host = url.substring(hostStart, i);
+        if (host.isEmpty()) {
+            throw new AzureToolkitRuntimeException(String.format("invalid jdbc url, host is missing: %s", url));
+        }
+        // port
+        int port = -1;
+        if (i < length && url.charAt(i) == ':') {
+            i++;
+            port = 0;
+            final int portStart = i;
+            while (i < length && Character.isDigit(url.charAt(i))) {
+                port = port * 10 + (url.charAt(i++) - '0');
+                if (port > 65535) {
+                    throw new AzureToolkitRuntimeException(String.format("invalid port in jdbc url: %s", url));
+                }
+            }
+            if (i == portStart || (i < length && !isHostTerminator(url.charAt(i), dialect))) {
+                throw new AzureToolkitRuntimeException(String.format("invalid port in jdbc url: %s", url));
+            }
+        }
+        // database (path) of mysql/postgresql
+        String database = null;
+        if (dialect != Dialect.SQLSERVER && i < length && url.charAt(i) == '/') {
+            final int start = ++i;
+            while (i < length && url.charAt(i) != '?') {
+                i++;
+            }
+            database = url.substring(start, i);
+        }
+        // parameters
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        if (i < length) {
+            final char separator = dialect == Dialect.SQLSERVER ? ';' : '&';
+            final char expected = dialect == Dialect.SQLSERVER ? ';' : '?';
+            if (url.charAt(i) != expected) {
+                throw new AzureToolkitRuntimeException(String.format("invalid jdbc url: %s", url));
+            }
+            i++;
+            while (i < length) {
+                final int start = i;
+                int eq = -1;
+                while (i < length && url.charAt(i) != separator) {
+                    if (eq < 0 && url.charAt(i) == '=') {
+                        eq = i;
+                    }
+                    i++;
+                }
+                if (i > start) {
+                    // the first occurrence of a parameter wins, as with the jdbc drivers
+                    if (eq < 0) {
+                        parameters.putIfAbsent(url.substring(start, i), null);
+                    } else {
+                        parameters.putIfAbsent(url.substring(start, eq), url.substring(eq + 1, i));
+                    }
+                }
+                i++;
+            }
+        }
+        return new JdbcConnectionString(dialect, host, port, database, parameters, url);
+    }
+
+    private static boolean isHostTerminator(char c, @Nonnull Dialect dialect) {
+        if (dialect == Dialect.SQLSERVER) {
+            return c == ':' || c == ';';
+        }
+        return c == ':' || c == '/' || c == '?';
+    }
+
+    @Nonnull
+    private static String encode(@Nonnull String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (final UnsupportedEncodingException e) {
+            throw new AzureToolkitRuntimeException(e.getMessage());
+        }
+    }
+
+    @Nullable
+    private static String decode(@Nullable String value) {
+        if (Objects.isNull(value) || (value.indexOf('%') < 0 && value.indexOf('+') < 0)) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (final UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Dialect {
+        MYSQL("jdbc:mysql:", 3306, "com.mysql.cj.jdbc.Driver"),
+        POSTGRESQL("jdbc:postgresql:", 5432, "org.postgresql.Driver"),
+        SQLSERVER("jdbc:sqlserver:", 1433, "com.microsoft.sqlserver.jdbc.SQLServerDriver");
+
+        @Nonnull
+        private final String prefix;
+        private final int defaultPort;
+        @Nonnull
+        private final String driverClass;
+
+        @Nonnull
+        static Dialect of(@Nonnull String url) {
+            if (url.startsWith(JDBC_PREFIX)) {
+                for (final Dialect dialect : values()) {
+                    if (url.startsWith(dialect.prefix)) {
+                        return dialect;
+                    }
+                }
+            }
+            throw new AzureToolkitRuntimeException(String.format("Unsupported jdbc url: %s", url));
+        }
+    }
+}
@@ -8,17 +8,16 @@ package com.microsoft.azure.toolkit.lib.database;
 import com.google.common.base.Preconditions;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.utils.URIBuilder;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
-import java.net.URISyntaxException;
-import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.util.Objects;
 
+/**
+ * Mutable jdbc url of MySQL, PostgreSQL or SQL Server. The url is held as an immutable {@link JdbcConnectionString}
+ * (parsed once and interned by the url string), setters replace it by a modified copy.
+ */
 public abstract class JdbcUrl {
 
     private static final int MYSQL_DEFAULT_PORT = 3306;
@@ -26,17 +25,13 @@ public abstract class JdbcUrl {
     private static final int SQL_SERVER_DEFAULT_PORT = 1433;
 
     @Nonnull
-    protected final URIBuilder uri;
+    private JdbcConnectionString value;
     private String username;
     private String password;
 
     private JdbcUrl(@Nonnull String url) {
         Preconditions.checkArgument(StringUtils.startsWith(url, "jdbc:"), "invalid jdbc url.");
-        try {
-            this.uri = new URIBuilder(url.substring(5));
-        } catch (final URISyntaxException e) {
-            throw new AzureToolkitRuntimeException("invalid jdbc url: %s", url);
-        }
+        this.value = JdbcConnectionString.parse(url);
     }
 
     @Nonnull
@@ -88,21 +83,16 @@ public abstract class JdbcUrl {
     public abstract String getDefaultDriverClass();
 
     public int getPort() {
-        if (this.uri.getPort() >= 0) {
-            return this.uri.getPort();
-        }
-        // default port
-        return getDefaultPort();
+        return this.value.getPort();
     }
 
     public String getServerHost() {
-        return decode(this.uri.getHost());
+        return this.value.getServerHost();
     }
 
     @Nullable
     public String getDatabase() {
-        final String path = this.uri.getPath();
-        return decode(StringUtils.startsWith(path, "/") ? path.substring(1) : path);
+        return this.value.getDatabase();
     }
 
     public String getUsername() {
@@ -115,13 +105,13 @@ public abstract class JdbcUrl {
 
     @Nonnull
     public JdbcUrl setServerHost(String serverHost) {
-        this.uri.setHost(serverHost);
+        this.value = this.value.withServerHost(serverHost);
         return this;
     }
 
     @Nonnull
     public JdbcUrl setDatabase(String database) {
-        this.uri.setPath("/" + database);
+        this.value = this.value.withDatabase(database);
         return this;
     }
 
@@ -139,14 +129,21 @@ public abstract class JdbcUrl {
 
     @Nonnull
     public JdbcUrl setPort(int port) {
-        this.uri.setPort(port);
+        this.value = this.value.withPort(port);
         return this;
     }
 
+    /**
+     * @return immutable, interned snapshot of current url, suitable as map key.
+     */
+    @Nonnull
+    public JdbcConnectionString toConnectionString() {
+        return this.value;
+    }
+
     @Override
     public String toString() {
-        String url = "jdbc:" + uri.toString();
-        return decode(url);
+        return this.value.toDecodedString();
     }
 
     private static String encode(@Nonnull String context) {
@@ -157,14 +154,6 @@ public abstract class JdbcUrl {
         }
     }
 
-    private static String decode(@Nonnull String context) {
-        try {
-            return URLDecoder.decode(context, "UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new AzureToolkitRuntimeException(e.getMessage());
-        }
-    }
-
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) {
@@ -174,12 +163,12 @@ public abstract class JdbcUrl {
             return false;
         }
         final JdbcUrl jdbcUrl = (JdbcUrl) o;
-        return Objects.equals(uri.toString(), jdbcUrl.uri.toString());
+        return this.value.equals(jdbcUrl.value);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(uri.toString());
+        return this.value.hashCode();
     }
 
     private static class MySQLJdbcUrl extends JdbcUrl {
@@ -221,7 +210,7 @@ public abstract class JdbcUrl {
     private static class SQLServerJdbcUrl extends JdbcUrl {
 
         private SQLServerJdbcUrl(String url) {
-            super(StringUtils.replaceOnce(url, ";", "?").replaceAll(";", "&"));
+            super(url);
         }
 
         @Override
@@ -234,26 +223,6 @@ public abstract class JdbcUrl {
         public String getDefaultDriverClass() {
             return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
         }
-
-        @Nonnull
-        @Override
-        public JdbcUrl setDatabase(String database) {
-            this.uri.setParameter("database", database);
-            return this;
-        }
-
-        @Nullable
-        @Override
-        public String getDatabase() {
-            return this.uri.getQueryParams().stream().filter(e -> StringUtils.equals(e.getName(), "database"))
-                .map(NameValuePair::getValue).findFirst().orElse(null);
-        }
-
-        @Override
-        public String toString() {
-            String url = "jdbc:" + StringUtils.replaceOnce(uri.toString(), "?", ";").replaceAll("&", ";");
-            return JdbcUrl.decode(url);
-        }
     }
 
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.database;
+
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class JdbcUrlTest {
+    private static final String[] PREFIXES = {"jdbc:mysql:", "jdbc:postgresql:", "jdbc:sqlserver:"};
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCXYZ0123456789";
+    private static final String[] SPECIALS = {"_", "-", ".", "+", "%20", "%C3%A9"};
+
+    @Test
+    public void testFactories() {
+        final JdbcUrl mysql = JdbcUrl.mysql("server.mysql.database.azure.com", "my db");
+        assertEquals("server.mysql.database.azure.com", mysql.getServerHost());
+        assertEquals(3306, mysql.getPort());
+        assertEquals("my db", mysql.getDatabase());
+        assertEquals("jdbc:mysql://server.mysql.database.azure.com:3306/my db?serverTimezone=UTC&useSSL=true&requireSSL=false", mysql.toString());
+        assertEquals("", JdbcUrl.mysql("server").getDatabase());
+
+        final JdbcUrl sqlserver = JdbcUrl.sqlserver("server.database.windows.net", "db");
+        assertEquals("db", sqlserver.getDatabase());
+        assertEquals("com.microsoft.sqlserver.jdbc.SQLServerDriver", sqlserver.getDefaultDriverClass());
+        assertNull(JdbcUrl.sqlserver("server.database.windows.net").getDatabase());
+        assertEquals("jdbc:sqlserver://server.database.windows.net:1433;encrypt=true;trustServerCertificate=false;loginTimeout=30;database=other",
+            JdbcUrl.sqlserver("server.database.windows.net").setDatabase("other").toString());
+
+        final JdbcUrl postgre = JdbcUrl.postgre("server", "postgres").setPort(5433).setServerHost("other");
+        assertEquals("jdbc:postgresql://other:5433/postgres?ssl=true&sslmode=require", postgre.toString());
+    }
+
+    @Test
+    public void testEquality() {
+        final String url = "jdbc:postgresql://server:5432/db?ssl=true";
+        assertSame(JdbcUrl.from(url).toConnectionString(), JdbcUrl.from(url).toConnectionString());
+        assertEquals(JdbcUrl.from(url), JdbcUrl.from(url));
+        assertEquals(JdbcUrl.from(url).hashCode(), JdbcUrl.from(url).hashCode());
+        assertEquals(JdbcUrl.from(url), JdbcUrl.from("jdbc:postgresql://server:5432/other?ssl=true").setDatabase("db"));
+        assertNotEquals(JdbcUrl.from(url), JdbcUrl.from(url).setPort(5433));
+        assertNotEquals(JdbcUrl.from(url), JdbcUrl.from("jdbc:mysql://server:5432/db?ssl=true"));
+    }
+
+    /**
+     * random urls of the three dialects must be read as by the former implementation, unmodified urls are printed
+     * as before, modified urls are printed so that the former implementation reads them back the same.
+     */
+    @Test
+    public void testRoundTripAgainstFormerImplementation() throws URISyntaxException {
+        final Random random = new Random(20261019L);
+        for (int i = 0; i < 5000; i++) {
+            final String url = randomUrl(random);
+            final JdbcUrl actual = JdbcUrl.from(url);
+            final LegacyJdbcUrl expected = new LegacyJdbcUrl(url);
+            assertSameUrl(url, expected, actual);
+            assertEquals(url, expected.toString(), actual.toString());
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    final String database = randomToken(random, ALPHABET + "_");
+                    expected.setDatabase(database);
+                    actual.setDatabase(database);
+                    break;
+                case 1:
+                    final int port = random.nextInt(65536);
+                    expected.setPort(port);
+                    actual.setPort(port);
+                    break;
+                default:
+                    final String host = randomHost(random);
+                    expected.setServerHost(host);
+                    actual.setServerHost(host);
+                    break;
+            }
+            assertSameUrl(url, expected, actual);
+            final String modified = actual.toConnectionString().toString();
+            assertSameUrl(modified, new LegacyJdbcUrl(modified), actual);
+            assertSameUrl(modified, expected, JdbcUrl.from(modified));
+        }
+    }
+
+    private static void assertSameUrl(String url, LegacyJdbcUrl expected, JdbcUrl actual) {
+        assertEquals(url, expected.getServerHost(), actual.getServerHost());
+        assertEquals(url, expected.getPort(), actual.getPort());
+        assertEquals(url, expected.getDatabase(), actual.getDatabase());
+    }
+
+    private static String randomUrl(Random random) {
+        final String prefix = PREFIXES[random.nextInt(PREFIXES.length)];
+        final boolean sqlserver = prefix.equals("jdbc:sqlserver:");
+        final StringBuilder url = new StringBuilder(prefix).append("//").append(randomHost(random));
+        if (random.nextBoolean()) {
+            url.append(':').append(random.nextInt(65536));
+        }
+        if (!sqlserver && random.nextInt(4) > 0) {
+            url.append('/').append(random.nextInt(5) > 0 ? randomValue(random) : "");
+        }
+        final Set<String> names = new LinkedHashSet<>();
+        final int count = random.nextInt(5);
+        while (names.size() < count) {
+            names.add(random.nextInt(6) == 0 ? "database" : randomToken(random, ALPHABET));
+        }
+        char separator = sqlserver ? ';' : '?';
+        for (final String name : names) {
+            url.append(separator).append(name);
+            if (random.nextInt(8) > 0 || name.equals("database")) {
+                url.append('=').append(randomValue(random));
+            }
+            separator = sqlserver ? ';' : '&';
+        }
+        if (sqlserver && count > 0 && random.nextBoolean()) {
+            url.append(';');
+        }
+        return url.toString();
+    }
+
+    private static String randomHost(Random random) {
+        final StringBuilder host = new StringBuilder();
+        final int labels = 1 + random.nextInt(4);
+        for (int i = 0; i < labels; i++) {
+            if (i > 0) {
+                host.append('.');
+            }
+            host.append((char) ('a' + random.nextInt(26))).append(randomToken(random, ALPHABET.toLowerCase() + "-"));
+            host.append((char) ('a' + random.nextInt(26)));
+        }
+        return host.toString();
+    }
+
+    private static String randomValue(Random random) {
+        final StringBuilder value = new StringBuilder();
+        final int length = 1 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            if (random.nextInt(6) == 0) {
+                value.append(SPECIALS[random.nextInt(SPECIALS.length)]);
+            } else {
+                value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return value.toString();
+    }
+
+    private static String randomToken(Random random, String alphabet) {
+        final StringBuilder token = new StringBuilder();
+        final int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            token.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return token.toString();
+    }
+}
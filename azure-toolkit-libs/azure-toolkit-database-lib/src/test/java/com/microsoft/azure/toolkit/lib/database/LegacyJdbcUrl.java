@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.database;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URIBuilder;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+
+/**
+ * the former {@link URIBuilder} based implementation of {@link JdbcUrl}, reference of the round trip tests.
+ */
+class LegacyJdbcUrl {
+    private final URIBuilder uri;
+    private final boolean sqlserver;
+    private final int defaultPort;
+
+    LegacyJdbcUrl(String url) throws URISyntaxException {
+        this.sqlserver = url.startsWith("jdbc:sqlserver:");
+        this.defaultPort = sqlserver ? 1433 : url.startsWith("jdbc:mysql:") ? 3306 : 5432;
+        final String converted = sqlserver ? StringUtils.replaceOnce(url, ";", "?").replaceAll(";", "&") : url;
+        this.uri = new URIBuilder(converted.substring(5));
+    }
+
+    int getPort() {
+        return this.uri.getPort() >= 0 ? this.uri.getPort() : this.defaultPort;
+    }
+
+    String getServerHost() {
+        return decode(this.uri.getHost());
+    }
+
+    String getDatabase() {
+        if (sqlserver) {
+            return this.uri.getQueryParams().stream().filter(e -> StringUtils.equals(e.getName(), "database"))
+                .map(NameValuePair::getValue).findFirst().orElse(null);
+        }
+        final String path = this.uri.getPath();
+        if (path == null) { // it used to fail with NullPointerException for urls without path
+            return "";
+        }
+        return decode(StringUtils.startsWith(path, "/") ? path.substring(1) : path);
+    }
+
+    LegacyJdbcUrl setServerHost(String serverHost) {
+        this.uri.setHost(serverHost);
+        return this;
+    }
+
+    LegacyJdbcUrl setDatabase(String database) {
+        if (sqlserver) {
+            this.uri.setParameter("database", database);
+        } else {
+            this.uri.setPath("/" + database);
+        }
+        return this;
+    }
+
+    LegacyJdbcUrl setPort(int port) {
+        this.uri.setPort(port);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        final String url = sqlserver ? StringUtils.replaceOnce(uri.toString(), "?", ";").replaceAll("&", ";") : uri.toString();
+        return decode("jdbc:" + url);
+    }
+
+    private static String decode(String context) {
+        try {
+            return URLDecoder.decode(context, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
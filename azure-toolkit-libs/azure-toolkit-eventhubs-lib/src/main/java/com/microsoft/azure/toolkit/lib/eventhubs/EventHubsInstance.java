@@ -6,6 +6,9 @@ package com.microsoft.azure.toolkit.lib.eventhubs;
 
 import com.azure.messaging.eventhubs.*;
 import com.azure.messaging.eventhubs.models.EventPosition;
+import com.azure.messaging.eventhubs.models.LastEnqueuedEventProperties;
+import com.azure.messaging.eventhubs.models.PartitionEvent;
+import com.azure.messaging.eventhubs.models.ReceiveOptions;
 import com.azure.resourcemanager.eventhubs.EventHubsManager;
 import com.azure.resourcemanager.eventhubs.fluent.EventHubManagementClient;
 import com.azure.resourcemanager.eventhubs.fluent.models.EventhubInner;
@@ -24,6 +27,9 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.MessageReceivePipeline;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivePipelineOptions;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivedMessage;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.Disposable;
@@ -41,6 +47,8 @@ public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, Eve
     private EventHubConsumerAsyncClient consumerAsyncClient;
     private final List<Disposable> receivers = new ArrayList<>();
     @Nullable
+    private MessageReceivePipeline pipeline;
+    @Nullable
     private IAzureMessager messager;
     protected EventHubsInstance(@Nonnull String name, @Nonnull EventHubsInstanceModule module) {
         super(name, module);
@@ -81,31 +89,44 @@ public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, Eve
     public synchronized void startReceivingMessage() {
         final AzureConfiguration config = Azure.az().config();
         final String consumerGroupName = config.getEventHubsConsumerGroup();
+        final ReceivePipelineOptions options = ReceivePipelineOptions.fromConfig(config);
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to event hub ({0}) for consumerGroup ({1})...\n", getName(), consumerGroupName));
         messager.info("You can change default consumer group in Azure Settings\n");
+        this.pipeline = MessageReceivePipeline.create(options, messager);
+        this.pipeline.start();
+        this.consumerAsyncClient = new EventHubClientBuilder()
+                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
+                .consumerGroup(consumerGroupName)
+                .prefetchCount(Math.max(1, options.getPrefetchCount()))
+                .buildAsyncConsumerClient();
+        final ReceiveOptions receiveOptions = new ReceiveOptions().setTrackLastEnqueuedEventProperties(true);
+        final MessageReceivePipeline pipeline = this.pipeline;
+        final EventHubConsumerAsyncClient client = this.consumerAsyncClient;
         remoteOptional().ifPresent(remote -> remote.partitionIds().forEach(partitionId -> {
-            this.consumerAsyncClient = new EventHubClientBuilder()
-                    .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
-                    .consumerGroup(consumerGroupName)
-                    .buildAsyncConsumerClient();
             messager.info(AzureString.format("Created receiver for partition ({0})\n", partitionId));
-            Optional.ofNullable(this.consumerAsyncClient).ifPresent(client ->
-                    receivers.add(client.receiveFromPartition(partitionId, EventPosition.latest())
-                            .subscribe(partitionEvent -> {
-                                messager.info(AzureString.format("Message Received from partition (%s): ", partitionId));
-                                messager.debug(AzureString.format("\"%s\"\n", partitionEvent.getData().getBodyAsString()));
-                            })));
+            receivers.add(client.receiveFromPartition(partitionId, EventPosition.latest(), receiveOptions)
+                    .subscribe(partitionEvent -> pipeline.offer(toReceivedMessage(partitionId, partitionEvent))));
         }));
     }
 
+    @Nonnull
+    private static ReceivedMessage toReceivedMessage(@Nonnull String partitionId, @Nonnull PartitionEvent event) {
+        final EventData data = event.getData();
+        final Long lastEnqueued = Optional.ofNullable(event.getLastEnqueuedEventProperties())
+                .map(LastEnqueuedEventProperties::getSequenceNumber).orElse(null);
+        return new ReceivedMessage(partitionId, data.getSequenceNumber(), lastEnqueued, data.getBodyAsString());
+    }
+
     @Override
     public synchronized void stopReceivingMessage() {
+        this.receivers.forEach(Disposable::dispose);
+        this.receivers.clear();
         Optional.ofNullable(consumerAsyncClient).ifPresent(EventHubConsumerAsyncClient::close);
+        Optional.ofNullable(pipeline).ifPresent(MessageReceivePipeline::close);
         Optional.ofNullable(messager).orElse(AzureMessager.getMessager()).info(AzureString.format("Stop listening to event hub ({0})\n", getName()));
         this.consumerAsyncClient = null;
-        this.receivers.forEach(Disposable::dispose);
-        this.receivers.clear();
+        this.pipeline = null;
     }
 
     @Override
@@ -6,7 +6,9 @@
 package com.microsoft.azure.toolkit.lib.keyvault;
 
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import reactor.core.publisher.Mono;
 
+import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +18,13 @@ public interface Credential extends AzResource {
     CredentialVersion getCurrentVersion();
 
     List<? extends CredentialVersion> listVersions();
+
+    /**
+     * load id of the current (latest created) version without listing all versions into memory.
+     */
+    @Nonnull
+    Mono<String> loadCurrentVersionId();
+
     default void enable() {
         Optional.ofNullable(getCurrentVersion()).ifPresent(CredentialVersion::enable);
     }
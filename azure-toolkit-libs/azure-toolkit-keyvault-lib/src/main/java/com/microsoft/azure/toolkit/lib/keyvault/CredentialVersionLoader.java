@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.keyvault;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.rest.PagedFlux;
+import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Loads versions of key vault secrets, keys and certificates without materializing whole version histories:
+ * version lists are paged lazily (one page per request, newest first within a page), the current version of an item is
+ * read from the item itself (a single request) and cached, revalidated by the {@code updatedOn} of the item (which
+ * changes whenever a new version is added, key vault has no ETag). Throttling (429) is retried by the retry policy of the
+ * key vault clients.
+ */
+@Slf4j
+public class CredentialVersionLoader {
+    private static final int STATUS_FORBIDDEN = 403;
+
+    private final Map<String, CachedVersion> currentVersions = new ConcurrentHashMap<>();
+
+    /**
+     * @return lazy iterator over version pages, each page sorted newest first. the first page is fetched eagerly so that
+     * errors like 403 are thrown to the caller.
+     */
+    @Nonnull
+    public static <T> Iterator<ItemPage<T>> pagesNewestFirst(@Nonnull PagedFlux<T> versions, @Nonnull Function<T, OffsetDateTime> createdOn) {
+        final Comparator<T> newestFirst = Comparator.comparing(createdOn, Comparator.<OffsetDateTime>nullsFirst(Comparator.naturalOrder())).reversed();
+        final Iterator<ItemPage<T>> pages = versions.byPage()
+            .map(page -> new ItemPage<T>(page.getValue().stream().sorted(newestFirst).collect(Collectors.toList())))
+            .toIterable(1)
+            .iterator();
+        pages.hasNext();
+        return pages;
+    }
+
+    /**
+     * @param itemId    id of the secret/key/certificate
+     * @param validator {@code updatedOn} of the item, the cached current version is reused as long as it's unchanged
+     * @param latest    version of the item got without a version, i.e. the current one
+     * @param versions  all versions of the item, only listed if the current version can't be got directly, e.g. a
+     *                  disabled secret (403)
+     */
+    @Nonnull
+    public <T> Mono<String> loadCurrentVersion(@Nonnull String itemId, @Nullable OffsetDateTime validator, @Nonnull Supplier<Mono<String>> latest,
+                                               @Nonnull Supplier<PagedFlux<T>> versions, @Nonnull Function<T, OffsetDateTime> createdOn,
+                                               @Nonnull Function<T, String> version) {
+        final CachedVersion cached = this.currentVersions.get(itemId);
+        if (Objects.nonNull(cached) && Objects.nonNull(validator) && validator.equals(cached.validator)) {
+            return Mono.just(cached.version);
+        }
+        return Mono.defer(latest)
+            .onErrorResume(CredentialVersionLoader::isForbidden, e -> {
+                log.debug("failed to get current version of {}, listing all versions", itemId, e);
+                return versions.get()
+                    .filter(v -> Objects.nonNull(createdOn.apply(v)))
+                    .reduce((a, b) -> createdOn.apply(a).isAfter(createdOn.apply(b)) ? a : b)
+                    .map(version);
+            })
+            .doOnNext(v -> this.currentVersions.put(itemId, new CachedVersion(v, validator)));
+    }
+
+    public void invalidate(@Nonnull String itemId) {
+        this.currentVersions.remove(itemId);
+    }
+
+    private static boolean isForbidden(@Nullable Throwable t) {
+        return t instanceof HttpResponseException && Optional.ofNullable(((HttpResponseException) t).getResponse())
+            .map(HttpResponse::getStatusCode).filter(code -> code == STATUS_FORBIDDEN).isPresent();
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedVersion {
+        @Nonnull
+        private final String version;
+        @Nullable
+        private final OffsetDateTime validator;
+    }
+}
@@ -47,12 +47,15 @@ public class KeyVault extends AbstractAzResource<KeyVault, KeyVaultSubscription,
 
     @Nullable
     private volatile CertificateAsyncClient certificateClient;
+    @Nonnull
+    private final CredentialVersionLoader versionLoader;
 
     protected KeyVault(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull KeyVaultModule module) {
         super(name, resourceGroupName, module);
         this.keyModule = new KeyModule(this);
         this.secretModule = new SecretModule(this);
         this.certificateModule = new CertificateModule(this);
+        this.versionLoader = new CredentialVersionLoader();
     }
 
     protected KeyVault(@Nonnull KeyVault origin) {
@@ -62,6 +65,7 @@ public class KeyVault extends AbstractAzResource<KeyVault, KeyVaultSubscription,
         this.certificateModule = origin.certificateModule;
 
         this.certificateClient = origin.certificateClient;
+        this.versionLoader = origin.versionLoader;
     }
 
     protected KeyVault(@Nonnull Vault remote, @Nonnull KeyVaultModule module) {
@@ -69,6 +73,7 @@ public class KeyVault extends AbstractAzResource<KeyVault, KeyVaultSubscription,
         this.keyModule = new KeyModule(this);
         this.secretModule = new SecretModule(this);
         this.certificateModule = new CertificateModule(this);
+        this.versionLoader = new CredentialVersionLoader();
     }
 
     @Nonnull
@@ -93,6 +98,11 @@ public class KeyVault extends AbstractAzResource<KeyVault, KeyVaultSubscription,
         return Optional.ofNullable(getRemote()).map(Vault::regionName).map(Region::fromName).orElse(null);
     }
 
+    @Nonnull
+    public CredentialVersionLoader getVersionLoader() {
+        return this.versionLoader;
+    }
+
     public KeyModule keys() {
         return this.keyModule;
     }
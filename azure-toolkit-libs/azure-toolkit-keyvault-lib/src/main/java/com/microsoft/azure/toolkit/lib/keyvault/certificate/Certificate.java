@@ -17,11 +17,12 @@ import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.keyvault.Credential;
 import com.microsoft.azure.toolkit.lib.keyvault.CredentialVersion;
 import com.microsoft.azure.toolkit.lib.keyvault.KeyVault;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.OffsetDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -77,10 +78,20 @@ public class Certificate extends AbstractAzResource<Certificate, KeyVault, Certi
 
     @Nullable
     public String getCurrentVersionId() {
-        return this.versions().list().stream()
-            .filter(version -> Objects.nonNull(version.getProperties()))
-            .max(Comparator.comparing(version -> version.getProperties().getCreatedOn()))
-            .map(CertificateVersion::getVersion).orElse(null);
+        return this.loadCurrentVersionId().block();
+    }
+
+    @Nonnull
+    @Override
+    public Mono<String> loadCurrentVersionId() {
+        final CertificateAsyncClient client = getKeyVault().getCertificateClient();
+        if (Objects.isNull(client)) {
+            return Mono.empty();
+        }
+        final OffsetDateTime updatedOn = remoteOptional().map(CertificateProperties::getUpdatedOn).orElse(null);
+        return getKeyVault().getVersionLoader().loadCurrentVersion(getId(), updatedOn,
+            () -> client.getCertificate(getName()).map(item -> item.getProperties().getVersion()),
+            () -> client.listPropertiesOfCertificateVersions(getName()), CertificateProperties::getCreatedOn, CertificateProperties::getVersion);
     }
 
     @Nullable
@@ -108,6 +119,7 @@ public class Certificate extends AbstractAzResource<Certificate, KeyVault, Certi
         messager.info(AzureString.format("Start creating new Certificate Version for Certificate ({0}).", this.getName()));
         final CertificateProperties certificate = CertificateVersionDraft.createCertificateVersion(getKeyVault(), config);
         messager.info(AzureString.format("New Certificate Version ({0}) is successfully created for Certificate ({1}).", certificate.getVersion(), this.getName()));
+        getKeyVault().getVersionLoader().invalidate(getId());
         this.refresh();
         return this.versionModule.get(certificate.getVersion(), getResourceGroupName());
     }
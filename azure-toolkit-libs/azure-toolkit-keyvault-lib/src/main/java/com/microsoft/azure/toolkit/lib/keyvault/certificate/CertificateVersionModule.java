@@ -11,8 +11,8 @@ import com.azure.security.keyvault.certificates.models.CertificateProperties;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
-import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.keyvault.CredentialVersionLoader;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -20,7 +20,6 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -40,9 +39,7 @@ public class CertificateVersionModule extends AbstractAzResourceModule<Certifica
     protected Iterator<? extends ContinuablePage<String, CertificateProperties>> loadResourcePagesFromAzure() {
         try {
             return Optional.ofNullable(getClient())
-                .map(keys -> keys.listPropertiesOfCertificateVersions(getParent().getName()).collectList().block())
-                .map(ItemPage::new)
-                .map(IteratorUtils::singletonIterator)
+                .map(keys -> CredentialVersionLoader.pagesNewestFirst(keys.listPropertiesOfCertificateVersions(getParent().getName()), CertificateProperties::getCreatedOn))
                 .orElseGet(IteratorUtils::emptyIterator);
         } catch (final Throwable t) {
             if (isHttpException(t, 403)) {
@@ -59,12 +56,11 @@ public class CertificateVersionModule extends AbstractAzResourceModule<Certifica
     @AzureOperation(name = "azure/keyvault.load_certificate_version.version", params = {"name"})
     protected CertificateProperties loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
         try {
-            final List<CertificateProperties> versions = Optional.ofNullable(getClient())
-                .map(keys -> keys.listPropertiesOfCertificateVersions(getParent().getName()).collectList().block())
-                .orElse(null);
-            return Objects.isNull(versions) ? null : versions.stream()
-                .filter(s -> StringUtils.equalsIgnoreCase(s.getVersion(), name))
-                .findFirst()
+            return Optional.ofNullable(getClient())
+                .map(keys -> keys.listPropertiesOfCertificateVersions(getParent().getName())
+                    .filter(s -> StringUtils.equalsIgnoreCase(s.getVersion(), name))
+                    .next()
+                    .block())
                 .orElse(null);
         } catch (final Throwable t) {
             if (isHttpException(t, 403)) {
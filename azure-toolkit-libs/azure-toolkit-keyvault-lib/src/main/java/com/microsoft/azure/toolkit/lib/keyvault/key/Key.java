@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.lib.keyvault.key;
 
+import com.azure.security.keyvault.keys.KeyAsyncClient;
 import com.azure.security.keyvault.keys.models.KeyProperties;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
@@ -15,11 +16,12 @@ import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.keyvault.Credential;
 import com.microsoft.azure.toolkit.lib.keyvault.CredentialVersion;
 import com.microsoft.azure.toolkit.lib.keyvault.KeyVault;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.OffsetDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -75,10 +77,20 @@ public class Key extends AbstractAzResource<Key, KeyVault, KeyProperties> implem
 
     @Nullable
     public String getCurrentVersionId() {
-        return this.versions().list().stream()
-            .filter(version -> Objects.nonNull(version.getProperties()))
-            .max(Comparator.comparing(version -> version.getProperties().getCreatedOn()))
-            .map(KeyVersion::getVersion).orElse(null);
+        return this.loadCurrentVersionId().block();
+    }
+
+    @Nonnull
+    @Override
+    public Mono<String> loadCurrentVersionId() {
+        final KeyAsyncClient client = getKeyVault().getKeyClient();
+        if (Objects.isNull(client)) {
+            return Mono.empty();
+        }
+        final OffsetDateTime updatedOn = remoteOptional().map(KeyProperties::getUpdatedOn).orElse(null);
+        return getKeyVault().getVersionLoader().loadCurrentVersion(getId(), updatedOn,
+            () -> client.getKey(getName()).map(item -> item.getProperties().getVersion()),
+            () -> client.listPropertiesOfKeyVersions(getName()), KeyProperties::getCreatedOn, KeyProperties::getVersion);
     }
 
     @Nullable
@@ -101,6 +113,7 @@ public class Key extends AbstractAzResource<Key, KeyVault, KeyProperties> implem
         messager.info(AzureString.format("Start creating new Key Version for Key ({0}).", this.getName()));
         final KeyProperties newProperties = KeyVersionDraft.createKeyVersion(getKeyVault(), config);
         messager.info(AzureString.format("New Key Version ({0}) is successfully created for Key ({1}).", newProperties.getVersion(), this.getName()));
+        getKeyVault().getVersionLoader().invalidate(getId());
         this.refresh();
         return this.versionModule.get(newProperties.getVersion(), getResourceGroupName());
     }
@@ -12,8 +12,8 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
-import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.keyvault.CredentialVersionLoader;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -21,7 +21,6 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -41,9 +40,7 @@ public class KeyVersionModule extends AbstractAzResourceModule<KeyVersion, Key,
     protected Iterator<? extends ContinuablePage<String, KeyProperties>> loadResourcePagesFromAzure() {
         try {
             return Optional.ofNullable(getClient())
-                .map(keys -> keys.listPropertiesOfKeyVersions(getParent().getName()).collectList().block())
-                .map(ItemPage::new)
-                .map(IteratorUtils::singletonIterator)
+                .map(keys -> CredentialVersionLoader.pagesNewestFirst(keys.listPropertiesOfKeyVersions(getParent().getName()), KeyProperties::getCreatedOn))
                 .orElseGet(IteratorUtils::emptyIterator);
         } catch (final Throwable t) {
             if (isHttpException(t, 403)) {
@@ -60,12 +57,11 @@ public class KeyVersionModule extends AbstractAzResourceModule<KeyVersion, Key,
     @AzureOperation(name = "azure/keyvault.load_key_version.version", params = {"name"})
     protected KeyProperties loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
         try {
-            final List<KeyProperties> versions = Optional.ofNullable(getClient())
-                .map(keys -> keys.listPropertiesOfKeyVersions(getParent().getName()).collectList().block())
-                .orElse(null);
-            return Objects.isNull(versions) ? null : versions.stream()
-                .filter(s -> StringUtils.equalsIgnoreCase(s.getVersion(), name))
-                .findFirst()
+            return Optional.ofNullable(getClient())
+                .map(keys -> keys.listPropertiesOfKeyVersions(getParent().getName())
+                    .filter(s -> StringUtils.equalsIgnoreCase(s.getVersion(), name))
+                    .next()
+                    .block())
                 .orElse(null);
         } catch (final Throwable t) {
             if (isHttpException(t, 403)) {
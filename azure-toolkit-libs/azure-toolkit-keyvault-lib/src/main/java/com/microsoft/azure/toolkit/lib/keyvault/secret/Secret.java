@@ -19,11 +19,12 @@ import com.microsoft.azure.toolkit.lib.keyvault.Credential;
 import com.microsoft.azure.toolkit.lib.keyvault.CredentialVersion;
 import com.microsoft.azure.toolkit.lib.keyvault.KeyVault;
 import com.microsoft.azure.toolkit.lib.keyvault.certificate.CertificateVersionDraft;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.OffsetDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -76,10 +77,20 @@ public class Secret extends AbstractAzResource<Secret, KeyVault, SecretPropertie
 
     @Nullable
     public String getCurrentVersionId() {
-        return this.versions().list().stream()
-            .filter(version -> Objects.nonNull(version.getProperties()))
-            .max(Comparator.comparing(version -> version.getProperties().getCreatedOn()))
-            .map(SecretVersion::getVersion).orElse(null);
+        return this.loadCurrentVersionId().block();
+    }
+
+    @Nonnull
+    @Override
+    public Mono<String> loadCurrentVersionId() {
+        final SecretAsyncClient client = getKeyVault().getSecretClient();
+        if (Objects.isNull(client)) {
+            return Mono.empty();
+        }
+        final OffsetDateTime updatedOn = remoteOptional().map(SecretProperties::getUpdatedOn).orElse(null);
+        return getKeyVault().getVersionLoader().loadCurrentVersion(getId(), updatedOn,
+            () -> client.getSecret(getName()).map(item -> item.getProperties().getVersion()),
+            () -> client.listPropertiesOfSecretVersions(getName()), SecretProperties::getCreatedOn, SecretProperties::getVersion);
     }
 
     public SecretVersionModule versions() {
@@ -109,6 +120,7 @@ public class Secret extends AbstractAzResource<Secret, KeyVault, SecretPropertie
             return null;
         }
         final KeyVaultSecret block = secretClient.setSecret(getName(), value).block();
+        getKeyVault().getVersionLoader().invalidate(getId());
         this.versionModule.refresh();
         return Optional.ofNullable(block).map(secret -> this.versionModule.get(block.getProperties().getVersion(), getResourceGroupName())).orElse(null);
     }
@@ -119,6 +131,7 @@ public class Secret extends AbstractAzResource<Secret, KeyVault, SecretPropertie
         messager.info(AzureString.format("Start creating new Secret Version for Secret ({0}).", this.getName()));
         final SecretProperties secret = SecretVersionDraft.createSecretVersion(getKeyVault(), value);
         messager.info(AzureString.format("New Secret Version ({0}) is successfully created for Secret ({1}).", secret.getVersion(), this.getName()));
+        getKeyVault().getVersionLoader().invalidate(getId());
         this.refresh();
         return this.versionModule.get(secret.getVersion(), getResourceGroupName());
     }
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.monitor;
+
+import com.azure.core.util.Context;
+import com.azure.monitor.query.LogsQueryClient;
+import com.azure.monitor.query.models.LogsBatchQuery;
+import com.azure.monitor.query.models.LogsBatchQueryResult;
+import com.azure.monitor.query.models.LogsQueryOptions;
+import com.azure.monitor.query.models.LogsTable;
+import com.azure.monitor.query.models.LogsTableCell;
+import com.azure.monitor.query.models.LogsTableColumn;
+import com.azure.monitor.query.models.LogsTableRow;
+import com.azure.monitor.query.models.QueryTimeInterval;
+import com.azure.resourcemanager.loganalytics.LogAnalyticsManager;
+import com.azure.resourcemanager.loganalytics.models.Column;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.azure.toolkit.lib.Azure;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes KQL queries against a {@link LogAnalyticsWorkspace} with configurable server timeout, a short-lived cache of
+ * recent results (keyed by query text and time range), per-table schema cache, paged row streaming and batch submission.
+ */
+public class LogAnalyticsQueryExecutor {
+    /**
+     * column rows are ordered and paged by when streaming results, if not specified.
+     */
+    public static final String DEFAULT_TIMESTAMP_COLUMN = "TimeGenerated";
+    /**
+     * max number of queries accepted by one batch request of the log analytics query api.
+     */
+    private static final int MAX_BATCH_SIZE = 10;
+
+    @Nonnull
+    private final LogAnalyticsWorkspace workspace;
+    private final Cache<QueryKey, LogsTable> results = Caffeine.newBuilder()
+        .maximumSize(32)
+        .expireAfterWrite(2, TimeUnit.MINUTES)
+        .build();
+    private final Cache<String, List<String>> schemas = Caffeine.newBuilder()
+        .maximumSize(256)
+        .expireAfterWrite(30, TimeUnit.MINUTES)
+        .build();
+    /**
+     * server timeout of a query, {@code null} to use {@code AzureConfiguration#monitorQueryTimeoutInSeconds}.
+     */
+    @Setter
+    @Nullable
+    private Duration serverTimeout;
+    /**
+     * number of rows fetched per request when streaming results.
+     */
+    @Getter
+    @Setter
+    private int pageSize = 5000;
+
+    public LogAnalyticsQueryExecutor(@Nonnull LogAnalyticsWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
+    @Nonnull
+    public Duration getServerTimeout() {
+        return Optional.ofNullable(this.serverTimeout)
+            .orElseGet(() -> Duration.ofSeconds(Math.max(1, Azure.az().config().getMonitorQueryTimeoutInSeconds())));
+    }
+
+    /**
+     * execute the query, reusing the result of an identical query (same text and time range) executed recently.
+     */
+    @Nullable
+    public LogsTable query(@Nonnull String query, @Nullable QueryTimeInterval interval) {
+        return this.results.get(new QueryKey(query, interval), k -> this.doQuery(query, interval));
+    }
+
+    /**
+     * execute the query bypassing (and refreshing) the result cache.
+     */
+    @Nullable
+    public LogsTable queryFresh(@Nonnull String query, @Nullable QueryTimeInterval interval) {
+        final LogsTable table = this.doQuery(query, interval);
+        if (Objects.nonNull(table)) {
+            this.results.put(new QueryKey(query, interval), table);
+        }
+        return table;
+    }
+
+    /**
+     * submit multiple queries (e.g. tiles of a dashboard) in as few requests as possible. cached results are reused and
+     * only the missing ones are sent, in batches of at most {@value #MAX_BATCH_SIZE}.
+     *
+     * @param queries queries by name
+     * @return tables by query name, a name is absent if its query failed or returned nothing.
+     */
+    @Nonnull
+    public Map<String, LogsTable> queryBatch(@Nonnull Map<String, String> queries, @Nullable QueryTimeInterval interval) {
+        final Map<String, LogsTable> tables = new LinkedHashMap<>();
+        final List<String> missing = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            final LogsTable cached = this.results.getIfPresent(new QueryKey(query, interval));
+            if (Objects.nonNull(cached)) {
+                tables.put(name, cached);
+            } else {
+                missing.add(name);
+            }
+        });
+        final String workspaceId = this.workspace.getCustomerId();
+        final LogsQueryClient client = this.workspace.getParent().getLosQueryClient();
+        if (missing.isEmpty() || Objects.isNull(workspaceId) || Objects.isNull(client)) {
+            return tables;
+        }
+        final LogsQueryOptions options = new LogsQueryOptions().setServerTimeout(this.getServerTimeout());
+        for (int from = 0; from < missing.size(); from += MAX_BATCH_SIZE) {
+            final List<String> names = missing.subList(from, Math.min(missing.size(), from + MAX_BATCH_SIZE));
+            final LogsBatchQuery batch = new LogsBatchQuery();
+            final Map<String, String> nameById = new LinkedHashMap<>();
+            names.forEach(name -> nameById.put(batch.addWorkspaceQuery(workspaceId, queries.get(name), interval, options), name));
+            final List<LogsBatchQueryResult> batchResults = client.queryBatchWithResponse(batch, Context.NONE).getValue().getBatchResults();
+            for (final LogsBatchQueryResult result : batchResults) {
+                final String name = nameById.get(result.getId());
+                final LogsTable table = result.getTable();
+                if (Objects.nonNull(name) && Objects.nonNull(table)) {
+                    this.results.put(new QueryKey(queries.get(name), interval), table);
+                    tables.put(name, table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * stream all rows of the query result to the consumer page by page, newest first by {@value #DEFAULT_TIMESTAMP_COLUMN}.
+     *
+     * @return number of rows streamed.
+     * @see #streamRows(String, QueryTimeInterval, String, Consumer)
+     */
+    public long streamRows(@Nonnull String query, @Nullable QueryTimeInterval interval, @Nonnull Consumer<LogsTableRow> consumer) {
+        return this.streamRows(query, interval, DEFAULT_TIMESTAMP_COLUMN, consumer);
+    }
+
+    /**
+     * stream all rows of the query result to the consumer page by page, newest first by the datetime column
+     * {@code timestampColumn}, which the query result must contain. at most {@link #getPageSize()} rows are held in memory
+     * at a time, except rows sharing one timestamp which are fetched together. every page continues after the timestamp of
+     * the previous one, so the server doesn't scan the rows of previous pages again. results are not cached.
+     *
+     * @return number of rows streamed.
+     */
+    public long streamRows(@Nonnull String query, @Nullable QueryTimeInterval interval, @Nonnull String timestampColumn,
+                           @Nonnull Consumer<LogsTableRow> consumer) {
+        return streamPages(q -> this.doQuery(q, interval), query, timestampColumn, this.pageSize, page -> page.getRows().forEach(consumer));
+    }
+
+    /**
+     * stream the query result as CSV (header line + one line per row) to the writer without materializing all rows,
+     * newest first by {@value #DEFAULT_TIMESTAMP_COLUMN}.
+     *
+     * @return number of rows written.
+     */
+    public long exportCsv(@Nonnull String query, @Nullable QueryTimeInterval interval, @Nonnull Writer writer) {
+        final AtomicLong pages = new AtomicLong();
+        return streamPages(q -> this.doQuery(q, interval), query, DEFAULT_TIMESTAMP_COLUMN, this.pageSize, page -> {
+            try {
+                if (pages.getAndIncrement() == 0) {
+                    final List<String> header = page.getColumns().stream().map(LogsTableColumn::getColumnName).collect(Collectors.toList());
+                    writeCsvLine(writer, header);
+                }
+                for (final LogsTableRow row : page.getRows()) {
+                    writeCsvLine(writer, row.getRow().stream().map(LogsTableCell::getValueAsString).collect(Collectors.toList()));
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return standard column names of the table, loaded once per table and cached.
+     */
+    @Nonnull
+    public List<String> getTableColumnNames(@Nonnull String tableName) {
+        final List<String> columns = this.schemas.get(tableName, this::loadTableColumnNames);
+        return Optional.ofNullable(columns).orElse(Collections.emptyList());
+    }
+
+    public void invalidateCache() {
+        this.results.invalidateAll();
+        this.schemas.invalidateAll();
+    }
+
+    /**
+     * pages by the timestamp of the last row (keyset pagination): a full page only passes the rows newer than its last
+     * timestamp, the next page starts at that timestamp, so rows sharing it are never split between pages. if a whole page
+     * shares one timestamp, all rows with that timestamp are fetched at once and the next page starts before it.
+     */
+    static long streamPages(@Nonnull Function<String, LogsTable> fetcher, @Nonnull String query, @Nonnull String column, int pageSize,
+                            @Nonnull Consumer<LogsTable> pageConsumer) {
+        final int size = Math.max(1, pageSize);
+        String cursor = null;
+        boolean inclusive = false;
+        long streamed = 0;
+        for (boolean first = true; ; first = false) {
+            final LogsTable page = fetcher.apply(pageQuery(query, column, cursor, inclusive, size));
+            final List<LogsTableRow> rows = Optional.ofNullable(page).map(LogsTable::getRows).orElse(Collections.emptyList());
+            if (rows.size() < size) {
+                if (Objects.nonNull(page) && (!rows.isEmpty() || first)) {
+                    pageConsumer.accept(page);
+                }
+                return streamed + rows.size();
+            }
+            final String boundary = getTimestamp(rows.get(rows.size() - 1), column);
+            final List<LogsTableRow> newer = rows.stream().filter(r -> !Objects.equals(getTimestamp(r, column), boundary)).collect(Collectors.toList());
+            if (newer.isEmpty()) {
+                final LogsTable ties = fetcher.apply(tieQuery(query, column, boundary));
+                final int count = Optional.ofNullable(ties).map(LogsTable::getRows).map(List::size).orElse(0);
+                if (count > 0) {
+                    pageConsumer.accept(ties);
+                }
+                streamed += count;
+                inclusive = false;
+            } else {
+                pageConsumer.accept(new LogsTable(newer.stream().flatMap(r -> r.getRow().stream()).collect(Collectors.toList()), newer, page.getColumns()));
+                streamed += newer.size();
+                inclusive = true;
+            }
+            cursor = boundary;
+        }
+    }
+
+    /**
+     * @param cursor timestamp the page starts at (if {@code inclusive}) or before, null for the first page.
+     */
+    @Nonnull
+    static String pageQuery(@Nonnull String query, @Nonnull String column, @Nullable String cursor, boolean inclusive, int size) {
+        final String where = Objects.isNull(cursor) ? "" : String.format("\n| where %s %s datetime(%s)", column, inclusive ? "<=" : "<", cursor);
+        return String.format("%s%s\n| sort by %s desc\n| take %d", query, where, column, size);
+    }
+
+    @Nonnull
+    static String tieQuery(@Nonnull String query, @Nonnull String column, @Nonnull String timestamp) {
+        return String.format("%s\n| where %s == datetime(%s)", query, column, timestamp);
+    }
+
+    @Nonnull
+    private static String getTimestamp(@Nonnull LogsTableRow row, @Nonnull String column) {
+        return row.getColumnValue(column).map(LogsTableCell::getValueAsString)
+            .orElseThrow(() -> new IllegalArgumentException(String.format("query result has no column '%s' to page by", column)));
+    }
+
+    /**
+     * @return the interval in ISO 8601 format, e.g. {@code 2024-01-01T00:00Z/PT1H}.
+     */
+    @Nullable
+    static String toIso8601(@Nullable QueryTimeInterval interval) {
+        if (Objects.isNull(interval)) {
+            return null;
+        }
+        final OffsetDateTime start = interval.getStartTime();
+        final OffsetDateTime end = interval.getEndTime();
+        final Duration duration = interval.getDuration();
+        if (Objects.nonNull(start) && Objects.nonNull(end)) {
+            return start + "/" + end;
+        } else if (Objects.nonNull(start)) {
+            return start + "/" + duration;
+        } else if (Objects.nonNull(end)) {
+            return duration + "/" + end;
+        }
+        return String.valueOf(duration);
+    }
+
+    @Nullable
+    private LogsTable doQuery(@Nonnull String query, @Nullable QueryTimeInterval interval) {
+        final String workspaceId = this.workspace.getCustomerId();
+        final LogsQueryClient client = this.workspace.getParent().getLosQueryClient();
+        if (Objects.isNull(workspaceId) || Objects.isNull(client)) {
+            return null;
+        }
+        final LogsQueryOptions options = new LogsQueryOptions().setServerTimeout(this.getServerTimeout());
+        return client.queryWorkspaceWithResponse(workspaceId, query, interval, options, Context.NONE).getValue().getTable();
+    }
+
+    @Nullable
+    private List<String> loadTableColumnNames(@Nonnull String tableName) {
+        final LogAnalyticsManager manager = this.workspace.getParent().getRemote();
+        if (Objects.isNull(manager)) {
+            return null;
+        }
+        return Collections.unmodifiableList(manager.tables().get(this.workspace.getResourceGroupName(), this.workspace.getName(), tableName)
+            .schema().standardColumns().stream().map(Column::name).collect(Collectors.toList()));
+    }
+
+    private static void writeCsvLine(@Nonnull Writer writer, @Nonnull List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    @Nonnull
+    private static String escapeCsv(@Nullable String value) {
+        if (Objects.isNull(value)) {
+            return "";
+        }
+        if (StringUtils.containsAny(value, ',', '"', '\n', '\r')) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @EqualsAndHashCode
+    private static class QueryKey {
+        private final String query;
+        @Nullable
+        private final String interval;
+
+        QueryKey(@Nonnull String query, @Nullable QueryTimeInterval interval) {
+            this.query = query.trim();
+            this.interval = toIso8601(interval);
+        }
+    }
+}
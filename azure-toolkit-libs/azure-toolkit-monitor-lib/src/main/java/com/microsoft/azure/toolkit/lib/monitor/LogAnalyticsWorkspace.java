@@ -1,11 +1,7 @@
 package com.microsoft.azure.toolkit.lib.monitor;
 
-import com.azure.core.util.Context;
-import com.azure.monitor.query.LogsQueryClient;
-import com.azure.monitor.query.models.LogsQueryOptions;
 import com.azure.monitor.query.models.LogsTable;
 import com.azure.resourcemanager.loganalytics.LogAnalyticsManager;
-import com.azure.resourcemanager.loganalytics.models.Column;
 import com.azure.resourcemanager.loganalytics.models.Workspace;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
@@ -15,11 +11,11 @@ import com.microsoft.azure.toolkit.lib.common.model.Region;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class LogAnalyticsWorkspace extends AbstractAzResource<LogAnalyticsWorkspace, LogAnalyticsServiceWorkspaceSubscription, Workspace> implements Deletable {
+    @Nullable
+    private LogAnalyticsQueryExecutor queryExecutor;
 
     protected LogAnalyticsWorkspace(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull LogAnalyticsWorkspaceModule module) {
         super(name, resourceGroupName, module);
@@ -65,21 +61,18 @@ public class LogAnalyticsWorkspace extends AbstractAzResource<LogAnalyticsWorksp
 
     @Nullable
     public LogsTable executeQuery(String queryString) {
-        final LogsQueryOptions options = new LogsQueryOptions().setServerTimeout(Duration.ofSeconds(10));
-        final String workspaceId = getCustomerId();
-        final LogsQueryClient client = getParent().getLosQueryClient();
-        if (Objects.nonNull(workspaceId) && Objects.nonNull(client)) {
-            return client.queryWorkspaceWithResponse(workspaceId, queryString, null, options, Context.NONE).getValue().getTable();
-        }
-        return null;
+        return getQueryExecutor().queryFresh(queryString, null);
     }
 
     public List<String> getTableColumnNames(String tableName) {
-        final LogAnalyticsManager manager = getParent().getRemote();
-        if (Objects.isNull(manager)) {
-            return new ArrayList<>();
+        return new ArrayList<>(getQueryExecutor().getTableColumnNames(tableName));
+    }
+
+    @Nonnull
+    public synchronized LogAnalyticsQueryExecutor getQueryExecutor() {
+        if (Objects.isNull(this.queryExecutor)) {
+            this.queryExecutor = new LogAnalyticsQueryExecutor(this);
         }
-        return manager.tables().get(getResourceGroupName(), getName(), tableName).schema().standardColumns()
-                .stream().map(Column::name).collect(Collectors.toList());
+        return this.queryExecutor;
     }
 }
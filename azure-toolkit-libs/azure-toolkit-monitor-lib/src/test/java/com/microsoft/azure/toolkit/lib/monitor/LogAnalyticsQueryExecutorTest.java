@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.monitor;
+
+import com.azure.monitor.query.models.LogsColumnType;
+import com.azure.monitor.query.models.LogsTable;
+import com.azure.monitor.query.models.LogsTableCell;
+import com.azure.monitor.query.models.LogsTableColumn;
+import com.azure.monitor.query.models.LogsTableRow;
+import com.azure.monitor.query.models.QueryTimeInterval;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LogAnalyticsQueryExecutorTest {
+    private static final String QUERY = "AppTraces | project TimeGenerated, Message";
+    private static final Pattern WHERE = Pattern.compile("\\| where TimeGenerated (<=|<|==) datetime\\(([^)]*)\\)");
+    private static final Pattern TAKE = Pattern.compile("\\| take (\\d+)");
+
+    private final List<String> queries = new ArrayList<>();
+
+    @Test
+    public void testPageQuery() {
+        assertEquals(QUERY + "\n| sort by TimeGenerated desc\n| take 100",
+            LogAnalyticsQueryExecutor.pageQuery(QUERY, "TimeGenerated", null, false, 100));
+        assertEquals(QUERY + "\n| where TimeGenerated <= datetime(2024-01-01T00:00:00Z)\n| sort by TimeGenerated desc\n| take 100",
+            LogAnalyticsQueryExecutor.pageQuery(QUERY, "TimeGenerated", "2024-01-01T00:00:00Z", true, 100));
+        assertEquals(QUERY + "\n| where TimeGenerated < datetime(2024-01-01T00:00:00Z)\n| sort by TimeGenerated desc\n| take 100",
+            LogAnalyticsQueryExecutor.pageQuery(QUERY, "TimeGenerated", "2024-01-01T00:00:00Z", false, 100));
+        assertEquals(QUERY + "\n| where TimeGenerated == datetime(2024-01-01T00:00:00Z)",
+            LogAnalyticsQueryExecutor.tieQuery(QUERY, "TimeGenerated", "2024-01-01T00:00:00Z"));
+    }
+
+    @Test
+    public void testToIso8601() {
+        final OffsetDateTime start = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        assertNull(LogAnalyticsQueryExecutor.toIso8601(null));
+        assertEquals("PT1H", LogAnalyticsQueryExecutor.toIso8601(QueryTimeInterval.LAST_1_HOUR));
+        assertEquals("2024-01-01T00:00Z/2024-01-01T02:00Z", LogAnalyticsQueryExecutor.toIso8601(new QueryTimeInterval(start, Duration.ofHours(2))));
+        assertEquals("2024-01-01T00:00Z/2024-01-02T00:00Z", LogAnalyticsQueryExecutor.toIso8601(new QueryTimeInterval(start, start.plusDays(1))));
+    }
+
+    @Test
+    public void testStreamPages() {
+        // ties across page boundaries
+        final List<String> timestamps = Arrays.asList("10", "09", "09", "08", "07", "07", "07", "06", "05", "04", "03", "02", "02", "01");
+        final List<String> streamed = new ArrayList<>();
+
+        final long count = LogAnalyticsQueryExecutor.streamPages(fake(timestamps), QUERY, "TimeGenerated", 4,
+            page -> page.getRows().forEach(r -> streamed.add(r.getRow().get(1).getValueAsString())));
+
+        assertEquals(timestamps.size(), count);
+        assertEquals(messages(timestamps), streamed);
+        // pages continue from the last timestamp instead of numbering all previous rows again
+        assertTrue(queries.stream().noneMatch(q -> q.contains("row_number")));
+        assertTrue(queries.stream().skip(1).allMatch(q -> q.contains("| where TimeGenerated")));
+    }
+
+    @Test
+    public void testStreamPageOfTies() {
+        final List<String> timestamps = Arrays.asList("09", "08", "08", "08", "08", "08", "08", "07");
+        final List<String> streamed = new ArrayList<>();
+
+        final long count = LogAnalyticsQueryExecutor.streamPages(fake(timestamps), QUERY, "TimeGenerated", 3,
+            page -> page.getRows().forEach(r -> streamed.add(r.getRow().get(1).getValueAsString())));
+
+        assertEquals(timestamps.size(), count);
+        assertEquals(messages(timestamps), streamed);
+        assertTrue(queries.stream().anyMatch(q -> q.contains("| where TimeGenerated == datetime(08)")));
+    }
+
+    @Test
+    public void testStreamEmptyResult() {
+        final List<LogsTable> pages = new ArrayList<>();
+
+        final long count = LogAnalyticsQueryExecutor.streamPages(fake(Collections.emptyList()), QUERY, "TimeGenerated", 3, pages::add);
+
+        // the first page is passed even if empty, so the columns are known
+        assertEquals(0, count);
+        assertEquals(1, pages.size());
+        assertFalse(pages.get(0).getColumns().isEmpty());
+    }
+
+    /**
+     * evaluates the paging clauses appended to {@link #QUERY} against the rows with the given timestamps, in the order of
+     * the result the same as the timestamps, messages identify the rows.
+     */
+    private Function<String, LogsTable> fake(List<String> timestamps) {
+        return query -> {
+            queries.add(query);
+            final Matcher where = WHERE.matcher(query);
+            final Matcher take = TAKE.matcher(query);
+            final int limit = take.find() ? Integer.parseInt(take.group(1)) : Integer.MAX_VALUE;
+            final List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < timestamps.size(); i++) {
+                indexes.add(i);
+            }
+            final List<Integer> matched = indexes.stream().filter(i -> {
+                if (!where.find(0)) {
+                    return true;
+                }
+                final int compared = timestamps.get(i).compareTo(where.group(2));
+                return "<=".equals(where.group(1)) ? compared <= 0 : "<".equals(where.group(1)) ? compared < 0 : compared == 0;
+            }).sorted(Comparator.comparing(timestamps::get).reversed().thenComparing(Comparator.naturalOrder())).limit(limit).collect(Collectors.toList());
+            final List<LogsTableRow> rows = new ArrayList<>();
+            for (final int i : matched) {
+                final int row = rows.size();
+                rows.add(new LogsTableRow(row, Arrays.asList(
+                    new LogsTableCell("TimeGenerated", LogsColumnType.DATETIME, 0, row, timestamps.get(i)),
+                    new LogsTableCell("Message", LogsColumnType.STRING, 1, row, "message " + i))));
+            }
+            final List<LogsTableColumn> columns = Arrays.asList(new LogsTableColumn("TimeGenerated", LogsColumnType.DATETIME),
+                new LogsTableColumn("Message", LogsColumnType.STRING));
+            return new LogsTable(rows.stream().flatMap(r -> r.getRow().stream()).collect(Collectors.toList()), rows, columns);
+        };
+    }
+
+    private static List<String> messages(List<String> timestamps) {
+        final List<String> messages = new ArrayList<>();
+        for (int i = 0; i < timestamps.size(); i++) {
+            messages.add("message " + i);
+        }
+        return messages;
+    }
+}
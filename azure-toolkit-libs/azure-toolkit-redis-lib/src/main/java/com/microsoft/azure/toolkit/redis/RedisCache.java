@@ -14,9 +14,9 @@ import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.redis.explorer.RedisExplorer;
 import com.microsoft.azure.toolkit.redis.model.PricingTier;
 import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.JedisPoolConfig;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -123,8 +123,13 @@ public class RedisCache extends AbstractAzResource<RedisCache, RedisServiceSubsc
             final String hostName = this.getHostName();
             final String password = this.getPrimaryKey();
             final int port = this.getSSLPort();
-            this.jedisPool = new JedisPool(new JedisPoolConfig(), hostName, port, JEDIS_TIMEOUT, password, true);
+            this.jedisPool = new JedisPool(RedisExplorer.createPoolConfig(), hostName, port, JEDIS_TIMEOUT, password, true);
         }
         return this.jedisPool;
     }
+
+    @Nonnull
+    public RedisExplorer getExplorer() {
+        return new RedisExplorer(this.getJedisPool());
+    }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.redis.explorer;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Key browsing engine for the redis explorer. Keys are enumerated with cursor based {@code SCAN} (never {@code KEYS}),
+ * and the metadata of each scanned page ({@code TYPE}, {@code TTL} and optionally {@code MEMORY USAGE}) is fetched with
+ * one pipelined round trip per batch instead of one round trip per key and command.
+ */
+@Slf4j
+public class RedisExplorer {
+    public static final String ALL_KEYS = "*";
+    private static final String MEMORY_USAGE = "USAGE";
+
+    @Nonnull
+    private final JedisPool pool;
+    /**
+     * {@code COUNT} hint of each {@code SCAN}, the amount of work the server does per call.
+     */
+    @Getter
+    @Setter
+    private int scanCount = 1000;
+    /**
+     * max number of keys whose metadata is fetched in one pipeline.
+     */
+    @Getter
+    @Setter
+    private int pipelineBatchSize = 500;
+    @Getter
+    @Setter
+    private boolean fetchMemoryUsage = false;
+    /**
+     * number of elements loaded for the preview of a collection value.
+     */
+    @Getter
+    @Setter
+    private int previewSize = 100;
+
+    public RedisExplorer(@Nonnull JedisPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * pool config tuned for the explorer: a few long-lived connections validated while idle, bounded waiting when the
+     * pool is exhausted instead of blocking the caller forever.
+     */
+    @Nonnull
+    public static JedisPoolConfig createPoolConfig() {
+        final JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(8);
+        config.setMaxIdle(8);
+        config.setMinIdle(1);
+        config.setTestOnBorrow(false);
+        config.setTestWhileIdle(true);
+        config.setTimeBetweenEvictionRunsMillis(Duration.ofSeconds(30).toMillis());
+        config.setMinEvictableIdleTimeMillis(Duration.ofMinutes(5).toMillis());
+        config.setBlockWhenExhausted(true);
+        config.setMaxWaitMillis(Duration.ofSeconds(10).toMillis());
+        return config;
+    }
+
+    /**
+     * scan one page of keys starting at the cursor and fetch their metadata.
+     *
+     * @param cursor  {@link ScanParams#SCAN_POINTER_START} to start a new iteration
+     * @param pattern glob-style pattern, {@code null} or blank for all keys
+     */
+    @Nonnull
+    public ScanPage scan(int database, @Nonnull String cursor, @Nullable String pattern) {
+        try (final Jedis jedis = this.pool.getResource()) {
+            jedis.select(database);
+            final ScanResult<String> result = jedis.scan(cursor, this.scanParams(pattern));
+            return new ScanPage(result.getCursor(), this.describe(jedis, result.getResult()));
+        }
+    }
+
+    /**
+     * scan keys incrementally, handing every fetched batch to the consumer as soon as it's ready.
+     *
+     * @param onBatch returns {@code false} to stop scanning
+     * @param maxKeys stop after roughly this many keys, {@code <= 0} for no limit
+     * @return cursor to resume from, {@link ScanParams#SCAN_POINTER_START} if the iteration is complete.
+     */
+    @Nonnull
+    public String scan(int database, @Nullable String pattern, long maxKeys, @Nonnull Predicate<List<RedisKeyInfo>> onBatch) {
+        String cursor = ScanParams.SCAN_POINTER_START;
+        long scanned = 0;
+        try (final Jedis jedis = this.pool.getResource()) {
+            jedis.select(database);
+            final ScanParams params = this.scanParams(pattern);
+            do {
+                final ScanResult<String> result = jedis.scan(cursor, params);
+                cursor = result.getCursor();
+                final List<String> keys = result.getResult();
+                if (!keys.isEmpty()) {
+                    scanned += keys.size();
+                    if (!onBatch.test(this.describe(jedis, keys))) {
+                        break;
+                    }
+                }
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor) && (maxKeys <= 0 || scanned < maxKeys) && !Thread.currentThread().isInterrupted());
+        }
+        return cursor;
+    }
+
+    /**
+     * fetch {@code TYPE}, {@code TTL} and optionally {@code MEMORY USAGE} of the keys in pipelined batches.
+     */
+    @Nonnull
+    public List<RedisKeyInfo> describe(int database, @Nonnull List<String> keys) {
+        try (final Jedis jedis = this.pool.getResource()) {
+            jedis.select(database);
+            return this.describe(jedis, keys);
+        }
+    }
+
+    /**
+     * load values (or the first {@link #getPreviewSize()} elements of collections) of the keys in one pipeline, hashes
+     * are previewed with the first page of {@code HSCAN}.
+     *
+     * @return value by key, string for {@code string}, list for {@code list}, set for {@code set}, members with scores for
+     * {@code zset}, map for {@code hash}; keys of unsupported types are absent.
+     */
+    @Nonnull
+    public Map<String, Object> fetchValues(int database, @Nonnull List<RedisKeyInfo> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final int size = Math.max(1, this.previewSize);
+        final Map<String, Response<?>> responses = new LinkedHashMap<>();
+        final Map<String, Object> values = new LinkedHashMap<>();
+        try (final Jedis jedis = this.pool.getResource()) {
+            jedis.select(database);
+            final Pipeline pipeline = jedis.pipelined();
+            for (final RedisKeyInfo info : keys) {
+                final String key = info.getKey();
+                switch (info.getType()) {
+                    case "string":
+                        responses.put(key, pipeline.get(key));
+                        break;
+                    case "list":
+                        responses.put(key, pipeline.lrange(key, 0, size - 1));
+                        break;
+                    case "set":
+                        responses.put(key, pipeline.srandmember(key, size));
+                        break;
+                    case "zset":
+                        responses.put(key, pipeline.zrangeWithScores(key, 0, size - 1));
+                        break;
+                    case "hash":
+                        responses.put(key, null); // keeps the order, loaded below by cursor
+                        break;
+                    default:
+                        break;
+                }
+            }
+            pipeline.sync();
+            final ScanParams hashParams = new ScanParams().count(size);
+            responses.forEach((key, response) -> {
+                try {
+                    if (Objects.isNull(response)) {
+                        final Map<String, String> hash = new LinkedHashMap<>();
+                        jedis.hscan(key, ScanParams.SCAN_POINTER_START, hashParams).getResult().forEach(e -> hash.put(e.getKey(), e.getValue()));
+                        values.put(key, hash);
+                    } else if (Objects.nonNull(response.get())) {
+                        values.put(key, response.get());
+                    }
+                } catch (final JedisDataException e) { // e.g. WRONGTYPE, the key was replaced by a value of another type since it was described
+                    log.debug(String.format("failed to load value of key '%s': %s", key, e.getMessage()));
+                }
+            });
+        }
+        return values;
+    }
+
+    @Nonnull
+    private List<RedisKeyInfo> describe(@Nonnull Jedis jedis, @Nonnull List<String> keys) {
+        final List<RedisKeyInfo> result = new ArrayList<>(keys.size());
+        final int batchSize = Math.max(1, this.pipelineBatchSize);
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            final List<String> batch = keys.subList(from, Math.min(keys.size(), from + batchSize));
+            final List<Response<String>> types = new ArrayList<>(batch.size());
+            final List<Response<Long>> ttls = new ArrayList<>(batch.size());
+            final List<Response<Object>> usages = new ArrayList<>(batch.size());
+            final Pipeline pipeline = jedis.pipelined();
+            for (final String key : batch) {
+                types.add(pipeline.type(key));
+                ttls.add(pipeline.ttl(key));
+                if (this.fetchMemoryUsage) {
+                    usages.add(pipeline.sendCommand(Protocol.Command.MEMORY, MEMORY_USAGE, key));
+                }
+            }
+            pipeline.sync();
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    final String type = types.get(i).get();
+                    if ("none".equals(type)) { // expired or deleted since it was scanned
+                        continue;
+                    }
+                    final Long usage = this.fetchMemoryUsage ? getMemoryUsage(usages.get(i)) : null;
+                    result.add(new RedisKeyInfo(batch.get(i), type, ttls.get(i).get(), usage));
+                } catch (final JedisDataException e) { // keeps the rest of the batch if lookups of a single key failed
+                    log.debug(String.format("failed to describe key '%s': %s", batch.get(i), e.getMessage()));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Long getMemoryUsage(@Nonnull Response<Object> response) {
+        try {
+            final Object value = response.get();
+            return value instanceof Long ? (Long) value : null;
+        } catch (final JedisDataException e) { // MEMORY is not available, e.g. disabled or older servers
+            return null;
+        }
+    }
+
+    @Nonnull
+    private ScanParams scanParams(@Nullable String pattern) {
+        return new ScanParams().match(StringUtils.firstNonBlank(pattern, ALL_KEYS)).count(Math.max(1, this.scanCount));
+    }
+
+    @Getter
+    public static class ScanPage {
+        /**
+         * cursor of the next page, {@link ScanParams#SCAN_POINTER_START} if the iteration is complete.
+         */
+        @Nonnull
+        private final String cursor;
+        @Nonnull
+        private final List<RedisKeyInfo> keys;
+
+        public ScanPage(@Nonnull String cursor, @Nonnull List<RedisKeyInfo> keys) {
+            this.cursor = cursor;
+            this.keys = keys;
+        }
+
+        public boolean isComplete() {
+            return ScanParams.SCAN_POINTER_START.equals(this.cursor);
+        }
+    }
+}
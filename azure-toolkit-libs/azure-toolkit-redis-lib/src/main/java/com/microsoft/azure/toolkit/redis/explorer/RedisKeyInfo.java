@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.redis.explorer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class RedisKeyInfo {
+    @Nonnull
+    private final String key;
+    /**
+     * value type as returned by {@code TYPE}, e.g. string, list, set, zset, hash, stream.
+     */
+    @Nonnull
+    private final String type;
+    /**
+     * remaining time to live in seconds, {@code -1} if the key has no expiry.
+     */
+    private final long ttl;
+    /**
+     * bytes used by the key and its value as reported by {@code MEMORY USAGE}, {@code null} if not requested or unsupported.
+     */
+    @Nullable
+    private final Long memoryUsage;
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.redis.explorer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * in-process stand-in of a redis server speaking RESP, supporting the commands used by {@link RedisExplorer}. Values
+ * are strings, lists, sets, sorted sets (member to score) and hashes, {@code SCAN} cursors are offsets into the sorted
+ * key space.
+ */
+class FakeRedisServer implements AutoCloseable {
+    private final ServerSocket socket;
+    private final Map<Integer, ConcurrentSkipListMap<String, Object>> databases = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+    private final AtomicInteger scans = new AtomicInteger();
+    private volatile boolean memoryCommandEnabled = true;
+
+    FakeRedisServer() throws IOException {
+        this.socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread acceptor = new Thread(this::accept, "fake-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return this.socket.getLocalPort();
+    }
+
+    int getScans() {
+        return this.scans.get();
+    }
+
+    void setMemoryCommandEnabled(boolean enabled) {
+        this.memoryCommandEnabled = enabled;
+    }
+
+    /**
+     * @param value {@link String}, {@link List}, {@link Set}, {@link Map} of member to {@link Double} score for sorted
+     *              sets or {@link Map} of field to {@link String} value for hashes.
+     */
+    void put(int database, String key, Object value) {
+        this.databases.computeIfAbsent(database, d -> new ConcurrentSkipListMap<>()).put(key, value);
+    }
+
+    void expire(String key, long seconds) {
+        this.ttls.put(key, seconds);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+    }
+
+    private void accept() {
+        while (!this.socket.isClosed()) {
+            try {
+                final Socket client = this.socket.accept();
+                final Thread handler = new Thread(() -> this.serve(client), "fake-redis-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (final IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket c = client; InputStream in = new BufferedInputStream(c.getInputStream());
+             OutputStream out = new BufferedOutputStream(c.getOutputStream())) {
+            final int[] database = {0};
+            while (true) {
+                final List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                final boolean quit = "QUIT".equalsIgnoreCase(command.get(0));
+                out.write(this.execute(database, command).getBytes(StandardCharsets.UTF_8));
+                // replies are flushed once all pipelined commands available are executed
+                if (in.available() == 0 || quit) {
+                    out.flush();
+                }
+                if (quit) {
+                    return;
+                }
+            }
+        } catch (final IOException ignored) {
+            // connection closed by the client
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String execute(int[] database, List<String> command) {
+        final String name = command.get(0).toUpperCase(Locale.ROOT);
+        final Map<String, Object> data = this.databases.computeIfAbsent(database[0], d -> new ConcurrentSkipListMap<>());
+        final Object value = command.size() > 1 ? data.get(command.get(1)) : null;
+        switch (name) {
+            case "PING":
+                return "+PONG\r\n";
+            case "QUIT":
+                return "+OK\r\n";
+            case "SELECT":
+                database[0] = Integer.parseInt(command.get(1));
+                return "+OK\r\n";
+            case "SCAN":
+                return this.scan(data, command);
+            case "TYPE":
+                return "+" + typeOf(value) + "\r\n";
+            case "TTL":
+                return value == null ? ":-2\r\n" : ":" + this.ttls.getOrDefault(command.get(1), -1L) + "\r\n";
+            case "MEMORY":
+                if (!this.memoryCommandEnabled) {
+                    return "-ERR unknown command 'MEMORY'\r\n";
+                }
+                final Object usageOf = data.get(command.get(2)); // MEMORY USAGE key
+                return usageOf == null ? "$-1\r\n" : ":" + (64 + usageOf.toString().length()) + "\r\n";
+            case "GET":
+                if (value != null && !(value instanceof String)) {
+                    return wrongType();
+                }
+                return bulk((String) value);
+            case "LRANGE":
+                if (value != null && !(value instanceof List)) {
+                    return wrongType();
+                }
+                return array(range(value == null ? new ArrayList<>() : (List<String>) value, command.get(2), command.get(3)));
+            case "SRANDMEMBER":
+                if (value != null && !(value instanceof Set)) {
+                    return wrongType();
+                }
+                final List<String> members = value == null ? new ArrayList<>() : new ArrayList<>((Set<String>) value);
+                return array(members.subList(0, Math.min(members.size(), Integer.parseInt(command.get(2)))));
+            case "ZRANGE":
+                if (value != null && !"zset".equals(typeOf(value))) {
+                    return wrongType();
+                }
+                final List<Map.Entry<String, Double>> entries = value == null ? new ArrayList<>() :
+                    ((Map<String, Double>) value).entrySet().stream().sorted(Map.Entry.comparingByValue()).collect(Collectors.toList());
+                final List<String> withScores = new ArrayList<>();
+                range(entries, command.get(2), command.get(3)).forEach(e -> {
+                    withScores.add(e.getKey());
+                    withScores.add(String.valueOf(e.getValue()));
+                });
+                return array(withScores);
+            case "HSCAN":
+                if (value != null && !"hash".equals(typeOf(value))) {
+                    return wrongType();
+                }
+                final List<String> fields = new ArrayList<>();
+                if (value != null) {
+                    ((Map<String, String>) value).forEach((k, v) -> {
+                        fields.add(k);
+                        fields.add(v);
+                    });
+                }
+                return "*2\r\n" + bulk("0") + array(fields);
+            default:
+                return "-ERR unknown command '" + name + "'\r\n";
+        }
+    }
+
+    private String scan(Map<String, Object> data, List<String> command) {
+        this.scans.incrementAndGet();
+        final int cursor = Integer.parseInt(command.get(1));
+        Pattern pattern = null;
+        int count = 10;
+        for (int i = 2; i + 1 < command.size(); i += 2) {
+            if ("MATCH".equalsIgnoreCase(command.get(i))) {
+                pattern = Pattern.compile(Arrays.stream(command.get(i + 1).split("", -1))
+                    .map(c -> "*".equals(c) ? ".*" : "?".equals(c) ? "." : Pattern.quote(c)).collect(Collectors.joining()));
+            } else if ("COUNT".equalsIgnoreCase(command.get(i))) {
+                count = Integer.parseInt(command.get(i + 1));
+            }
+        }
+        final List<String> keys = new ArrayList<>(data.keySet());
+        final int end = Math.min(keys.size(), cursor + count);
+        final Pattern matcher = pattern;
+        final List<String> page = keys.subList(Math.min(cursor, end), end).stream()
+            .filter(k -> matcher == null || matcher.matcher(k).matches()).collect(Collectors.toList());
+        return "*2\r\n" + bulk(String.valueOf(end >= keys.size() ? 0 : end)) + array(page);
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "none";
+        } else if (value instanceof String) {
+            return "string";
+        } else if (value instanceof List) {
+            return "list";
+        } else if (value instanceof Set) {
+            return "set";
+        }
+        final Collection<?> values = ((Map<?, ?>) value).values();
+        return !values.isEmpty() && values.iterator().next() instanceof Double ? "zset" : "hash";
+    }
+
+    private static <T> List<T> range(List<T> list, String start, String stop) {
+        final int from = Math.max(0, Integer.parseInt(start));
+        final int to = Integer.parseInt(stop) < 0 ? list.size() - 1 : Math.min(list.size() - 1, Integer.parseInt(stop));
+        return from > to ? new ArrayList<>() : list.subList(from, to + 1);
+    }
+
+    private static String wrongType() {
+        return "-WRONGTYPE Operation against a key holding the wrong kind of value\r\n";
+    }
+
+    private static String bulk(String value) {
+        return value == null ? "$-1\r\n" : "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    private static String array(List<String> values) {
+        return "*" + values.size() + "\r\n" + values.stream().map(FakeRedisServer::bulk).collect(Collectors.joining());
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        final String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        final int size = Integer.parseInt(header.substring(1));
+        final List<String> command = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int length = Integer.parseInt(readLine(in).substring(1));
+            final byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                final int n = in.read(bytes, read, length - read);
+                if (n < 0) {
+                    return null;
+                }
+                read += n;
+            }
+            readLine(in);
+            command.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read(); // \n
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return null;
+    }
+}
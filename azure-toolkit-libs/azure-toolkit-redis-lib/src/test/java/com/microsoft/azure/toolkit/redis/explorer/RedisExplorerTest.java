@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.redis.explorer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.Tuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RedisExplorerTest {
+    private FakeRedisServer server;
+    private JedisPool pool;
+    private RedisExplorer explorer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new FakeRedisServer();
+        pool = new JedisPool(RedisExplorer.createPoolConfig(), "127.0.0.1", server.getPort());
+        explorer = new RedisExplorer(pool);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.close();
+        server.close();
+    }
+
+    @Test
+    public void testScanAllKeys() {
+        final Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 2500; i++) {
+            server.put(1, "key:" + i, "value" + i);
+            expected.add("key:" + i);
+        }
+        server.put(0, "other-database", "value");
+        explorer.setScanCount(100);
+        explorer.setPipelineBatchSize(30);
+        final List<List<RedisKeyInfo>> batches = new ArrayList<>();
+
+        final String cursor = explorer.scan(1, null, 0, batches::add);
+
+        assertEquals(ScanParams.SCAN_POINTER_START, cursor);
+        assertEquals(25, batches.size());
+        assertEquals(25, server.getScans());
+        final List<RedisKeyInfo> keys = batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(expected, keys.stream().map(RedisKeyInfo::getKey).collect(Collectors.toSet()));
+        assertTrue(keys.stream().allMatch(k -> "string".equals(k.getType()) && k.getTtl() == -1 && k.getMemoryUsage() == null));
+    }
+
+    @Test
+    public void testScanStopsEarly() {
+        for (int i = 0; i < 1000; i++) {
+            server.put(0, String.format("key:%04d", i), "value");
+        }
+        explorer.setScanCount(100);
+
+        final String limited = explorer.scan(0, null, 300, batch -> true);
+        assertEquals("300", limited);
+        assertEquals(3, server.getScans());
+
+        final String stopped = explorer.scan(0, null, 0, batch -> false);
+        assertEquals("100", stopped);
+        assertEquals(4, server.getScans());
+    }
+
+    @Test
+    public void testScanPage() {
+        server.put(0, "user:1", "alice");
+        server.put(0, "user:2", Arrays.asList("a", "b"));
+        server.put(0, "session:1", "token");
+        server.expire("user:1", 60);
+        explorer.setFetchMemoryUsage(true);
+
+        final RedisExplorer.ScanPage page = explorer.scan(0, ScanParams.SCAN_POINTER_START, "user:*");
+
+        assertTrue(page.isComplete());
+        assertEquals(Arrays.asList("user:1", "user:2"), page.getKeys().stream().map(RedisKeyInfo::getKey).collect(Collectors.toList()));
+        assertEquals("list", page.getKeys().get(1).getType());
+        assertEquals(60, page.getKeys().get(0).getTtl());
+        assertTrue(page.getKeys().get(0).getMemoryUsage() > 0);
+    }
+
+    @Test
+    public void testDescribe() {
+        server.put(0, "existing", "value");
+        server.setMemoryCommandEnabled(false);
+        explorer.setFetchMemoryUsage(true);
+
+        final List<RedisKeyInfo> keys = explorer.describe(0, Arrays.asList("deleted", "existing"));
+
+        // deleted keys are skipped, missing MEMORY command leaves the usage unknown
+        assertEquals(1, keys.size());
+        assertEquals("existing", keys.get(0).getKey());
+        assertNull(keys.get(0).getMemoryUsage());
+    }
+
+    @Test
+    public void testFetchValues() {
+        final Map<String, String> hash = new LinkedHashMap<>();
+        hash.put("field", "value");
+        final Map<String, Double> zset = new LinkedHashMap<>();
+        zset.put("second", 2.0);
+        zset.put("first", 1.0);
+        server.put(0, "string", "value");
+        server.put(0, "list", Arrays.asList("a", "b", "c"));
+        server.put(0, "set", new LinkedHashSet<>(Arrays.asList("x", "y")));
+        server.put(0, "zset", zset);
+        server.put(0, "hash", hash);
+        explorer.setPreviewSize(2);
+        final List<RedisKeyInfo> keys = explorer.describe(0, Arrays.asList("string", "list", "set", "zset", "hash"));
+
+        final Map<String, Object> values = explorer.fetchValues(0, keys);
+
+        assertEquals(Arrays.asList("string", "list", "set", "zset", "hash"), new ArrayList<>(values.keySet()));
+        assertEquals("value", values.get("string"));
+        assertEquals(Arrays.asList("a", "b"), values.get("list"));
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>((List<?>) values.get("set")));
+        assertEquals(Collections.singletonList("first"), ((Set<?>) values.get("zset")).stream().limit(1)
+            .map(t -> ((Tuple) t).getElement()).collect(Collectors.toList()));
+        assertEquals(hash, values.get("hash"));
+    }
+
+    @Test
+    public void testFetchValuesOfChangedKey() {
+        server.put(0, "changed", Arrays.asList("now", "a", "list"));
+        server.put(0, "string", "value");
+        // types as described before the keys were replaced by values of other types
+        final List<RedisKeyInfo> keys = Arrays.asList(
+            new RedisKeyInfo("changed", "string", -1, null),
+            new RedisKeyInfo("string", "string", -1, null),
+            new RedisKeyInfo("list", "hash", -1, null));
+        server.put(0, "list", Arrays.asList("a", "b"));
+
+        final Map<String, Object> values = explorer.fetchValues(0, keys);
+
+        assertEquals(Collections.singletonMap("string", "value"), values);
+        assertFalse(values.containsKey("changed"));
+    }
+}
@@ -6,14 +6,20 @@
 package com.microsoft.azure.toolkit.lib.servicebus.model;
 
 import com.azure.messaging.servicebus.*;
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
 import com.azure.resourcemanager.servicebus.models.AccessRights;
 import com.azure.resourcemanager.servicebus.models.EntityStatus;
+import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.MessageReceivePipeline;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivePipelineOptions;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceiveStatistics;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivedMessage;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
 
 import javax.annotation.Nonnull;
@@ -22,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public abstract class ServiceBusInstance<
         T extends ServiceBusInstance<T, P, F>, P, F>
@@ -32,6 +39,8 @@ public abstract class ServiceBusInstance<
     protected ServiceBusProcessorClient processorClient;
     @Nullable
     protected IAzureMessager messager;
+    @Nullable
+    protected MessageReceivePipeline pipeline;
 
     protected ServiceBusInstance(@Nonnull String name, @Nonnull AbstractAzResourceModule<T, ServiceBusNamespace, F> module) {
         super(name, module);
@@ -75,15 +84,61 @@ public abstract class ServiceBusInstance<
             Optional.ofNullable(messager).orElse(AzureMessager.getMessager())
                     .info(AzureString.format("Stop listening to {0} ({1})\n", getResourceTypeName(), getName()));
         });
+        Optional.ofNullable(pipeline).ifPresent(MessageReceivePipeline::close);
         this.processorClient = null;
+        this.pipeline = null;
+    }
+
+    /**
+     * create and start the receive pipeline that buffers and renders received messages.
+     *
+     * @return options to configure prefetch and concurrency of the processor client with.
+     */
+    @Nonnull
+    protected synchronized ReceivePipelineOptions startPipeline() {
+        final ReceivePipelineOptions options = ReceivePipelineOptions.fromConfig(Azure.az().config());
+        this.pipeline = MessageReceivePipeline.create(options, Optional.ofNullable(messager).orElse(AzureMessager.getMessager()));
+        this.pipeline.start();
+        return options;
+    }
+
+    /**
+     * configures how the processor client receives messages: messages are peek-locked and never completed, so they stay
+     * in the queue or subscription.
+     */
+    @Nonnull
+    protected static ServiceBusClientBuilder.ServiceBusProcessorClientBuilder configureProcessor(
+            @Nonnull ServiceBusClientBuilder.ServiceBusProcessorClientBuilder builder, @Nonnull ReceivePipelineOptions options,
+            @Nonnull Consumer<ServiceBusReceivedMessageContext> processMessage, @Nonnull Consumer<ServiceBusErrorContext> processError) {
+        final ServiceBusReceiveMode mode = ServiceBusReceiveMode.PEEK_LOCK;
+        return builder.receiveMode(mode)
+                .prefetchCount(getPrefetchCount(mode, options))
+                .maxConcurrentCalls(Math.max(1, options.getMaxConcurrentCalls()))
+                .processMessage(processMessage)
+                .processError(processError)
+                .disableAutoComplete();  // Complete - causes the message to be deleted from the queue or topic.
+    }
+
+    /**
+     * prefetched messages are locked in PEEK_LOCK mode before they are processed, since they are never completed, their
+     * locks expire and their delivery count grows until they are dead-lettered, so only prefetch messages which are deleted
+     * when received.
+     */
+    static int getPrefetchCount(@Nonnull ServiceBusReceiveMode mode, @Nonnull ReceivePipelineOptions options) {
+        return mode == ServiceBusReceiveMode.RECEIVE_AND_DELETE ? options.getPrefetchCount() : 0;
     }
+
     protected void processMessage(ServiceBusReceivedMessageContext context) {
-        ServiceBusReceivedMessage message = context.getMessage();
-        Optional.ofNullable(messager).orElse(AzureMessager.getMessager())
-                .info(AzureString.format("Message received. Session: %s, Sequence #: %s. Contents: ",
-                        message.getMessageId(), message.getSequenceNumber()));
-        Optional.ofNullable(messager).orElse(AzureMessager.getMessager())
-                .debug(AzureString.format("\"%s\"\n",message.getBody()));
+        final ServiceBusReceivedMessage message = context.getMessage();
+        final String partition = Optional.ofNullable(message.getSessionId()).orElse(getName());
+        final ReceivedMessage received = new ReceivedMessage(partition, message.getSequenceNumber(), String.valueOf(message.getBody()));
+        final MessageReceivePipeline pipeline = this.pipeline;
+        if (Objects.nonNull(pipeline)) {
+            pipeline.offer(received);
+        } else {
+            MessageReceivePipeline.messagerRenderer(Optional.ofNullable(messager).orElse(AzureMessager.getMessager()), new ReceiveStatistics())
+                    .accept(Collections.singletonList(received));
+        }
     }
     protected void processError(ServiceBusErrorContext context) {
         final IAzureMessager messager = AzureMessager.getMessager();
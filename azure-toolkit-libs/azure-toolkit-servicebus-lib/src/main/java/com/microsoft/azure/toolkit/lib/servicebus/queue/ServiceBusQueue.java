@@ -6,7 +6,6 @@
 package com.microsoft.azure.toolkit.lib.servicebus.queue;
 
 import com.azure.messaging.servicebus.*;
-import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
 import com.azure.resourcemanager.servicebus.ServiceBusManager;
 import com.azure.resourcemanager.servicebus.fluent.ServiceBusManagementClient;
 import com.azure.resourcemanager.servicebus.fluent.models.SBAuthorizationRuleInner;
@@ -20,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeExcep
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivePipelineOptions;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
 import com.microsoft.azure.toolkit.lib.servicebus.model.ServiceBusInstance;
 import org.apache.commons.lang3.StringUtils;
@@ -82,15 +82,12 @@ public class ServiceBusQueue extends ServiceBusInstance<ServiceBusQueue, Service
     public synchronized void startReceivingMessage() {
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to Service Bus Queue ({0})\n", getName()));
-        this.processorClient = new ServiceBusClientBuilder()
+        final ReceivePipelineOptions options = this.startPipeline();
+        final ServiceBusClientBuilder.ServiceBusProcessorClientBuilder builder = new ServiceBusClientBuilder()
                 .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
                 .processor()
-                .queueName(getName())
-                .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
-                .processMessage(this::processMessage)
-                .processError(this::processError)
-                .disableAutoComplete()  // Complete - causes the message to be deleted from the queue or topic.
-                .buildProcessorClient();
+                .queueName(getName());
+        this.processorClient = configureProcessor(builder, options, this::processMessage, this::processError).buildProcessorClient();
         processorClient.start();
     }
 
@@ -6,7 +6,6 @@
 package com.microsoft.azure.toolkit.lib.servicebus.topic;
 
 import com.azure.messaging.servicebus.*;
-import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
 import com.azure.resourcemanager.servicebus.ServiceBusManager;
 import com.azure.resourcemanager.servicebus.fluent.ServiceBusManagementClient;
 import com.azure.resourcemanager.servicebus.fluent.models.SBAuthorizationRuleInner;
@@ -18,6 +17,7 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivePipelineOptions;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
 import com.microsoft.azure.toolkit.lib.servicebus.model.ServiceBusInstance;
 import org.apache.commons.lang3.StringUtils;
@@ -80,16 +80,13 @@ public class ServiceBusTopic extends ServiceBusInstance<ServiceBusTopic, Service
     public synchronized void startReceivingMessage() {
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to Service Bus Topic ({0})\n", getName()));
-        this.processorClient = new ServiceBusClientBuilder()
+        final ReceivePipelineOptions options = this.startPipeline();
+        final ServiceBusClientBuilder.ServiceBusProcessorClientBuilder builder = new ServiceBusClientBuilder()
                 .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
                 .processor()
                 .topicName(getName())
-                .subscriptionName(getOrCreateSubscription().name())
-                .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
-                .processMessage(this::processMessage)
-                .processError(this::processError)
-                .disableAutoComplete()  // Complete - causes the message to be deleted from the queue or topic.
-                .buildProcessorClient();
+                .subscriptionName(getOrCreateSubscription().name());
+        this.processorClient = configureProcessor(builder, options, this::processMessage, this::processError).buildProcessorClient();
         processorClient.start();
     }
 
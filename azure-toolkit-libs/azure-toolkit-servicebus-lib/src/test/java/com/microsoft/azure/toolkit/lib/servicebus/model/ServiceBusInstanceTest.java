@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.servicebus.model;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.implementation.ServiceBusProcessorClientOptions;
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
+import com.microsoft.azure.toolkit.lib.resource.message.pipeline.ReceivePipelineOptions;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServiceBusInstanceTest {
+    private static final String CONNECTION_STRING = "Endpoint=sb://test.servicebus.windows.net/;SharedAccessKeyName=listen;SharedAccessKey=a2V5";
+
+    @Test
+    public void testPrefetchCount() {
+        final ReceivePipelineOptions options = ReceivePipelineOptions.builder().prefetchCount(500).build();
+        assertEquals(0, ServiceBusInstance.getPrefetchCount(ServiceBusReceiveMode.PEEK_LOCK, options));
+        assertEquals(500, ServiceBusInstance.getPrefetchCount(ServiceBusReceiveMode.RECEIVE_AND_DELETE, options));
+    }
+
+    @Test
+    public void testConfigureProcessor() throws ReflectiveOperationException {
+        final ReceivePipelineOptions options = ReceivePipelineOptions.builder().prefetchCount(500).maxConcurrentCalls(0).build();
+        final ServiceBusClientBuilder.ServiceBusProcessorClientBuilder builder = new ServiceBusClientBuilder()
+            .connectionString(CONNECTION_STRING).processor().queueName("queue");
+
+        ServiceBusInstance.configureProcessor(builder, options, c -> {
+        }, c -> {
+        });
+
+        // the sdk builders have no getters, read the options they build the processor with
+        final Object receiver = read(builder, "serviceBusReceiverClientBuilder");
+        assertEquals(ServiceBusReceiveMode.PEEK_LOCK, read(receiver, "receiveMode"));
+        assertEquals(0, read(receiver, "prefetchCount"));
+        final ServiceBusProcessorClientOptions processor = (ServiceBusProcessorClientOptions) read(builder, "processorClientOptions");
+        assertTrue(processor.isDisableAutoComplete());
+        assertEquals(1, processor.getMaxConcurrentCalls());
+    }
+
+    private static Object read(Object target, String name) throws ReflectiveOperationException {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
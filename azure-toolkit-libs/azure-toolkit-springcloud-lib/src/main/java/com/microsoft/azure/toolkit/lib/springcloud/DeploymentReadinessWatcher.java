@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.springcloud;
+
+import com.azure.resourcemanager.appplatform.AppPlatformManager;
+import com.azure.resourcemanager.appplatform.fluent.AppPlatformManagementClient;
+import com.azure.resourcemanager.appplatform.fluent.DeploymentsClient;
+import com.azure.resourcemanager.appplatform.fluent.models.DeploymentResourceInner;
+import com.azure.resourcemanager.appplatform.models.DeploymentInstance;
+import com.azure.resourcemanager.appplatform.models.DeploymentResourceProperties;
+import com.azure.resourcemanager.appplatform.models.DeploymentResourceProvisioningState;
+import com.azure.resourcemanager.resources.fluentcore.arm.models.HasManager;
+import com.azure.resourcemanager.resources.fluentcore.utils.ResourceManagerUtils;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Waits for a deployment to become ready (all instances running) by polling only the deployment resource (instance list
+ * and status fields) instead of refreshing the whole deployment and its sub modules. Polls every second at first and
+ * backs off to at most 10 seconds, and stops early once the deployment failed to provision or an instance failed.
+ * Failed polls (e.g. a transient network error) are retried until the deadline.
+ */
+@Slf4j
+public class DeploymentReadinessWatcher {
+    private static final String RUNNING = "running";
+    private static final String FAILED = "failed";
+    private static final String TERMINATING = "terminating";
+    private static final Duration MAX_INTERVAL = Duration.ofSeconds(10);
+
+    @Nonnull
+    private final DeploymentsClient client;
+    @Nonnull
+    private final String resourceGroup;
+    @Nonnull
+    private final String service;
+    @Nonnull
+    private final String app;
+    @Nonnull
+    private final String name;
+    /**
+     * synced with the final state once watching is done.
+     */
+    @Nullable
+    private final SpringCloudDeployment deployment;
+    @Setter(AccessLevel.PACKAGE)
+    private LongSupplier clock = System::currentTimeMillis;
+    @Setter(AccessLevel.PACKAGE)
+    private Consumer<Duration> sleeper = ResourceManagerUtils::sleep;
+
+    public DeploymentReadinessWatcher(@Nonnull SpringCloudDeployment deployment) {
+        this(getClient(deployment), deployment.getResourceGroupName(), deployment.getParent().getParent().getName(),
+            deployment.getParent().getName(), deployment.getName(), deployment);
+    }
+
+    DeploymentReadinessWatcher(@Nonnull DeploymentsClient client, @Nonnull String resourceGroup, @Nonnull String service, @Nonnull String app,
+                               @Nonnull String name, @Nullable SpringCloudDeployment deployment) {
+        this.client = client;
+        this.resourceGroup = resourceGroup;
+        this.service = service;
+        this.app = app;
+        this.name = name;
+        this.deployment = deployment;
+    }
+
+    /**
+     * @return interval to wait before next poll, 1s during the first 10 seconds, then growing by half up to 10s.
+     */
+    @Nonnull
+    public static Duration nextInterval(@Nonnull Duration elapsed, @Nonnull Duration previous) {
+        if (elapsed.getSeconds() < 10) {
+            return Duration.ofSeconds(1);
+        }
+        final Duration next = Duration.ofMillis(Math.max(1000, previous.toMillis() * 3 / 2));
+        return next.compareTo(MAX_INTERVAL) > 0 ? MAX_INTERVAL : next;
+    }
+
+    @Nonnull
+    public Result watch(int timeoutInSeconds) {
+        final long start = this.clock.getAsLong();
+        final long deadline = start + timeoutInSeconds * 1000L;
+        final Map<String, Duration> readyInstances = new LinkedHashMap<>();
+        Duration interval = Duration.ofSeconds(1);
+        State state = State.TIMEOUT;
+        String reason = null;
+        long now;
+        while ((now = this.clock.getAsLong()) < deadline) {
+            final Duration elapsed = Duration.ofMillis(now - start);
+            try {
+                final DeploymentResourceInner remote = this.client.get(this.resourceGroup, this.service, this.app, this.name);
+                final List<DeploymentInstance> instances = Optional.ofNullable(remote).map(DeploymentResourceInner::properties)
+                    .map(DeploymentResourceProperties::instances).orElse(Collections.<DeploymentInstance>emptyList()).stream()
+                    // instances of the previous version being replaced
+                    .filter(i -> !StringUtils.equalsIgnoreCase(i.status(), TERMINATING))
+                    .collect(Collectors.toList());
+                reason = null;
+                instances.stream().filter(i -> StringUtils.equalsIgnoreCase(i.status(), RUNNING))
+                    .forEach(i -> readyInstances.putIfAbsent(i.name(), elapsed));
+                final DeploymentResourceProvisioningState provisioning = Optional.ofNullable(remote).map(DeploymentResourceInner::properties)
+                    .map(DeploymentResourceProperties::provisioningState).orElse(null);
+                final Optional<DeploymentInstance> failed = instances.stream().filter(i -> StringUtils.equalsIgnoreCase(i.status(), FAILED)).findFirst();
+                if (DeploymentResourceProvisioningState.FAILED.equals(provisioning)) {
+                    state = State.FAILED;
+                    reason = "deployment failed to provision";
+                    break;
+                } else if (failed.isPresent()) {
+                    state = State.FAILED;
+                    reason = String.format("instance %s failed: %s", failed.get().name(), StringUtils.defaultIfBlank(failed.get().reason(), "unknown reason"));
+                    break;
+                } else if (!instances.isEmpty() && instances.stream().allMatch(i -> readyInstances.containsKey(i.name()))) {
+                    state = State.READY;
+                    break;
+                }
+                log.debug("deployment({}) is not ready yet ({}/{} instances running)", this.name, readyInstances.size(), instances.size());
+            } catch (final RuntimeException e) {
+                // keep polling, the last error is reported if the deadline passes
+                reason = String.format("failed to get deployment: %s", e.getMessage());
+                log.debug("failed to get deployment({}), retrying", this.name, e);
+            }
+            interval = nextInterval(elapsed, interval);
+            final long remaining = deadline - this.clock.getAsLong();
+            if (remaining > 0) {
+                this.sleeper.accept(Duration.ofMillis(Math.min(interval.toMillis(), remaining)));
+            }
+        }
+        if (Objects.nonNull(this.deployment)) {
+            // sync the deployment (and its instances) with the final state once.
+            this.deployment.refresh();
+        }
+        return new Result(state, reason, Duration.ofMillis(this.clock.getAsLong() - start), Collections.unmodifiableMap(readyInstances));
+    }
+
+    @Nonnull
+    private static DeploymentsClient getClient(@Nonnull SpringCloudDeployment deployment) {
+        return Optional.ofNullable(deployment.getParent().getParent().getRemote())
+            .map(HasManager::manager)
+            .map(AppPlatformManager::serviceClient)
+            .map(AppPlatformManagementClient::getDeployments)
+            .orElseThrow(() -> new AzureToolkitRuntimeException("Azure Spring Apps service is not available."));
+    }
+
+    public enum State {
+        READY, FAILED, TIMEOUT
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        @Nonnull
+        private final State state;
+        @Nullable
+        private final String reason;
+        @Nonnull
+        private final Duration elapsed;
+        /**
+         * instances that were found running, each with the time from start of watching to first seen running.
+         */
+        @Nonnull
+        private final Map<String, Duration> readyInstances;
+
+        public boolean isReady() {
+            return this.state == State.READY;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.springcloud;
+
+import com.azure.resourcemanager.appplatform.fluent.models.DeploymentResourceInner;
+import com.azure.resourcemanager.appplatform.models.DeploymentResourceProperties;
+import com.azure.resourcemanager.appplatform.models.ResourceUploadDefinition;
+import com.azure.resourcemanager.appplatform.models.SpringApp;
+import com.azure.resourcemanager.appplatform.models.UploadedUserSourceInfo;
+import com.azure.storage.file.share.ShareFileClient;
+import com.azure.storage.file.share.ShareFileClientBuilder;
+import com.azure.storage.file.share.models.ShareFileUploadRangeOptions;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Uploads jar artifacts of Spring Apps deployments, skipping the upload if the deployment already runs an artifact with
+ * the same SHA-256. Hashes of uploaded artifacts are remembered in a local state file together with the relative path
+ * they were uploaded to. Changed artifacts are written to the file share as 4 MB ranges in parallel, a failed range is
+ * retried on its own instead of restarting the whole upload.
+ */
+@Slf4j
+class SpringCloudArtifactUploader {
+    private static final Path STATE_FILE = Paths.get(System.getProperty("user.home"), ".azure", "springapps-artifacts.properties");
+    private static final int RANGE_SIZE = 4 * 1024 * 1024;
+    private static final int CONCURRENCY = 4;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Result {
+        private final String relativePath;
+        /**
+         * true if the deployment already runs the same artifact and nothing was uploaded.
+         */
+        private final boolean unchanged;
+    }
+
+    /**
+     * @param deploymentId id of the deployment the artifact is deployed to, used as key of the local state.
+     * @param current      current source of the deployment, {@code null} for new deployments
+     */
+    @Nonnull
+    public static Result upload(@Nonnull SpringApp app, @Nonnull String deploymentId, @Nullable DeploymentResourceInner current, @Nonnull File artifact) {
+        final String currentPath = Optional.ofNullable(current).map(DeploymentResourceInner::properties)
+            .map(DeploymentResourceProperties::source)
+            .filter(s -> s instanceof UploadedUserSourceInfo)
+            .map(s -> ((UploadedUserSourceInfo) s).relativePath())
+            .orElse(null);
+        return upload(app::getResourceUploadUrl, url -> new ShareFileClientBuilder().endpoint(url).buildFileClient(), deploymentId, currentPath, artifact, STATE_FILE);
+    }
+
+    /**
+     * @param uploadUrl   requests a new upload url, only called if the artifact changed
+     * @param client      creates the file client of an upload url
+     * @param currentPath relative path of the artifact the deployment runs, {@code null} for new deployments
+     * @param stateFile   local state of hashes and relative paths of uploaded artifacts
+     */
+    @Nonnull
+    static Result upload(@Nonnull Supplier<ResourceUploadDefinition> uploadUrl, @Nonnull Function<String, ShareFileClient> client,
+                         @Nonnull String deploymentId, @Nullable String currentPath, @Nonnull File artifact, @Nonnull Path stateFile) {
+        final String hash = sha256(artifact);
+        final String key = deploymentId.toLowerCase();
+        final String[] state = StringUtils.split(loadState(stateFile).getProperty(key, ""), '|');
+        if (StringUtils.isNotBlank(currentPath) && state.length == 2 && hash.equals(state[0]) && currentPath.equals(state[1])) {
+            log.info("artifact {} (sha256: {}) is already deployed, skip uploading.", artifact.getName(), hash);
+            return new Result(currentPath, true);
+        }
+        final ResourceUploadDefinition definition = uploadUrl.get();
+        uploadInRanges(client.apply(definition.uploadUrl()), artifact);
+        saveState(stateFile, key, hash + "|" + definition.relativePath());
+        return new Result(definition.relativePath(), false);
+    }
+
+    private static void uploadInRanges(@Nonnull ShareFileClient client, @Nonnull File artifact) {
+        final long size = artifact.length();
+        client.create(size);
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            final List<Future<?>> ranges = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += RANGE_SIZE) {
+                final long start = offset;
+                final int length = (int) Math.min(RANGE_SIZE, size - offset);
+                ranges.add(executor.submit(() -> uploadRange(client, artifact, start, length)));
+            }
+            for (final Future<?> range : ranges) {
+                range.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AzureToolkitRuntimeException("interrupted while uploading artifact", e);
+        } catch (final ExecutionException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to upload artifact %s", artifact.getName()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void uploadRange(@Nonnull ShareFileClient client, @Nonnull File artifact, long offset, int length) {
+        final byte[] data = new byte[length];
+        try (RandomAccessFile file = new RandomAccessFile(artifact, "r")) {
+            file.seek(offset);
+            file.readFully(data);
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to read artifact %s", artifact.getName()), e);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                client.uploadRangeWithResponse(new ShareFileUploadRangeOptions(new ByteArrayInputStream(data), length).setOffset(offset), null, null);
+                return;
+            } catch (final RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("failed to upload range [{}, {}), retrying ({}/{})", offset, offset + length, attempt, MAX_ATTEMPTS, e);
+            }
+        }
+    }
+
+    @Nonnull
+    static String sha256(@Nonnull File file) {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to compute hash of artifact %s", file.getName()), e);
+        }
+    }
+
+    @Nonnull
+    private static synchronized Properties loadState(@Nonnull Path stateFile) {
+        final Properties properties = new Properties();
+        if (Files.isRegularFile(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                properties.load(in);
+            } catch (final IOException e) {
+                log.debug("failed to load artifact state from {}", stateFile, e);
+            }
+        }
+        return properties;
+    }
+
+    private static synchronized void saveState(@Nonnull Path stateFile, @Nonnull String key, @Nonnull String value) {
+        final Properties properties = loadState(stateFile);
+        properties.setProperty(key, value);
+        try {
+            Files.createDirectories(stateFile.getParent());
+            try (OutputStream out = Files.newOutputStream(stateFile)) {
+                properties.store(out, "sha256|relative path of artifacts last uploaded to Azure Spring Apps deployments");
+            }
+        } catch (final IOException e) {
+            log.debug("failed to save artifact state to {}", stateFile, e);
+        }
+    }
+}
@@ -89,10 +89,13 @@ public class SpringCloudClusterDraft extends SpringCloudCluster implements Draft
 
         if (this.isEnterpriseTier()) {
             // wait until builder ready
+            final long start = System.currentTimeMillis();
+            Duration interval = Duration.ofSeconds(1);
             BuilderProvisioningState provisioningState = manager.serviceClient().getBuildServiceBuilders().get(rgName, serviceName, "default", "default").properties().provisioningState();
             while (provisioningState != BuilderProvisioningState.SUCCEEDED) {
+                interval = DeploymentReadinessWatcher.nextInterval(Duration.ofMillis(System.currentTimeMillis() - start), interval);
+                ResourceManagerUtils.sleep(interval);
                 provisioningState = manager.serviceClient().getBuildServiceBuilders().get(rgName, serviceName, "default", "default").properties().provisioningState();
-                ResourceManagerUtils.sleep(Duration.ofSeconds(5));
                 log.debug("Waiting for builder ready...");
             }
         }
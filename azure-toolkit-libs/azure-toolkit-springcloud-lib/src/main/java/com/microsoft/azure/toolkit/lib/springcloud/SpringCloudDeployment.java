@@ -118,13 +118,17 @@ public class SpringCloudDeployment extends AbstractAzResource<SpringCloudDeploym
         }
     }
 
-    @AzureOperation(name = "internal/springcloud.wait_until_deployment_ready.deployment|app", params = {"this.getName()", "this.getParent().getName()"})
     public boolean waitUntilReady(int timeoutInSeconds) {
-        final SpringCloudDeployment deployment = Utils.pollUntil(() -> {
-            this.invalidateCache();
-            return this;
-        }, Utils::isDeploymentDone, timeoutInSeconds);
-        return Utils.isDeploymentDone(deployment);
+        return this.watchUntilReady(timeoutInSeconds).isReady();
+    }
+
+    /**
+     * same as {@link #waitUntilReady(int)}, but returns how long it took for each instance to become ready.
+     */
+    @Nonnull
+    @AzureOperation(name = "internal/springcloud.wait_until_deployment_ready.deployment|app", params = {"this.getName()", "this.getParent().getName()"})
+    public DeploymentReadinessWatcher.Result watchUntilReady(int timeoutInSeconds) {
+        return new DeploymentReadinessWatcher(this).watch(timeoutInSeconds);
     }
 
     @Nullable
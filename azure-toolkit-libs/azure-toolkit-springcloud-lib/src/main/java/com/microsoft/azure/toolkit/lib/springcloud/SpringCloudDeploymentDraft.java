@@ -70,6 +70,10 @@ public class SpringCloudDeploymentDraft extends SpringCloudDeployment
     private final SpringCloudDeployment origin;
     @Nullable
     private Config config;
+    /**
+     * true if the artifact to deploy is identical to the one the deployment is running, so nothing was uploaded.
+     */
+    private boolean artifactUnchanged;
 
     protected SpringCloudDeploymentDraft(@Nonnull String name, @Nonnull SpringCloudDeploymentModule module) {
         super(name, module);
@@ -164,7 +168,11 @@ public class SpringCloudDeploymentDraft extends SpringCloudDeployment
         if (updateDeployingProperties(update)) {
             final IAzureMessager messager = AzureMessager.getMessager();
             final File artifact = Objects.requireNonNull(Objects.requireNonNull(Objects.requireNonNull(config).artifact).getFile());
-            messager.info(AzureString.format("Start deploying artifact(%s) to deployment(%s) of app(%s)...", artifact.getName(), deployment.name(), deployment.parent().name()));
+            if (this.artifactUnchanged) {
+                messager.info(AzureString.format("Artifact(%s) is not changed since last deployment, updating deployment(%s) of app(%s) without uploading it...", artifact.getName(), deployment.name(), deployment.parent().name()));
+            } else {
+                messager.info(AzureString.format("Start deploying artifact(%s) to deployment(%s) of app(%s)...", artifact.getName(), deployment.name(), deployment.parent().name()));
+            }
             deployment = update.apply();
             final Action<SpringCloudApp> openPublicUrl = AzureActionManager.getInstance().getAction(SpringCloudApp.OPEN_PUBLIC_URL).bind(this.getParent());
             final Action<SpringCloudApp> openTestUrl = AzureActionManager.getInstance().getAction(SpringCloudApp.OPEN_TEST_URL).bind(this.getParent());
@@ -226,7 +234,16 @@ public class SpringCloudDeploymentDraft extends SpringCloudDeployment
         final boolean toDeploy = this.toDeploy();
         if (toDeploy) {
             final File newArtifact = Optional.ofNullable(config).map(c -> c.artifact).map(IArtifact::getFile).orElse(null);
-            Optional.ofNullable(newArtifact).ifPresent(deployment::withJarFile);
+            this.artifactUnchanged = false;
+            if (Objects.nonNull(newArtifact) && this.getParent().getParent().isEnterpriseTier()) {
+                // artifacts of enterprise tier are built by the build service, which `withJarFile` goes through
+                deployment.withJarFile(newArtifact);
+            } else if (Objects.nonNull(newArtifact)) {
+                final DeploymentResourceInner current = this.exists() ? deployment.innerModel() : null;
+                final SpringCloudArtifactUploader.Result result = SpringCloudArtifactUploader.upload(deployment.parent(), this.getId(), current, newArtifact);
+                this.artifactUnchanged = result.isUnchanged();
+                deployment.withExistingSource(UserSourceType.JAR, result.getRelativePath());
+            }
         }
         return toDeploy;
     }
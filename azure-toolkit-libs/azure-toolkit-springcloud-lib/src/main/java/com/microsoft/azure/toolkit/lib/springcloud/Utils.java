@@ -5,14 +5,10 @@
 
 package com.microsoft.azure.toolkit.lib.springcloud;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import rx.Observable;
 import rx.schedulers.Schedulers;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
-import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -20,23 +16,6 @@ import java.util.function.Predicate;
 public class Utils {
     private static final int POLLING_INTERVAL = 5;
 
-//    protected static final List<String> DEPLOYMENT_PROCESSING_STATUS =
-//            Arrays.asList(DeploymentResourceStatus.COMPILING.toString(), DeploymentResourceStatus.ALLOCATING.toString(), DeploymentResourceStatus.UPGRADING.toString());
-
-    public static boolean isDeploymentDone(@Nullable SpringCloudDeployment deployment) {
-        if (deployment == null) {
-            return false;
-        }
-        final List<SpringCloudAppInstance> instances = deployment.getInstances();
-        if (CollectionUtils.isEmpty(instances)) {
-            return false;
-        }
-        // refer to https://learn.microsoft.com/en-us/azure/spring-apps/concept-app-status
-        // Eureka isn't applicable to enterprise tier.
-        return instances.stream().anyMatch(instance ->
-            StringUtils.equalsIgnoreCase(instance.getStatus(), "running"));
-    }
-
     /**
      * Get resource repeatedly until it match the predicate or timeout, will return null when meet exception
      * with default pollingInterval = 1s
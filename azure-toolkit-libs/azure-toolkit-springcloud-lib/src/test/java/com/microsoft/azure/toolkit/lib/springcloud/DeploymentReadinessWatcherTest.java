@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.springcloud;
+
+import com.azure.core.management.serializer.SerializerFactory;
+import com.azure.core.util.serializer.SerializerEncoding;
+import com.azure.resourcemanager.appplatform.fluent.DeploymentsClient;
+import com.azure.resourcemanager.appplatform.fluent.models.DeploymentResourceInner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+public class DeploymentReadinessWatcherTest {
+    private static final long POLL_COST = 100;
+
+    /**
+     * virtual time in millis, advanced by the sleeps of the watcher and by {@link #POLL_COST} per poll.
+     */
+    private long now = 0;
+    private final List<Duration> sleeps = new ArrayList<>();
+
+    @Test
+    public void testReadyWhenAllInstancesRunning() {
+        final DeploymentReadinessWatcher watcher = watcher(
+            deployment("Succeeded", instance("a", "Starting"), instance("b", "Starting")),
+            deployment("Succeeded", instance("a", "Running"), instance("b", "Starting"), instance("old", "Terminating")),
+            deployment("Succeeded", instance("a", "Running"), instance("b", "Starting")),
+            deployment("Succeeded", instance("a", "Running"), instance("b", "Running")));
+
+        final DeploymentReadinessWatcher.Result result = watcher.watch(60);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.READY, result.getState());
+        Assert.assertNull(result.getReason());
+        // each instance has its own readiness time
+        Assert.assertEquals(Arrays.asList("a", "b"), new ArrayList<>(result.getReadyInstances().keySet()));
+        Assert.assertEquals(Duration.ofMillis(1100), result.getReadyInstances().get("a"));
+        Assert.assertEquals(Duration.ofMillis(3300), result.getReadyInstances().get("b"));
+        Assert.assertEquals(3, sleeps.size());
+    }
+
+    @Test
+    public void testFailedInstance() {
+        final DeploymentReadinessWatcher watcher = watcher(
+            deployment("Succeeded", instance("a", "Starting"), instance("b", "Starting")),
+            deployment("Succeeded", instance("a", "Running"), failed("b", "OOMKilled")));
+
+        final DeploymentReadinessWatcher.Result result = watcher.watch(60);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.FAILED, result.getState());
+        Assert.assertEquals("instance b failed: OOMKilled", result.getReason());
+        Assert.assertEquals(1, result.getReadyInstances().size());
+    }
+
+    @Test
+    public void testFailedProvisioning() {
+        final DeploymentReadinessWatcher.Result result = watcher(deployment("Failed")).watch(60);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.FAILED, result.getState());
+        Assert.assertEquals("deployment failed to provision", result.getReason());
+        Assert.assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void testTimeout() {
+        final DeploymentReadinessWatcher watcher = watcher(deployment("Succeeded", instance("a", "Running"), instance("b", "Starting")));
+
+        final DeploymentReadinessWatcher.Result result = watcher.watch(30);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.TIMEOUT, result.getState());
+        Assert.assertEquals(1, result.getReadyInstances().size());
+        // the last sleep is cut to the deadline
+        Assert.assertEquals(30000, now);
+        Assert.assertEquals(Duration.ofSeconds(30), result.getElapsed());
+        Assert.assertTrue(sleeps.stream().allMatch(s -> s.compareTo(Duration.ofSeconds(10)) <= 0));
+    }
+
+    @Test
+    public void testTransientErrorsAreRetried() {
+        final DeploymentReadinessWatcher watcher = watcher(
+            new IllegalStateException("connection reset"),
+            deployment("Succeeded", instance("a", "Starting")),
+            new IllegalStateException("connection reset"),
+            deployment("Succeeded", instance("a", "Running")));
+
+        final DeploymentReadinessWatcher.Result result = watcher.watch(60);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.READY, result.getState());
+        Assert.assertNull(result.getReason());
+    }
+
+    @Test
+    public void testErrorsUntilDeadline() {
+        final DeploymentReadinessWatcher.Result result = watcher(new IllegalStateException("connection reset")).watch(5);
+
+        Assert.assertEquals(DeploymentReadinessWatcher.State.TIMEOUT, result.getState());
+        Assert.assertEquals("failed to get deployment: connection reset", result.getReason());
+        Assert.assertEquals(5000, now);
+    }
+
+    /**
+     * @param responses deployments (or errors to throw) returned by consecutive polls, the last one is repeated.
+     */
+    private DeploymentReadinessWatcher watcher(Object... responses) {
+        final Queue<Object> queue = new LinkedList<>(Arrays.asList(responses));
+        final DeploymentsClient client = (DeploymentsClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DeploymentsClient.class},
+            (proxy, method, args) -> {
+                if (!"get".equals(method.getName()) || args.length != 4) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Assert.assertEquals(Arrays.asList("rg", "service", "app", "default"), Arrays.asList(args));
+                now += POLL_COST;
+                final Object response = queue.size() > 1 ? queue.poll() : queue.peek();
+                if (response instanceof RuntimeException) {
+                    throw (RuntimeException) response;
+                }
+                return response;
+            });
+        final DeploymentReadinessWatcher watcher = new DeploymentReadinessWatcher(client, "rg", "service", "app", "default", null);
+        watcher.setClock(() -> now);
+        watcher.setSleeper(d -> {
+            sleeps.add(d);
+            now += d.toMillis();
+        });
+        return watcher;
+    }
+
+    private static DeploymentResourceInner deployment(String provisioningState, String... instances) {
+        final String json = String.format("{\"name\":\"default\",\"properties\":{\"provisioningState\":\"%s\",\"instances\":[%s]}}",
+            provisioningState, Arrays.stream(instances).collect(Collectors.joining(",")));
+        try {
+            return SerializerFactory.createDefaultManagementSerializerAdapter().deserialize(json, DeploymentResourceInner.class, SerializerEncoding.JSON);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String instance(String name, String status) {
+        return String.format("{\"name\":\"%s\",\"status\":\"%s\"}", name, status);
+    }
+
+    private static String failed(String name, String reason) {
+        return String.format("{\"name\":\"%s\",\"status\":\"Failed\",\"reason\":\"%s\"}", name, reason);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.springcloud;
+
+import com.azure.core.util.UrlBuilder;
+import com.azure.resourcemanager.appplatform.models.ResourceUploadDefinition;
+import com.azure.storage.file.share.ShareFileClient;
+import com.azure.storage.file.share.ShareFileClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SpringCloudArtifactUploaderTest {
+    private static final String DEPLOYMENT = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.AppPlatform/Spring/service/apps/app/deployments/default";
+    private static final int RANGE_SIZE = 4 * 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private Path stateFile;
+    private byte[] file;
+    private final List<Long> ranges = new CopyOnWriteArrayList<>();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private volatile long failingRange = -1;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/share/", this::handle);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.start();
+        stateFile = folder.getRoot().toPath().resolve("state").resolve("springapps-artifacts.properties");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSha256() throws IOException {
+        final File artifact = folder.newFile("app.jar");
+        Files.write(artifact.toPath(), "abc".getBytes());
+        Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", SpringCloudArtifactUploader.sha256(artifact));
+    }
+
+    @Test
+    public void testUploadInRanges() throws IOException {
+        final byte[] data = randomBytes(2 * RANGE_SIZE + 12345);
+        final File artifact = write("app.jar", data);
+
+        final SpringCloudArtifactUploader.Result result = SpringCloudArtifactUploader.upload(uploadUrl("uploads/1.jar"), this::client, DEPLOYMENT, null, artifact, stateFile);
+
+        Assert.assertFalse(result.isUnchanged());
+        Assert.assertEquals("uploads/1.jar", result.getRelativePath());
+        Assert.assertEquals(3, ranges.size());
+        Assert.assertArrayEquals(data, file);
+        Assert.assertTrue(Files.isRegularFile(stateFile));
+    }
+
+    @Test
+    public void testSkipUnchangedArtifact() throws IOException {
+        final File artifact = write("app.jar", randomBytes(1024));
+        SpringCloudArtifactUploader.upload(uploadUrl("uploads/1.jar"), this::client, DEPLOYMENT, null, artifact, stateFile);
+        Assert.assertEquals(1, uploads.get());
+
+        // the deployment runs the uploaded artifact
+        final SpringCloudArtifactUploader.Result unchanged = SpringCloudArtifactUploader.upload(() -> {
+            throw new AssertionError("no upload url should be requested");
+        }, this::client, DEPLOYMENT.toUpperCase(), "uploads/1.jar", artifact, stateFile);
+        Assert.assertTrue(unchanged.isUnchanged());
+        Assert.assertEquals("uploads/1.jar", unchanged.getRelativePath());
+        Assert.assertEquals(1, uploads.get());
+
+        // the deployment runs another artifact, e.g. deployed by other tools
+        final SpringCloudArtifactUploader.Result redeployed = SpringCloudArtifactUploader.upload(uploadUrl("uploads/2.jar"), this::client, DEPLOYMENT, "uploads/other.jar", artifact, stateFile);
+        Assert.assertFalse(redeployed.isUnchanged());
+        Assert.assertEquals("uploads/2.jar", redeployed.getRelativePath());
+        Assert.assertEquals(2, uploads.get());
+
+        // the artifact changed
+        Files.write(artifact.toPath(), randomBytes(2048));
+        final SpringCloudArtifactUploader.Result changed = SpringCloudArtifactUploader.upload(uploadUrl("uploads/3.jar"), this::client, DEPLOYMENT, "uploads/2.jar", artifact, stateFile);
+        Assert.assertFalse(changed.isUnchanged());
+        Assert.assertEquals(3, uploads.get());
+    }
+
+    @Test
+    public void testFailedRangeIsRetriedAlone() throws IOException {
+        final byte[] data = randomBytes(3 * RANGE_SIZE);
+        final File artifact = write("app.jar", data);
+        failingRange = RANGE_SIZE;
+
+        SpringCloudArtifactUploader.upload(uploadUrl("uploads/1.jar"), this::client, DEPLOYMENT, null, artifact, stateFile);
+
+        // the failed range is uploaded again, the others only once
+        Assert.assertEquals(4, ranges.size());
+        Assert.assertEquals(2, ranges.stream().filter(r -> r == RANGE_SIZE).count());
+        Assert.assertArrayEquals(data, file);
+    }
+
+    private Supplier<ResourceUploadDefinition> uploadUrl(String relativePath) {
+        return () -> {
+            uploads.incrementAndGet();
+            final String url = String.format("http://localhost:%d/share/%s", server.getAddress().getPort(), relativePath);
+            return new ResourceUploadDefinition().withRelativePath(relativePath).withUploadUrl(url);
+        };
+    }
+
+    /**
+     * the builder drops the port of the endpoint, which real upload urls don't have, restore it per request.
+     */
+    private ShareFileClient client(String uploadUrl) {
+        final int port = server.getAddress().getPort();
+        return new ShareFileClientBuilder().endpoint(uploadUrl)
+            .addPolicy((context, next) -> {
+                context.getHttpRequest().setUrl(UrlBuilder.parse(context.getHttpRequest().getUrl()).setPort(port).toString());
+                return next.process();
+            })
+            .buildFileClient();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+        final String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.contains("comp=range")) {
+            final String range = exchange.getRequestHeaders().getFirst("x-ms-range");
+            final long start = Long.parseLong(range.substring("bytes=".length(), range.indexOf('-')));
+            ranges.add(start);
+            if (start == failingRange) {
+                failingRange = -1;
+                respond(exchange, 400);
+                return;
+            }
+            synchronized (this) {
+                System.arraycopy(body, 0, file, (int) start, body.length);
+            }
+        } else {
+            file = new byte[Integer.parseInt(exchange.getRequestHeaders().getFirst("x-ms-content-length"))];
+        }
+        respond(exchange, 201);
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().add("ETag", "\"0x1\"");
+        exchange.getResponseHeaders().add("x-ms-request-server-encrypted", "true");
+        exchange.getResponseHeaders().add("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private File write(String name, byte[] data) throws IOException {
+        final File artifact = folder.newFile(name);
+        Files.write(artifact.toPath(), data);
+        return artifact;
+    }
+
+    private static byte[] randomBytes(int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -7,6 +7,8 @@ package com.microsoft.azure.maven.webapp;
 
 import com.fasterxml.jackson.dataformat.javaprop.JavaPropsMapper;
 import com.fasterxml.jackson.dataformat.javaprop.JavaPropsSchema;
+import com.microsoft.azure.maven.appservice.AbstractAppServiceMojo;
+import com.microsoft.azure.maven.deploy.DeployTarget;
 import com.microsoft.azure.maven.model.DeploymentResource;
 import com.microsoft.azure.maven.webapp.task.DeployExternalResourcesTask;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -37,11 +39,15 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceConfigUtils.fromAppService;
@@ -91,7 +97,7 @@ public class DeployMojo extends AbstractWebAppMojo {
         try {
             final WebAppBase<?, ?, ?> target = createOrUpdateResource(app);
             deployExternalResources(target, getConfigParser().getExternalArtifacts());
-            deploy(target, getConfigParser().getArtifacts());
+            deploy(target, getConfigParser().getArtifacts(), System.out);
             AzureMessager.getMessager().info(AzureString.format("Application url: %s", "https://" + target.getHostName()));
         } catch (final Exception e) {
             new StreamingLogTask(app).execute();
@@ -100,6 +106,50 @@ public class DeployMojo extends AbstractWebAppMojo {
         updateTelemetryProperties();
     }
 
+    /**
+     * validates the configuration and returns the deployment of this module without running it, used by {@link DeployAllMojo}
+     * to deploy the apps of all modules concurrently.
+     */
+    DeployTarget toDeployTarget() throws AzureExecutionException {
+        mergeCommandLineConfig();
+        az = initAzureAppServiceClient();
+        WebAppRuntime.tryLoadingAllRuntimes();
+        doValidate();
+        final AppServiceConfig appServiceConfig = getConfigParser().getAppServiceConfig();
+        final WebApp app = Azure.az(AzureWebApp.class).webApps(appServiceConfig.subscriptionId())
+                .getOrDraft(appServiceConfig.appName(), appServiceConfig.resourceGroup());
+        return new DeployTarget() {
+            private WebAppBase<?, ?, ?> target;
+
+            @Nonnull
+            @Override
+            public String getName() {
+                return StringUtils.isBlank(appServiceConfig.deploymentSlotName()) ? appServiceConfig.appName() :
+                    appServiceConfig.appName() + "/" + appServiceConfig.deploymentSlotName();
+            }
+
+            @Nonnull
+            @Override
+            public Set<String> getSharedResources() {
+                return AbstractAppServiceMojo.getSharedResources(appServiceConfig);
+            }
+
+            @Override
+            public void prepare() throws AzureExecutionException {
+                this.target = createOrUpdateResource(app);
+                deployExternalResources(this.target, getConfigParser().getExternalArtifacts());
+            }
+
+            @Override
+            public String deploy() throws AzureExecutionException {
+                // deployment status is refreshed in place, which doesn't work for concurrent deployments
+                DeployMojo.this.deploy(this.target, getConfigParser().getArtifacts(), null);
+                updateTelemetryProperties();
+                return "https://" + this.target.getHostName();
+            }
+        };
+    }
+
     private void doValidate() throws AzureExecutionException {
         validateConfiguration(message -> AzureMessager.getMessager().error(message.getMessage()), true);
         validateArtifactCompileVersion();
@@ -148,11 +198,11 @@ public class DeployMojo extends AbstractWebAppMojo {
         return AppServiceConfigUtils.buildDefaultWebAppConfig(subscriptionId, resourceGroup, appName, this.project.getPackaging());
     }
 
-    private void deploy(WebAppBase<?, ?, ?> target, List<WebAppArtifact> artifacts) {
+    private void deploy(WebAppBase<?, ?, ?> target, List<WebAppArtifact> artifacts, @Nullable PrintStream statusStream) {
         final DeployWebAppTask deployWebAppTask = new DeployWebAppTask(target, artifacts, this.getRestartSite(), this.getWaitDeploymentComplete(), true);
         Optional.ofNullable(this.getDeploymentStatusRefreshInterval()).ifPresent(deployWebAppTask::setDeploymentStatusRefreshInterval);
         Optional.ofNullable(this.getDeploymentStatusMaxRefreshTimes()).ifPresent(deployWebAppTask::setDeploymentStatusMaxRefreshTimes);
-        deployWebAppTask.setDeploymentStatusStream(System.out);
+        deployWebAppTask.setDeploymentStatusStream(statusStream);
         deployWebAppTask.doExecute();
     }
 